@@ -0,0 +1,49 @@
+package com.bank.product.gateway.cache;
+
+import com.bank.product.context.ContextInvalidationEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumes context invalidation events pushed by Party Service
+ *
+ * Every gateway instance must see every invalidation, so each instance
+ * joins the topic with its own consumer group, named after its stable
+ * instance ID so restarts reuse the group instead of leaving one behind.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContextInvalidationListener {
+
+    private final ProcessingContextCache contextCache;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "${gateway.context-cache.invalidation-topic:party.context.invalidated}",
+            groupId = "api-gateway-context-${gateway.context-cache.instance-id:${HOSTNAME:local}}",
+            autoStartup = "${gateway.context-cache.enabled:true}"
+    )
+    public void onInvalidation(String payload) {
+        try {
+            ContextInvalidationEvent event = objectMapper.readValue(payload, ContextInvalidationEvent.class);
+
+            log.debug("Received context invalidation: party={}, reason={}",
+                    event.getPartyId(), event.getReason());
+
+            if (event.isAllEntries() || event.getPartyId() == null) {
+                contextCache.invalidateAll();
+            } else {
+                contextCache.invalidateParty(event.getPartyId());
+            }
+        } catch (Exception e) {
+            // Cannot tell what changed - drop everything rather than serve stale contexts
+            log.error("Failed to process context invalidation event, clearing context cache: {}",
+                    e.getMessage());
+            contextCache.invalidateAll();
+        }
+    }
+}
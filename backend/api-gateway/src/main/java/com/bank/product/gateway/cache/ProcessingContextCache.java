@@ -0,0 +1,196 @@
+package com.bank.product.gateway.cache;
+
+import com.bank.product.context.ProcessingContext;
+import com.bank.product.context.RelationshipContext;
+import com.bank.product.gateway.config.ContextCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Gateway-local ProcessingContext cache
+ *
+ * Avoids the cross-service hop to Party Service for contexts that were
+ * resolved recently. Entries are keyed by principal, party, channel and
+ * roles (roles change the resolved permissions), bounded in size and
+ * expire after the configured TTL or before the context becomes too old
+ * to be accepted downstream, whichever comes first.
+ *
+ * Party Service pushes invalidations (see ContextInvalidationListener) so
+ * party, relationship and entitlement changes are visible before the TTL.
+ *
+ * Metrics (actuator /actuator/metrics):
+ * - cache.gets{cache=gateway.context, result=hit|miss}
+ * - cache.size, cache.evictions{cache=gateway.context}
+ * - gateway.context.cache.invalidations
+ */
+@Slf4j
+@Component
+public class ProcessingContextCache {
+
+    public static final String CACHE_NAME = "gateway.context";
+
+    private final ContextCacheProperties properties;
+    private final Cache<String, ProcessingContext> cache;
+    private final Counter invalidationCounter;
+
+    public ProcessingContextCache(ContextCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new ContextExpiry())
+                .recordStats()
+                .build();
+        this.invalidationCounter = Counter.builder("gateway.context.cache.invalidations")
+                .description("Context cache entries evicted by Party Service invalidation events")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Build cache key from the inputs of context resolution
+     */
+    public static String key(String principalId, String partyId, String channelId, String[] roles) {
+        String[] sortedRoles = roles != null ? roles.clone() : new String[0];
+        Arrays.sort(sortedRoles);
+        return principalId + ':' + (partyId != null ? partyId : "") + ':' + channelId + ':'
+                + String.join(",", sortedRoles);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Get cached context, re-stamped with the current request ID
+     *
+     * @param key Cache key (see {@link #key})
+     * @param requestId Request ID of the current request
+     * @return Cached context or null
+     */
+    public ProcessingContext get(String key, String requestId) {
+        ProcessingContext cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return null;
+        }
+
+        return cached.toBuilder()
+                .requestId(requestId)
+                .resolutionSource("CACHE")
+                .build();
+    }
+
+    /**
+     * Cache a freshly resolved context
+     */
+    public void put(String key, ProcessingContext context) {
+        if (remainingLifetime(context).isZero()) {
+            log.debug("Not caching context for party {} - already too old", context.getPartyId());
+            return;
+        }
+        cache.put(key, context);
+    }
+
+    /**
+     * Evict every cached context that depends on the given party
+     *
+     * A context depends on a party if it is the context party or tenant,
+     * a managed party, or part of its organization hierarchy.
+     *
+     * @param partyId Party whose data changed
+     * @return Number of evicted entries
+     */
+    public int invalidateParty(String partyId) {
+        ConcurrentMap<String, ProcessingContext> entries = cache.asMap();
+        int evicted = 0;
+        for (Map.Entry<String, ProcessingContext> entry : entries.entrySet()) {
+            if (dependsOn(entry.getValue(), partyId) && entries.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+
+        invalidationCounter.increment(evicted);
+        log.info("Evicted {} cached contexts for party: {}", evicted, partyId);
+        return evicted;
+    }
+
+    /**
+     * Evict all cached contexts
+     */
+    public void invalidateAll() {
+        long size = cache.estimatedSize();
+        cache.invalidateAll();
+
+        invalidationCounter.increment(size);
+        log.info("Evicted all {} cached contexts", size);
+    }
+
+    private boolean dependsOn(ProcessingContext context, String partyId) {
+        if (partyId.equals(context.getPartyId()) || partyId.equals(context.getTenantId())) {
+            return true;
+        }
+
+        RelationshipContext relationships = context.getRelationshipContext();
+        if (relationships == null) {
+            return false;
+        }
+
+        return partyId.equals(relationships.getParentEntityId())
+                || (relationships.getManagedPartyIds() != null
+                        && relationships.getManagedPartyIds().contains(partyId))
+                || (relationships.getHierarchyPath() != null
+                        && relationships.getHierarchyPath().contains(partyId));
+    }
+
+    /**
+     * Lifetime of an entry: configured TTL, capped by the remaining validity of the context
+     */
+    private Duration remainingLifetime(ProcessingContext context) {
+        Duration ttl = properties.getTtl();
+        if (context.getContextResolvedAt() == null) {
+            return ttl;
+        }
+
+        Duration remaining = Duration.between(Instant.now(),
+                context.getContextResolvedAt().plus(properties.getMaxContextAge()));
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return remaining.compareTo(ttl) < 0 ? remaining : ttl;
+    }
+
+    /**
+     * Per-entry expiry derived from the context resolution time
+     */
+    private class ContextExpiry implements Expiry<String, ProcessingContext> {
+
+        @Override
+        public long expireAfterCreate(String key, ProcessingContext value, long currentTime) {
+            return remainingLifetime(value).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ProcessingContext value, long currentTime,
+                                      long currentDuration) {
+            return remainingLifetime(value).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, ProcessingContext value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.bank.product.gateway.client;
+
+import com.bank.product.context.ProcessingContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-flight coalescing of concurrent context resolutions
+ *
+ * A portal page load fires a burst of parallel requests for the same
+ * principal. Without coalescing each one takes a permit of the Party Service
+ * bulkhead (max 10 concurrent calls) and the burst trips the fallback.
+ *
+ * Concurrent resolutions for the same key share one in-flight call to
+ * PartyServiceClient. The in-flight entry is removed as soon as the call
+ * terminates, so results are never served after completion (caching is the
+ * job of ProcessingContextCache). Followers receive the shared context
+ * re-stamped with their own request ID.
+ *
+ * Metrics:
+ * - gateway.context.resolution.requests: all resolutions requested
+ * - gateway.context.resolution.coalesced: resolutions that joined an in-flight call
+ *   (coalescing ratio = coalesced / requests)
+ * - gateway.context.resolution.bulkhead.rejections.avoided: coalesced resolutions that
+ *   arrived while the bulkhead was saturated and would otherwise have been rejected
+ * - gateway.context.resolution.inflight: distinct in-flight calls
+ */
+@Slf4j
+@Component
+public class ContextResolutionCoalescer {
+
+    private final PartyServiceClient partyServiceClient;
+    private final int bulkheadMaxConcurrentCalls;
+
+    private final Map<String, Mono<ProcessingContext>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger activeCalls = new AtomicInteger();
+
+    private final Counter requestCounter;
+    private final Counter coalescedCounter;
+    private final Counter rejectionsAvoidedCounter;
+
+    public ContextResolutionCoalescer(
+            PartyServiceClient partyServiceClient,
+            MeterRegistry meterRegistry,
+            @Value("${resilience4j.bulkhead.instances.party-service-bulkhead.maxConcurrentCalls:10}")
+            int bulkheadMaxConcurrentCalls) {
+        this.partyServiceClient = partyServiceClient;
+        this.bulkheadMaxConcurrentCalls = bulkheadMaxConcurrentCalls;
+
+        this.requestCounter = Counter.builder("gateway.context.resolution.requests")
+                .description("Context resolutions requested")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("gateway.context.resolution.coalesced")
+                .description("Context resolutions served by an in-flight call")
+                .register(meterRegistry);
+        this.rejectionsAvoidedCounter = Counter.builder("gateway.context.resolution.bulkhead.rejections.avoided")
+                .description("Coalesced resolutions that arrived while the Party Service bulkhead was saturated")
+                .register(meterRegistry);
+        Gauge.builder("gateway.context.resolution.inflight", inFlight, Map::size)
+                .description("Distinct in-flight context resolutions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resolve context, joining an in-flight resolution for the same key if one exists
+     *
+     * @param key Coalescing key (principal, party, channel, roles)
+     * @param principalId Principal ID from authentication
+     * @param username Username (optional)
+     * @param roles User roles
+     * @param channelId Channel identifier
+     * @param requestId Request ID for correlation
+     * @return ProcessingContext (wrapped in Mono), or empty Mono on failure
+     */
+    public Mono<ProcessingContext> resolveContext(
+            String key,
+            String principalId,
+            String username,
+            String[] roles,
+            String channelId,
+            String requestId) {
+
+        return Mono.defer(() -> {
+            requestCounter.increment();
+
+            boolean[] leader = {false};
+            Mono<ProcessingContext> shared = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return partyServiceClient.resolveContext(principalId, username, roles, channelId, requestId)
+                        .doOnSubscribe(s -> activeCalls.incrementAndGet())
+                        .doFinally(signal -> {
+                            activeCalls.decrementAndGet();
+                            inFlight.remove(k);
+                        })
+                        .cache();
+            });
+
+            if (leader[0]) {
+                return shared;
+            }
+
+            coalescedCounter.increment();
+            if (activeCalls.get() >= bulkheadMaxConcurrentCalls) {
+                rejectionsAvoidedCounter.increment();
+            }
+            log.debug("Coalesced context resolution for principal: {}, requestId: {}", principalId, requestId);
+
+            return shared.map(context -> context.toBuilder().requestId(requestId).build());
+        });
+    }
+}
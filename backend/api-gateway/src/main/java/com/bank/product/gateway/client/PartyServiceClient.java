@@ -36,6 +36,9 @@ import java.time.Duration;
  * - Client errors (4xx): No retry, fail fast
  * - Circuit open: Fallback immediately without calling service
  *
+ * On the request path this client is called through ContextResolutionCoalescer,
+ * so concurrent resolutions for the same principal take a single bulkhead permit.
+ *
  * @author System Architecture Team
  * @since 1.0
  */
@@ -8,7 +8,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -53,6 +55,45 @@ public class ProductServiceClient {
                         record.getLineNumber(), error.getMessage()));
     }
 
+    /**
+     * Configure a chunk of solutions with a single request to product-service
+     *
+     * Results are returned per record, in the order of {@code records}. Each
+     * record carries the idempotency key {@code uploadId:lineNumber}, so
+     * resending a record returns its earlier result instead of a new solution.
+     */
+    public Mono<ConfigureSolutionBatchResponse> configureSolutions(
+            String tenantId,
+            String userId,
+            String uploadId,
+            List<ProductConfigurationRecord> records) {
+
+        log.debug("Configuring {} solutions for tenant {}", records.size(), tenantId);
+
+        List<Map<String, Object>> batch = new ArrayList<>(records.size());
+        for (ProductConfigurationRecord record : records) {
+            Map<String, Object> request = buildRequest(record);
+            request.put("idempotencyKey", uploadId + ":" + record.getLineNumber());
+            batch.add(request);
+        }
+        Map<String, Object> request = Map.of("records", batch);
+
+        return webClient.post()
+                .uri("/api/v1/solutions/configure:batch")
+                .header("X-Tenant-ID", tenantId)
+                .header("X-User-ID", userId)
+                .headers(headers -> headers.setBasicAuth("system", "system123")) // Use system service account
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(ConfigureSolutionBatchResponse.class)
+                .doOnSuccess(response -> log.info("Solutions configured: {} succeeded, {} failed",
+                        response.getSucceeded(), response.getFailed()))
+                .doOnError(error -> log.error("Failed to configure solutions for records at lines {}-{}: {}",
+                        records.get(0).getLineNumber(), records.get(records.size() - 1).getLineNumber(),
+                        error.getMessage()));
+    }
+
     private Map<String, Object> buildRequest(ProductConfigurationRecord record) {
         Map<String, Object> request = new HashMap<>();
         request.put("catalogProductId", record.getCatalogProductId());
@@ -100,4 +141,32 @@ public class ProductServiceClient {
         private String message;
         private String pollingUrl;
     }
+
+    /**
+     * Response from configure solution batch endpoint
+     */
+    @lombok.Data
+    @lombok.NoArgsConstructor
+    @lombok.AllArgsConstructor
+    @lombok.Builder
+    public static class ConfigureSolutionBatchResponse {
+        private int total;
+        private int succeeded;
+        private int failed;
+        private List<RecordResult> results;
+
+        @lombok.Data
+        @lombok.NoArgsConstructor
+        @lombok.AllArgsConstructor
+        @lombok.Builder
+        public static class RecordResult {
+            private int index;
+            private boolean success;
+            private String solutionId;
+            private String solutionName;
+            private String status;
+            private String errorCode;
+            private String errorMessage;
+        }
+    }
 }
@@ -0,0 +1,94 @@
+package com.bank.product.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * API audit pipeline configuration
+ *
+ * Audit logs are buffered in memory and written to MongoDB in bulk when
+ * {@code batchSize} logs are pending or every {@code flushInterval},
+ * whichever comes first. When the buffer is full the overflow policy
+ * decides what happens to further logs.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.audit")
+public class AuditProperties {
+
+    /**
+     * Enable audit logging
+     */
+    private boolean enabled = true;
+
+    /**
+     * Publish audit logs to Kafka for real-time analytics
+     */
+    private boolean kafkaEnabled = true;
+
+    /**
+     * Kafka topic for audit logs
+     */
+    private String kafkaTopic = "api-audit-logs";
+
+    /**
+     * Maximum number of audit logs buffered in memory
+     */
+    private int bufferCapacity = 10_000;
+
+    /**
+     * Maximum number of audit logs per MongoDB bulk insert
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum time an audit log waits in the buffer
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Timeout of a single MongoDB bulk insert
+     */
+    private Duration writeTimeout = Duration.ofSeconds(10);
+
+    /**
+     * What to do with audit logs that do not fit in the buffer
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.SPILL;
+
+    /**
+     * SAMPLE policy: buffer fill ratio above which successful requests are sampled
+     */
+    private double sampleThreshold = 0.75;
+
+    /**
+     * SAMPLE policy: keep one of every N successful requests above the threshold
+     */
+    private int sampleRate = 10;
+
+    /**
+     * SPILL policy: local file receiving overflowing and unwritable audit logs (one JSON per line)
+     */
+    private String spillFile = "logs/api-audit-spill.ndjson";
+
+    public enum OverflowPolicy {
+        /**
+         * Drop audit logs that do not fit in the buffer
+         */
+        DROP,
+
+        /**
+         * Sample successful requests once the buffer passes the threshold,
+         * keep errors until the buffer is full
+         */
+        SAMPLE,
+
+        /**
+         * Append audit logs that do not fit in the buffer to the spill file
+         */
+        SPILL
+    }
+}
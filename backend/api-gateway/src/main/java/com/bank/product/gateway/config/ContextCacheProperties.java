@@ -0,0 +1,47 @@
+package com.bank.product.gateway.config;
+
+import com.bank.product.context.ContextInvalidationEvent;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Gateway-local ProcessingContext cache configuration
+ *
+ * Entries are bounded by size and by TTL. The effective TTL of an entry is
+ * additionally capped so that a cached context is never served once it is
+ * older than {@code maxContextAge} (downstream services reject contexts
+ * older than 5 minutes).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.context-cache")
+public class ContextCacheProperties {
+
+    /**
+     * Enable the local context cache
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of cached contexts
+     */
+    private long maxSize = 10_000;
+
+    /**
+     * Time-to-live of a cached context
+     */
+    private Duration ttl = Duration.ofMinutes(2);
+
+    /**
+     * Maximum age of a context (since resolution in Party Service) that may still be served
+     */
+    private Duration maxContextAge = Duration.ofMinutes(4);
+
+    /**
+     * Kafka topic on which Party Service pushes invalidations
+     */
+    private String invalidationTopic = ContextInvalidationEvent.DEFAULT_TOPIC;
+}
@@ -0,0 +1,16 @@
+package com.bank.product.gateway.config;
+
+import com.bank.product.context.ContextCodec;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Register the shared X-Processing-Context codec
+ *
+ * The common context package is not component-scanned by the gateway
+ * (ContextExtractor depends on the servlet API).
+ */
+@Configuration
+@Import(ContextCodec.class)
+public class ContextCodecConfig {
+}
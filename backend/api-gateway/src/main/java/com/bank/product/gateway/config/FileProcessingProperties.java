@@ -0,0 +1,55 @@
+package com.bank.product.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Host-to-Host file processing configuration
+ *
+ * Uploads are spooled to {@code spoolDir} and streamed through the parser,
+ * so memory use does not depend on the file size. Records are sent to
+ * product-service in chunks of {@code chunkSize}, one bulk request per
+ * chunk. Progress is checkpointed
+ * on the FileUpload every {@code checkpointInterval} records; an interrupted
+ * upload is resumed from the last checkpoint. An upload still marked as in
+ * progress can only be resumed once it made no progress for
+ * {@code staleAfter}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gateway.file-processing")
+public class FileProcessingProperties {
+
+    /**
+     * Directory holding uploaded files until processing completes
+     */
+    private String spoolDir = "data/uploads";
+
+    /**
+     * Size of the buffers the spooled file is read with
+     */
+    private int readBufferSize = 64 * 1024;
+
+    /**
+     * Number of records per product-service bulk configure request
+     */
+    private int chunkSize = 200;
+
+    /**
+     * Maximum number of chunks configured concurrently
+     */
+    private int concurrency = 4;
+
+    /**
+     * Number of processed records between progress checkpoints
+     */
+    private int checkpointInterval = 500;
+
+    /**
+     * Time without progress after which an in-progress upload may be resumed
+     */
+    private Duration staleAfter = Duration.ofMinutes(15);
+}
@@ -65,6 +65,22 @@ public class FileProcessingController {
         return fileProcessingService.getFileResults(tenantId, fileId);
     }
 
+    @PostMapping("/{fileId}/resume")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public Mono<Map<String, Object>> resumeFile(
+            @RequestHeader("X-Tenant-ID") String tenantId,
+            @PathVariable String fileId) {
+
+        log.info("File resume: tenantId={}, fileId={}", tenantId, fileId);
+
+        return fileProcessingService.resumeFile(tenantId, fileId)
+            .map(id -> Map.of(
+                "fileId", id,
+                "status", "PROCESSING",
+                "message", "Processing resumed from last checkpoint"
+            ));
+    }
+
     @DeleteMapping("/{fileId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public Mono<Void> deleteFile(
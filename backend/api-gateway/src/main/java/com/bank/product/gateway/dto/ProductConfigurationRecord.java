@@ -1,5 +1,6 @@
 package com.bank.product.gateway.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -39,4 +40,10 @@ public class ProductConfigurationRecord {
     // Business justification
     private String businessJustification;
     private String priority;  // LOW, MEDIUM, HIGH
+
+    // Set by the parser when the record is malformed - reported as an error, not configured
+    @JsonIgnore
+    private String parseError;
+    @JsonIgnore
+    private String parseErrorField;
 }
@@ -16,7 +16,7 @@ import java.util.UUID;
 
 /**
  * Comprehensive audit logging for all API requests
- * Logs to MongoDB for compliance and analytics
+ * Logs to MongoDB for compliance and analytics (batched, see AuditService)
  */
 @Slf4j
 @Component
@@ -75,8 +75,8 @@ public class AuditLoggingFilter implements GatewayFilter {
                     .idempotencyKey(idempotencyKey)
                     .build();
                 
-                // Save asynchronously
-                auditService.logRequest(auditLog).subscribe();
+                // Buffered - written in batches by AuditService
+                auditService.logRequest(auditLog);
                 
                 log.info("Response: requestId={}, statusCode={}, durationMs={}", 
                     requestId, statusCode, durationMs);
@@ -102,8 +102,8 @@ public class AuditLoggingFilter implements GatewayFilter {
                     .errorMessage(error.getMessage())
                     .build();
                 
-                // Save asynchronously
-                auditService.logRequest(auditLog).subscribe();
+                // Buffered - written in batches by AuditService
+                auditService.logRequest(auditLog);
                 
                 log.error("Error: requestId={}, error={}, durationMs={}", 
                     requestId, error.getMessage(), durationMs);
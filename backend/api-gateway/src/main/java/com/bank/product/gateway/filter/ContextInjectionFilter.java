@@ -1,6 +1,8 @@
 package com.bank.product.gateway.filter;
 
+import com.bank.product.context.ContextCodec;
 import com.bank.product.context.ProcessingContext;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
@@ -23,7 +25,8 @@ import reactor.core.publisher.Mono;
  * 4. Downstream service receives request with context
  *
  * Headers Injected:
- * - X-Processing-Context: Full context as JSON (Base64 encoded for header safety)
+ * - X-Processing-Context: Full context, signed compact binary (see ContextCodec;
+ *   Base64 JSON when context.codec.format=JSON)
  * - X-Tenant-ID: Tenant ID (for quick filtering)
  * - X-Party-ID: Party ID (for quick filtering)
  * - X-Request-ID: Request correlation ID
@@ -42,8 +45,11 @@ import reactor.core.publisher.Mono;
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class ContextInjectionFilter implements GlobalFilter, Ordered {
 
+    private final ContextCodec contextCodec;
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         // Retrieve context from exchange attributes (set by ContextResolutionFilter)
@@ -64,7 +70,7 @@ public class ContextInjectionFilter implements GlobalFilter, Ordered {
 
         // Inject context headers into downstream request
         ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
-                .header("X-Processing-Context", context.toBase64Json())
+                .header("X-Processing-Context", contextCodec.encode(context))
                 .header("X-Tenant-ID", context.getTenantId())
                 .header("X-Party-ID", context.getPartyId())
                 .header("X-Request-ID", requestId != null ? requestId : context.getRequestId())
@@ -1,7 +1,8 @@
 package com.bank.product.gateway.filter;
 
 import com.bank.product.context.ProcessingContext;
-import com.bank.product.gateway.client.PartyServiceClient;
+import com.bank.product.gateway.cache.ProcessingContextCache;
+import com.bank.product.gateway.client.ContextResolutionCoalescer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
@@ -33,9 +34,11 @@ import java.util.UUID;
  *
  * Context Resolution Flow:
  * 1. Extract principal from SecurityContext
- * 2. Call Party Service POST /api/v1/context/resolve
- * 3. Store ProcessingContext in exchange attribute "processingContext"
- * 4. Continue filter chain
+ * 2. Look up gateway-local ProcessingContextCache
+ * 3. On miss, call Party Service POST /api/v1/context/resolve and cache the result
+ *    (concurrent misses for the same principal share one call, see ContextResolutionCoalescer)
+ * 4. Store ProcessingContext in exchange attribute "processingContext"
+ * 5. Continue filter chain
  *
  * Error Handling:
  * - If context resolution fails, log warning and continue WITHOUT context
@@ -54,7 +57,8 @@ public class ContextResolutionFilter implements WebFilter {
     public static final String PROCESSING_CONTEXT_ATTRIBUTE = "processingContext";
     public static final String REQUEST_ID_ATTRIBUTE = "requestId";
 
-    private final PartyServiceClient partyServiceClient;
+    private final ContextResolutionCoalescer contextResolutionCoalescer;
+    private final ProcessingContextCache contextCache;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
@@ -106,9 +110,25 @@ public class ContextResolutionFilter implements WebFilter {
         log.debug("Resolving context for principal: {}, roles: {}, channel: {}",
                 principalId, roles, channelId);
 
+        // Serve from local cache when possible
+        String cacheKey = ProcessingContextCache.key(principalId, null, channelId, roles);
+        if (contextCache.isEnabled()) {
+            ProcessingContext cached = contextCache.get(cacheKey, requestId);
+            if (cached != null) {
+                exchange.getAttributes().put(PROCESSING_CONTEXT_ATTRIBUTE, cached);
+                log.debug("Context served from gateway cache for principal: {}, party: {}",
+                        principalId, cached.getPartyId());
+                return Mono.empty();
+            }
+        }
+
         // Call Party Service to resolve context
-        return partyServiceClient.resolveContext(principalId, principalId, roles, channelId, requestId)
+        return contextResolutionCoalescer.resolveContext(cacheKey, principalId, principalId, roles, channelId, requestId)
                 .doOnNext(context -> {
+                    if (contextCache.isEnabled()) {
+                        contextCache.put(cacheKey, context);
+                    }
+
                     // Store context in exchange attributes
                     exchange.getAttributes().put(PROCESSING_CONTEXT_ATTRIBUTE, context);
                     log.info("Context resolved and stored for principal: {}, tenant: {}, party: {}",
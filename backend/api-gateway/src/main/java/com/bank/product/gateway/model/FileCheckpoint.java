@@ -0,0 +1,45 @@
+package com.bank.product.gateway.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outcomes of one checkpointed range of records of a file upload
+ *
+ * Kept apart from the FileUpload so its size does not grow with the file.
+ * The ID is derived from the file and the first record of the range, so a
+ * range processed again after a resume replaces its earlier outcomes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "file_checkpoints")
+public class FileCheckpoint {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String fileId;
+
+    private Integer fromRecord;
+    private Integer toRecord;
+
+    private List<String> createdSolutionIds;
+    private List<FileUpload.FileProcessingError> errors;
+
+    private LocalDateTime createdAt;
+
+    public static String idOf(String fileId, int fromRecord) {
+        return fileId + ":" + fromRecord;
+    }
+}
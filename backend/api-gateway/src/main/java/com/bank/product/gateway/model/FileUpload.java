@@ -41,9 +41,15 @@ public class FileUpload {
     private Integer successfulRecords;
     private Integer failedRecords;
 
+    // Results of uploads processed before outcomes were stored per FileCheckpoint
     private List<FileProcessingError> errors;
     private List<String> createdSolutionIds;
 
+    // Resumable processing
+    private String storagePath;          // Spooled upload, deleted once processing completes
+    private Integer checkpointRecord;    // Line/record number up to which all records are processed
+    private LocalDateTime checkpointedAt;
+
     private String callbackUrl;
     private Boolean callbackSent;
 
@@ -10,104 +10,134 @@ import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * CSV File Parser for product configurations
- * Expected CSV format:
+ * Expected CSV format (RFC 4180, header row first, columns in any order):
  * catalogProductId,solutionName,description,customInterestRate,monthlyFee,annualFee,riskLevel,pricingVariance,businessJustification,priority
+ *
+ * Header columns are resolved to indexes once per file; data rows are read
+ * with a streaming tokenizer (see CsvTokenizer) and only the mapped fields
+ * are materialized. Malformed rows are emitted as records carrying a parse
+ * error with line and column, so one bad row does not abort the file.
  */
 @Slf4j
 @Component
 public class CsvFileParser implements FileParser {
 
-    private static final String DELIMITER = ",";
+    private static final char DELIMITER = ',';
     private static final int MIN_COLUMNS = 3; // catalogProductId, solutionName, description
+    private static final int READ_BUFFER_SIZE = 8192;
 
+    /**
+     * Records are read one at a time as downstream requests them, so only
+     * the current record is held in memory.
+     */
     @Override
     public Flux<ProductConfigurationRecord> parse(InputStream inputStream) {
-        return Flux.create(sink -> {
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-
-                String headerLine = reader.readLine();
-                if (headerLine == null) {
-                    sink.error(new IllegalArgumentException("CSV file is empty"));
-                    return;
-                }
-
-                String[] headers = headerLine.split(DELIMITER, -1);
-                log.info("CSV headers: {}", String.join(", ", headers));
+        return Flux.generate(
+                () -> new CsvReadState(new CsvTokenizer(
+                        new InputStreamReader(inputStream, StandardCharsets.UTF_8), DELIMITER, READ_BUFFER_SIZE)),
+                (state, sink) -> {
+                    try {
+                        if (state.columns == null) {
+                            if (!state.tokenizer.nextRecord()) {
+                                sink.error(new IllegalArgumentException("CSV file is empty"));
+                                return state;
+                            }
+                            state.columns = resolveColumns(state.tokenizer);
+                        }
 
-                AtomicInteger lineNumber = new AtomicInteger(1); // Start at 1 (header is line 0)
-                String line;
+                        while (state.tokenizer.nextRecord()) {
+                            if (state.tokenizer.isBlankRecord()) {
+                                continue; // Skip empty lines
+                            }
+                            sink.next(parseRecord(state.tokenizer, state.columns));
+                            return state;
+                        }
 
-                while ((line = reader.readLine()) != null) {
-                    lineNumber.incrementAndGet();
+                        sink.complete();
 
-                    if (line.trim().isEmpty()) {
-                        continue; // Skip empty lines
+                    } catch (IllegalArgumentException e) {
+                        log.error("Invalid CSV header: {}", e.getMessage());
+                        sink.error(e);
+                    } catch (IOException e) {
+                        log.error("Error reading CSV file", e);
+                        sink.error(e);
                     }
+                    return state;
+                },
+                CsvReadState::close);
+    }
 
-                    try {
-                        ProductConfigurationRecord record = parseLine(line, headers, lineNumber.get());
-                        sink.next(record);
-                    } catch (Exception e) {
-                        log.error("Error parsing line {}: {}", lineNumber.get(), e.getMessage());
-                        sink.error(new IllegalArgumentException(
-                                String.format("Error parsing line %d: %s", lineNumber.get(), e.getMessage())));
-                        return;
-                    }
-                }
+    /**
+     * Resolve the index of every known column from the header row
+     */
+    private Columns resolveColumns(CsvTokenizer header) {
+        if (header.error() != null) {
+            throw new IllegalArgumentException(location(header.errorLine(), header.errorColumn()) + header.error());
+        }
 
-                sink.complete();
+        Map<String, Integer> indexes = new HashMap<>();
+        String[] names = new String[header.fieldCount()];
+        for (int i = 0; i < header.fieldCount(); i++) {
+            names[i] = header.field(i);
+            indexes.put(names[i], i);
+        }
+        log.info("CSV headers: {}", String.join(", ", names));
 
-            } catch (IOException e) {
-                log.error("Error reading CSV file", e);
-                sink.error(e);
-            }
-        });
+        Columns columns = new Columns(indexes);
+        if (columns.catalogProductId < 0 || columns.solutionName < 0) {
+            throw new IllegalArgumentException(
+                    "CSV header must contain the catalogProductId and solutionName columns");
+        }
+        return columns;
     }
 
-    private ProductConfigurationRecord parseLine(String line, String[] headers, int lineNumber) {
-        String[] values = line.split(DELIMITER, -1);
+    private ProductConfigurationRecord parseRecord(CsvTokenizer row, Columns columns) {
+        int lineNumber = row.line();
 
-        if (values.length < MIN_COLUMNS) {
-            throw new IllegalArgumentException(
-                    String.format("Line has %d columns, minimum %d required", values.length, MIN_COLUMNS));
+        if (row.error() != null) {
+            return invalidRecord(lineNumber, null,
+                    location(row.errorLine(), row.errorColumn()) + row.error());
         }
-
-        Map<String, String> fieldMap = new HashMap<>();
-        for (int i = 0; i < Math.min(headers.length, values.length); i++) {
-            fieldMap.put(headers[i].trim(), values[i].trim());
+        if (row.fieldCount() < MIN_COLUMNS) {
+            return invalidRecord(lineNumber, null, location(lineNumber, 0)
+                    + String.format("Line has %d columns, minimum %d required", row.fieldCount(), MIN_COLUMNS));
         }
 
         // Parse required fields
-        String catalogProductId = getRequiredField(fieldMap, "catalogProductId", lineNumber);
-        String solutionName = getRequiredField(fieldMap, "solutionName", lineNumber);
-        String description = fieldMap.getOrDefault("description", "");
+        if (isMissing(row, columns.catalogProductId)) {
+            return missingField(row, columns.catalogProductId, "catalogProductId");
+        }
+        if (isMissing(row, columns.solutionName)) {
+            return missingField(row, columns.solutionName, "solutionName");
+        }
+        String catalogProductId = value(row, columns.catalogProductId);
+        String solutionName = value(row, columns.solutionName);
+        String description = valueOrDefault(row, columns.description, "");
 
         // Parse optional pricing fields
-        BigDecimal customInterestRate = parseBigDecimal(fieldMap.get("customInterestRate"));
+        BigDecimal customInterestRate = parseBigDecimal(row, columns.customInterestRate);
         Map<String, BigDecimal> customFees = new HashMap<>();
 
-        if (fieldMap.containsKey("monthlyFee") && !fieldMap.get("monthlyFee").isEmpty()) {
-            customFees.put("MONTHLY", parseBigDecimal(fieldMap.get("monthlyFee")));
+        if (!isMissing(row, columns.monthlyFee)) {
+            customFees.put("MONTHLY", parseBigDecimal(row, columns.monthlyFee));
         }
-        if (fieldMap.containsKey("annualFee") && !fieldMap.get("annualFee").isEmpty()) {
-            customFees.put("ANNUAL", parseBigDecimal(fieldMap.get("annualFee")));
+        if (!isMissing(row, columns.annualFee)) {
+            customFees.put("ANNUAL", parseBigDecimal(row, columns.annualFee));
         }
-        if (fieldMap.containsKey("overdraftFee") && !fieldMap.get("overdraftFee").isEmpty()) {
-            customFees.put("OVERDRAFT", parseBigDecimal(fieldMap.get("overdraftFee")));
+        if (!isMissing(row, columns.overdraftFee)) {
+            customFees.put("OVERDRAFT", parseBigDecimal(row, columns.overdraftFee));
         }
 
         // Parse workflow metadata
-        String riskLevel = fieldMap.getOrDefault("riskLevel", "LOW");
-        Double pricingVariance = parseDouble(fieldMap.get("pricingVariance"));
+        String riskLevel = valueOrDefault(row, columns.riskLevel, "LOW");
+        Double pricingVariance = parseDouble(row, columns.pricingVariance);
 
         // Parse business fields
-        String businessJustification = fieldMap.getOrDefault("businessJustification", "");
-        String priority = fieldMap.getOrDefault("priority", "MEDIUM");
+        String businessJustification = valueOrDefault(row, columns.businessJustification, "");
+        String priority = valueOrDefault(row, columns.priority, "MEDIUM");
 
         return ProductConfigurationRecord.builder()
                 .lineNumber(lineNumber)
@@ -123,39 +153,120 @@ public class CsvFileParser implements FileParser {
                 .build();
     }
 
-    private String getRequiredField(Map<String, String> fieldMap, String fieldName, int lineNumber) {
-        String value = fieldMap.get(fieldName);
-        if (value == null || value.trim().isEmpty()) {
-            throw new IllegalArgumentException(
-                    String.format("Required field '%s' is missing or empty at line %d", fieldName, lineNumber));
-        }
-        return value.trim();
+    private ProductConfigurationRecord missingField(CsvTokenizer row, int index, String fieldName) {
+        int column = index < row.fieldCount() ? row.column(index) : 0;
+        return invalidRecord(row.line(), fieldName, location(row.line(), column)
+                + String.format("Required field '%s' is missing or empty", fieldName));
     }
 
-    private BigDecimal parseBigDecimal(String value) {
-        if (value == null || value.trim().isEmpty()) {
+    private ProductConfigurationRecord invalidRecord(int lineNumber, String fieldName, String error) {
+        log.warn("Invalid CSV record: {}", error);
+        return ProductConfigurationRecord.builder()
+                .lineNumber(lineNumber)
+                .parseError(error)
+                .parseErrorField(fieldName)
+                .build();
+    }
+
+    private String location(int line, int column) {
+        return column > 0
+                ? String.format("Line %d, column %d: ", line, column)
+                : String.format("Line %d: ", line);
+    }
+
+    /**
+     * Column absent from the header or the row, or empty
+     */
+    private boolean isMissing(CsvTokenizer row, int index) {
+        return index < 0 || index >= row.fieldCount() || row.isBlank(index);
+    }
+
+    private String value(CsvTokenizer row, int index) {
+        return index < 0 || index >= row.fieldCount() ? null : row.field(index);
+    }
+
+    private String valueOrDefault(CsvTokenizer row, int index, String defaultValue) {
+        String value = value(row, index);
+        return value != null ? value : defaultValue;
+    }
+
+    private BigDecimal parseBigDecimal(CsvTokenizer row, int index) {
+        if (isMissing(row, index)) {
             return null;
         }
+        String value = row.field(index);
         try {
             return new BigDecimal(value.trim());
         } catch (NumberFormatException e) {
-            log.warn("Invalid decimal value: {}", value);
+            log.warn("Invalid decimal value at line {}, column {}: {}", row.line(), row.column(index), value);
             return null;
         }
     }
 
-    private Double parseDouble(String value) {
-        if (value == null || value.trim().isEmpty()) {
+    private Double parseDouble(CsvTokenizer row, int index) {
+        if (isMissing(row, index)) {
             return null;
         }
+        String value = row.field(index);
         try {
             return Double.parseDouble(value.trim());
         } catch (NumberFormatException e) {
-            log.warn("Invalid double value: {}", value);
+            log.warn("Invalid double value at line {}, column {}: {}", row.line(), row.column(index), value);
             return null;
         }
     }
 
+    /**
+     * Header column indexes, -1 when a column is absent
+     */
+    private static class Columns {
+        private final int catalogProductId;
+        private final int solutionName;
+        private final int description;
+        private final int customInterestRate;
+        private final int monthlyFee;
+        private final int annualFee;
+        private final int overdraftFee;
+        private final int riskLevel;
+        private final int pricingVariance;
+        private final int businessJustification;
+        private final int priority;
+
+        Columns(Map<String, Integer> indexes) {
+            this.catalogProductId = indexes.getOrDefault("catalogProductId", -1);
+            this.solutionName = indexes.getOrDefault("solutionName", -1);
+            this.description = indexes.getOrDefault("description", -1);
+            this.customInterestRate = indexes.getOrDefault("customInterestRate", -1);
+            this.monthlyFee = indexes.getOrDefault("monthlyFee", -1);
+            this.annualFee = indexes.getOrDefault("annualFee", -1);
+            this.overdraftFee = indexes.getOrDefault("overdraftFee", -1);
+            this.riskLevel = indexes.getOrDefault("riskLevel", -1);
+            this.pricingVariance = indexes.getOrDefault("pricingVariance", -1);
+            this.businessJustification = indexes.getOrDefault("businessJustification", -1);
+            this.priority = indexes.getOrDefault("priority", -1);
+        }
+    }
+
+    /**
+     * Reader position while a CSV file is being streamed
+     */
+    private static class CsvReadState {
+        private final CsvTokenizer tokenizer;
+        private Columns columns;
+
+        CsvReadState(CsvTokenizer tokenizer) {
+            this.tokenizer = tokenizer;
+        }
+
+        void close() {
+            try {
+                tokenizer.close();
+            } catch (IOException e) {
+                log.warn("Error closing CSV reader: {}", e.getMessage());
+            }
+        }
+    }
+
     @Override
     public boolean canParse(String contentType, String fileName) {
         return (contentType != null && contentType.contains("csv")) ||
@@ -0,0 +1,329 @@
+package com.bank.product.gateway.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Streaming RFC 4180 CSV tokenizer
+ *
+ * Reads one record per {@link #nextRecord()} call. The characters of all
+ * fields of the current record are collected in one reusable char buffer
+ * and fields are kept as slices (offset and length) of it, so tokenizing
+ * allocates nothing per record - Strings are only created for the fields
+ * that are actually read.
+ *
+ * Supports quoted fields with embedded delimiters, line breaks and escaped
+ * quotes ({@code ""}), and CRLF, LF or CR line endings. Unquoted fields are
+ * read leniently: a quote inside them is kept as a literal character.
+ *
+ * A malformed record does not stop the tokenizer: the first error of the
+ * record is available with its line and column through {@link #error()},
+ * and the next call continues with the following record.
+ */
+final class CsvTokenizer implements Closeable {
+
+    /**
+     * Maximum number of characters in one record - bounds memory when a
+     * closing quote is missing
+     */
+    static final int MAX_RECORD_LENGTH = 1 << 20;
+
+    private static final int EOF = -1;
+    private static final char QUOTE = '"';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader reader;
+    private final char delimiter;
+
+    // Input window
+    private final char[] input;
+    private int inputPos;
+    private int inputLimit;
+    private boolean eof;
+
+    // Current record
+    private char[] chars = new char[1024];
+    private int length;
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private int[] fieldColumns = new int[16];
+    private boolean[] fieldQuoted = new boolean[16];
+    private int fieldCount;
+    private int recordLine;
+
+    // First error of the current record
+    private String error;
+    private int errorLine;
+    private int errorColumn;
+
+    // Position of the last character read
+    private int line = 1;
+    private int column;
+
+    CsvTokenizer(Reader reader, char delimiter, int bufferSize) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.input = new char[bufferSize];
+    }
+
+    /**
+     * Advance to the next record
+     *
+     * @return false once the input is exhausted
+     */
+    boolean nextRecord() throws IOException {
+        length = 0;
+        fieldCount = 0;
+        error = null;
+
+        int c = read();
+        if (c == BYTE_ORDER_MARK && line == 1 && column == 1) {
+            c = read();
+            column = 1;
+        }
+        if (c == EOF) {
+            return false;
+        }
+        recordLine = line;
+
+        while (true) {
+            int start = length;
+            int fieldColumn = column;
+            boolean quoted = c == QUOTE;
+
+            if (quoted) {
+                c = readQuoted();
+                if (!isFieldEnd(c)) {
+                    fail(line, column, "Unexpected character '" + (char) c + "' after closing quote");
+                    c = skipField();
+                }
+            } else {
+                while (!isFieldEnd(c)) {
+                    if (!append((char) c)) {
+                        fail(line, column, "Record exceeds " + MAX_RECORD_LENGTH + " characters");
+                    }
+                    c = read();
+                }
+            }
+            addField(start, fieldColumn, quoted);
+
+            if (c == delimiter) {
+                c = read();
+                continue;
+            }
+
+            // End of record
+            if (c == '\r' && peek() == '\n') {
+                read();
+            }
+            if (c != EOF) {
+                newLine();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Number of fields in the current record
+     */
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Line the current record starts on (1-based)
+     */
+    int line() {
+        return recordLine;
+    }
+
+    /**
+     * Column field {@code index} starts at (1-based)
+     */
+    int column(int index) {
+        return fieldColumns[index];
+    }
+
+    /**
+     * Field value - unquoted fields are trimmed, quoted fields are kept verbatim
+     */
+    String field(int index) {
+        int start = fieldStarts[index];
+        int end = fieldEnds[index];
+        if (!fieldQuoted[index]) {
+            while (start < end && chars[start] <= ' ') {
+                start++;
+            }
+            while (end > start && chars[end - 1] <= ' ') {
+                end--;
+            }
+        }
+        return new String(chars, start, end - start);
+    }
+
+    /**
+     * Field is empty or whitespace only
+     */
+    boolean isBlank(int index) {
+        for (int i = fieldStarts[index]; i < fieldEnds[index]; i++) {
+            if (!Character.isWhitespace(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Current record is an empty or whitespace-only line
+     */
+    boolean isBlankRecord() {
+        return fieldCount == 1 && !fieldQuoted[0] && isBlank(0);
+    }
+
+    /**
+     * First error in the current record, or null if it is well-formed
+     */
+    String error() {
+        return error;
+    }
+
+    int errorLine() {
+        return errorLine;
+    }
+
+    int errorColumn() {
+        return errorColumn;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Read the content of a quoted field - the opening quote has been read
+     *
+     * @return The character following the closing quote
+     */
+    private int readQuoted() throws IOException {
+        int quoteLine = line;
+        int quoteColumn = column;
+
+        while (true) {
+            int c = read();
+            if (c == EOF) {
+                fail(quoteLine, quoteColumn, "Quoted field is not terminated");
+                return EOF;
+            }
+            if (c == QUOTE) {
+                c = read();
+                if (c != QUOTE) {
+                    return c;
+                }
+            }
+            if (!append((char) c)) {
+                // Most likely a missing closing quote - resynchronize at the next line
+                fail(quoteLine, quoteColumn, "Quoted field exceeds " + MAX_RECORD_LENGTH + " characters");
+                return skipLine(c);
+            }
+            if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') {
+                    append((char) read());
+                }
+                newLine();
+            }
+        }
+    }
+
+    /**
+     * Skip the rest of a malformed field
+     */
+    private int skipField() throws IOException {
+        int c = read();
+        while (!isFieldEnd(c)) {
+            c = read();
+        }
+        return c;
+    }
+
+    private int skipLine(int c) throws IOException {
+        while (c != '\r' && c != '\n' && c != EOF) {
+            c = read();
+        }
+        return c;
+    }
+
+    private boolean isFieldEnd(int c) {
+        return c == delimiter || c == '\n' || c == '\r' || c == EOF;
+    }
+
+    private boolean append(char c) {
+        if (length == chars.length) {
+            if (length >= MAX_RECORD_LENGTH) {
+                return false;
+            }
+            chars = Arrays.copyOf(chars, Math.min(length * 2, MAX_RECORD_LENGTH));
+        }
+        chars[length++] = c;
+        return true;
+    }
+
+    private void addField(int start, int fieldColumn, boolean quoted) {
+        if (fieldCount == fieldStarts.length) {
+            int capacity = fieldCount * 2;
+            fieldStarts = Arrays.copyOf(fieldStarts, capacity);
+            fieldEnds = Arrays.copyOf(fieldEnds, capacity);
+            fieldColumns = Arrays.copyOf(fieldColumns, capacity);
+            fieldQuoted = Arrays.copyOf(fieldQuoted, capacity);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = length;
+        fieldColumns[fieldCount] = fieldColumn;
+        fieldQuoted[fieldCount] = quoted;
+        fieldCount++;
+    }
+
+    private void fail(int failedLine, int failedColumn, String message) {
+        if (error == null) {
+            error = message;
+            errorLine = failedLine;
+            errorColumn = failedColumn;
+        }
+    }
+
+    private void newLine() {
+        line++;
+        column = 0;
+    }
+
+    private int read() throws IOException {
+        if (inputPos == inputLimit && !fill()) {
+            return EOF;
+        }
+        column++;
+        return input[inputPos++];
+    }
+
+    private int peek() throws IOException {
+        if (inputPos == inputLimit && !fill()) {
+            return EOF;
+        }
+        return input[inputPos];
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int read = reader.read(input, 0, input.length);
+        if (read <= 0) {
+            eof = true;
+            return false;
+        }
+        inputPos = 0;
+        inputLimit = read;
+        return true;
+    }
+}
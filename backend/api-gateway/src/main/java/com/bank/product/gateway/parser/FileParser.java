@@ -1,7 +1,10 @@
 package com.bank.product.gateway.parser;
 
 import com.bank.product.gateway.dto.ProductConfigurationRecord;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.InputStream;
 
@@ -15,6 +18,19 @@ public interface FileParser {
      */
     Flux<ProductConfigurationRecord> parse(InputStream inputStream);
 
+    /**
+     * Parse streamed file content
+     *
+     * Buffers are pulled from {@code content} only as the parser consumes
+     * them, and records only as downstream requests them. The blocking
+     * stream parser runs on the bounded elastic scheduler, including
+     * subsequent requests for more records.
+     */
+    default Flux<ProductConfigurationRecord> parse(Flux<DataBuffer> content) {
+        return Flux.defer(() -> parse(DataBufferUtils.subscriberInputStream(content, 4)))
+                .subscribeOn(Schedulers.boundedElastic(), true);
+    }
+
     /**
      * Validate file format
      */
@@ -1,7 +1,11 @@
 package com.bank.product.gateway.parser;
 
 import com.bank.product.gateway.dto.ProductConfigurationRecord;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,8 +14,6 @@ import reactor.core.publisher.Flux;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * JSON File Parser for product configurations
@@ -27,6 +29,13 @@ import java.util.concurrent.atomic.AtomicInteger;
  *   "businessJustification": "Special customer tier",
  *   "priority": "MEDIUM"
  * }, ...]
+ * or NDJSON: one product configuration object per line.
+ *
+ * The document is read from Jackson's token stream one record at a time as
+ * downstream requests them, so only the current record is held in memory.
+ * Records that cannot be bound or miss required fields are emitted with a
+ * parse error instead of failing the file; malformed JSON still fails it,
+ * since the parser cannot resynchronize within the document.
  */
 @Slf4j
 @Component
@@ -37,51 +46,142 @@ public class JsonFileParser implements FileParser {
 
     @Override
     public Flux<ProductConfigurationRecord> parse(InputStream inputStream) {
-        return Flux.create(sink -> {
-            try {
-                List<ProductConfigurationRecord> records = objectMapper.readValue(
-                        inputStream,
-                        new TypeReference<List<ProductConfigurationRecord>>() {}
-                );
-
-                if (records == null || records.isEmpty()) {
-                    sink.error(new IllegalArgumentException("JSON file contains no records"));
-                    return;
-                }
-
-                log.info("Parsed {} records from JSON file", records.size());
-
-                AtomicInteger lineNumber = new AtomicInteger(0);
-                records.forEach(record -> {
-                    record.setLineNumber(lineNumber.incrementAndGet());
-
-                    // Validate required fields
-                    if (record.getCatalogProductId() == null || record.getCatalogProductId().trim().isEmpty()) {
-                        sink.error(new IllegalArgumentException(
-                                String.format("Record %d: catalogProductId is required", lineNumber.get())));
-                        return;
-                    }
-                    if (record.getSolutionName() == null || record.getSolutionName().trim().isEmpty()) {
-                        sink.error(new IllegalArgumentException(
-                                String.format("Record %d: solutionName is required", lineNumber.get())));
-                        return;
+        return Flux.generate(
+                () -> new JsonReadState(objectMapper.createParser(inputStream)),
+                (state, sink) -> {
+                    try {
+                        JsonToken token = nextRecordToken(state);
+                        if (token == null) {
+                            if (state.recordNumber == 0) {
+                                sink.error(new IllegalArgumentException("JSON file contains no records"));
+                            } else {
+                                log.info("Parsed {} records from JSON file", state.recordNumber);
+                                sink.complete();
+                            }
+                            return state;
+                        }
+
+                        if (token != JsonToken.START_OBJECT) {
+                            sink.error(new IllegalArgumentException(String.format(
+                                    "Invalid JSON format: expected an object at %s", location(state.parser))));
+                            return state;
+                        }
+
+                        state.recordNumber++;
+                        sink.next(readRecord(state));
+
+                    } catch (IOException e) {
+                        log.error("Error parsing JSON file", e);
+                        sink.error(new IllegalArgumentException("Invalid JSON format: " + e.getMessage()));
                     }
+                    return state;
+                },
+                JsonReadState::close);
+    }
+
+    /**
+     * Advance to the start of the next record
+     *
+     * @return START_OBJECT of the next record, another token if the document
+     *         is not a list of objects, or null at the end of the records
+     */
+    private JsonToken nextRecordToken(JsonReadState state) throws IOException {
+        JsonToken token = state.parser.nextToken();
+
+        if (state.mode == null) {
+            if (token == JsonToken.START_ARRAY) {
+                state.mode = Mode.ARRAY;
+                token = state.parser.nextToken();
+            } else {
+                state.mode = Mode.NDJSON;
+            }
+        }
+
+        if (state.mode == Mode.ARRAY && token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        return token;
+    }
+
+    /**
+     * Read the record starting at the current START_OBJECT
+     */
+    private ProductConfigurationRecord readRecord(JsonReadState state) throws IOException {
+        int recordNumber = state.recordNumber;
+        String location = location(state.parser);
 
-                    sink.next(record);
-                });
+        // Reading the tree consumes exactly one record; binding errors then stay local to it
+        JsonNode node = state.parser.readValueAsTree();
 
-                sink.complete();
+        ProductConfigurationRecord record;
+        try {
+            record = objectMapper.treeToValue(node, ProductConfigurationRecord.class);
+        } catch (JsonProcessingException e) {
+            return invalidRecord(recordNumber, location, null, e.getOriginalMessage());
+        }
+        record.setLineNumber(recordNumber);
 
+        // Validate required fields
+        if (record.getCatalogProductId() == null || record.getCatalogProductId().trim().isEmpty()) {
+            return invalidRecord(recordNumber, location, "catalogProductId", "catalogProductId is required");
+        }
+        if (record.getSolutionName() == null || record.getSolutionName().trim().isEmpty()) {
+            return invalidRecord(recordNumber, location, "solutionName", "solutionName is required");
+        }
+
+        return record;
+    }
+
+    private ProductConfigurationRecord invalidRecord(int recordNumber, String location, String fieldName, String error) {
+        String message = String.format("Record %d (%s): %s", recordNumber, location, error);
+        log.warn("Invalid JSON record: {}", message);
+        return ProductConfigurationRecord.builder()
+                .lineNumber(recordNumber)
+                .parseError(message)
+                .parseErrorField(fieldName)
+                .build();
+    }
+
+    private String location(JsonParser parser) {
+        JsonLocation location = parser.currentTokenLocation();
+        return String.format("line %d, column %d", location.getLineNr(), location.getColumnNr());
+    }
+
+    private enum Mode {
+        ARRAY,
+        NDJSON
+    }
+
+    /**
+     * Parser position while a JSON file is being streamed
+     */
+    private static class JsonReadState {
+        private final JsonParser parser;
+        private Mode mode;
+        private int recordNumber;
+
+        JsonReadState(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        void close() {
+            try {
+                parser.close();
             } catch (IOException e) {
-                log.error("Error parsing JSON file", e);
-                sink.error(new IllegalArgumentException("Invalid JSON format: " + e.getMessage()));
+                log.warn("Error closing JSON parser: {}", e.getMessage());
             }
-        });
+        }
     }
 
     @Override
     public boolean canParse(String contentType, String fileName) {
-        return (contentType != null && contentType.contains("json")) ||
-                (fileName != null && fileName.toLowerCase().endsWith(".json"));
+        if (contentType != null && contentType.contains("json")) {
+            return true;
+        }
+        if (fileName == null) {
+            return false;
+        }
+        String name = fileName.toLowerCase();
+        return name.endsWith(".json") || name.endsWith(".ndjson") || name.endsWith(".jsonl");
     }
 }
@@ -0,0 +1,15 @@
+package com.bank.product.gateway.repository;
+
+import com.bank.product.gateway.model.FileCheckpoint;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface FileCheckpointRepository extends ReactiveMongoRepository<FileCheckpoint, String> {
+
+    Flux<FileCheckpoint> findByFileIdOrderByFromRecord(String fileId);
+
+    Mono<Void> deleteByFileId(String fileId);
+}
@@ -89,35 +89,36 @@ public class JwtAuthenticationFilter implements WebFilter {
      * Authenticate request using JWT token
      */
     private Mono<Authentication> authenticateWithJwt(String token) {
-        return Mono.fromCallable(() -> {
-                    // Check if token is blacklisted
-                    if (blacklistService.isBlacklisted(token)) {
-                        throw new JwtAuthenticationException("Token has been revoked");
-                    }
-
-                    // Validate and parse JWT
-                    JwtClaims claims = jwtService.validateAndParse(token);
-
-                    // Extract authorities from roles
-                    List<SimpleGrantedAuthority> authorities = claims.getRoles() != null
-                            ? claims.getRoles().stream()
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList())
-                            : List.of();
-
-                    // Create Authentication object
-                    JwtAuthenticationToken authentication = new JwtAuthenticationToken(
-                            claims.getSubject(),
-                            token,
-                            authorities,
-                            claims
-                    );
-
-                    log.debug("JWT authentication successful for user: {}, tenant: {}, roles: {}",
-                            claims.getUsername(), claims.getTenantId(), claims.getRoles());
-
-                    return (Authentication) authentication;
-                })
+        // Validate and parse JWT (once - the blacklist check reuses the claims)
+        return Mono.fromCallable(() -> jwtService.validateAndParse(token))
+                .flatMap(claims -> blacklistService.isRevoked(claims)
+                        .flatMap(revoked -> {
+                            // Check if token is blacklisted
+                            if (revoked) {
+                                return Mono.<Authentication>error(
+                                        new JwtAuthenticationException("Token has been revoked"));
+                            }
+
+                            // Extract authorities from roles
+                            List<SimpleGrantedAuthority> authorities = claims.getRoles() != null
+                                    ? claims.getRoles().stream()
+                                    .map(SimpleGrantedAuthority::new)
+                                    .collect(Collectors.toList())
+                                    : List.of();
+
+                            // Create Authentication object
+                            JwtAuthenticationToken authentication = new JwtAuthenticationToken(
+                                    claims.getSubject(),
+                                    token,
+                                    authorities,
+                                    claims
+                            );
+
+                            log.debug("JWT authentication successful for user: {}, tenant: {}, roles: {}",
+                                    claims.getUsername(), claims.getTenantId(), claims.getRoles());
+
+                            return Mono.<Authentication>just(authentication);
+                        }))
                 .onErrorMap(ex -> {
                     log.error("JWT authentication error: {}", ex.getMessage());
                     return new JwtAuthenticationException("Invalid JWT token", ex);
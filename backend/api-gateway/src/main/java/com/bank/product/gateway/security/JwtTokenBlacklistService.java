@@ -3,30 +3,95 @@ package com.bank.product.gateway.security;
 import com.bank.product.security.jwt.JwtClaims;
 import com.bank.product.security.jwt.JwtProperties;
 import com.bank.product.security.jwt.JwtService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JWT Token Blacklist Service
  *
  * Manages token revocation using Redis for distributed blacklist.
  * Blacklisted tokens are stored with TTL matching token expiration.
+ *
+ * Every gateway instance keeps a local copy of the revoked JTIs, so the
+ * revocation check of a bearer request needs no Redis round trip:
+ * - revocations are broadcast on a Redis pub/sub channel and applied as they arrive
+ * - the local set is periodically reloaded from the blacklist keys, which
+ *   also picks up anything published while the subscription was down
+ *
+ * If the local set is stale (subscription lost or reload failing) checks
+ * fall back to a non-blocking Redis lookup, and fail closed if Redis is
+ * unavailable.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class JwtTokenBlacklistService {
 
+    private static final char REVOKED = '+';
+    private static final char RESTORED = '-';
+
     private final ReactiveRedisTemplate<String, String> redisTemplate;
     private final JwtProperties jwtProperties;
     private final JwtService jwtService;
 
+    /**
+     * Revoked JTI -> revocation
+     */
+    private final Map<String, Revocation> revokedJtis = new ConcurrentHashMap<>();
+
+    private final Disposable.Composite subscriptions = Disposables.composite();
+    private volatile boolean subscribed = false;
+    private volatile Instant lastSyncAt = Instant.EPOCH;
+
+    @PostConstruct
+    public void startSync() {
+        if (!jwtProperties.isEnableBlacklist()) {
+            return;
+        }
+
+        log.info("Starting token revocation sync on channel: {}", jwtProperties.getRevocationChannel());
+
+        subscriptions.add(redisTemplate.listenToChannel(jwtProperties.getRevocationChannel())
+                .doOnSubscribe(s -> subscribed = true)
+                .doOnNext(message -> applyRevocationMessage(message.getMessage()))
+                .doOnError(error -> {
+                    subscribed = false;
+                    log.error("Token revocation subscription failed: {}", error.getMessage());
+                })
+                .doOnComplete(() -> subscribed = false)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe());
+
+        subscriptions.add(Flux.interval(Duration.ZERO, jwtProperties.getRevocationResyncInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> reload()
+                        .onErrorResume(error -> {
+                            log.error("Failed to reload token revocations: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void stopSync() {
+        subscriptions.dispose();
+    }
+
     /**
      * Add token to blacklist (revoke token)
      */
@@ -53,8 +118,13 @@ public class JwtTokenBlacklistService {
             String key = getBlacklistKey(jti);
             Duration ttl = Duration.ofSeconds(ttlSeconds);
 
+            revokedJtis.put(jti, new Revocation(expiresAt, Instant.now()));
+
             return redisTemplate.opsForValue()
                     .set(key, token, ttl)
+                    .flatMap(result -> redisTemplate
+                            .convertAndSend(jwtProperties.getRevocationChannel(), REVOKED + jti + ':' + expiresAt)
+                            .thenReturn(result))
                     .doOnSuccess(result -> log.info("Token blacklisted: {}, TTL: {} seconds", jti, ttlSeconds))
                     .doOnError(error -> log.error("Failed to blacklist token: {}", error.getMessage()));
 
@@ -67,26 +137,44 @@ public class JwtTokenBlacklistService {
     /**
      * Check if token is blacklisted
      */
-    public boolean isBlacklisted(String token) {
-        try {
-            // Parse token to get JTI
-            JwtClaims claims = jwtService.validateAndParse(token);
-            String jti = claims.getJti();
-
-            if (jti == null) {
-                return false;
-            }
+    public Mono<Boolean> isBlacklisted(String token) {
+        return Mono.fromCallable(() -> jwtService.validateAndParse(token))
+                .flatMap(this::isRevoked)
+                .onErrorResume(e -> {
+                    log.error("Error checking token blacklist", e);
+                    // Fail closed - treat as blacklisted if we can't check
+                    return Mono.just(true);
+                });
+    }
 
-            String key = getBlacklistKey(jti);
-            Boolean exists = redisTemplate.hasKey(key).block();
+    /**
+     * Check if an already validated token is blacklisted
+     *
+     * Answered from the local revocation set while it is in sync with Redis,
+     * otherwise looked up in Redis.
+     */
+    public Mono<Boolean> isRevoked(JwtClaims claims) {
+        String jti = claims.getJti();
+        if (jti == null || !jwtProperties.isEnableBlacklist()) {
+            return Mono.just(false);
+        }
 
-            return Boolean.TRUE.equals(exists);
+        if (revokedJtis.containsKey(jti)) {
+            return Mono.just(true);
+        }
 
-        } catch (Exception e) {
-            log.error("Error checking token blacklist", e);
-            // Fail closed - treat as blacklisted if we can't check
-            return true;
+        if (isInSync()) {
+            return Mono.just(false);
         }
+
+        log.debug("Token revocation set is stale, checking Redis for: {}", jti);
+        return redisTemplate.hasKey(getBlacklistKey(jti))
+                .map(Boolean.TRUE::equals)
+                .onErrorResume(e -> {
+                    log.error("Error checking token blacklist", e);
+                    // Fail closed - treat as blacklisted if we can't check
+                    return Mono.just(true);
+                });
     }
 
     /**
@@ -94,15 +182,77 @@ public class JwtTokenBlacklistService {
      */
     public Mono<Boolean> removeFromBlacklist(String jti) {
         String key = getBlacklistKey(jti);
+        revokedJtis.remove(jti);
         return redisTemplate.delete(key)
                 .map(count -> count > 0)
+                .flatMap(result -> redisTemplate
+                        .convertAndSend(jwtProperties.getRevocationChannel(), RESTORED + jti)
+                        .thenReturn(result))
                 .doOnSuccess(result -> log.info("Token removed from blacklist: {}", jti));
     }
 
+    /**
+     * Local revocation set can be trusted: subscribed to revocations and reloaded recently
+     */
+    private boolean isInSync() {
+        return subscribed
+                && lastSyncAt.plus(jwtProperties.getRevocationMaxStaleness()).isAfter(Instant.now());
+    }
+
+    /**
+     * Reload the revocation set from the blacklist keys in Redis
+     *
+     * Entries revoked locally or via pub/sub while the reload runs are kept.
+     */
+    private Mono<Void> reload() {
+        Instant startedAt = Instant.now();
+        Map<String, Revocation> loaded = new ConcurrentHashMap<>();
+        String prefix = jwtProperties.getBlacklistPrefix();
+
+        return redisTemplate.scan(ScanOptions.scanOptions().match(prefix + "*").count(500).build())
+                .flatMap(key -> redisTemplate.getExpire(key)
+                        .doOnNext(ttl -> loaded.put(key.substring(prefix.length()),
+                                new Revocation(startedAt.plus(ttl).getEpochSecond(), startedAt))), 16)
+                .then(Mono.fromRunnable(() -> {
+                    long now = Instant.now().getEpochSecond();
+                    revokedJtis.entrySet().removeIf(entry -> entry.getValue().expiresAt() <= now
+                            || (!loaded.containsKey(entry.getKey())
+                                    && entry.getValue().recordedAt().isBefore(startedAt)));
+                    loaded.forEach(revokedJtis::putIfAbsent);
+                    lastSyncAt = startedAt;
+                    log.debug("Reloaded {} token revocations", loaded.size());
+                }));
+    }
+
+    private void applyRevocationMessage(String message) {
+        if (message == null || message.length() < 2) {
+            return;
+        }
+
+        String body = message.substring(1);
+        if (message.charAt(0) == REVOKED) {
+            int separator = body.lastIndexOf(':');
+            String jti = separator > 0 ? body.substring(0, separator) : body;
+            long expiresAt = separator > 0
+                    ? Long.parseLong(body.substring(separator + 1))
+                    : Instant.now().plus(jwtProperties.getRefreshTokenExpiration()).getEpochSecond();
+            revokedJtis.put(jti, new Revocation(expiresAt, Instant.now()));
+        } else if (message.charAt(0) == RESTORED) {
+            revokedJtis.remove(body);
+        }
+    }
+
     /**
      * Get blacklist key for Redis
      */
     private String getBlacklistKey(String jti) {
         return jwtProperties.getBlacklistPrefix() + jti;
     }
+
+    /**
+     * @param expiresAt Token expiry (epoch seconds) - the revocation is dropped afterwards
+     * @param recordedAt When this instance learned about the revocation
+     */
+    private record Revocation(long expiresAt, Instant recordedAt) {
+    }
 }
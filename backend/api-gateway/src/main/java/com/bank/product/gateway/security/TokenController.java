@@ -135,25 +135,28 @@ public class TokenController {
             }
 
             // Check if token is blacklisted
-            if (blacklistService.isBlacklisted(refreshToken)) {
-                return Mono.just(ResponseEntity
-                        .status(HttpStatus.UNAUTHORIZED)
-                        .body(TokenResponse.error("invalid_token", "Token has been revoked")));
-            }
+            return blacklistService.isRevoked(claims)
+                    .map(revoked -> {
+                        if (revoked) {
+                            return ResponseEntity
+                                    .status(HttpStatus.UNAUTHORIZED)
+                                    .body(TokenResponse.error("invalid_token", "Token has been revoked"));
+                        }
 
-            // Generate new access token (preserve claims)
-            String newAccessToken = jwtService.generateAccessToken(claims);
+                        // Generate new access token (preserve claims)
+                        String newAccessToken = jwtService.generateAccessToken(claims);
 
-            TokenResponse response = TokenResponse.builder()
-                    .accessToken(newAccessToken)
-                    .refreshToken(refreshToken) // Keep same refresh token
-                    .tokenType("Bearer")
-                    .expiresIn(900) // 15 minutes
-                    .build();
+                        TokenResponse response = TokenResponse.builder()
+                                .accessToken(newAccessToken)
+                                .refreshToken(refreshToken) // Keep same refresh token
+                                .tokenType("Bearer")
+                                .expiresIn(900) // 15 minutes
+                                .build();
 
-            log.info("Access token refreshed for user: {}", claims.getUsername());
+                        log.info("Access token refreshed for user: {}", claims.getUsername());
 
-            return Mono.just(ResponseEntity.ok(response));
+                        return ResponseEntity.ok(response);
+                    });
 
         } catch (Exception e) {
             log.error("Error refreshing token", e);
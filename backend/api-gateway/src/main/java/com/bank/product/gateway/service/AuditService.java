@@ -1,37 +1,291 @@
 package com.bank.product.gateway.service;
 
+import com.bank.product.gateway.config.AuditProperties;
+import com.bank.product.gateway.config.AuditProperties.OverflowPolicy;
 import com.bank.product.gateway.model.ApiAuditLog;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Mono;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for logging API audit events
+ *
+ * Request threads only enqueue audit logs into a bounded lock-free buffer.
+ * A single writer thread drains the buffer in batches: one MongoDB bulk
+ * insert per batch, awaited on that thread (a plain thread, not a Reactor
+ * scheduler, so it may block), then a Kafka send per log (coalesced by the producer,
+ * see spring.kafka.producer batch-size / linger.ms). A batch is written
+ * once {@code batchSize} logs are pending or every {@code flushInterval}.
+ *
+ * Only one bulk insert is in flight at a time, so MongoDB write load is
+ * bounded regardless of request rate. Logs that do not fit in the buffer
+ * are handled by the configured overflow policy (drop, sample or spill).
+ *
+ * Metrics:
+ * - gateway.audit.queue.depth: buffered audit logs
+ * - gateway.audit.written: audit logs written to MongoDB
+ * - gateway.audit.dropped{reason=overflow|sampled|write_failure}
+ * - gateway.audit.spilled: audit logs appended to the spill file
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AuditService {
 
     private final ReactiveMongoTemplate mongoTemplate;
     private final KafkaTemplate<String, ApiAuditLog> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditProperties properties;
+
+    private final Queue<ApiAuditLog> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferSize = new AtomicInteger();
+    private final Queue<ApiAuditLog> spillBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger spillBufferSize = new AtomicInteger();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    private final Counter writtenCounter;
+    private final Counter overflowDropCounter;
+    private final Counter sampledDropCounter;
+    private final Counter writeFailureDropCounter;
+    private final Counter spilledCounter;
+
+    private ScheduledExecutorService writer;
+
+    public AuditService(ReactiveMongoTemplate mongoTemplate,
+                        KafkaTemplate<String, ApiAuditLog> kafkaTemplate,
+                        ObjectMapper objectMapper,
+                        AuditProperties properties,
+                        MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+
+        Gauge.builder("gateway.audit.queue.depth", bufferSize, AtomicInteger::get)
+                .description("Audit logs waiting to be written")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("gateway.audit.written")
+                .description("Audit logs written to MongoDB")
+                .register(meterRegistry);
+        this.overflowDropCounter = dropCounter(meterRegistry, "overflow");
+        this.sampledDropCounter = dropCounter(meterRegistry, "sampled");
+        this.writeFailureDropCounter = dropCounter(meterRegistry, "write_failure");
+        this.spilledCounter = Counter.builder("gateway.audit.spilled")
+                .description("Audit logs appended to the spill file")
+                .register(meterRegistry);
+    }
+
+    private static Counter dropCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("gateway.audit.dropped")
+                .description("Audit logs that were not recorded")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long intervalMs = properties.getFlushInterval().toMillis();
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::drain, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Audit pipeline started: capacity={}, batchSize={}, flushInterval={}, overflowPolicy={}",
+                properties.getBufferCapacity(), properties.getBatchSize(),
+                properties.getFlushInterval(), properties.getOverflowPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Write what is still buffered before shutting down
+        writer.execute(this::drain);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(properties.getWriteTimeout().multipliedBy(2).toMillis(),
+                    TimeUnit.MILLISECONDS)) {
+                log.warn("Audit writer did not stop in time, {} audit logs lost", bufferSize.get());
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.shutdownNow();
+        }
+    }
 
     /**
      * Log API request to MongoDB and Kafka
+     *
+     * Never blocks: the audit log is buffered and written asynchronously.
+     */
+    public void logRequest(ApiAuditLog auditLog) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        if (shouldSample(auditLog) && sampleSequence.incrementAndGet() % properties.getSampleRate() != 0) {
+            sampledDropCounter.increment();
+            return;
+        }
+
+        if (!offer(buffer, bufferSize, auditLog)) {
+            overflow(auditLog);
+            return;
+        }
+
+        if (bufferSize.get() >= properties.getBatchSize()) {
+            requestDrain();
+        }
+    }
+
+    private boolean shouldSample(ApiAuditLog auditLog) {
+        if (properties.getOverflowPolicy() != OverflowPolicy.SAMPLE) {
+            return false;
+        }
+        boolean success = auditLog.getStatusCode() == null || auditLog.getStatusCode() < 400;
+        return success && bufferSize.get() >= properties.getBufferCapacity() * properties.getSampleThreshold();
+    }
+
+    private void overflow(ApiAuditLog auditLog) {
+        if (properties.getOverflowPolicy() == OverflowPolicy.SPILL
+                && offer(spillBuffer, spillBufferSize, auditLog)) {
+            requestDrain();
+            return;
+        }
+
+        overflowDropCounter.increment();
+        log.debug("Audit buffer full, dropped audit log: {}", auditLog.getRequestId());
+    }
+
+    /**
+     * Bounded offer: the size counter reserves a slot before the (unbounded) queue is touched
      */
-    public Mono<ApiAuditLog> logRequest(ApiAuditLog auditLog) {
-        return mongoTemplate.save(auditLog)
-            .doOnSuccess(saved -> {
-                // Also publish to Kafka for real-time analytics
+    private boolean offer(Queue<ApiAuditLog> queue, AtomicInteger size, ApiAuditLog auditLog) {
+        if (size.incrementAndGet() > properties.getBufferCapacity()) {
+            size.decrementAndGet();
+            return false;
+        }
+        queue.offer(auditLog);
+        return true;
+    }
+
+    private List<ApiAuditLog> poll(Queue<ApiAuditLog> queue, AtomicInteger size, int max) {
+        List<ApiAuditLog> batch = new ArrayList<>(Math.min(max, size.get()));
+        ApiAuditLog auditLog;
+        while (batch.size() < max && (auditLog = queue.poll()) != null) {
+            size.decrementAndGet();
+            batch.add(auditLog);
+        }
+        return batch;
+    }
+
+    private void requestDrain() {
+        if (drainRequested.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                drainRequested.set(false); // Shutting down, stop() drains what is left
+            }
+        }
+    }
+
+    /**
+     * Write buffered audit logs, spilled ones first
+     *
+     * Runs on the audit-writer thread only, which blocks on each bulk insert
+     * for up to the write timeout.
+     */
+    private void drain() {
+        drainRequested.set(false);
+        try {
+            List<ApiAuditLog> spilled = poll(spillBuffer, spillBufferSize, Integer.MAX_VALUE);
+            if (!spilled.isEmpty()) {
+                spill(spilled);
+            }
+
+            List<ApiAuditLog> batch;
+            while (!(batch = poll(buffer, bufferSize, properties.getBatchSize())).isEmpty()) {
+                writeBatch(batch);
+            }
+        } catch (Exception e) {
+            log.error("Audit writer failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void writeBatch(List<ApiAuditLog> batch) {
+        try {
+            mongoTemplate.insert(batch, ApiAuditLog.class)
+                    .then()
+                    .block(properties.getWriteTimeout());
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            log.error("Failed to save {} audit logs: {}", batch.size(), e.getMessage());
+            if (properties.getOverflowPolicy() == OverflowPolicy.SPILL) {
+                spill(batch);
+            } else {
+                writeFailureDropCounter.increment(batch.size());
+            }
+            return;
+        }
+
+        if (properties.isKafkaEnabled()) {
+            // Also publish to Kafka for real-time analytics
+            for (ApiAuditLog auditLog : batch) {
                 try {
-                    kafkaTemplate.send("api-audit-logs", saved.getRequestId(), saved);
+                    kafkaTemplate.send(properties.getKafkaTopic(), auditLog.getRequestId(), auditLog);
                 } catch (Exception e) {
                     log.error("Failed to publish audit log to Kafka: {}", e.getMessage());
                 }
-            })
-            .doOnError(error -> log.error("Failed to save audit log: {}", error.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Append audit logs to the spill file, one JSON document per line
+     */
+    private void spill(List<ApiAuditLog> auditLogs) {
+        Path spillFile = Path.of(properties.getSpillFile());
+        try {
+            if (spillFile.getParent() != null) {
+                Files.createDirectories(spillFile.getParent());
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (ApiAuditLog auditLog : auditLogs) {
+                    out.write(objectMapper.writeValueAsString(auditLog));
+                    out.newLine();
+                }
+            }
+            spilledCounter.increment(auditLogs.size());
+            log.warn("Spilled {} audit logs to {}", auditLogs.size(), spillFile);
+        } catch (IOException e) {
+            log.error("Failed to spill {} audit logs to {}: {}", auditLogs.size(), spillFile, e.getMessage());
+            writeFailureDropCounter.increment(auditLogs.size());
+        }
     }
 }
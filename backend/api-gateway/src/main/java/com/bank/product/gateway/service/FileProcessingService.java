@@ -1,29 +1,49 @@
 package com.bank.product.gateway.service;
 
 import com.bank.product.gateway.client.ProductServiceClient;
+import com.bank.product.gateway.client.ProductServiceClient.ConfigureSolutionBatchResponse;
 import com.bank.product.gateway.dto.ProductConfigurationRecord;
+import com.bank.product.gateway.model.FileCheckpoint;
 import com.bank.product.gateway.model.FileUpload;
 import com.bank.product.gateway.parser.FileParser;
+import com.bank.product.gateway.repository.FileCheckpointRepository;
 import com.bank.product.gateway.repository.FileUploadRepository;
+import com.bank.product.gateway.config.FileProcessingProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.codec.multipart.FilePart;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service for processing files from Host-to-Host channel
  * Handles CSV, JSON, and other file formats containing product configurations
+ *
+ * Pipeline: spooled upload -> DataBuffers -> streaming parser -> bounded
+ * concurrency configureSolution calls -> progress checkpoints on FileUpload.
+ * Memory use is independent of the file size; a failed or interrupted
+ * upload can be resumed from its last checkpoint.
+ *
+ * The created solution IDs and errors of each checkpoint are stored as a
+ * FileCheckpoint, so the FileUpload document stays small however large the
+ * file. A resume claims the upload with a conditional status update, so
+ * an upload is processed by one pipeline at a time.
  */
 @Slf4j
 @Service
@@ -32,10 +52,19 @@ public class FileProcessingService {
 
     private final List<FileParser> fileParsers;
     private final FileUploadRepository fileUploadRepository;
+    private final FileCheckpointRepository fileCheckpointRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
     private final ProductServiceClient productServiceClient;
+    private final FileProcessingProperties properties;
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
 
     /**
      * Process uploaded file asynchronously
+     *
+     * The upload is spooled to disk before responding (the multipart body
+     * cannot be read after the request completes), then processed in the
+     * background.
      */
     public Mono<String> processFile(String tenantId, String userId, FilePart filePart,
                                      String fileFormat, String callbackUrl) {
@@ -44,6 +73,8 @@ public class FileProcessingService {
         log.info("Processing file: fileId={}, tenantId={}, filename={}, format={}",
                 fileId, tenantId, filePart.filename(), fileFormat);
 
+        Path storagePath = Path.of(properties.getSpoolDir(), fileId);
+
         // Create file upload record
         FileUpload fileUpload = FileUpload.builder()
                 .id(fileId)
@@ -55,157 +86,349 @@ public class FileProcessingService {
                 .status(FileUpload.FileProcessingStatus.UPLOADED)
                 .callbackUrl(callbackUrl)
                 .callbackSent(false)
+                .storagePath(storagePath.toString())
+                .checkpointRecord(0)
                 .uploadedAt(LocalDateTime.now())
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
-                .errors(new ArrayList<>())
-                .createdSolutionIds(new ArrayList<>())
                 .build();
 
         // Determine file format
         fileUpload.setFileFormat(determineFileFormat(filePart.filename(), fileFormat));
 
-        // Save initial record
-        return fileUploadRepository.save(fileUpload)
-                .flatMap(saved -> {
-                    // Start async processing
-                    processFileAsync(saved, filePart, tenantId, userId);
-                    return Mono.just(saved.getId());
+        // Spool upload, save initial record, then start async processing
+        return Mono.fromCallable(() -> Files.createDirectories(storagePath.getParent()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(filePart.transferTo(storagePath))
+                .then(Mono.fromCallable(() -> Files.size(storagePath)).subscribeOn(Schedulers.boundedElastic()))
+                .flatMap(size -> {
+                    fileUpload.setFileSize(size);
+                    return fileUploadRepository.save(fileUpload);
+                })
+                .map(saved -> {
+                    processFileAsync(saved);
+                    return saved.getId();
                 });
     }
 
+    /**
+     * Resume processing of an interrupted upload from its last checkpoint
+     *
+     * An upload still validating or processing is only resumed once it made
+     * no progress for {@code staleAfter} - its pipeline is then presumed
+     * dead.
+     */
+    public Mono<String> resumeFile(String tenantId, String fileId) {
+        log.info("Resuming file: tenantId={}, fileId={}", tenantId, fileId);
+
+        return fileUploadRepository.findById(fileId)
+                .filter(file -> file.getTenantId().equals(tenantId))
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("File not found: " + fileId)))
+                .flatMap(file -> {
+                    if (file.getStatus() == FileUpload.FileProcessingStatus.COMPLETED
+                            || file.getStatus() == FileUpload.FileProcessingStatus.COMPLETED_WITH_ERRORS) {
+                        return Mono.error(new IllegalStateException("File already processed: " + fileId));
+                    }
+                    if (file.getStoragePath() == null || !Files.exists(Path.of(file.getStoragePath()))) {
+                        return Mono.error(new IllegalStateException("Uploaded content no longer available: " + fileId));
+                    }
+                    if (isInFlight(file)) {
+                        return Mono.error(new IllegalStateException("File is already being processed: " + fileId));
+                    }
+
+                    return claim(file)
+                            .switchIfEmpty(Mono.error(new IllegalStateException(
+                                    "File is already being processed: " + fileId)));
+                })
+                .map(claimed -> {
+                    processFileAsync(claimed);
+                    return claimed.getId();
+                });
+    }
+
+    private boolean isInFlight(FileUpload file) {
+        boolean running = file.getStatus() == FileUpload.FileProcessingStatus.VALIDATING
+                || file.getStatus() == FileUpload.FileProcessingStatus.PROCESSING;
+        return running && file.getUpdatedAt() != null
+                && file.getUpdatedAt().isAfter(LocalDateTime.now().minus(properties.getStaleAfter()));
+    }
+
+    /**
+     * Move the upload to VALIDATING unless its status or progress changed since it was read
+     *
+     * @return The claimed upload, empty if another request claimed it first
+     */
+    private Mono<FileUpload> claim(FileUpload file) {
+        Query unchanged = Query.query(Criteria.where("_id").is(file.getId())
+                .and("status").is(file.getStatus())
+                .and("updatedAt").is(file.getUpdatedAt()));
+        Update update = new Update()
+                .set("status", FileUpload.FileProcessingStatus.VALIDATING)
+                .set("updatedAt", LocalDateTime.now());
+
+        return mongoTemplate.findAndModify(unchanged, update, FindAndModifyOptions.options().returnNew(true),
+                FileUpload.class);
+    }
+
     /**
      * Process file asynchronously in the background
      */
-    @Async
-    protected void processFileAsync(FileUpload fileUpload, FilePart filePart, String tenantId, String userId) {
-        log.info("Starting async processing for file: {}", fileUpload.getId());
+    private void processFileAsync(FileUpload fileUpload) {
+        log.info("Starting async processing for file: {} (from record {})",
+                fileUpload.getId(), checkpointOf(fileUpload));
 
         fileUpload.setStatus(FileUpload.FileProcessingStatus.VALIDATING);
-        fileUpload.setProcessingStartedAt(LocalDateTime.now());
-        fileUploadRepository.save(fileUpload).subscribe();
+        if (fileUpload.getProcessingStartedAt() == null) {
+            fileUpload.setProcessingStartedAt(LocalDateTime.now());
+        }
 
-        try {
-            // Find appropriate parser
-            FileParser parser = findParser(fileUpload.getContentType(), fileUpload.getOriginalFileName());
-            if (parser == null) {
-                throw new IllegalArgumentException("No parser found for file type: " + fileUpload.getContentType());
-            }
+        fileUploadRepository.save(fileUpload)
+                .flatMap(saved -> {
+                    // Find appropriate parser
+                    FileParser parser = findParser(saved.getContentType(), saved.getOriginalFileName());
+                    if (parser == null) {
+                        return Mono.error(new IllegalArgumentException(
+                                "No parser found for file type: " + saved.getContentType()));
+                    }
 
-            // Convert FilePart to InputStream using piped streams
-            PipedInputStream inputStream = new PipedInputStream();
-            PipedOutputStream outputStream = new PipedOutputStream(inputStream);
-
-            // Write FilePart content to piped output stream in separate thread
-            new Thread(() -> {
-                try {
-                    filePart.content()
-                            .doOnNext(dataBuffer -> {
-                                try {
-                                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                                    dataBuffer.read(bytes);
-                                    outputStream.write(bytes);
-                                } catch (IOException e) {
-                                    log.error("Error writing to pipe", e);
-                                }
-                            })
-                            .doFinally(signalType -> {
-                                try {
-                                    outputStream.close();
-                                } catch (IOException e) {
-                                    log.error("Error closing output stream", e);
-                                }
-                            })
-                            .subscribe();
-                } catch (Exception e) {
-                    log.error("Error processing file part", e);
-                }
-            }).start();
-
-            // Parse file
-            Flux<ProductConfigurationRecord> records = parser.parse(inputStream);
-
-            // Process records
-            processRecords(fileUpload, records, tenantId, userId)
-                    .doFinally(signalType -> log.info("File processing completed: {}", fileUpload.getId()))
-                    .doOnError(error -> handleProcessingError(fileUpload, error))
-                    .subscribe();
-
-        } catch (Exception e) {
-            handleProcessingError(fileUpload, e);
-        }
+                    // Stream spooled file through the parser
+                    Flux<DataBuffer> content = DataBufferUtils.read(
+                            Path.of(saved.getStoragePath()), bufferFactory, properties.getReadBufferSize());
+
+                    return processRecords(saved, parser.parse(content), saved.getTenantId(), saved.getUserId());
+                })
+                .doFinally(signalType -> log.info("File processing completed: {}", fileUpload.getId()))
+                .subscribe(null, error -> handleProcessingError(fileUpload, error));
     }
 
     /**
      * Process individual records
+     *
+     * Records are sent to product-service in chunks, one bulk request per
+     * chunk, with bounded concurrency. Results are consumed in file order,
+     * so after each batch every record up to the last one in the batch is
+     * done and can be checkpointed.
      */
     private Mono<Void> processRecords(FileUpload fileUpload, Flux<ProductConfigurationRecord> records,
                                        String tenantId, String userId) {
 
         fileUpload.setStatus(FileUpload.FileProcessingStatus.PROCESSING);
-        fileUploadRepository.save(fileUpload).subscribe();
+        int resumeAfter = checkpointOf(fileUpload);
 
-        AtomicInteger totalRecords = new AtomicInteger(0);
-        AtomicInteger successCount = new AtomicInteger(0);
-        AtomicInteger failureCount = new AtomicInteger(0);
-        List<String> createdSolutionIds = new ArrayList<>();
-        List<FileUpload.FileProcessingError> errors = new ArrayList<>();
+        return fileUploadRepository.save(fileUpload)
+                .thenMany(records)
+                .filter(record -> record.getLineNumber() > resumeAfter)
+                .buffer(properties.getChunkSize())
+                .flatMapSequential(chunk -> configureChunk(chunk, fileUpload.getId(), tenantId, userId),
+                        properties.getConcurrency())
+                .flatMapIterable(outcomes -> outcomes)
+                .buffer(properties.getCheckpointInterval())
+                .concatMap(outcomes -> checkpoint(fileUpload, outcomes))
+                .then(Mono.defer(() -> complete(fileUpload)));
+    }
 
-        return records
-                .flatMap(record -> {
-                    totalRecords.incrementAndGet();
-
-                    return productServiceClient.configureSolution(tenantId, userId, record)
-                            .doOnSuccess(response -> {
-                                successCount.incrementAndGet();
-                                createdSolutionIds.add(response.getSolutionId());
-                                log.debug("Record {} processed successfully: solutionId={}",
-                                        record.getLineNumber(), response.getSolutionId());
-                            })
-                            .onErrorResume(error -> {
-                                failureCount.incrementAndGet();
-                                FileUpload.FileProcessingError processingError = FileUpload.FileProcessingError.builder()
-                                        .lineNumber(record.getLineNumber())
-                                        .recordId(record.getRecordId())
-                                        .errorCode("PROCESSING_ERROR")
-                                        .errorMessage(error.getMessage())
-                                        .build();
-                                errors.add(processingError);
-                                log.error("Failed to process record at line {}: {}",
-                                        record.getLineNumber(), error.getMessage());
-                                return Mono.empty(); // Continue processing other records
-                            });
+    private Mono<List<RecordOutcome>> configureChunk(List<ProductConfigurationRecord> chunk, String uploadId,
+                                                     String tenantId, String userId) {
+        // Records the parser rejected are reported without a request
+        List<ProductConfigurationRecord> parsed = new ArrayList<>(chunk.size());
+        for (ProductConfigurationRecord record : chunk) {
+            if (record.getParseError() == null) {
+                parsed.add(record);
+            }
+        }
+        if (parsed.size() < chunk.size()) {
+            return configureParsed(parsed, uploadId, tenantId, userId)
+                    .map(outcomes -> withParseErrors(chunk, outcomes));
+        }
+        return configureParsed(chunk, uploadId, tenantId, userId);
+    }
+
+    /**
+     * Send a chunk to product-service
+     *
+     * Records are keyed by upload id and line number, so a chunk sent again
+     * after a resume from an older checkpoint is deduplicated by product-service.
+     */
+    private Mono<List<RecordOutcome>> configureParsed(List<ProductConfigurationRecord> chunk, String uploadId,
+                                                      String tenantId, String userId) {
+        if (chunk.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        return productServiceClient.configureSolutions(tenantId, userId, uploadId, chunk)
+                .map(response -> {
+                    List<RecordOutcome> outcomes = new ArrayList<>(chunk.size());
+                    for (int i = 0; i < chunk.size(); i++) {
+                        outcomes.add(outcomeOf(chunk.get(i), resultAt(response, i)));
+                    }
+                    return outcomes;
                 })
-                .then(Mono.defer(() -> {
-                    // Update final status
-                    fileUpload.setTotalRecords(totalRecords.get());
-                    fileUpload.setProcessedRecords(totalRecords.get());
-                    fileUpload.setSuccessfulRecords(successCount.get());
-                    fileUpload.setFailedRecords(failureCount.get());
-                    fileUpload.setErrors(errors);
-                    fileUpload.setCreatedSolutionIds(createdSolutionIds);
-                    fileUpload.setProcessingCompletedAt(LocalDateTime.now());
-                    fileUpload.setUpdatedAt(LocalDateTime.now());
-
-                    if (failureCount.get() == 0) {
-                        fileUpload.setStatus(FileUpload.FileProcessingStatus.COMPLETED);
-                        fileUpload.setStatusMessage("All records processed successfully");
-                    } else if (successCount.get() > 0) {
-                        fileUpload.setStatus(FileUpload.FileProcessingStatus.COMPLETED_WITH_ERRORS);
-                        fileUpload.setStatusMessage(String.format("%d successful, %d failed",
-                                successCount.get(), failureCount.get()));
-                    } else {
-                        fileUpload.setStatus(FileUpload.FileProcessingStatus.FAILED);
-                        fileUpload.setStatusMessage("All records failed");
+                .onErrorResume(error -> {
+                    log.error("Failed to process records at lines {}-{}: {}",
+                            chunk.get(0).getLineNumber(), chunk.get(chunk.size() - 1).getLineNumber(),
+                            error.getMessage());
+                    // The whole chunk failed - report every record, continue with the next chunk
+                    List<RecordOutcome> outcomes = new ArrayList<>(chunk.size());
+                    for (ProductConfigurationRecord record : chunk) {
+                        outcomes.add(failure(record, "PROCESSING_ERROR", error.getMessage()));
                     }
+                    return Mono.just(outcomes);
+                });
+    }
 
-                    return fileUploadRepository.save(fileUpload).then();
-                }));
+    /**
+     * Merge parse errors back into the outcomes of the configured records, in file order
+     */
+    private List<RecordOutcome> withParseErrors(List<ProductConfigurationRecord> chunk, List<RecordOutcome> configured) {
+        List<RecordOutcome> outcomes = new ArrayList<>(chunk.size());
+        Iterator<RecordOutcome> configuredOutcomes = configured.iterator();
+        for (ProductConfigurationRecord record : chunk) {
+            if (record.getParseError() == null) {
+                outcomes.add(configuredOutcomes.next());
+                continue;
+            }
+            FileUpload.FileProcessingError parseError = FileUpload.FileProcessingError.builder()
+                    .lineNumber(record.getLineNumber())
+                    .recordId(record.getRecordId())
+                    .errorCode("PARSE_ERROR")
+                    .errorMessage(record.getParseError())
+                    .fieldName(record.getParseErrorField())
+                    .build();
+            outcomes.add(new RecordOutcome(record.getLineNumber(), null, parseError));
+        }
+        return outcomes;
+    }
+
+    private ConfigureSolutionBatchResponse.RecordResult resultAt(ConfigureSolutionBatchResponse response, int index) {
+        List<ConfigureSolutionBatchResponse.RecordResult> results = response.getResults();
+        return results != null && index < results.size() ? results.get(index) : null;
+    }
+
+    private RecordOutcome outcomeOf(ProductConfigurationRecord record, ConfigureSolutionBatchResponse.RecordResult result) {
+        if (result == null) {
+            return failure(record, "PROCESSING_ERROR", "No result returned for record");
+        }
+        if (!result.isSuccess()) {
+            log.debug("Record {} rejected: {}", record.getLineNumber(), result.getErrorMessage());
+            return failure(record, result.getErrorCode() != null ? result.getErrorCode() : "PROCESSING_ERROR",
+                    result.getErrorMessage());
+        }
+
+        log.debug("Record {} processed successfully: solutionId={}",
+                record.getLineNumber(), result.getSolutionId());
+        return new RecordOutcome(record.getLineNumber(), result.getSolutionId(), null);
+    }
+
+    private RecordOutcome failure(ProductConfigurationRecord record, String errorCode, String errorMessage) {
+        FileUpload.FileProcessingError processingError = FileUpload.FileProcessingError.builder()
+                .lineNumber(record.getLineNumber())
+                .recordId(record.getRecordId())
+                .errorCode(errorCode)
+                .errorMessage(errorMessage)
+                .build();
+        return new RecordOutcome(record.getLineNumber(), null, processingError);
+    }
+
+    /**
+     * Store a batch of results as a checkpoint and persist progress on the upload
+     */
+    private Mono<FileUpload> checkpoint(FileUpload fileUpload, List<RecordOutcome> outcomes) {
+        List<String> createdSolutionIds = new ArrayList<>();
+        List<FileUpload.FileProcessingError> errors = new ArrayList<>();
+        for (RecordOutcome outcome : outcomes) {
+            if (outcome.error() == null) {
+                createdSolutionIds.add(outcome.solutionId());
+            } else {
+                errors.add(outcome.error());
+            }
+        }
+        int successes = createdSolutionIds.size();
+        int failures = errors.size();
+
+        int fromRecord = outcomes.get(0).lineNumber();
+        FileCheckpoint checkpoint = FileCheckpoint.builder()
+                .id(FileCheckpoint.idOf(fileUpload.getId(), fromRecord))
+                .fileId(fileUpload.getId())
+                .fromRecord(fromRecord)
+                .toRecord(outcomes.get(outcomes.size() - 1).lineNumber())
+                .createdSolutionIds(createdSolutionIds)
+                .errors(errors)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        fileUpload.setSuccessfulRecords(countOf(fileUpload.getSuccessfulRecords()) + successes);
+        fileUpload.setFailedRecords(countOf(fileUpload.getFailedRecords()) + failures);
+        fileUpload.setProcessedRecords(countOf(fileUpload.getProcessedRecords()) + outcomes.size());
+        fileUpload.setCheckpointRecord(outcomes.get(outcomes.size() - 1).lineNumber());
+        fileUpload.setCheckpointedAt(LocalDateTime.now());
+        fileUpload.setUpdatedAt(LocalDateTime.now());
+
+        log.debug("Checkpoint for file {}: record {}, processed {}",
+                fileUpload.getId(), fileUpload.getCheckpointRecord(), fileUpload.getProcessedRecords());
+
+        // Outcomes first: if the upload save is lost, the range is processed again and replaces them
+        return fileCheckpointRepository.save(checkpoint)
+                .then(fileUploadRepository.save(fileUpload));
+    }
+
+    private Mono<Void> complete(FileUpload fileUpload) {
+        int successCount = countOf(fileUpload.getSuccessfulRecords());
+        int failureCount = countOf(fileUpload.getFailedRecords());
+
+        // Update final status
+        fileUpload.setTotalRecords(countOf(fileUpload.getProcessedRecords()));
+        fileUpload.setSuccessfulRecords(successCount);
+        fileUpload.setFailedRecords(failureCount);
+        fileUpload.setProcessingCompletedAt(LocalDateTime.now());
+        fileUpload.setUpdatedAt(LocalDateTime.now());
+
+        if (failureCount == 0) {
+            fileUpload.setStatus(FileUpload.FileProcessingStatus.COMPLETED);
+            fileUpload.setStatusMessage("All records processed successfully");
+        } else if (successCount > 0) {
+            fileUpload.setStatus(FileUpload.FileProcessingStatus.COMPLETED_WITH_ERRORS);
+            fileUpload.setStatusMessage(String.format("%d successful, %d failed",
+                    successCount, failureCount));
+        } else {
+            fileUpload.setStatus(FileUpload.FileProcessingStatus.FAILED);
+            fileUpload.setStatusMessage("All records failed");
+        }
+
+        // Nothing left to resume - release the spooled upload
+        return fileUploadRepository.save(fileUpload)
+                .then(deleteStoredContent(fileUpload));
+    }
+
+    private Mono<Void> deleteStoredContent(FileUpload fileUpload) {
+        if (fileUpload.getStoragePath() == null) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> Files.deleteIfExists(Path.of(fileUpload.getStoragePath())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnError(error -> log.warn("Failed to delete spooled upload {}: {}",
+                        fileUpload.getStoragePath(), error.getMessage()))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private static int checkpointOf(FileUpload fileUpload) {
+        return countOf(fileUpload.getCheckpointRecord());
+    }
+
+    private static int countOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * Result of configuring one record: solution ID on success, error otherwise
+     */
+    private record RecordOutcome(int lineNumber, String solutionId, FileUpload.FileProcessingError error) {
     }
 
     private void handleProcessingError(FileUpload fileUpload, Throwable error) {
         log.error("File processing failed: {}", fileUpload.getId(), error);
 
+        // Spooled content is kept so processing can be resumed from the last checkpoint
         fileUpload.setStatus(FileUpload.FileProcessingStatus.FAILED);
         fileUpload.setStatusMessage(error.getMessage());
         fileUpload.setProcessingCompletedAt(LocalDateTime.now());
@@ -263,6 +486,7 @@ public class FileProcessingService {
                     result.put("uploadedAt", file.getUploadedAt());
                     result.put("processingStartedAt", file.getProcessingStartedAt());
                     result.put("processingCompletedAt", file.getProcessingCompletedAt());
+                    result.put("checkpointRecord", file.getCheckpointRecord() != null ? file.getCheckpointRecord() : 0);
                     return result;
                 })
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("File not found: " + fileId)));
@@ -270,22 +494,38 @@ public class FileProcessingService {
 
     /**
      * Get file processing results
+     *
+     * Uploads processed before checkpoints were stored separately keep their
+     * results on the FileUpload itself.
      */
     public Mono<Map<String, Object>> getFileResults(String tenantId, String fileId) {
         log.debug("Getting file results: tenantId={}, fileId={}", tenantId, fileId);
 
         return fileUploadRepository.findById(fileId)
                 .filter(file -> file.getTenantId().equals(tenantId))
-                .map(file -> Map.of(
-                        "fileId", file.getId(),
-                        "fileName", file.getOriginalFileName(),
-                        "status", file.getStatus().name(),
-                        "recordsSucceeded", file.getSuccessfulRecords() != null ? file.getSuccessfulRecords() : 0,
-                        "recordsFailed", file.getFailedRecords() != null ? file.getFailedRecords() : 0,
-                        "createdSolutionIds", file.getCreatedSolutionIds() != null ? file.getCreatedSolutionIds() : List.of(),
-                        "errors", file.getErrors() != null ? file.getErrors() : List.of()
-                ))
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("File not found: " + fileId)));
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("File not found: " + fileId)))
+                .flatMap(file -> fileCheckpointRepository.findByFileIdOrderByFromRecord(fileId)
+                        .collectList()
+                        .map(checkpoints -> {
+                            List<String> createdSolutionIds = new ArrayList<>(
+                                    file.getCreatedSolutionIds() != null ? file.getCreatedSolutionIds() : List.of());
+                            List<FileUpload.FileProcessingError> errors = new ArrayList<>(
+                                    file.getErrors() != null ? file.getErrors() : List.of());
+                            for (FileCheckpoint checkpoint : checkpoints) {
+                                createdSolutionIds.addAll(checkpoint.getCreatedSolutionIds());
+                                errors.addAll(checkpoint.getErrors());
+                            }
+
+                            return Map.of(
+                                    "fileId", file.getId(),
+                                    "fileName", file.getOriginalFileName(),
+                                    "status", file.getStatus().name(),
+                                    "recordsSucceeded", countOf(file.getSuccessfulRecords()),
+                                    "recordsFailed", countOf(file.getFailedRecords()),
+                                    "createdSolutionIds", createdSolutionIds,
+                                    "errors", errors
+                            );
+                        }));
     }
 
     /**
@@ -296,7 +536,9 @@ public class FileProcessingService {
 
         return fileUploadRepository.findById(fileId)
                 .filter(file -> file.getTenantId().equals(tenantId))
-                .flatMap(file -> fileUploadRepository.delete(file))
+                .flatMap(file -> fileUploadRepository.delete(file)
+                        .then(fileCheckpointRepository.deleteByFileId(fileId))
+                        .then(deleteStoredContent(file)))
                 .then();
     }
 }
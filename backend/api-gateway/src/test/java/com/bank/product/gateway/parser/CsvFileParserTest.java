@@ -0,0 +1,117 @@
+package com.bank.product.gateway.parser;
+
+import com.bank.product.gateway.dto.ProductConfigurationRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for mapping CSV rows to product configuration records.
+ */
+class CsvFileParserTest {
+
+    private final CsvFileParser parser = new CsvFileParser();
+
+    @Test
+    @DisplayName("Should map fields by header name regardless of column order")
+    void testHeaderIndexMapping() {
+        List<ProductConfigurationRecord> records = parse(
+                "priority,solutionName,monthlyFee,catalogProductId,description,customInterestRate\n"
+                        + "HIGH,\"Premier, Plus\",9.99,cat-1,Flagship account,2.5\n");
+
+        assertEquals(1, records.size());
+        ProductConfigurationRecord record = records.get(0);
+        assertNull(record.getParseError());
+        assertEquals(2, record.getLineNumber());
+        assertEquals("cat-1", record.getCatalogProductId());
+        assertEquals("Premier, Plus", record.getSolutionName());
+        assertEquals("Flagship account", record.getDescription());
+        assertEquals("HIGH", record.getPriority());
+        assertEquals(0, new BigDecimal("2.5").compareTo(record.getCustomInterestRate()));
+        assertEquals(Map.of("MONTHLY", new BigDecimal("9.99")), record.getCustomFees());
+    }
+
+    @Test
+    @DisplayName("Should default optional fields that are absent from the header")
+    void testOptionalColumnsAbsent() {
+        List<ProductConfigurationRecord> records = parse(
+                "catalogProductId,solutionName,description\ncat-1,Basic,Entry account\n");
+
+        ProductConfigurationRecord record = records.get(0);
+        assertEquals("LOW", record.getRiskLevel());
+        assertEquals("MEDIUM", record.getPriority());
+        assertEquals("", record.getBusinessJustification());
+        assertNull(record.getCustomInterestRate());
+        assertNull(record.getCustomFees());
+        assertNull(record.getPricingVariance());
+    }
+
+    @Test
+    @DisplayName("Should reject a header without the required columns")
+    void testMissingRequiredHeader() {
+        assertThrows(IllegalArgumentException.class,
+                () -> parse("catalogProductId,description,priority\ncat-1,Entry account,LOW\n"));
+    }
+
+    @Test
+    @DisplayName("Should report a missing required field with its line, column and field name")
+    void testMissingRequiredField() {
+        List<ProductConfigurationRecord> records = parse(
+                "solutionName,catalogProductId,description\nBasic,cat-1,ok\nSol B,,desc\n");
+
+        assertEquals(2, records.size());
+        assertNull(records.get(0).getParseError());
+
+        ProductConfigurationRecord invalid = records.get(1);
+        assertEquals(3, invalid.getLineNumber());
+        assertEquals("catalogProductId", invalid.getParseErrorField());
+        assertEquals("Line 3, column 7: Required field 'catalogProductId' is missing or empty",
+                invalid.getParseError());
+    }
+
+    @Test
+    @DisplayName("Should report malformed rows and continue with the following rows")
+    void testMalformedRowsReported() {
+        List<ProductConfigurationRecord> records = parse(
+                "catalogProductId,solutionName,description\n"
+                        + "cat-1,\"Sol\"x,desc\n"
+                        + "x,y\n"
+                        + "\n"
+                        + "cat-2,\"Multi\nline\",desc\n"
+                        + "cat-3,Last,desc\n");
+
+        assertEquals(4, records.size());
+        assertEquals("Line 2, column 12: Unexpected character 'x' after closing quote",
+                records.get(0).getParseError());
+        assertEquals("Line 3: Line has 2 columns, minimum 3 required", records.get(1).getParseError());
+
+        // Blank lines are skipped, line numbers stay file lines
+        assertEquals(5, records.get(2).getLineNumber());
+        assertEquals("Multi\nline", records.get(2).getSolutionName());
+        assertEquals(7, records.get(3).getLineNumber());
+        assertEquals("cat-3", records.get(3).getCatalogProductId());
+    }
+
+    @Test
+    @DisplayName("Should report an unterminated quote at the end of the file")
+    void testUnterminatedQuoteAtEof() {
+        List<ProductConfigurationRecord> records = parse(
+                "catalogProductId,solutionName,description\ncat-1,\"Open,desc\n");
+
+        assertEquals(1, records.size());
+        assertEquals("Line 2, column 7: Quoted field is not terminated", records.get(0).getParseError());
+    }
+
+    private List<ProductConfigurationRecord> parse(String csv) {
+        return parser.parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))
+                .collectList()
+                .block();
+    }
+}
@@ -0,0 +1,195 @@
+package com.bank.product.gateway.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the streaming CSV tokenizer.
+ */
+class CsvTokenizerTest {
+
+    @Test
+    @DisplayName("Should keep delimiters inside quoted fields")
+    void testQuotedDelimiter() throws IOException {
+        CsvTokenizer tokenizer = tokenizer("\"a,b\",c\n", 8192);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(2, tokenizer.fieldCount());
+        assertEquals("a,b", tokenizer.field(0));
+        assertEquals("c", tokenizer.field(1));
+        assertEquals(1, tokenizer.column(0));
+        assertEquals(7, tokenizer.column(1));
+        assertNull(tokenizer.error());
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    @DisplayName("Should unescape doubled quotes in quoted fields")
+    void testEscapedQuotes() throws IOException {
+        CsvTokenizer tokenizer = tokenizer("\"say \"\"hi\"\"\",\"\"\"\"\n", 8192);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals("say \"hi\"", tokenizer.field(0));
+        assertEquals("\"", tokenizer.field(1));
+        assertNull(tokenizer.error());
+    }
+
+    @Test
+    @DisplayName("Should trim unquoted fields and keep quoted fields verbatim")
+    void testTrimming() throws IOException {
+        CsvTokenizer tokenizer = tokenizer("  a  ,\"  b  \",  \n", 8192);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals("a", tokenizer.field(0));
+        assertEquals("  b  ", tokenizer.field(1));
+        assertTrue(tokenizer.isBlank(2));
+    }
+
+    @Test
+    @DisplayName("Should split records on CRLF, LF and CR line endings")
+    void testLineEndings() throws IOException {
+        List<List<String>> records = readAll(tokenizer("a,b\r\nc,d\ne,f\rg,h", 8192));
+
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"), List.of("g", "h")), records);
+    }
+
+    @Test
+    @DisplayName("Should keep line breaks inside quoted fields and count their lines")
+    void testEmbeddedNewlines() throws IOException {
+        CsvTokenizer tokenizer = tokenizer("\"line1\r\nline2\nline3\",z\r\nnext,row\r\n", 8192);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(1, tokenizer.line());
+        assertEquals("line1\r\nline2\nline3", tokenizer.field(0));
+        assertEquals("z", tokenizer.field(1));
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(4, tokenizer.line());
+        assertEquals("next", tokenizer.field(0));
+        assertEquals(1, tokenizer.column(0));
+        assertEquals(6, tokenizer.column(1));
+
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    @DisplayName("Should report an unterminated quote at the position of the opening quote")
+    void testUnterminatedQuote() throws IOException {
+        CsvTokenizer tokenizer = tokenizer("h1,h2\na,\"bc\nde", 8192);
+
+        assertTrue(tokenizer.nextRecord());
+        assertNull(tokenizer.error());
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(2, tokenizer.line());
+        assertEquals("Quoted field is not terminated", tokenizer.error());
+        assertEquals(2, tokenizer.errorLine());
+        assertEquals(3, tokenizer.errorColumn());
+        assertEquals("bc\nde", tokenizer.field(1));
+
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    @DisplayName("Should report the line and column of a character after a closing quote and continue")
+    void testCharacterAfterClosingQuote() throws IOException {
+        CsvTokenizer tokenizer = tokenizer("h1,h2\nok,1\n2,\"x\"y,3\nlast,4\n", 8192);
+
+        assertTrue(tokenizer.nextRecord());
+        assertTrue(tokenizer.nextRecord());
+        assertNull(tokenizer.error());
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(3, tokenizer.line());
+        assertEquals("Unexpected character 'y' after closing quote", tokenizer.error());
+        assertEquals(3, tokenizer.errorLine());
+        assertEquals(6, tokenizer.errorColumn());
+        assertEquals(3, tokenizer.fieldCount());
+        assertEquals("3", tokenizer.field(2));
+
+        // The error does not carry over to the next record
+        assertTrue(tokenizer.nextRecord());
+        assertNull(tokenizer.error());
+        assertEquals(4, tokenizer.line());
+        assertEquals("last", tokenizer.field(0));
+    }
+
+    @Test
+    @DisplayName("Should grow record buffers across input refills")
+    void testBufferGrowthAcrossRefills() throws IOException {
+        List<String> expected = new ArrayList<>();
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            String value = ("field" + i + " \"q\", ").repeat(10);
+            expected.add(value);
+            csv.append(i > 0 ? "," : "").append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        csv.append("\r\nlast,row");
+
+        // A 5-character window forces refills inside fields, escapes and the CRLF
+        List<List<String>> records = readAll(tokenizer(csv.toString(), 5));
+
+        assertEquals(2, records.size());
+        assertEquals(expected, records.get(0));
+        assertEquals(List.of("last", "row"), records.get(1));
+    }
+
+    @Test
+    @DisplayName("Should treat a CR split from its LF by a refill as one line ending")
+    void testCrLfSplitAcrossRefill() throws IOException {
+        CsvTokenizer tokenizer = tokenizer("abcd\r\nx", 5);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals("abcd", tokenizer.field(0));
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(2, tokenizer.line());
+        assertEquals("x", tokenizer.field(0));
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    @DisplayName("Should skip a byte order mark at the start of the input")
+    void testByteOrderMark() throws IOException {
+        CsvTokenizer tokenizer = tokenizer("\uFEFFa,b\n", 8192);
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals("a", tokenizer.field(0));
+        assertEquals(1, tokenizer.column(0));
+    }
+
+    @Test
+    @DisplayName("Should recognize empty lines as blank records")
+    void testBlankRecord() throws IOException {
+        CsvTokenizer tokenizer = tokenizer("a\n\n\"\"\n", 8192);
+
+        assertTrue(tokenizer.nextRecord());
+        assertFalse(tokenizer.isBlankRecord());
+        assertTrue(tokenizer.nextRecord());
+        assertTrue(tokenizer.isBlankRecord());
+        assertTrue(tokenizer.nextRecord());
+        assertFalse(tokenizer.isBlankRecord());
+    }
+
+    private static CsvTokenizer tokenizer(String csv, int bufferSize) {
+        return new CsvTokenizer(new StringReader(csv), ',', bufferSize);
+    }
+
+    private static List<List<String>> readAll(CsvTokenizer tokenizer) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        while (tokenizer.nextRecord()) {
+            List<String> fields = new ArrayList<>();
+            for (int i = 0; i < tokenizer.fieldCount(); i++) {
+                fields.add(tokenizer.field(i));
+            }
+            records.add(fields);
+        }
+        return records;
+    }
+}
@@ -53,8 +53,12 @@ public class TokenBlacklistService {
             String key = getBlacklistKey(jti);
             Duration ttl = Duration.ofSeconds(ttlSeconds);
 
+            // Broadcast so API Gateway instances update their local revocation set
             return redisTemplate.opsForValue()
                     .set(key, token, ttl)
+                    .flatMap(result -> redisTemplate
+                            .convertAndSend(jwtProperties.getRevocationChannel(), "+" + jti + ":" + expiresAt)
+                            .thenReturn(result))
                     .doOnSuccess(result -> log.info("Token blacklisted: {}, TTL: {} seconds", jti, ttlSeconds))
                     .doOnError(error -> log.error("Failed to blacklist token: {}", error.getMessage()));
 
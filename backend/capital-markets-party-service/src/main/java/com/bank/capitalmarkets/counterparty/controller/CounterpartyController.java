@@ -3,10 +3,13 @@ package com.bank.capitalmarkets.counterparty.controller;
 import com.bank.capitalmarkets.counterparty.domain.Counterparty;
 import com.bank.capitalmarkets.counterparty.service.CounterpartyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST API for Capital Markets Counterparty System.
@@ -35,6 +38,21 @@ public class CounterpartyController {
         return ResponseEntity.ok(service.getAllCounterpartyIds());
     }
 
+    /**
+     * Get IDs of counterparties changed since a cursor (for incremental federation sync)
+     *
+     * Entries are ordered by (updatedAt, id); pass the last entry's values
+     * as since/after to get the next page.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<List<Map<String, Object>>> getChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        return ResponseEntity.ok(service.getChanges(since, after, Math.min(Math.max(limit, 1), 5000)));
+    }
+
     /**
      * Get all counterparties
      */
@@ -1,9 +1,12 @@
 package com.bank.capitalmarkets.counterparty.repository;
 
 import com.bank.capitalmarkets.counterparty.domain.Counterparty;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +24,12 @@ public interface CounterpartyRepository extends MongoRepository<Counterparty, St
     List<Counterparty> findByLegalNameContainingIgnoreCase(String name);
 
     List<Counterparty> findByProductTypesContaining(String productType);
+
+    /**
+     * Counterparties updated after (since, afterCounterpartyId) in (updatedAt, counterpartyId) order
+     * - only those two fields are loaded
+     */
+    @Query(value = "{'$or': [{'updatedAt': {'$gt': ?0}}, {'updatedAt': ?0, 'counterpartyId': {'$gt': ?1}}]}",
+            fields = "{'counterpartyId': 1, 'updatedAt': 1}")
+    List<Counterparty> findChangedSince(LocalDateTime since, String afterCounterpartyId, Pageable pageable);
 }
@@ -4,10 +4,13 @@ import com.bank.capitalmarkets.counterparty.domain.Counterparty;
 import com.bank.capitalmarkets.counterparty.repository.CounterpartyRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -27,6 +30,23 @@ public class CounterpartyService {
                 .toList();
     }
 
+    /**
+     * Page of counterparties changed after a (updatedAt, counterpartyId) cursor, oldest change first
+     *
+     * @param since updatedAt of the last change already seen (null = from the beginning)
+     * @param afterCounterpartyId counterpartyId of the last change already seen at that updatedAt
+     */
+    public List<Map<String, Object>> getChanges(LocalDateTime since, String afterCounterpartyId, int limit) {
+        LocalDateTime from = since != null ? since : LocalDateTime.of(1970, 1, 1, 0, 0);
+        String after = since != null && afterCounterpartyId != null ? afterCounterpartyId : "";
+        return repository.findChangedSince(from, after,
+                        PageRequest.of(0, limit, Sort.by("updatedAt", "counterpartyId")))
+                .stream()
+                .map(counterparty -> Map.<String, Object>of(
+                        "id", counterparty.getCounterpartyId(), "updatedAt", counterparty.getUpdatedAt()))
+                .toList();
+    }
+
     public Optional<Counterparty> getCounterpartyById(String counterpartyId) {
         return repository.findByCounterpartyId(counterpartyId);
     }
@@ -3,10 +3,13 @@ package com.bank.commercialbanking.party.controller;
 import com.bank.commercialbanking.party.domain.CommercialParty;
 import com.bank.commercialbanking.party.service.CommercialPartyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST API for Commercial Banking Party System.
@@ -35,6 +38,21 @@ public class CommercialPartyController {
         return ResponseEntity.ok(service.getAllPartyIds());
     }
 
+    /**
+     * Get IDs of parties changed since a cursor (for incremental federation sync)
+     *
+     * Entries are ordered by (updatedAt, id); pass the last entry's values
+     * as since/after to get the next page.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<List<Map<String, Object>>> getChanges(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        return ResponseEntity.ok(service.getChanges(since, after, Math.min(Math.max(limit, 1), 5000)));
+    }
+
     /**
      * Get all parties
      */
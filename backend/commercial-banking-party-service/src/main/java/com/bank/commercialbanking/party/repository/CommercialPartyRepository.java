@@ -1,9 +1,12 @@
 package com.bank.commercialbanking.party.repository;
 
 import com.bank.commercialbanking.party.domain.CommercialParty;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +22,11 @@ public interface CommercialPartyRepository extends MongoRepository<CommercialPar
     List<CommercialParty> findByLegalNameContainingIgnoreCase(String name);
 
     List<CommercialParty> findByRegistrationNumber(String registrationNumber);
+
+    /**
+     * Parties updated after (since, afterPartyId) in (updatedAt, partyId) order - only those two fields are loaded
+     */
+    @Query(value = "{'$or': [{'updatedAt': {'$gt': ?0}}, {'updatedAt': ?0, 'partyId': {'$gt': ?1}}]}",
+            fields = "{'partyId': 1, 'updatedAt': 1}")
+    List<CommercialParty> findChangedSince(LocalDateTime since, String afterPartyId, Pageable pageable);
 }
@@ -4,10 +4,13 @@ import com.bank.commercialbanking.party.domain.CommercialParty;
 import com.bank.commercialbanking.party.repository.CommercialPartyRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -27,6 +30,22 @@ public class CommercialPartyService {
                 .toList();
     }
 
+    /**
+     * Page of parties changed after a (updatedAt, partyId) cursor, oldest change first
+     *
+     * @param since updatedAt of the last change already seen (null = from the beginning)
+     * @param afterPartyId partyId of the last change already seen at that updatedAt
+     */
+    public List<Map<String, Object>> getChanges(LocalDateTime since, String afterPartyId, int limit) {
+        LocalDateTime from = since != null ? since : LocalDateTime.of(1970, 1, 1, 0, 0);
+        String after = since != null && afterPartyId != null ? afterPartyId : "";
+        return repository.findChangedSince(from, after,
+                        PageRequest.of(0, limit, Sort.by("updatedAt", "partyId")))
+                .stream()
+                .map(party -> Map.<String, Object>of("id", party.getPartyId(), "updatedAt", party.getUpdatedAt()))
+                .toList();
+    }
+
     public Optional<CommercialParty> getPartyById(String partyId) {
         return repository.findByPartyId(partyId);
     }
@@ -0,0 +1,685 @@
+package com.bank.product.context;
+
+import com.bank.product.entitlement.EntitlementConstraints;
+import com.bank.product.entitlement.ResourceOperation;
+import com.bank.product.entitlement.ResourcePermission;
+import com.bank.product.entitlement.ResourceType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Compact binary layout of a ProcessingContext
+ *
+ * Fields are written in a fixed order per format version. Variable-length
+ * values are length-prefixed with unsigned varints. Strings from a known
+ * vocabulary (enum names, roles, channels, regions, ...) are written as a
+ * one-byte code from {@link #INTERNED} instead of their UTF-8 bytes.
+ *
+ * String encoding (varint header):
+ * - 0: null
+ * - odd: interned string, index = header >>> 1
+ * - even: literal, UTF-8 length = (header >>> 1) - 1, followed by the bytes
+ *
+ * Collections are prefixed with size + 1 (0 = null).
+ *
+ * The INTERNED table is append-only: existing entries must never be removed
+ * or reordered, otherwise contexts encoded by other service versions will
+ * decode to wrong values. Incompatible changes require a new VERSION.
+ *
+ * Versions:
+ * - 1: included the request ID, making every header unique per request
+ * - 2: no request ID - it travels as X-Request-ID, so the header of a
+ *   context is the same for all its requests. Version 1 is still decoded,
+ *   its request ID is skipped.
+ */
+final class BinaryContextFormat {
+
+    static final byte VERSION = 2;
+
+    private static final byte VERSION_WITH_REQUEST_ID = 1;
+
+    private static final String[] INTERNED = {
+            // Context metadata
+            "1.0", "party-service", "CACHE", "FALLBACK", "TEST", "COMBINED", "RESTRICTED",
+            // Channels
+            "UNKNOWN", "API", "PORTAL", "MOBILE", "BRANCH", "HOST_TO_HOST", "PUBLIC_API",
+            "ERP_INTEGRATION", "CLIENT_PORTAL", "SALESFORCE_OPS", "WEB",
+            // Roles
+            "ROLE_USER", "ROLE_ADMIN", "ROLE_SYSTEM", "USER", "ADMIN", "SYSTEM", "CUSTOMER",
+            "ERP_USER", "SALESFORCE",
+            // Party
+            "ORGANIZATION", "LEGAL_ENTITY", "INDIVIDUAL", "ACTIVE", "INACTIVE", "SUSPENDED",
+            "PENDING_APPROVAL", "COMMERCIAL_BANKING", "SUBSIDIARY", "TOP_LEVEL",
+            // Jurisdiction and regulatory
+            "US", "GB", "CA", "SG", "US-EAST", "EU-WEST", "CA-CENTRAL", "APAC-SOUTHEAST",
+            "US_FEDERAL", "FDIC", "OCC", "FCA", "PRA", "GDPR", "OSFI", "CDIC", "MAS", "SGDPA",
+            "US_FEDERAL_COMPLIANT", "FCA_COMPLIANT", "OSFI_COMPLIANT", "MAS_COMPLIANT",
+            // Core banking
+            "TEMENOS_US", "TEMENOS_UK", "FINASTRA_CA", "TEMENOS_APAC",
+            "http://mock-core-api:3000", "http://mock-core-api:3001", "http://mock-core-api:3002",
+            // Products and transactions
+            "CHECKING", "SAVINGS", "LOAN", "CREDIT_LINE", "ACH", "WIRE", "CHECK", "CARD",
+            "INTERNATIONAL_WIRE", "CRYPTO_TRANSFER", "BULK_PAYMENT", "ADMIN_OVERRIDE", "BULK_PROCESSING",
+            "USD", "EUR", "GBP",
+            // Resource types
+            "CATALOG_PRODUCT", "SOLUTION", "ACCOUNT", "TRANSACTION", "PARTY", "WORKFLOW",
+            "DOCUMENT", "REPORT", "OTHER",
+            // Resource operations
+            "VIEW", "LIST", "SEARCH", "EXPORT", "CREATE", "UPDATE", "DELETE", "CONFIGURE",
+            "ACTIVATE", "DEACTIVATE", "SUSPEND", "OPEN_ACCOUNT", "CLOSE_ACCOUNT", "TRANSACT",
+            "INITIATE_PAYMENT", "APPROVE_TRANSACTION", "REJECT_TRANSACTION", "SUBMIT_WORKFLOW",
+            "APPROVE_WORKFLOW", "REJECT_WORKFLOW", "GRANT_ACCESS", "REVOKE_ACCESS",
+            "MANAGE_ENTITLEMENTS", "DELEGATE", "ACT_ON_BEHALF_OF", "VIEW_AUDIT_LOG", "CUSTOM",
+            // Days of week
+            "MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY"
+    };
+
+    private static final Map<String, Integer> INTERNED_CODES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < INTERNED.length; i++) {
+            if (INTERNED_CODES.put(INTERNED[i], i) != null) {
+                throw new IllegalStateException("Duplicate interned context string: " + INTERNED[i]);
+            }
+        }
+    }
+
+    private BinaryContextFormat() {
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // ENCODING
+    // ═══════════════════════════════════════════════════════════════
+
+    static byte[] encode(ProcessingContext context) {
+        Writer out = new Writer(512);
+        out.writeByte(VERSION);
+
+        out.writeString(context.getPrincipalId());
+        out.writeString(context.getPrincipalUsername());
+        out.writeStrings(context.getPrincipalRoles());
+        out.writeString(context.getChannelId());
+
+        out.writeString(context.getPartyId());
+        out.writeString(context.getPartyName());
+        out.writeString(context.getPartyType());
+        out.writeString(context.getLegalEntityId());
+        out.writeString(context.getPartyStatus());
+
+        out.writeString(context.getTenantId());
+        out.writeString(context.getTenantName());
+        out.writeString(context.getTenantType());
+
+        out.writeString(context.getJurisdictionCountry());
+        out.writeString(context.getJurisdictionRegion());
+        out.writeString(context.getProcessingRegion());
+        out.writeStrings(context.getRegulatoryFrameworks());
+        out.writeStrings(context.getComplianceTags());
+
+        writeRelationships(out, context.getRelationshipContext());
+        writePermissions(out, context.getPermissions());
+
+        out.writeString(context.getCoreSystemType());
+        out.writeString(context.getCoreSystemEndpoint());
+        out.writeString(context.getCoreSystemCustomerId());
+
+        out.writeInstant(context.getContextResolvedAt());
+        out.writeString(context.getResolutionSource());
+        out.writeString(context.getContextVersion());
+        out.writeMap(context.getMetadata());
+
+        return out.toByteArray();
+    }
+
+    private static void writeRelationships(Writer out, RelationshipContext relationships) {
+        out.writeBoolean(relationships != null);
+        if (relationships == null) {
+            return;
+        }
+
+        out.writeBoolean(relationships.isManagingOnBehalfOf());
+        out.writeStrings(relationships.getManagedPartyIds());
+        out.writeString(relationships.getParentEntityId());
+        out.writeString(relationships.getParentEntityName());
+        out.writeStrings(relationships.getHierarchyPath());
+        out.writeString(relationships.getRelationshipType());
+        out.writeStrings(relationships.getInheritedPermissions());
+        out.writeMap(relationships.getRelationshipMetadata());
+    }
+
+    private static void writePermissions(Writer out, PermissionContext permissions) {
+        out.writeBoolean(permissions != null);
+        if (permissions == null) {
+            return;
+        }
+
+        out.writeBoolean(permissions.isCanOpenAccounts());
+        out.writeBoolean(permissions.isCanInitiatePayments());
+        out.writeBoolean(permissions.isCanViewAccounts());
+        out.writeBoolean(permissions.isCanManageParties());
+        out.writeBoolean(permissions.isRequiresApproval());
+        out.writeDecimal(permissions.getMaxTransactionLimit());
+        out.writeDecimal(permissions.getDailyTransactionLimit());
+        out.writeDecimal(permissions.getMonthlyTransactionLimit());
+        out.writeStrings(permissions.getApprovedProductTypes());
+        out.writeStrings(permissions.getApprovedTransactionTypes());
+        out.writeStrings(permissions.getRestrictedOperations());
+        out.writeStrings(permissions.getAllowedCountries());
+        out.writeStrings(permissions.getBlockedCountries());
+        out.writeStrings(permissions.getSpecialPermissions());
+        out.writeString(permissions.getPermissionSource());
+        out.writeMap(permissions.getPermissionMetadata());
+
+        Map<String, ResourcePermission> entitlements = permissions.getResourceEntitlements();
+        out.writeSize(entitlements);
+        if (entitlements == null) {
+            return;
+        }
+        for (Map.Entry<String, ResourcePermission> entry : entitlements.entrySet()) {
+            ResourcePermission permission = entry.getValue();
+            writeResourcePermission(out, permission);
+
+            // Key is almost always derived from the permission - only write it when it differs
+            boolean canonicalKey = permission != null
+                    && entry.getKey().equals(resourceKey(permission.getResourceType(), permission.getResourceId()));
+            out.writeBoolean(canonicalKey);
+            if (!canonicalKey) {
+                out.writeString(entry.getKey());
+            }
+        }
+    }
+
+    private static void writeResourcePermission(Writer out, ResourcePermission permission) {
+        out.writeBoolean(permission != null);
+        if (permission == null) {
+            return;
+        }
+
+        out.writeString(permission.getResourceType() != null ? permission.getResourceType().name() : null);
+        out.writeString(permission.getResourceId());
+
+        Set<ResourceOperation> operations = permission.getAllowedOperations();
+        out.writeSize(operations);
+        if (operations != null) {
+            for (ResourceOperation operation : operations) {
+                out.writeString(operation.name());
+            }
+        }
+
+        writeConstraints(out, permission.getEffectiveConstraints());
+        out.writeSignedVarLong(permission.getPriority());
+        out.writeStrings(permission.getSourceEntitlementIds());
+    }
+
+    private static void writeConstraints(Writer out, EntitlementConstraints constraints) {
+        out.writeBoolean(constraints != null);
+        if (constraints == null) {
+            return;
+        }
+
+        out.writeDecimal(constraints.getMaxAmount());
+        out.writeDecimal(constraints.getMinAmount());
+        out.writeString(constraints.getCurrency());
+        out.writeDecimal(constraints.getDailyLimit());
+        out.writeDecimal(constraints.getMonthlyLimit());
+        out.writeStrings(constraints.getAllowedChannels());
+        out.writeStrings(constraints.getBlockedChannels());
+        out.writeStrings(constraints.getAllowedCountries());
+        out.writeStrings(constraints.getBlockedCountries());
+        out.writeStrings(constraints.getAllowedProductTypes());
+        out.writeDate(constraints.getValidFrom());
+        out.writeDate(constraints.getValidUntil());
+        out.writeString(constraints.getValidFromTime());
+        out.writeString(constraints.getValidUntilTime());
+        out.writeStrings(constraints.getAllowedDaysOfWeek());
+        out.writeBoolean(constraints.isRequiresApproval());
+        out.writeDecimal(constraints.getApprovalThreshold());
+        out.writeStrings(constraints.getApproverRoles());
+        out.writeBoolean(constraints.isRequiresMfa());
+        out.writeString(constraints.getRequiredClearanceLevel());
+        out.writeStrings(constraints.getAllowedIpRanges());
+        out.writeStrings(constraints.getAllowedGeolocations());
+        out.writeOptionalInt(constraints.getRateLimit());
+        out.writeOptionalInt(constraints.getRateLimitPeriodSeconds());
+        out.writeMap(constraints.getCustomConstraints());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // DECODING
+    // ═══════════════════════════════════════════════════════════════
+
+    static ProcessingContext decode(byte[] data) {
+        Reader in = new Reader(data);
+        byte version = in.readByte();
+        if (version != VERSION && version != VERSION_WITH_REQUEST_ID) {
+            throw new ContextSerializationException("Unsupported binary context version: " + version);
+        }
+
+        ProcessingContext context = new ProcessingContext();
+        context.setPrincipalId(in.readString());
+        context.setPrincipalUsername(in.readString());
+        context.setPrincipalRoles(in.readStringSet());
+        context.setChannelId(in.readString());
+
+        context.setPartyId(in.readString());
+        context.setPartyName(in.readString());
+        context.setPartyType(in.readString());
+        context.setLegalEntityId(in.readString());
+        context.setPartyStatus(in.readString());
+
+        context.setTenantId(in.readString());
+        context.setTenantName(in.readString());
+        context.setTenantType(in.readString());
+
+        context.setJurisdictionCountry(in.readString());
+        context.setJurisdictionRegion(in.readString());
+        context.setProcessingRegion(in.readString());
+        context.setRegulatoryFrameworks(in.readStringSet());
+        context.setComplianceTags(in.readStringSet());
+
+        context.setRelationshipContext(readRelationships(in));
+        context.setPermissions(readPermissions(in));
+
+        context.setCoreSystemType(in.readString());
+        context.setCoreSystemEndpoint(in.readString());
+        context.setCoreSystemCustomerId(in.readString());
+
+        if (version == VERSION_WITH_REQUEST_ID) {
+            in.readString();
+        }
+        context.setContextResolvedAt(in.readInstant());
+        context.setResolutionSource(in.readString());
+        context.setContextVersion(in.readString());
+        context.setMetadata(in.readMap());
+
+        if (!in.isExhausted()) {
+            throw new ContextSerializationException("Trailing bytes in binary context");
+        }
+        return context;
+    }
+
+    private static RelationshipContext readRelationships(Reader in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        RelationshipContext relationships = new RelationshipContext();
+        relationships.setManagingOnBehalfOf(in.readBoolean());
+        relationships.setManagedPartyIds(in.readStringSet());
+        relationships.setParentEntityId(in.readString());
+        relationships.setParentEntityName(in.readString());
+        relationships.setHierarchyPath(in.readStringList());
+        relationships.setRelationshipType(in.readString());
+        relationships.setInheritedPermissions(in.readStringSet());
+        relationships.setRelationshipMetadata(in.readMap());
+        return relationships;
+    }
+
+    private static PermissionContext readPermissions(Reader in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        PermissionContext permissions = new PermissionContext();
+        permissions.setCanOpenAccounts(in.readBoolean());
+        permissions.setCanInitiatePayments(in.readBoolean());
+        permissions.setCanViewAccounts(in.readBoolean());
+        permissions.setCanManageParties(in.readBoolean());
+        permissions.setRequiresApproval(in.readBoolean());
+        permissions.setMaxTransactionLimit(in.readDecimal());
+        permissions.setDailyTransactionLimit(in.readDecimal());
+        permissions.setMonthlyTransactionLimit(in.readDecimal());
+        permissions.setApprovedProductTypes(in.readStringSet());
+        permissions.setApprovedTransactionTypes(in.readStringSet());
+        permissions.setRestrictedOperations(in.readStringSet());
+        permissions.setAllowedCountries(in.readStringSet());
+        permissions.setBlockedCountries(in.readStringSet());
+        permissions.setSpecialPermissions(in.readStringSet());
+        permissions.setPermissionSource(in.readString());
+        permissions.setPermissionMetadata(in.readMap());
+
+        int size = in.readSize();
+        if (size < 0) {
+            permissions.setResourceEntitlements(null);
+            return permissions;
+        }
+        Map<String, ResourcePermission> entitlements = new HashMap<>(capacity(size));
+        for (int i = 0; i < size; i++) {
+            ResourcePermission permission = readResourcePermission(in);
+            String key = in.readBoolean()
+                    ? resourceKey(permission.getResourceType(), permission.getResourceId())
+                    : in.readString();
+            entitlements.put(key, permission);
+        }
+        permissions.setResourceEntitlements(entitlements);
+        return permissions;
+    }
+
+    private static ResourcePermission readResourcePermission(Reader in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        ResourcePermission permission = new ResourcePermission();
+        String resourceType = in.readString();
+        permission.setResourceType(resourceType != null ? ResourceType.valueOf(resourceType) : null);
+        permission.setResourceId(in.readString());
+
+        int size = in.readSize();
+        if (size < 0) {
+            permission.setAllowedOperations(null);
+        } else {
+            Set<ResourceOperation> operations = EnumSet.noneOf(ResourceOperation.class);
+            for (int i = 0; i < size; i++) {
+                operations.add(ResourceOperation.valueOf(in.readString()));
+            }
+            permission.setAllowedOperations(new HashSet<>(operations));
+        }
+
+        permission.setEffectiveConstraints(readConstraints(in));
+        permission.setPriority((int) in.readSignedVarLong());
+        permission.setSourceEntitlementIds(in.readStringSet());
+        return permission;
+    }
+
+    private static EntitlementConstraints readConstraints(Reader in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        EntitlementConstraints constraints = new EntitlementConstraints();
+        constraints.setMaxAmount(in.readDecimal());
+        constraints.setMinAmount(in.readDecimal());
+        constraints.setCurrency(in.readString());
+        constraints.setDailyLimit(in.readDecimal());
+        constraints.setMonthlyLimit(in.readDecimal());
+        constraints.setAllowedChannels(in.readStringSet());
+        constraints.setBlockedChannels(in.readStringSet());
+        constraints.setAllowedCountries(in.readStringSet());
+        constraints.setBlockedCountries(in.readStringSet());
+        constraints.setAllowedProductTypes(in.readStringSet());
+        constraints.setValidFrom(in.readDate());
+        constraints.setValidUntil(in.readDate());
+        constraints.setValidFromTime(in.readString());
+        constraints.setValidUntilTime(in.readString());
+        constraints.setAllowedDaysOfWeek(in.readStringSet());
+        constraints.setRequiresApproval(in.readBoolean());
+        constraints.setApprovalThreshold(in.readDecimal());
+        constraints.setApproverRoles(in.readStringSet());
+        constraints.setRequiresMfa(in.readBoolean());
+        constraints.setRequiredClearanceLevel(in.readString());
+        constraints.setAllowedIpRanges(in.readStringSet());
+        constraints.setAllowedGeolocations(in.readStringSet());
+        constraints.setRateLimit(in.readOptionalInt());
+        constraints.setRateLimitPeriodSeconds(in.readOptionalInt());
+        constraints.setCustomConstraints(in.readMap());
+        return constraints;
+    }
+
+    /**
+     * Same key format as PermissionContext resource entitlements
+     */
+    private static String resourceKey(ResourceType resourceType, String resourceId) {
+        if (resourceType == null) {
+            return null;
+        }
+        return resourceType.name() + ":" + (resourceId != null ? resourceId : "*");
+    }
+
+    private static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // PRIMITIVES
+    // ═══════════════════════════════════════════════════════════════
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        Writer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBoolean(boolean value) {
+            writeByte(value ? 1 : 0);
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeSignedVarLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+
+            Integer code = INTERNED_CODES.get(value);
+            if (code != null) {
+                writeVarLong(((long) code << 1) | 1);
+                return;
+            }
+
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong((long) (bytes.length + 1) << 1);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeSize(Collection<?> values) {
+            writeVarLong(values == null ? 0 : values.size() + 1L);
+        }
+
+        void writeSize(Map<?, ?> values) {
+            writeVarLong(values == null ? 0 : values.size() + 1L);
+        }
+
+        void writeStrings(Collection<String> values) {
+            writeSize(values);
+            if (values != null) {
+                for (String value : values) {
+                    writeString(value);
+                }
+            }
+        }
+
+        void writeMap(Map<String, String> values) {
+            writeSize(values);
+            if (values != null) {
+                for (Map.Entry<String, String> entry : values.entrySet()) {
+                    writeString(entry.getKey());
+                    writeString(entry.getValue());
+                }
+            }
+        }
+
+        void writeDecimal(BigDecimal value) {
+            writeString(value != null ? value.toString() : null);
+        }
+
+        void writeInstant(Instant value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                writeSignedVarLong(value.getEpochSecond());
+                writeVarLong(value.getNano());
+            }
+        }
+
+        void writeDate(LocalDate value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                writeSignedVarLong(value.toEpochDay());
+            }
+        }
+
+        void writeOptionalInt(Integer value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                writeSignedVarLong(value);
+            }
+        }
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        boolean isExhausted() {
+            return position == buffer.length;
+        }
+
+        byte readByte() {
+            if (position >= buffer.length) {
+                throw new ContextSerializationException("Truncated binary context");
+            }
+            return buffer[position++];
+        }
+
+        boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new ContextSerializationException("Malformed varint in binary context");
+        }
+
+        long readSignedVarLong() {
+            long raw = readVarLong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        String readString() {
+            long header = readVarLong();
+            if (header == 0) {
+                return null;
+            }
+
+            if ((header & 1) == 1) {
+                long code = header >>> 1;
+                if (code >= INTERNED.length) {
+                    throw new ContextSerializationException("Unknown interned string code: " + code);
+                }
+                return INTERNED[(int) code];
+            }
+
+            long length = (header >>> 1) - 1;
+            if (length < 0 || length > buffer.length - position) {
+                throw new ContextSerializationException("Invalid string length in binary context");
+            }
+            String value = new String(buffer, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+
+        /**
+         * @return collection size, or -1 for null
+         */
+        int readSize() {
+            long size = readVarLong() - 1;
+            if (size > buffer.length - position) {
+                throw new ContextSerializationException("Invalid collection size in binary context");
+            }
+            return (int) size;
+        }
+
+        Set<String> readStringSet() {
+            int size = readSize();
+            if (size < 0) {
+                return null;
+            }
+            Set<String> values = new HashSet<>(capacity(size));
+            for (int i = 0; i < size; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        List<String> readStringList() {
+            int size = readSize();
+            if (size < 0) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        Map<String, String> readMap() {
+            int size = readSize();
+            if (size < 0) {
+                return null;
+            }
+            Map<String, String> values = new HashMap<>(capacity(size));
+            for (int i = 0; i < size; i++) {
+                values.put(readString(), readString());
+            }
+            return values;
+        }
+
+        BigDecimal readDecimal() {
+            String value = readString();
+            return value != null ? new BigDecimal(value) : null;
+        }
+
+        Instant readInstant() {
+            if (!readBoolean()) {
+                return null;
+            }
+            long seconds = readSignedVarLong();
+            return Instant.ofEpochSecond(seconds, readVarLong());
+        }
+
+        LocalDate readDate() {
+            return readBoolean() ? LocalDate.ofEpochDay(readSignedVarLong()) : null;
+        }
+
+        Integer readOptionalInt() {
+            return readBoolean() ? (int) readSignedVarLong() : null;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.bank.product.context;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Processing Context Header Codec
+ *
+ * Encodes the ProcessingContext for the X-Processing-Context header and
+ * decodes it in business services.
+ *
+ * Formats:
+ * - BINARY: {@code b1.<payload>.<signature>} - compact binary layout (see
+ *   BinaryContextFormat), Base64url encoded, signed with a truncated
+ *   HMAC-SHA256 shared by the gateway and the business services
+ * - JSON: Base64 encoded JSON (legacy format, unsigned)
+ *
+ * Decoding auto-detects the format, so services accept both while the
+ * gateway is switched over. Once every gateway instance emits BINARY,
+ * set {@code context.codec.accept-json=false} to reject unsigned contexts.
+ *
+ * Decoded contexts are cached by signature: the binary payload leaves out
+ * the request ID (it travels as X-Request-ID), so the gateway forwards the
+ * same header for every request of a cached context and repeated headers
+ * skip both the HMAC and the parsing. Decoded binary contexts therefore
+ * carry no request ID.
+ *
+ * @author System Architecture Team
+ * @since 1.0
+ * @see ProcessingContext
+ */
+@Component
+@Slf4j
+public class ContextCodec {
+
+    public static final String BINARY_PREFIX = "b1.";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 16;
+
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+
+    public enum Format {
+        BINARY,
+        JSON
+    }
+
+    private final SecretKeySpec signingKey;
+    private final Format format;
+    private final boolean acceptJson;
+    private final Cache<String, DecodedContext> decodedContexts;
+
+    public ContextCodec(
+            @Value("${context.codec.signing-key:change-this-context-signing-key-in-production}") String signingKey,
+            @Value("${context.codec.format:BINARY}") Format format,
+            @Value("${context.codec.accept-json:true}") boolean acceptJson,
+            @Value("${context.codec.cache-size:10000}") long cacheSize) {
+        this.signingKey = new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        this.format = format;
+        this.acceptJson = acceptJson;
+        this.decodedContexts = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    /**
+     * Encode context for the X-Processing-Context header using the configured format
+     *
+     * @param context Processing context
+     * @return Header value
+     */
+    public String encode(ProcessingContext context) {
+        if (format == Format.JSON) {
+            return context.toBase64Json();
+        }
+
+        byte[] payload = BinaryContextFormat.encode(context);
+        return BINARY_PREFIX + BASE64_ENCODER.encodeToString(payload) + '.'
+                + BASE64_ENCODER.encodeToString(sign(BinaryContextFormat.VERSION, payload));
+    }
+
+    /**
+     * Decode X-Processing-Context header value
+     *
+     * Callers must not mutate the returned context: it may be shared with
+     * other requests carrying the same header.
+     *
+     * @param header Header value (binary, Base64 JSON or raw JSON)
+     * @return ProcessingContext
+     * @throws ContextSerializationException if the header is malformed, unsigned
+     *         JSON is not accepted, or the signature does not match
+     */
+    public ProcessingContext decode(String header) {
+        if (header.startsWith(BINARY_PREFIX)) {
+            return decodeBinary(header);
+        }
+
+        if (!acceptJson) {
+            throw new ContextSerializationException("Unsigned JSON context is not accepted");
+        }
+
+        DecodedContext cached = decodedContexts.getIfPresent(header);
+        if (cached != null) {
+            return cached.context();
+        }
+
+        ProcessingContext context = header.startsWith("{")
+                ? ProcessingContext.fromJson(header)
+                : ProcessingContext.fromBase64Json(header);
+        decodedContexts.put(header, new DecodedContext(header, context));
+        return context;
+    }
+
+    private ProcessingContext decodeBinary(String header) {
+        int separator = header.lastIndexOf('.');
+        if (separator <= BINARY_PREFIX.length()) {
+            throw new ContextSerializationException("Malformed binary context header");
+        }
+
+        // Signature is a digest of the payload - a cheap key for the decoded context
+        String signature = header.substring(separator + 1);
+        DecodedContext cached = decodedContexts.getIfPresent(signature);
+        if (cached != null && cached.header().equals(header)) {
+            return cached.context();
+        }
+
+        byte[] payload;
+        byte[] expected;
+        try {
+            payload = BASE64_DECODER.decode(header.substring(BINARY_PREFIX.length(), separator));
+            expected = BASE64_DECODER.decode(signature);
+        } catch (IllegalArgumentException e) {
+            throw new ContextSerializationException("Malformed binary context header", e);
+        }
+
+        // Signed with the version the payload was encoded with, so headers of the previous version still verify
+        byte version = payload.length > 0 ? payload[0] : BinaryContextFormat.VERSION;
+        if (!MessageDigest.isEqual(expected, sign(version, payload))) {
+            log.warn("Rejected processing context with invalid signature");
+            throw new ContextSerializationException("Invalid processing context signature");
+        }
+
+        ProcessingContext context;
+        try {
+            context = BinaryContextFormat.decode(payload);
+        } catch (ContextSerializationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ContextSerializationException("Failed to decode binary context", e);
+        }
+
+        decodedContexts.put(signature, new DecodedContext(header, context));
+        return context;
+    }
+
+    private byte[] sign(byte version, byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            mac.update(version);
+            mac.update(ByteBuffer.wrap(payload));
+            return Arrays.copyOf(mac.doFinal(), SIGNATURE_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    private record DecodedContext(String header, ProcessingContext context) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.bank.product.context;
 
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class ContextExtractor {
 
     // HTTP Header names
@@ -25,6 +27,8 @@ public class ContextExtractor {
     public static final String JURISDICTION_HEADER = "X-Jurisdiction";
     public static final String REQUEST_ID_HEADER = "X-Request-ID";
 
+    private final ContextCodec contextCodec;
+
     /**
      * Extract full processing context from request headers
      *
@@ -34,9 +38,9 @@ public class ContextExtractor {
      * @throws InvalidContextException if context is invalid or expired
      */
     public ProcessingContext extractContext(HttpServletRequest request) {
-        String contextJson = request.getHeader(CONTEXT_HEADER);
+        String contextHeader = request.getHeader(CONTEXT_HEADER);
 
-        if (contextJson == null || contextJson.isEmpty()) {
+        if (contextHeader == null || contextHeader.isEmpty()) {
             log.error("X-Processing-Context header is missing");
             throw new MissingContextException(
                     "X-Processing-Context header is required for all requests. " +
@@ -46,7 +50,7 @@ public class ContextExtractor {
 
         ProcessingContext context;
         try {
-            context = ProcessingContext.fromJson(contextJson);
+            context = contextCodec.decode(contextHeader);
         } catch (ContextSerializationException e) {
             log.error("Failed to deserialize context from header", e);
             throw new InvalidContextException("Failed to parse processing context", e);
@@ -60,7 +64,8 @@ public class ContextExtractor {
         }
 
         log.debug("Successfully extracted context: tenantId={}, partyId={}, principalId={}, requestId={}",
-                context.getTenantId(), context.getPartyId(), context.getPrincipalId(), context.getRequestId());
+                context.getTenantId(), context.getPartyId(), context.getPrincipalId(),
+                request.getHeader(REQUEST_ID_HEADER));
 
         return context;
     }
@@ -68,6 +73,9 @@ public class ContextExtractor {
     /**
      * Extract context with Base64 decoding
      *
+     * Kept for existing callers - the codec detects the header format, so
+     * this accepts the same values as {@link #extractContext}.
+     *
      * @param request HTTP servlet request
      * @return ProcessingContext
      */
@@ -79,7 +87,7 @@ public class ContextExtractor {
         }
 
         try {
-            ProcessingContext context = ProcessingContext.fromBase64Json(base64Json);
+            ProcessingContext context = contextCodec.decode(base64Json);
             if (!context.isValid()) {
                 throw new InvalidContextException("Processing context is expired or invalid");
             }
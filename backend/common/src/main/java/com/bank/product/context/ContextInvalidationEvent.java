@@ -0,0 +1,64 @@
+package com.bank.product.context;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Context Invalidation Event
+ *
+ * Published by the Party Service whenever a change may alter a resolved
+ * ProcessingContext (party update, relationship change, entitlement change).
+ * Consumed by every API Gateway instance to evict its local context cache,
+ * and by every Party Service instance to evict its own cached contexts and
+ * entitlements of the party (ENTITLEMENT_CHANGED) and reload its ownership
+ * (OWNERSHIP_CHANGED).
+ *
+ * @author System Architecture Team
+ * @since 1.0
+ * @see ProcessingContext
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ContextInvalidationEvent {
+
+    /**
+     * Default Kafka topic for context invalidation events
+     */
+    public static final String DEFAULT_TOPIC = "party.context.invalidated";
+
+    /**
+     * Party whose context (or contexts depending on it) must be evicted.
+     * Null when {@link #allEntries} is set.
+     */
+    private String partyId;
+
+    /**
+     * Tenant of the changed entitlements (ENTITLEMENT_CHANGED only).
+     * Null means every tenant of the party.
+     */
+    private String tenantId;
+
+    /**
+     * Evict every cached context regardless of party
+     */
+    private boolean allEntries;
+
+    /**
+     * Why the context was invalidated
+     * Values: PARTY_UPDATED, RELATIONSHIP_CHANGED, ENTITLEMENT_CHANGED, OWNERSHIP_CHANGED
+     */
+    private String reason;
+
+    /**
+     * When the change happened
+     */
+    private Instant occurredAt;
+}
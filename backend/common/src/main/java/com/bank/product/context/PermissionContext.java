@@ -3,10 +3,15 @@ package com.bank.product.context;
 import com.bank.product.entitlement.ResourceOperation;
 import com.bank.product.entitlement.ResourcePermission;
 import com.bank.product.entitlement.ResourceType;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -148,6 +153,16 @@ public class PermissionContext implements Serializable {
     @Builder.Default
     private Map<String, ResourcePermission> resourceEntitlements = new HashMap<>();
 
+    /**
+     * Resource entitlements compiled for authorization checks
+     * Built on the first check, reset when entitlements are added or replaced
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient volatile PermissionIndex permissionIndex;
+
     /**
      * Check if party has specific permission
      */
@@ -333,13 +348,9 @@ public class PermissionContext implements Serializable {
             return false;
         }
 
-        try {
-            ResourceOperation resourceOp = ResourceOperation.valueOf(operation.toUpperCase());
-            return hasPermissionOnResource(resourceOp, resourceType, resourceId);
-        } catch (IllegalArgumentException e) {
-            // Operation not recognized as ResourceOperation
-            return false;
-        }
+        // Operation not recognized as ResourceOperation
+        ResourceOperation resourceOp = PermissionIndex.operation(operation);
+        return resourceOp != null && hasPermissionOnResource(resourceOp, resourceType, resourceId);
     }
 
     /**
@@ -355,19 +366,8 @@ public class PermissionContext implements Serializable {
             return false;
         }
 
-        // Check specific resource permission first
-        if (resourceId != null) {
-            String key = makeResourceKey(resourceType, resourceId);
-            ResourcePermission perm = resourceEntitlements.get(key);
-            if (perm != null && perm.hasOperation(operation)) {
-                return true;
-            }
-        }
-
-        // Check type-level permission (resourceId = null)
-        String typeKey = makeResourceKey(resourceType, null);
-        ResourcePermission typePerm = resourceEntitlements.get(typeKey);
-        if (typePerm != null && typePerm.hasOperation(operation)) {
+        // Check specific resource permission, then type-level permission (resourceId = null)
+        if (permissionIndex().allows(operation, resourceType, resourceId)) {
             return true;
         }
 
@@ -387,18 +387,8 @@ public class PermissionContext implements Serializable {
             return null;
         }
 
-        // Try specific resource first
-        if (resourceId != null) {
-            String key = makeResourceKey(resourceType, resourceId);
-            ResourcePermission perm = resourceEntitlements.get(key);
-            if (perm != null) {
-                return perm;
-            }
-        }
-
-        // Fall back to type-level permission
-        String typeKey = makeResourceKey(resourceType, null);
-        return resourceEntitlements.get(typeKey);
+        // Try specific resource first, fall back to type-level permission
+        return permissionIndex().permission(resourceType, resourceId);
     }
 
     /**
@@ -411,8 +401,22 @@ public class PermissionContext implements Serializable {
             return;
         }
 
+        if (resourceEntitlements == null) {
+            resourceEntitlements = new HashMap<>();
+        }
         String key = makeResourceKey(permission.getResourceType(), permission.getResourceId());
         resourceEntitlements.put(key, permission);
+        permissionIndex = null;
+    }
+
+    /**
+     * Replace resource permissions
+     *
+     * @param resourceEntitlements Resource permissions keyed resourceType:resourceId
+     */
+    public void setResourceEntitlements(Map<String, ResourcePermission> resourceEntitlements) {
+        this.resourceEntitlements = resourceEntitlements;
+        this.permissionIndex = null;
     }
 
     /**
@@ -490,6 +494,18 @@ public class PermissionContext implements Serializable {
                 .collect(java.util.stream.Collectors.toList());
     }
 
+    /**
+     * Compiled resource entitlements, built on first use
+     */
+    private PermissionIndex permissionIndex() {
+        PermissionIndex index = permissionIndex;
+        if (index == null) {
+            index = PermissionIndex.compile(resourceEntitlements);
+            permissionIndex = index;
+        }
+        return index;
+    }
+
     /**
      * Make resource key for map lookup
      */
@@ -0,0 +1,222 @@
+package com.bank.product.context;
+
+import com.bank.product.entitlement.ResourceOperation;
+import com.bank.product.entitlement.ResourcePermission;
+import com.bank.product.entitlement.ResourceType;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled, immutable view of a party's resource entitlements
+ *
+ * Built once from {@link PermissionContext#getResourceEntitlements()} (keys
+ * "resourceType:resourceId", "resourceType:*" for type-level permissions) and
+ * answers authorization checks without building keys or allocating:
+ * - arrays indexed by {@link ResourceType} ordinal hold the type-level
+ *   operations and the resource table of each type
+ * - the allowed operations of every permission are a bitmask over
+ *   {@link ResourceOperation} ordinals
+ * - resource IDs are looked up in an open-addressing table per type
+ *
+ * The index is a snapshot: changes to the entitlement map or to the
+ * permissions in it are not seen until the index is compiled again.
+ *
+ * @author System Architecture Team
+ * @since 1.0
+ */
+public final class PermissionIndex {
+
+    private static final ResourceType[] RESOURCE_TYPES = ResourceType.values();
+
+    private static final Map<String, ResourceOperation> OPERATIONS_BY_NAME = new HashMap<>();
+
+    static {
+        if (ResourceOperation.values().length > Long.SIZE) {
+            throw new IllegalStateException("ResourceOperation no longer fits a long bitmask");
+        }
+        for (ResourceOperation operation : ResourceOperation.values()) {
+            OPERATIONS_BY_NAME.put(operation.name(), operation);
+        }
+    }
+
+    private static final PermissionIndex EMPTY = new PermissionIndex(
+            new long[RESOURCE_TYPES.length], new ResourcePermission[RESOURCE_TYPES.length],
+            new ResourceTable[RESOURCE_TYPES.length]);
+
+    private final long[] typeOperations;
+    private final ResourcePermission[] typePermissions;
+    private final ResourceTable[] resourceTables;
+
+    private PermissionIndex(long[] typeOperations, ResourcePermission[] typePermissions,
+                            ResourceTable[] resourceTables) {
+        this.typeOperations = typeOperations;
+        this.typePermissions = typePermissions;
+        this.resourceTables = resourceTables;
+    }
+
+    /**
+     * Compile resource entitlements keyed "resourceType:resourceId"
+     *
+     * Entries whose key does not name a {@link ResourceType} are ignored,
+     * they could never be looked up.
+     */
+    public static PermissionIndex compile(Map<String, ResourcePermission> resourceEntitlements) {
+        if (resourceEntitlements == null || resourceEntitlements.isEmpty()) {
+            return EMPTY;
+        }
+
+        long[] typeOperations = new long[RESOURCE_TYPES.length];
+        ResourcePermission[] typePermissions = new ResourcePermission[RESOURCE_TYPES.length];
+        Map<ResourceType, Map<String, ResourcePermission>> resources = new HashMap<>();
+
+        for (Map.Entry<String, ResourcePermission> entry : resourceEntitlements.entrySet()) {
+            String key = entry.getKey();
+            int separator = key != null ? key.indexOf(':') : -1;
+            if (separator < 0 || entry.getValue() == null) {
+                continue;
+            }
+            ResourceType type = resourceType(key.substring(0, separator));
+            if (type == null) {
+                continue;
+            }
+
+            String resourceId = key.substring(separator + 1);
+            if (resourceId.equals("*")) {
+                typePermissions[type.ordinal()] = entry.getValue();
+                typeOperations[type.ordinal()] = operationMask(entry.getValue().getAllowedOperations());
+            } else {
+                resources.computeIfAbsent(type, t -> new HashMap<>()).put(resourceId, entry.getValue());
+            }
+        }
+
+        ResourceTable[] resourceTables = new ResourceTable[RESOURCE_TYPES.length];
+        resources.forEach((type, permissions) -> resourceTables[type.ordinal()] = new ResourceTable(permissions));
+        return new PermissionIndex(typeOperations, typePermissions, resourceTables);
+    }
+
+    /**
+     * Look up an operation by name, case-insensitively
+     *
+     * @return the operation, or null if the name is not a {@link ResourceOperation}
+     */
+    public static ResourceOperation operation(String name) {
+        if (name == null) {
+            return null;
+        }
+        ResourceOperation operation = OPERATIONS_BY_NAME.get(name);
+        return operation != null ? operation : OPERATIONS_BY_NAME.get(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Is the operation granted on the resource, or on all resources of its type?
+     *
+     * @param resourceId Specific resource ID (null checks type-level permissions only)
+     */
+    public boolean allows(ResourceOperation operation, ResourceType resourceType, String resourceId) {
+        int type = resourceType.ordinal();
+        long bit = 1L << operation.ordinal();
+
+        if (resourceId != null) {
+            ResourceTable table = resourceTables[type];
+            if (table != null) {
+                int slot = table.find(resourceId);
+                if (slot >= 0 && (table.operations[slot] & bit) != 0) {
+                    return true;
+                }
+            }
+        }
+        return (typeOperations[type] & bit) != 0;
+    }
+
+    /**
+     * Permission for the resource, falling back to the type-level permission
+     *
+     * @return the permission, or null if neither exists
+     */
+    public ResourcePermission permission(ResourceType resourceType, String resourceId) {
+        int type = resourceType.ordinal();
+
+        if (resourceId != null) {
+            ResourceTable table = resourceTables[type];
+            if (table != null) {
+                int slot = table.find(resourceId);
+                if (slot >= 0) {
+                    return table.permissions[slot];
+                }
+            }
+        }
+        return typePermissions[type];
+    }
+
+    private static ResourceType resourceType(String name) {
+        for (ResourceType type : RESOURCE_TYPES) {
+            if (type.name().equals(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static long operationMask(Set<ResourceOperation> operations) {
+        long mask = 0L;
+        if (operations != null) {
+            for (ResourceOperation operation : operations) {
+                if (operation != null) {
+                    mask |= 1L << operation.ordinal();
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Open-addressing (linear probing) table from resource ID to permission
+     *
+     * Capacity is a power of two at least twice the number of resources, so
+     * probes stay short and there is always a free slot to end a miss.
+     */
+    private static final class ResourceTable {
+
+        private final String[] resourceIds;
+        private final long[] operations;
+        private final ResourcePermission[] permissions;
+        private final int mask;
+
+        ResourceTable(Map<String, ResourcePermission> resources) {
+            int capacity = Integer.highestOneBit(Math.max(resources.size(), 1) * 4 - 1);
+            resourceIds = new String[capacity];
+            operations = new long[capacity];
+            permissions = new ResourcePermission[capacity];
+            mask = capacity - 1;
+
+            resources.forEach((resourceId, permission) -> {
+                int slot = spread(resourceId.hashCode()) & mask;
+                while (resourceIds[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                resourceIds[slot] = resourceId;
+                operations[slot] = operationMask(permission.getAllowedOperations());
+                permissions[slot] = permission;
+            });
+        }
+
+        int find(String resourceId) {
+            int slot = spread(resourceId.hashCode()) & mask;
+            String candidate;
+            while ((candidate = resourceIds[slot]) != null) {
+                if (candidate.equals(resourceId)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -30,7 +30,7 @@ import java.util.*;
  * @see <a href="../../../../../../CONTEXT_RESOLUTION_ARCHITECTURE.md">Context Resolution Architecture</a>
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 @JsonIgnoreProperties(ignoreUnknown = true)
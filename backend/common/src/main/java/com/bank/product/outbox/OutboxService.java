@@ -1,5 +1,6 @@
 package com.bank.product.outbox;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -7,7 +8,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Service for saving events to outbox
@@ -35,25 +39,9 @@ public class OutboxService {
     public OutboxEvent saveEvent(Object event, String topic, String aggregateType,
                                    String aggregateId, String tenantId) {
         try {
-            String eventType = event.getClass().getSimpleName();
-            String payload = objectMapper.writeValueAsString(event);
-
-            OutboxEvent outboxEvent = OutboxEvent.builder()
-                    .eventId(UUID.randomUUID().toString())
-                    .eventType(eventType)
-                    .aggregateType(aggregateType)
-                    .aggregateId(aggregateId)
-                    .tenantId(tenantId)
-                    .payload(payload)
-                    .topic(topic)
-                    .published(false)
-                    .createdAt(LocalDateTime.now())
-                    .retryCount(0)
-                    .build();
-
-            OutboxEvent saved = outboxRepository.save(outboxEvent);
+            OutboxEvent saved = outboxRepository.save(toOutboxEvent(event, topic, aggregateType, aggregateId, tenantId));
             log.debug("Event saved to outbox: eventId={}, type={}, aggregate={}",
-                    saved.getEventId(), eventType, aggregateId);
+                    saved.getEventId(), saved.getEventType(), aggregateId);
 
             return saved;
 
@@ -64,6 +52,56 @@ public class OutboxService {
         }
     }
 
+    /**
+     * Save multiple events to outbox with a single bulk insert (transactional)
+     *
+     * @param events Domain event objects
+     * @param topic Kafka topic to publish to
+     * @param aggregateIdOf Extracts the aggregate ID from an event
+     * @param tenantId Tenant ID
+     * @return Saved outbox events
+     */
+    @Transactional
+    public <E> List<OutboxEvent> saveEvents(List<E> events, String topic,
+                                            Function<E, String> aggregateIdOf, String tenantId) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+
+        String aggregateType = extractAggregateType(events.get(0).getClass().getSimpleName());
+        try {
+            List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+            for (E event : events) {
+                outboxEvents.add(toOutboxEvent(event, topic, aggregateType, aggregateIdOf.apply(event), tenantId));
+            }
+
+            List<OutboxEvent> saved = outboxRepository.insert(outboxEvents);
+            log.debug("{} events saved to outbox: type={}, tenant={}", saved.size(), aggregateType, tenantId);
+
+            return saved;
+
+        } catch (Exception e) {
+            log.error("Failed to save {} events to outbox: tenant={}", events.size(), tenantId, e);
+            throw new RuntimeException("Failed to save events to outbox", e);
+        }
+    }
+
+    private OutboxEvent toOutboxEvent(Object event, String topic, String aggregateType,
+                                      String aggregateId, String tenantId) throws JsonProcessingException {
+        return OutboxEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(event.getClass().getSimpleName())
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .tenantId(tenantId)
+                .payload(objectMapper.writeValueAsString(event))
+                .topic(topic)
+                .published(false)
+                .createdAt(LocalDateTime.now())
+                .retryCount(0)
+                .build();
+    }
+
     /**
      * Convenience method for simple events
      */
@@ -14,7 +14,7 @@ import java.util.Map;
  * Includes custom claims for multi-tenancy, RBAC, and service identity.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class JwtClaims {
@@ -5,6 +5,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * JWT Configuration Properties
@@ -52,6 +54,18 @@ public class JwtProperties {
      */
     private String publicKey;
 
+    /**
+     * Key ID (kid header) of the current signing key
+     */
+    private String keyId;
+
+    /**
+     * Additional RSA public keys accepted for validation, keyed by kid
+     * During key rotation: keep the previous public key here until all
+     * tokens signed with it have expired
+     */
+    private Map<String, String> verificationKeys = new HashMap<>();
+
     /**
      * Secret for HMAC signing (HS256) - fallback for development only
      * In production: Use RSA keys
@@ -72,4 +86,25 @@ public class JwtProperties {
      * Redis key prefix for token blacklist
      */
     private String blacklistPrefix = "jwt:blacklist:";
+
+    /**
+     * Redis pub/sub channel on which revocations are broadcast to all gateway instances
+     */
+    private String revocationChannel = "jwt:revocations";
+
+    /**
+     * Interval of the full reload of the local revocation set from Redis
+     */
+    private Duration revocationResyncInterval = Duration.ofMinutes(1);
+
+    /**
+     * Maximum age of the local revocation set before checks fall back to Redis
+     */
+    private Duration revocationMaxStaleness = Duration.ofMinutes(3);
+
+    /**
+     * Maximum number of verified tokens whose claims are cached
+     * Claims are cached until the token expires. 0 disables the cache
+     */
+    private long verifiedClaimsCacheSize = 10_000;
 }
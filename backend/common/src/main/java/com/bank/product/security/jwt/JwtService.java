@@ -1,14 +1,20 @@
 package com.bank.product.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.spec.PKCS8EncodedKeySpec;
@@ -16,8 +22,10 @@ import java.security.spec.X509EncodedKeySpec;
 import java.time.Instant;
 import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT Token Service
@@ -31,13 +39,31 @@ import java.util.UUID;
  * - Issuer validation
  * - JTI (JWT ID) for token revocation support
  * - RSA key pair support for distributed systems
+ * - Key rotation: tokens carry the signing key ID (kid) and are verified
+ *   against the matching configured public key
+ *
+ * Keys and the parser are built once on first use. Verified claims are
+ * cached by token digest until the token expires, so a token presented on
+ * every request is only signature-verified once.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
     private final JwtProperties properties;
+    private final Cache<String, JwtClaims> verifiedClaims;
+
+    private volatile JwtParser parser;
+    private volatile PrivateKey privateKey;
+    private volatile SecretKey secretKey;
+
+    public JwtService(JwtProperties properties) {
+        this.properties = properties;
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(properties.getVerifiedClaimsCacheSize())
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
 
     /**
      * Generate access token for user authentication
@@ -102,13 +128,15 @@ public class JwtService {
                     .expiration(Date.from(Instant.ofEpochSecond(claims.getExpiresAt())))
                     .id(claims.getJti());
 
+            if (properties.getKeyId() != null) {
+                builder.header().keyId(properties.getKeyId());
+            }
+
             // Sign with appropriate algorithm
             if ("RS256".equals(properties.getAlgorithm())) {
-                PrivateKey privateKey = loadPrivateKey();
-                builder.signWith(privateKey, Jwts.SIG.RS256);
+                builder.signWith(signingKey(), Jwts.SIG.RS256);
             } else {
-                SecretKey secretKey = loadSecretKey();
-                builder.signWith(secretKey, Jwts.SIG.HS256);
+                builder.signWith(secretKey(), Jwts.SIG.HS256);
             }
 
             return builder.compact();
@@ -121,14 +149,25 @@ public class JwtService {
 
     /**
      * Validate and parse JWT token
+     *
+     * Returns a copy of the verified claims - callers may modify it.
      */
     public JwtClaims validateAndParse(String token) {
+        String digest = digest(token);
+        JwtClaims cached = verifiedClaims.getIfPresent(digest);
+        if (cached != null) {
+            return cached.toBuilder().build();
+        }
+
         try {
-            JwtParser parser = createParser();
-            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Claims claims = parser().parseSignedClaims(token).getPayload();
 
             // Convert to JwtClaims
-            return JwtClaims.fromClaimsMap(claims);
+            JwtClaims jwtClaims = JwtClaims.fromClaimsMap(claims);
+            if (jwtClaims.getExpiresAt() != null) {
+                verifiedClaims.put(digest, jwtClaims);
+            }
+            return jwtClaims.toBuilder().build();
 
         } catch (ExpiredJwtException e) {
             log.warn("JWT token expired: {}", e.getMessage());
@@ -194,6 +233,23 @@ public class JwtService {
         }
     }
 
+    /**
+     * JWT parser with appropriate verification keys, created on first use
+     */
+    private JwtParser parser() {
+        JwtParser result = parser;
+        if (result == null) {
+            synchronized (this) {
+                result = parser;
+                if (result == null) {
+                    result = createParser();
+                    parser = result;
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Create JWT parser with appropriate verification key
      */
@@ -202,16 +258,51 @@ public class JwtService {
                 .requireIssuer(properties.getIssuer());
 
         if ("RS256".equals(properties.getAlgorithm())) {
-            PublicKey publicKey = loadPublicKey();
-            builder.verifyWith(publicKey);
+            PublicKey currentKey = loadPublicKey(properties.getPublicKey());
+            Map<String, PublicKey> keysById = new HashMap<>();
+            properties.getVerificationKeys().forEach((kid, pem) -> keysById.put(kid, loadPublicKey(pem)));
+            if (properties.getKeyId() != null) {
+                keysById.put(properties.getKeyId(), currentKey);
+            }
+            builder.keyLocator(new VerificationKeyLocator(currentKey, keysById,
+                    !properties.getVerificationKeys().isEmpty()));
         } else {
-            SecretKey secretKey = loadSecretKey();
-            builder.verifyWith(secretKey);
+            builder.verifyWith(secretKey());
         }
 
         return builder.build();
     }
 
+    private PrivateKey signingKey() {
+        PrivateKey result = privateKey;
+        if (result == null) {
+            result = loadPrivateKey();
+            privateKey = result;
+        }
+        return result;
+    }
+
+    private SecretKey secretKey() {
+        SecretKey result = secretKey;
+        if (result == null) {
+            result = loadSecretKey();
+            secretKey = result;
+        }
+        return result;
+    }
+
+    /**
+     * Cache key for verified claims - avoids retaining raw tokens in memory
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * Load RSA private key from configuration
      */
@@ -232,11 +323,14 @@ public class JwtService {
     }
 
     /**
-     * Load RSA public key from configuration
+     * Load RSA public key from PEM
      */
-    private PublicKey loadPublicKey() {
+    private PublicKey loadPublicKey(String pem) {
+        if (pem == null || pem.isEmpty()) {
+            throw new JwtConfigurationException("JWT public key not configured");
+        }
         try {
-            String publicKeyPEM = properties.getPublicKey()
+            String publicKeyPEM = pem
                     .replace("-----BEGIN PUBLIC KEY-----", "")
                     .replace("-----END PUBLIC KEY-----", "")
                     .replaceAll("\\s", "");
@@ -261,6 +355,65 @@ public class JwtService {
         return Keys.hmacShaKeyFor(secret.getBytes());
     }
 
+    /**
+     * Selects the verification key by the kid header
+     * Tokens without kid (issued before key IDs were configured) use the current key.
+     * While no rotation keys are configured, an unknown kid also uses the current
+     * key: the issuer then names its single key differently (or this service
+     * configures no key-id), and the signature check still applies.
+     */
+    private static class VerificationKeyLocator extends LocatorAdapter<Key> {
+
+        private final PublicKey currentKey;
+        private final Map<String, PublicKey> keysById;
+        private final boolean rotating;
+
+        VerificationKeyLocator(PublicKey currentKey, Map<String, PublicKey> keysById, boolean rotating) {
+            this.currentKey = currentKey;
+            this.keysById = keysById;
+            this.rotating = rotating;
+        }
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            String kid = header.getKeyId();
+            if (kid == null) {
+                return currentKey;
+            }
+
+            PublicKey key = keysById.get(kid);
+            if (key == null) {
+                if (!rotating) {
+                    return currentKey;
+                }
+                throw new UnsupportedJwtException("Unknown signing key ID: " + kid);
+            }
+            return key;
+        }
+    }
+
+    /**
+     * Verified claims expire together with their token
+     */
+    private static class TokenExpiry implements Expiry<String, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+            long remainingSeconds = claims.getExpiresAt() - Instant.now().getEpochSecond();
+            return TimeUnit.SECONDS.toNanos(Math.max(remainingSeconds, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
     // Custom exceptions
     public static class JwtGenerationException extends RuntimeException {
         public JwtGenerationException(String message, Throwable cause) {
@@ -0,0 +1,147 @@
+package com.bank.product.context;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for encoding and decoding the X-Processing-Context header.
+ */
+class ContextCodecTest {
+
+    private final ContextCodec codec = new ContextCodec("test-signing-key", ContextCodec.Format.BINARY, true, 100);
+
+    @Test
+    @DisplayName("Should decode a binary context to the encoded values")
+    void testBinaryRoundTrip() {
+        ProcessingContext context = context("req-1");
+
+        String header = codec.encode(context);
+        ProcessingContext decoded = codec.decode(header);
+
+        assertTrue(header.startsWith(ContextCodec.BINARY_PREFIX));
+        assertEquals(context.getPrincipalId(), decoded.getPrincipalId());
+        assertEquals(context.getPrincipalRoles(), decoded.getPrincipalRoles());
+        assertEquals(context.getPartyId(), decoded.getPartyId());
+        assertEquals(context.getPartyName(), decoded.getPartyName());
+        assertEquals(context.getTenantId(), decoded.getTenantId());
+        assertEquals(context.getJurisdictionCountry(), decoded.getJurisdictionCountry());
+        assertEquals(context.getRegulatoryFrameworks(), decoded.getRegulatoryFrameworks());
+        assertEquals(context.getRelationshipContext().getManagedPartyIds(),
+                decoded.getRelationshipContext().getManagedPartyIds());
+        assertEquals(context.getRelationshipContext().getHierarchyPath(),
+                decoded.getRelationshipContext().getHierarchyPath());
+        assertEquals(0, context.getPermissions().getMaxTransactionLimit()
+                .compareTo(decoded.getPermissions().getMaxTransactionLimit()));
+        assertEquals(context.getPermissions().getApprovedProductTypes(),
+                decoded.getPermissions().getApprovedProductTypes());
+        assertEquals(context.getContextResolvedAt(), decoded.getContextResolvedAt());
+        assertEquals(context.getMetadata(), decoded.getMetadata());
+        assertTrue(decoded.isValid());
+    }
+
+    @Test
+    @DisplayName("Should encode the same header for every request of a context")
+    void testRequestIdNotEncoded() {
+        ProcessingContext first = context("req-1");
+        ProcessingContext second = first.toBuilder().requestId("req-2").build();
+
+        String header = codec.encode(first);
+
+        assertEquals(header, codec.encode(second));
+        assertNull(codec.decode(header).getRequestId());
+    }
+
+    @Test
+    @DisplayName("Should reuse the decoded context for a repeated header")
+    void testDecodedContextCached() {
+        String header = codec.encode(context("req-1"));
+
+        assertSame(codec.decode(header), codec.decode(header));
+    }
+
+    @Test
+    @DisplayName("Should reject a binary context with a tampered payload")
+    void testTamperedPayloadRejected() {
+        String header = codec.encode(context("req-1"));
+        int separator = header.lastIndexOf('.');
+        char[] chars = header.toCharArray();
+        int index = ContextCodec.BINARY_PREFIX.length() + (separator - ContextCodec.BINARY_PREFIX.length()) / 2;
+        chars[index] = chars[index] == 'A' ? 'B' : 'A';
+
+        String tampered = new String(chars);
+
+        assertThrows(ContextSerializationException.class, () -> codec.decode(tampered));
+    }
+
+    @Test
+    @DisplayName("Should not serve a cached context for a header with a reused signature")
+    void testReusedSignatureRejected() {
+        String header = codec.encode(context("req-1"));
+        String signature = header.substring(header.lastIndexOf('.'));
+        codec.decode(header);
+
+        ProcessingContext other = context("req-1").toBuilder().partyId("party-other").build();
+        String forged = codec.encode(other);
+        String reused = forged.substring(0, forged.lastIndexOf('.')) + signature;
+
+        assertThrows(ContextSerializationException.class, () -> codec.decode(reused));
+    }
+
+    @Test
+    @DisplayName("Should reject a binary context signed with another key")
+    void testForeignKeyRejected() {
+        ContextCodec other = new ContextCodec("other-signing-key", ContextCodec.Format.BINARY, true, 100);
+
+        String header = other.encode(context("req-1"));
+
+        assertThrows(ContextSerializationException.class, () -> codec.decode(header));
+    }
+
+    @Test
+    @DisplayName("Should reject unsigned JSON when JSON is not accepted")
+    void testJsonRejectedWhenNotAccepted() {
+        ContextCodec strict = new ContextCodec("test-signing-key", ContextCodec.Format.BINARY, false, 100);
+
+        String header = context("req-1").toBase64Json();
+
+        assertThrows(ContextSerializationException.class, () -> strict.decode(header));
+        assertEquals("party-1", codec.decode(header).getPartyId());
+    }
+
+    private static ProcessingContext context(String requestId) {
+        RelationshipContext relationships = new RelationshipContext();
+        relationships.setManagedPartyIds(Set.of("party-2", "party-3"));
+        relationships.setHierarchyPath(List.of("party-root", "party-1"));
+
+        return ProcessingContext.builder()
+                .principalId("user-1")
+                .principalUsername("alice")
+                .principalRoles(Set.of("ROLE_USER", "ROLE_APPROVER"))
+                .channelId("PORTAL")
+                .partyId("party-1")
+                .partyName("Acme Holdings Ltd")
+                .partyType("ORGANIZATION")
+                .partyStatus("ACTIVE")
+                .tenantId("tenant-1")
+                .jurisdictionCountry("GB")
+                .regulatoryFrameworks(Set.of("FCA", "GDPR"))
+                .relationshipContext(relationships)
+                .permissions(PermissionContext.builder()
+                        .maxTransactionLimit(new BigDecimal("250000.50"))
+                        .build())
+                .requestId(requestId)
+                .contextResolvedAt(Instant.now().truncatedTo(ChronoUnit.MILLIS))
+                .resolutionSource("party-service")
+                .metadata(Map.of("source", "test"))
+                .build();
+    }
+}
@@ -0,0 +1,246 @@
+package com.bank.product.context;
+
+import com.bank.product.entitlement.ResourceOperation;
+import com.bank.product.entitlement.ResourcePermission;
+import com.bank.product.entitlement.ResourceType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the compiled resource permission index and its use by PermissionContext.
+ */
+class PermissionIndexTest {
+
+    @Test
+    @DisplayName("Should grant operations of a specific resource only on that resource")
+    void testSpecificResource() {
+        PermissionIndex index = PermissionIndex.compile(Map.of(
+                "ACCOUNT:acc-1", permission(ResourceType.ACCOUNT, "acc-1", ResourceOperation.VIEW)));
+
+        assertTrue(index.allows(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-1"));
+        assertFalse(index.allows(ResourceOperation.TRANSACT, ResourceType.ACCOUNT, "acc-1"));
+        assertFalse(index.allows(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-2"));
+        assertFalse(index.allows(ResourceOperation.VIEW, ResourceType.SOLUTION, "acc-1"));
+        assertFalse(index.allows(ResourceOperation.VIEW, ResourceType.ACCOUNT, null));
+    }
+
+    @Test
+    @DisplayName("Should grant type-level operations on every resource of the type")
+    void testWildcard() {
+        PermissionIndex index = PermissionIndex.compile(Map.of(
+                "ACCOUNT:*", permission(ResourceType.ACCOUNT, null, ResourceOperation.VIEW),
+                "ACCOUNT:acc-1", permission(ResourceType.ACCOUNT, "acc-1", ResourceOperation.TRANSACT)));
+
+        assertTrue(index.allows(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-1"));
+        assertTrue(index.allows(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-2"));
+        assertTrue(index.allows(ResourceOperation.VIEW, ResourceType.ACCOUNT, null));
+        assertTrue(index.allows(ResourceOperation.TRANSACT, ResourceType.ACCOUNT, "acc-1"));
+        assertFalse(index.allows(ResourceOperation.TRANSACT, ResourceType.ACCOUNT, "acc-2"));
+        assertFalse(index.allows(ResourceOperation.VIEW, ResourceType.TRANSACTION, "acc-1"));
+    }
+
+    @Test
+    @DisplayName("Should return the specific permission, falling back to the type-level one")
+    void testPermissionFallback() {
+        ResourcePermission typeLevel = permission(ResourceType.SOLUTION, null, ResourceOperation.VIEW);
+        ResourcePermission specific = permission(ResourceType.SOLUTION, "sol-1", ResourceOperation.UPDATE);
+        PermissionIndex index = PermissionIndex.compile(Map.of("SOLUTION:*", typeLevel, "SOLUTION:sol-1", specific));
+
+        assertSame(specific, index.permission(ResourceType.SOLUTION, "sol-1"));
+        assertSame(typeLevel, index.permission(ResourceType.SOLUTION, "sol-2"));
+        assertSame(typeLevel, index.permission(ResourceType.SOLUTION, null));
+        assertNull(index.permission(ResourceType.ACCOUNT, "sol-1"));
+    }
+
+    @Test
+    @DisplayName("Should ignore keys that do not name a resource type")
+    void testInvalidKeysIgnored() {
+        Map<String, ResourcePermission> entitlements = new HashMap<>();
+        entitlements.put("NOT_A_TYPE:acc-1", permission(ResourceType.ACCOUNT, "acc-1", ResourceOperation.VIEW));
+        entitlements.put("account:acc-1", permission(ResourceType.ACCOUNT, "acc-1", ResourceOperation.VIEW));
+        entitlements.put("ACCOUNT", permission(ResourceType.ACCOUNT, null, ResourceOperation.VIEW));
+        entitlements.put(null, permission(ResourceType.ACCOUNT, null, ResourceOperation.VIEW));
+        entitlements.put("ACCOUNT:acc-2", null);
+
+        PermissionIndex index = PermissionIndex.compile(entitlements);
+
+        assertFalse(index.allows(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-1"));
+        assertFalse(index.allows(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-2"));
+        assertNull(index.permission(ResourceType.ACCOUNT, "acc-1"));
+    }
+
+    @Test
+    @DisplayName("Should find resource IDs with colliding hash codes")
+    void testHashCollisions() {
+        // "Aa" and "BB" share a hash code, so do all their concatenations
+        String[] colliding = {"AaAa", "AaBB", "BBAa", "BBBB"};
+        assertEquals(1, Arrays.stream(colliding).map(String::hashCode).distinct().count());
+
+        Map<String, ResourcePermission> entitlements = new HashMap<>();
+        for (int i = 0; i < colliding.length; i++) {
+            ResourceOperation operation = ResourceOperation.values()[i];
+            entitlements.put("ACCOUNT:" + colliding[i], permission(ResourceType.ACCOUNT, colliding[i], operation));
+        }
+        PermissionIndex index = PermissionIndex.compile(entitlements);
+
+        for (int i = 0; i < colliding.length; i++) {
+            ResourceOperation operation = ResourceOperation.values()[i];
+            assertTrue(index.allows(operation, ResourceType.ACCOUNT, colliding[i]), colliding[i]);
+            assertSame(entitlements.get("ACCOUNT:" + colliding[i]),
+                    index.permission(ResourceType.ACCOUNT, colliding[i]));
+            for (String other : colliding) {
+                if (!other.equals(colliding[i])) {
+                    assertFalse(index.allows(operation, ResourceType.ACCOUNT, other), other);
+                }
+            }
+        }
+        assertFalse(index.allows(ResourceOperation.VIEW, ResourceType.ACCOUNT, "AaAaAa"));
+    }
+
+    @Test
+    @DisplayName("Should answer like a lookup of resourceType:resourceId keys for many resources")
+    void testMatchesKeyLookup() {
+        Random random = new Random(42);
+        ResourceOperation[] operations = ResourceOperation.values();
+        ResourceType[] types = ResourceType.values();
+
+        // Hundreds of resources per type, none of the last type
+        Map<String, ResourcePermission> entitlements = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            ResourceType type = types[random.nextInt(types.length - 1)];
+            String resourceId = random.nextInt(20) == 0 ? null : "res-" + random.nextInt(5000);
+            Set<ResourceOperation> allowed = new HashSet<>();
+            for (int j = random.nextInt(4); j > 0; j--) {
+                allowed.add(operations[random.nextInt(operations.length)]);
+            }
+            entitlements.put(key(type, resourceId), ResourcePermission.builder()
+                    .resourceType(type)
+                    .resourceId(resourceId)
+                    .allowedOperations(allowed)
+                    .build());
+        }
+        PermissionIndex index = PermissionIndex.compile(entitlements);
+
+        for (int i = 0; i < 20000; i++) {
+            ResourceOperation operation = operations[random.nextInt(operations.length)];
+            ResourceType type = types[random.nextInt(types.length)];
+            String resourceId = random.nextInt(20) == 0 ? null : "res-" + random.nextInt(6000);
+
+            assertEquals(lookup(entitlements, operation, type, resourceId),
+                    index.allows(operation, type, resourceId), () -> key(type, resourceId) + " " + operation);
+            assertSame(lookupPermission(entitlements, type, resourceId), index.permission(type, resourceId));
+        }
+    }
+
+    @Test
+    @DisplayName("Should look up operations by name case-insensitively")
+    void testOperationByName() {
+        assertEquals(ResourceOperation.VIEW, PermissionIndex.operation("VIEW"));
+        assertEquals(ResourceOperation.VIEW, PermissionIndex.operation("view"));
+        assertEquals(ResourceOperation.OPEN_ACCOUNT, PermissionIndex.operation("Open_Account"));
+        assertNull(PermissionIndex.operation("FLY"));
+        assertNull(PermissionIndex.operation(null));
+    }
+
+    @Test
+    @DisplayName("Should see permissions added after the index was compiled")
+    void testAddResourcePermissionResetsIndex() {
+        PermissionContext permissions = withoutGlobalFallback();
+        assertFalse(permissions.hasPermissionOnResource(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-1"));
+
+        permissions.addResourcePermission(permission(ResourceType.ACCOUNT, "acc-1", ResourceOperation.VIEW));
+
+        assertTrue(permissions.hasPermissionOnResource(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-1"));
+        assertTrue(permissions.hasPermissionOnResource("view", ResourceType.ACCOUNT, "acc-1"));
+        assertNotNull(permissions.getResourcePermission(ResourceType.ACCOUNT, "acc-1"));
+
+        permissions.addResourcePermission(permission(ResourceType.ACCOUNT, null, ResourceOperation.TRANSACT));
+
+        assertTrue(permissions.hasPermissionOnResource(ResourceOperation.TRANSACT, ResourceType.ACCOUNT, "acc-2"));
+    }
+
+    @Test
+    @DisplayName("Should see entitlements replaced after the index was compiled")
+    void testSetResourceEntitlementsResetsIndex() {
+        PermissionContext permissions = withoutGlobalFallback();
+        permissions.addResourcePermission(permission(ResourceType.ACCOUNT, "acc-1", ResourceOperation.VIEW));
+        assertTrue(permissions.hasPermissionOnResource(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-1"));
+
+        permissions.setResourceEntitlements(new HashMap<>(Map.of(
+                "SOLUTION:sol-1", permission(ResourceType.SOLUTION, "sol-1", ResourceOperation.UPDATE))));
+
+        assertFalse(permissions.hasPermissionOnResource(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-1"));
+        assertNull(permissions.getResourcePermission(ResourceType.ACCOUNT, "acc-1"));
+        assertTrue(permissions.hasPermissionOnResource(ResourceOperation.UPDATE, ResourceType.SOLUTION, "sol-1"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to global permissions when no resource permission grants the operation")
+    void testGlobalFallback() {
+        PermissionContext permissions = withoutGlobalFallback();
+        permissions.getRestrictedOperations().remove(ResourceOperation.VIEW.name());
+
+        assertTrue(permissions.hasPermissionOnResource(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-1"));
+        assertFalse(permissions.hasPermissionOnResource(ResourceOperation.TRANSACT, ResourceType.ACCOUNT, "acc-1"));
+    }
+
+    /**
+     * Permission context whose global permissions grant no resource operation
+     */
+    private static PermissionContext withoutGlobalFallback() {
+        PermissionContext permissions = new PermissionContext();
+        permissions.setRestrictedOperations(Arrays.stream(ResourceOperation.values())
+                .map(Enum::name)
+                .collect(Collectors.toCollection(HashSet::new)));
+        return permissions;
+    }
+
+    private static ResourcePermission permission(ResourceType type, String resourceId, ResourceOperation operation) {
+        return ResourcePermission.builder()
+                .resourceType(type)
+                .resourceId(resourceId)
+                .allowedOperations(EnumSet.of(operation))
+                .build();
+    }
+
+    private static String key(ResourceType type, String resourceId) {
+        return type.name() + ":" + (resourceId != null ? resourceId : "*");
+    }
+
+    /**
+     * Resource permission check as done before the index: specific key, then type-level key
+     */
+    private static boolean lookup(Map<String, ResourcePermission> entitlements, ResourceOperation operation,
+                                  ResourceType type, String resourceId) {
+        if (resourceId != null) {
+            ResourcePermission permission = entitlements.get(key(type, resourceId));
+            if (permission != null && permission.hasOperation(operation)) {
+                return true;
+            }
+        }
+        ResourcePermission typePermission = entitlements.get(key(type, null));
+        return typePermission != null && typePermission.hasOperation(operation);
+    }
+
+    private static ResourcePermission lookupPermission(Map<String, ResourcePermission> entitlements,
+                                                       ResourceType type, String resourceId) {
+        if (resourceId != null) {
+            ResourcePermission permission = entitlements.get(key(type, resourceId));
+            if (permission != null) {
+                return permission;
+            }
+        }
+        return entitlements.get(key(type, null));
+    }
+}
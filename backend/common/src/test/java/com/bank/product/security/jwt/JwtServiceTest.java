@@ -0,0 +1,130 @@
+package com.bank.product.security.jwt;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for signing key IDs (kid) in JWT verification.
+ */
+class JwtServiceTest {
+
+    private static KeyPair currentKeys;
+    private static KeyPair previousKeys;
+    private static KeyPair otherKeys;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        currentKeys = generator.generateKeyPair();
+        previousKeys = generator.generateKeyPair();
+        otherKeys = generator.generateKeyPair();
+    }
+
+    @Test
+    @DisplayName("Should verify a token signed with the current key ID")
+    void testCurrentKeyId() {
+        JwtService service = new JwtService(properties(currentKeys, "primary", Map.of()));
+
+        String token = service.generateAccessToken(claims());
+
+        assertEquals("user-1", service.validateAndParse(token).getSubject());
+    }
+
+    @Test
+    @DisplayName("Should verify a token whose kid is unknown when no rotation keys are configured")
+    void testUnknownKeyIdWithoutRotation() {
+        JwtService issuer = new JwtService(properties(currentKeys, "primary", Map.of()));
+        JwtService verifier = new JwtService(properties(currentKeys, null, Map.of()));
+
+        String token = issuer.generateAccessToken(claims());
+
+        assertEquals("user-1", verifier.validateAndParse(token).getSubject());
+    }
+
+    @Test
+    @DisplayName("Should verify a token without kid against the current key")
+    void testMissingKeyId() {
+        JwtService issuer = new JwtService(properties(currentKeys, null, Map.of()));
+        JwtService verifier = new JwtService(properties(currentKeys, "primary",
+                Map.of("previous", publicKeyPem(previousKeys))));
+
+        String token = issuer.generateAccessToken(claims());
+
+        assertEquals("user-1", verifier.validateAndParse(token).getSubject());
+    }
+
+    @Test
+    @DisplayName("Should verify a token signed with a rotated-out key by its kid")
+    void testPreviousKeyId() {
+        JwtService previousIssuer = new JwtService(properties(previousKeys, "previous", Map.of()));
+        JwtService verifier = new JwtService(properties(currentKeys, "primary",
+                Map.of("previous", publicKeyPem(previousKeys))));
+
+        String token = previousIssuer.generateAccessToken(claims());
+
+        assertEquals("user-1", verifier.validateAndParse(token).getSubject());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown kid while rotation keys are configured")
+    void testUnknownKeyIdDuringRotation() {
+        JwtService issuer = new JwtService(properties(currentKeys, "unknown", Map.of()));
+        JwtService verifier = new JwtService(properties(currentKeys, "primary",
+                Map.of("previous", publicKeyPem(previousKeys))));
+
+        String token = issuer.generateAccessToken(claims());
+
+        assertThrows(JwtService.JwtValidationException.class, () -> verifier.validateAndParse(token));
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key, whatever its kid")
+    void testForeignKey() {
+        JwtService forger = new JwtService(properties(otherKeys, "primary", Map.of()));
+        JwtService unknownKidForger = new JwtService(properties(otherKeys, "unknown", Map.of()));
+        JwtService verifier = new JwtService(properties(currentKeys, "primary", Map.of()));
+
+        String token = forger.generateAccessToken(claims());
+        String unknownKidToken = unknownKidForger.generateAccessToken(claims());
+
+        assertThrows(JwtService.JwtValidationException.class, () -> verifier.validateAndParse(token));
+        assertThrows(JwtService.JwtValidationException.class, () -> verifier.validateAndParse(unknownKidToken));
+    }
+
+    private static JwtProperties properties(KeyPair keys, String keyId, Map<String, String> verificationKeys) {
+        JwtProperties properties = new JwtProperties();
+        properties.setAlgorithm("RS256");
+        properties.setPrivateKey(pem("PRIVATE KEY", keys.getPrivate().getEncoded()));
+        properties.setPublicKey(publicKeyPem(keys));
+        properties.setKeyId(keyId);
+        properties.setVerificationKeys(verificationKeys);
+        return properties;
+    }
+
+    private static String publicKeyPem(KeyPair keys) {
+        return pem("PUBLIC KEY", keys.getPublic().getEncoded());
+    }
+
+    private static String pem(String type, byte[] encoded) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(encoded)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static JwtClaims claims() {
+        return JwtClaims.builder()
+                .subject("user-1")
+                .username("alice")
+                .tenantId("tenant-1")
+                .build();
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfigurat
 import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
 import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication(exclude = {
@@ -13,6 +14,7 @@ import org.springframework.web.client.RestTemplate;
     MongoDataAutoConfiguration.class,
     MongoReactiveAutoConfiguration.class
 })
+@EnableScheduling
 public class PartyServiceApplication {
 
     public static void main(String[] args) {
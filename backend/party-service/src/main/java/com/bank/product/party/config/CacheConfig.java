@@ -1,5 +1,6 @@
 package com.bank.product.party.config;
 
+import com.bank.product.party.context.ContextCacheDependencies;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -13,7 +14,8 @@ import java.util.concurrent.TimeUnit;
  * Cache configuration for context resolution
  *
  * Uses Caffeine for high-performance in-memory caching.
- * Context is cached for 5 minutes to reduce Neo4j load.
+ * Context is cached for 5 minutes to reduce Neo4j load. Entries evicted by
+ * size or TTL are dropped from the {@link ContextCacheDependencies} index.
  *
  * @author System Architecture Team
  * @since 1.0
@@ -26,19 +28,21 @@ public class CacheConfig {
      * Configure cache manager with Caffeine
      */
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(ContextCacheDependencies contextCacheDependencies) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager("context");
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+        cacheManager.setCaffeine(caffeineCacheBuilder(contextCacheDependencies));
         return cacheManager;
     }
 
     /**
      * Caffeine cache builder with 5-minute TTL
      */
-    private Caffeine<Object, Object> caffeineCacheBuilder() {
+    private Caffeine<Object, Object> caffeineCacheBuilder(ContextCacheDependencies contextCacheDependencies) {
         return Caffeine.newBuilder()
                 .maximumSize(10000) // Max 10K cached contexts
                 .expireAfterWrite(5, TimeUnit.MINUTES) // 5-minute TTL
+                .evictionListener((key, value, cause) ->
+                        contextCacheDependencies.remove(String.valueOf(key), value))
                 .recordStats(); // Enable cache statistics
     }
 }
@@ -1,17 +1,41 @@
 package com.bank.product.party.config;
 
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
 import graphql.scalars.ExtendedScalars;
+import graphql.schema.GraphQLNamedType;
 import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 
+import java.util.Set;
+
 /**
- * GraphQL configuration for custom scalar types
+ * GraphQL configuration for custom scalar types, query limits and metrics
  */
 @Configuration
 public class GraphQLConfig {
 
+    /**
+     * Deepest field nesting a query may use - room for the introspection
+     * query of GraphiQL, which nests its type references about 12 deep
+     */
+    static final int MAX_QUERY_DEPTH = 15;
+
+    /**
+     * Highest complexity a query may have; see {@link #maxQueryComplexityInstrumentation()}
+     */
+    static final int MAX_QUERY_COMPLEXITY = 2000;
+
+    /**
+     * Assumed size of a list field when estimating complexity
+     */
+    private static final int LIST_SIZE_ESTIMATE = 10;
+
     @Bean
     public RuntimeWiringConfigurer runtimeWiringConfigurer() {
         // Create LocalDate scalar based on Date scalar
@@ -26,4 +50,40 @@ public class GraphQLConfig {
                 .scalar(ExtendedScalars.Json)
                 .scalar(localDateScalar);
     }
+
+    /**
+     * Reject queries nested deeper than {@link #MAX_QUERY_DEPTH}
+     */
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation() {
+        return new MaxQueryDepthInstrumentation(MAX_QUERY_DEPTH);
+    }
+
+    /**
+     * Reject queries above {@link #MAX_QUERY_COMPLEXITY}
+     *
+     * Every field costs 1 plus its selections; the selections of a list field
+     * count {@link #LIST_SIZE_ESTIMATE} times, so nested relationship lists
+     * grow the complexity multiplicatively like the work they cause.
+     * Introspection fields are free.
+     */
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation() {
+        return new MaxQueryComplexityInstrumentation(MAX_QUERY_COMPLEXITY, (environment, childComplexity) -> {
+            if (environment.getField().getName().startsWith("__")
+                    || ((GraphQLNamedType) environment.getParentType()).getName().startsWith("__")) {
+                return 0;
+            }
+            return GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()))
+                    ? 1 + childComplexity * LIST_SIZE_ESTIMATE
+                    : 1 + childComplexity;
+        });
+    }
+
+    @Bean
+    public GraphQLTimingInstrumentation graphQLTimingInstrumentation(
+            MeterRegistry meterRegistry,
+            @Value("${party.graphql.timed-operations:}") Set<String> timedOperations) {
+        return new GraphQLTimingInstrumentation(meterRegistry, timedOperations);
+    }
 }
@@ -0,0 +1,83 @@
+package com.bank.product.party.config;
+
+import graphql.ExecutionResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every GraphQL query as "graphql.query", tagged by operation name
+ * and outcome, and logs queries slower than {@link #SLOW_QUERY_THRESHOLD}
+ *
+ * Operation names are chosen by clients, so the tag is bounded: with known
+ * operations configured, any other name is tagged "other"; without, the
+ * first {@link #MAX_OPERATION_TAGS} distinct names are kept and later ones
+ * tagged "other". The slow query log carries the name as sent.
+ */
+@Slf4j
+public class GraphQLTimingInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final Duration SLOW_QUERY_THRESHOLD = Duration.ofSeconds(1);
+    static final int MAX_OPERATION_TAGS = 100;
+
+    private static final String ANONYMOUS = "anonymous";
+    private static final String OTHER = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> knownOperations;
+    private final boolean allowlisted;
+
+    /**
+     * @param knownOperations Operation names to tag as-is, empty to tag the first names seen
+     */
+    public GraphQLTimingInstrumentation(MeterRegistry meterRegistry, Set<String> knownOperations) {
+        this.meterRegistry = meterRegistry;
+        this.allowlisted = !knownOperations.isEmpty();
+        this.knownOperations = allowlisted ? Set.copyOf(knownOperations) : ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState state) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        return SimpleInstrumentationContext.whenCompleted((result, exception) -> {
+            String operation = parameters.getOperation() != null ? parameters.getOperation() : ANONYMOUS;
+            boolean failed = exception != null || (result != null && !result.getErrors().isEmpty());
+
+            long nanos = sample.stop(Timer.builder("graphql.query")
+                    .description("GraphQL query execution time")
+                    .tag("operation", operationTag(parameters.getOperation()))
+                    .tag("outcome", failed ? "error" : "success")
+                    .register(meterRegistry));
+
+            if (nanos > SLOW_QUERY_THRESHOLD.toNanos()) {
+                log.warn("Slow GraphQL query {}: {} ms", operation, nanos / 1_000_000);
+            }
+        });
+    }
+
+    String operationTag(String operation) {
+        if (operation == null) {
+            return ANONYMOUS;
+        }
+        if (knownOperations.contains(operation)) {
+            return operation;
+        }
+        if (allowlisted || knownOperations.size() >= MAX_OPERATION_TAGS) {
+            return OTHER;
+        }
+        // Concurrent first sightings may overshoot the cap by a few names
+        knownOperations.add(operation);
+        return operation;
+    }
+}
@@ -1,24 +1,43 @@
 package com.bank.product.party.config;
 
+import com.bank.product.party.service.OrganizationHierarchyService;
+import lombok.extern.slf4j.Slf4j;
 import org.neo4j.driver.AuthTokens;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.GraphDatabase;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.neo4j.config.EnableNeo4jAuditing;
+import org.springframework.data.neo4j.core.Neo4jClient;
 import org.springframework.data.neo4j.repository.config.EnableNeo4jRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import java.util.Map;
+
 /**
  * Neo4j configuration for the party service
+ *
+ * Also creates the schema indexes the service queries rely on:
+ * - {@link #ORGANIZATION_NAME_INDEX}: full-text index on Organization name
+ *   and legalName, used by organization name search
+ * - {@link OrganizationHierarchyService#HIERARCHY_PATH_INDEX} and
+ *   {@link OrganizationHierarchyService#ULTIMATE_PARENT_INDEX}: range indexes
+ *   on the materialized organization hierarchy, used by subtree (prefix) and
+ *   group lookups
  */
+@Slf4j
 @Configuration
 @EnableNeo4jRepositories(basePackages = "com.bank.product.party.repository")
 @EnableTransactionManagement
 @EnableNeo4jAuditing
 public class Neo4jConfig {
 
+    public static final String ORGANIZATION_NAME_INDEX = "organization_name_fulltext";
+
+    private static final int INDEX_AWAIT_SECONDS = 60;
+
     @Value("${spring.neo4j.uri:bolt://localhost:7687}")
     private String uri;
 
@@ -32,4 +51,65 @@ public class Neo4jConfig {
     public Driver neo4jDriver() {
         return GraphDatabase.driver(uri, AuthTokens.basic(username, password));
     }
+
+    /**
+     * Create the organization name full-text index if missing and wait for it to come online
+     *
+     * Failures are logged, not fatal: name search falls back to scanning
+     * organizations while the index is unavailable.
+     */
+    @Bean
+    public ApplicationRunner organizationNameIndexInitializer(Neo4jClient neo4jClient) {
+        return args -> {
+            try {
+                neo4jClient.query("CREATE FULLTEXT INDEX " + ORGANIZATION_NAME_INDEX + " IF NOT EXISTS "
+                                + "FOR (o:Organization) ON EACH [o.name, o.legalName]")
+                        .run();
+                neo4jClient.query("CALL db.awaitIndex($name, $timeoutSeconds)")
+                        .bindAll(Map.of("name", ORGANIZATION_NAME_INDEX, "timeoutSeconds", INDEX_AWAIT_SECONDS))
+                        .run();
+
+                String state = neo4jClient.query("SHOW INDEXES YIELD name, state WHERE name = $name RETURN state")
+                        .bind(ORGANIZATION_NAME_INDEX).to("name")
+                        .fetchAs(String.class)
+                        .one()
+                        .orElse("MISSING");
+                if ("ONLINE".equals(state)) {
+                    log.info("Full-text index {} is online", ORGANIZATION_NAME_INDEX);
+                } else {
+                    log.warn("Full-text index {} is {}, name search scans organizations until it is online",
+                            ORGANIZATION_NAME_INDEX, state);
+                }
+            } catch (Exception e) {
+                log.error("Failed to create full-text index {}, name search scans organizations: {}",
+                        ORGANIZATION_NAME_INDEX, e.getMessage());
+            }
+        };
+    }
+
+    /**
+     * Create the organization hierarchy indexes if missing
+     *
+     * Failures are logged, not fatal: hierarchy queries still answer, by
+     * scanning organizations.
+     */
+    @Bean
+    public ApplicationRunner organizationHierarchyIndexInitializer(Neo4jClient neo4jClient) {
+        return args -> {
+            try {
+                neo4jClient.query("CREATE RANGE INDEX " + OrganizationHierarchyService.HIERARCHY_PATH_INDEX
+                                + " IF NOT EXISTS FOR (o:Organization) ON (o.hierarchyPath)")
+                        .run();
+                neo4jClient.query("CREATE RANGE INDEX " + OrganizationHierarchyService.ULTIMATE_PARENT_INDEX
+                                + " IF NOT EXISTS FOR (o:Organization) ON (o.ultimateParentId)")
+                        .run();
+                log.info("Organization hierarchy indexes {} and {} created",
+                        OrganizationHierarchyService.HIERARCHY_PATH_INDEX,
+                        OrganizationHierarchyService.ULTIMATE_PARENT_INDEX);
+            } catch (Exception e) {
+                log.error("Failed to create organization hierarchy indexes, hierarchy queries scan organizations: {}",
+                        e.getMessage());
+            }
+        };
+    }
 }
@@ -0,0 +1,168 @@
+package com.bank.product.party.context;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reverse index from party IDs to the "context" cache keys that depend on them.
+ *
+ * A cached context (key principalId:partyId) depends on its own party and on
+ * every party the resolution read: organizations up the hierarchy, the parent,
+ * managed parties and the employer/owning organization tenant. When one of
+ * those parties changes, only the keys registered against it are evicted.
+ *
+ * Registrations are dropped when the cache entry itself is evicted by size or
+ * TTL (see CacheConfig), so the index never outgrows the cache.
+ *
+ * A context is registered after it is stored, and rejected when one of its
+ * parties was invalidated since its resolution started ({@link #version()}):
+ * otherwise an invalidation running between the graph read and the
+ * registration would find nothing to evict and leave the stale context
+ * cached. Invalidations are remembered for a minute, far longer than any
+ * resolution takes.
+ *
+ * @author System Architecture Team
+ * @since 1.0
+ */
+@Component
+public class ContextCacheDependencies {
+
+    private final Map<String, Registration> registrationsByKey = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> keysByParty = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Cache<String, Long> invalidatedAt = Caffeine.newBuilder()
+            .expireAfterWrite(1, TimeUnit.MINUTES)
+            .build();
+
+    /**
+     * Current invalidation version, taken before resolving a context
+     */
+    public long version() {
+        return invalidations.get();
+    }
+
+    /**
+     * Record the parties a stored context depends on, unless one of them
+     * was invalidated after the given version
+     *
+     * @param cacheKey Cache key of the context
+     * @param context Cached value, used to tell registrations of the same key apart
+     * @param partyIds Parties the context was built from
+     * @param version {@link #version()} taken before the context was resolved
+     * @return false if the context is already stale and must be evicted
+     */
+    public boolean register(String cacheKey, Object context, Collection<String> partyIds, long version) {
+        register(cacheKey, context, partyIds);
+
+        for (String partyId : partyIds) {
+            Long invalidated = partyId != null ? invalidatedAt.getIfPresent(partyId) : null;
+            if (invalidated != null && invalidated > version) {
+                remove(cacheKey, context);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record the parties a cached context depends on
+     *
+     * @param cacheKey Cache key of the context
+     * @param context Cached value, used to tell registrations of the same key apart
+     * @param partyIds Parties the context was built from
+     */
+    public void register(String cacheKey, Object context, Collection<String> partyIds) {
+        Set<String> dependencies = new HashSet<>(partyIds);
+        dependencies.remove(null);
+
+        // Link the new dependencies before dropping stale ones, so an invalidation
+        // running concurrently always finds the key under at least one of them
+        for (String partyId : dependencies) {
+            link(partyId, cacheKey);
+        }
+
+        Registration previous = registrationsByKey.put(cacheKey, new Registration(context, dependencies));
+        if (previous != null) {
+            for (String partyId : previous.partyIds()) {
+                if (!dependencies.contains(partyId)) {
+                    unlink(partyId, cacheKey);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove and return the cache keys depending on a party
+     *
+     * @param partyId Party whose data changed
+     * @return Keys to evict from the context cache
+     */
+    public Set<String> removeDependents(String partyId) {
+        // Recorded first, so a registration this removal misses sees it
+        invalidatedAt.put(partyId, invalidations.incrementAndGet());
+
+        Set<String> keys = keysByParty.remove(partyId);
+        if (keys == null) {
+            return Set.of();
+        }
+
+        for (String cacheKey : keys) {
+            Registration registration = registrationsByKey.remove(cacheKey);
+            if (registration != null) {
+                registration.partyIds().forEach(dependency -> unlink(dependency, cacheKey));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Drop the registration of an evicted cache entry
+     *
+     * Only removes the registration made for that exact value: the key may
+     * already have been resolved and registered again.
+     *
+     * @param cacheKey Cache key of the evicted entry
+     * @param context Evicted value
+     */
+    public void remove(String cacheKey, Object context) {
+        Registration registration = registrationsByKey.get(cacheKey);
+        if (registration != null && registration.context() == context
+                && registrationsByKey.remove(cacheKey, registration)) {
+            registration.partyIds().forEach(partyId -> unlink(partyId, cacheKey));
+        }
+    }
+
+    /**
+     * Number of cache keys currently tracked
+     */
+    public int size() {
+        return registrationsByKey.size();
+    }
+
+    private void link(String partyId, String cacheKey) {
+        keysByParty.compute(partyId, (id, keys) -> {
+            Set<String> linked = keys != null ? keys : new HashSet<>();
+            linked.add(cacheKey);
+            return linked;
+        });
+    }
+
+    private void unlink(String partyId, String cacheKey) {
+        keysByParty.computeIfPresent(partyId, (id, keys) -> {
+            keys.remove(cacheKey);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private record Registration(Object context, Set<String> partyIds) {
+    }
+}
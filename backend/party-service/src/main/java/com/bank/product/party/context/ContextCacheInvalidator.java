@@ -0,0 +1,185 @@
+package com.bank.product.party.context;
+
+import com.bank.product.context.ContextInvalidationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+/**
+ * Invalidates resolved processing contexts after party changes.
+ *
+ * Two levels of cache depend on party data:
+ * 1. The local Caffeine "context" cache in this service
+ * 2. The ProcessingContext cache in every API Gateway instance
+ *
+ * This component evicts the local entries that depend on the changed party
+ * (tracked by {@link ContextCacheDependencies}) and pushes a
+ * {@link ContextInvalidationEvent} to Kafka so gateways evict theirs.
+ * Publishing is best-effort: a failed send never fails the change itself,
+ * gateway entries then simply expire via their TTL.
+ *
+ * Inside a transaction both the eviction and the publish wait for the
+ * commit: evicting earlier would let a concurrent resolution cache the
+ * pre-change graph again, and a rollback would announce a change that
+ * never happened.
+ *
+ * @author System Architecture Team
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class ContextCacheInvalidator {
+
+    public static final String REASON_PARTY_UPDATED = "PARTY_UPDATED";
+    public static final String REASON_RELATIONSHIP_CHANGED = "RELATIONSHIP_CHANGED";
+    public static final String REASON_ENTITLEMENT_CHANGED = "ENTITLEMENT_CHANGED";
+    public static final String REASON_OWNERSHIP_CHANGED = "OWNERSHIP_CHANGED";
+
+    private final CacheManager cacheManager;
+    private final ContextCacheDependencies dependencies;
+    private final KafkaTemplate<String, ContextInvalidationEvent> kafkaTemplate;
+    private final String topic;
+    private final boolean publishEnabled;
+
+    public ContextCacheInvalidator(
+            CacheManager cacheManager,
+            ContextCacheDependencies dependencies,
+            KafkaTemplate<String, ContextInvalidationEvent> kafkaTemplate,
+            @Value("${context.invalidation.topic:" + ContextInvalidationEvent.DEFAULT_TOPIC + "}") String topic,
+            @Value("${context.invalidation.publish-enabled:true}") boolean publishEnabled) {
+        this.cacheManager = cacheManager;
+        this.dependencies = dependencies;
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.publishEnabled = publishEnabled;
+    }
+
+    /**
+     * Invalidate every cached context that may depend on the given party
+     *
+     * @param partyId Party whose data changed
+     * @param reason Why the context is invalidated
+     * @return Number of local cache entries evicted, 0 when deferred to the commit
+     */
+    public int invalidate(String partyId, String reason) {
+        return invalidate(partyId, null, reason);
+    }
+
+    /**
+     * Invalidate the cached contexts and, on every instance, the cached
+     * entitlements of a party whose entitlements in a tenant changed
+     *
+     * @param tenantId Tenant of the changed entitlements
+     * @param partyId Party whose entitlements changed
+     * @return Number of local cache entries evicted, 0 when deferred to the commit
+     */
+    public int entitlementsChanged(String tenantId, String partyId) {
+        return invalidate(partyId, tenantId, REASON_ENTITLEMENT_CHANGED);
+    }
+
+    /**
+     * Announce changed ownership relationships of a party to every Party
+     * Service instance, so each reloads it in its ownership graph
+     *
+     * Gateways evict the contexts of the party as for any other event.
+     * Called once the ownership change has committed.
+     *
+     * @param partyId Party whose ownership relationships changed
+     */
+    public void ownershipChanged(String partyId) {
+        publish(ContextInvalidationEvent.builder()
+                .partyId(partyId)
+                .reason(REASON_OWNERSHIP_CHANGED)
+                .occurredAt(Instant.now())
+                .build());
+    }
+
+    /**
+     * Evict the local cached contexts depending on a party, without
+     * announcing it; used for changes announced by other instances
+     *
+     * @param partyId Party whose data changed
+     * @return Number of local cache entries evicted
+     */
+    public int evictLocal(String partyId) {
+        int evicted = 0;
+        Cache cache = cacheManager.getCache("context");
+        for (String cacheKey : dependencies.removeDependents(partyId)) {
+            if (cache != null && cache.evictIfPresent(cacheKey)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Evict every local cached context, without announcing it
+     */
+    public void evictAllLocal() {
+        Cache cache = cacheManager.getCache("context");
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private int invalidate(String partyId, String tenantId, String reason) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(() -> evictAndPublish(partyId, tenantId, reason));
+            return 0;
+        }
+        return evictAndPublish(partyId, tenantId, reason);
+    }
+
+    private int evictAndPublish(String partyId, String tenantId, String reason) {
+        int evicted = evictLocal(partyId);
+        log.info("Invalidated {} cached contexts for party: {}, reason: {}", evicted, partyId, reason);
+
+        publish(ContextInvalidationEvent.builder()
+                .partyId(partyId)
+                .tenantId(tenantId)
+                .reason(reason)
+                .occurredAt(Instant.now())
+                .build());
+        return evicted;
+    }
+
+    /**
+     * Push invalidation to API Gateway and Party Service instances
+     */
+    private void publish(ContextInvalidationEvent event) {
+        if (!publishEnabled) {
+            return;
+        }
+
+        try {
+            kafkaTemplate.send(topic, event.getPartyId(), event)
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            log.error("Failed to publish context invalidation for party {}: {}",
+                                    event.getPartyId(), error.getMessage());
+                        } else {
+                            log.debug("Published context invalidation for party: {}", event.getPartyId());
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("Failed to publish context invalidation for party {}: {}",
+                    event.getPartyId(), e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
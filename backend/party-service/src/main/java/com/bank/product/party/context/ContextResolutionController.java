@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.util.Map;
 
 /**
  * REST controller for context resolution.
@@ -134,13 +135,13 @@ public class ContextResolutionController {
      * Call this endpoint when party information changes
      *
      * @param partyId Party ID to invalidate
-     * @return Success response
+     * @return Number of cached contexts evicted
      */
     @DeleteMapping("/cache/{partyId}")
-    public ResponseEntity<Void> invalidateCache(@PathVariable String partyId) {
+    public ResponseEntity<Map<String, Object>> invalidateCache(@PathVariable String partyId) {
         log.info("Invalidating context cache for party: {}", partyId);
-        contextResolutionService.invalidateCache(partyId);
-        return ResponseEntity.noContent().build();
+        int evicted = contextResolutionService.invalidateCache(partyId);
+        return ResponseEntity.ok(Map.of("partyId", partyId, "evicted", evicted));
     }
 
     /**
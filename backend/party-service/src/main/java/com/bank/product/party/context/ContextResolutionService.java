@@ -48,9 +48,10 @@ public interface ContextResolutionService {
     String resolveTenantIdFromParty(String partyId);
 
     /**
-     * Clear cached context for a party (useful after party updates)
+     * Clear cached contexts that depend on a party (useful after party updates)
      *
      * @param partyId Party ID to invalidate cache for
+     * @return Number of cached contexts evicted
      */
-    void invalidateCache(String partyId);
+    int invalidateCache(String partyId);
 }
@@ -2,18 +2,22 @@ package com.bank.product.party.context;
 
 import com.bank.product.context.*;
 import com.bank.product.party.domain.*;
-import com.bank.product.party.repository.OrganizationRepository;
 import com.bank.product.party.repository.PartyRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.types.MapAccessor;
+import org.neo4j.driver.types.TypeSystem;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.data.neo4j.core.mapping.Neo4jMappingContext;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.BiFunction;
 
 /**
  * Implementation of context resolution service.
@@ -26,6 +30,11 @@ import java.util.stream.Collectors;
  * 2. Party ID → Tenant ID (from party metadata/organization)
  * 3. Build complete context (permissions, jurisdiction, relationships)
  *
+ * Everything steps 2 and 3 read from the graph - the party, its
+ * organization hierarchy, managed parties and employer/owning organization -
+ * is loaded with a single projection query ({@link #loadContextProjection}),
+ * so a cache miss costs one graph round trip plus the entitlement lookup.
+ *
  * @author System Architecture Team
  * @since 1.0
  */
@@ -35,18 +44,32 @@ import java.util.stream.Collectors;
 public class ContextResolutionServiceImpl implements ContextResolutionService {
 
     private final PartyRepository partyRepository;
-    private final OrganizationRepository organizationRepository;
+    private final Neo4jClient neo4jClient;
+    private final Neo4jMappingContext mappingContext;
     private final com.bank.product.party.service.EntitlementResolutionService entitlementResolutionService;
+    private final ContextCacheInvalidator contextCacheInvalidator;
+    private final ContextCacheDependencies contextCacheDependencies;
+    private final CacheManager cacheManager;
 
     /**
      * Resolve complete processing context (with caching)
      * Cache key: principalId:partyId
-     * TTL: 5 minutes (configured in application.yml)
+     * TTL: 5 minutes (configured in CacheConfig)
+     *
+     * The context is stored before its dependencies are registered, and
+     * evicted again if one of them changed while it was being resolved.
      */
     @Override
-    @Cacheable(value = "context", key = "#request.principalId + ':' + #request.partyId", unless = "#result == null")
     public ProcessingContext resolveContext(ContextResolutionRequest request) {
+        Cache cache = cacheManager.getCache("context");
+        String cacheKey = cacheKey(request);
+        ProcessingContext cached = cache != null ? cache.get(cacheKey, ProcessingContext.class) : null;
+        if (cached != null) {
+            return cached;
+        }
+
         long startTime = System.currentTimeMillis();
+        long version = contextCacheDependencies.version();
 
         log.info("Resolving context for principal: {}, partyId: {}",
                 request.getPrincipalId(), request.getPartyId());
@@ -56,10 +79,11 @@ public class ContextResolutionServiceImpl implements ContextResolutionService {
                 ? request.getPartyId()
                 : resolvePartyIdFromPrincipal(request.getPrincipalId());
 
-        // Step 2: Load party entity from graph
-        Party party = partyRepository.findByFederatedId(resolvedPartyId)
+        // Step 2: Load party with everything the context needs from the graph
+        ContextProjection projection = loadContextProjection(resolvedPartyId)
                 .orElseThrow(() -> new PartyNotFoundException(
                         "Party not found: " + resolvedPartyId));
+        Party party = projection.party();
 
         // Step 3: Validate party status
         if (party.getStatus() != PartyStatus.ACTIVE) {
@@ -68,10 +92,19 @@ public class ContextResolutionServiceImpl implements ContextResolutionService {
         }
 
         // Step 4: Resolve tenant from party
-        String tenantId = resolveTenantIdFromParty(resolvedPartyId);
+        String tenantId = resolveTenantId(projection);
 
         // Step 5: Build complete processing context
-        ProcessingContext context = buildProcessingContext(request, party, tenantId);
+        ProcessingContext context = buildProcessingContext(request, projection, tenantId);
+
+        // Step 6: Cache it, tracking the parties it was built from for targeted invalidation
+        if (cache != null) {
+            cache.put(cacheKey, context);
+            if (!contextCacheDependencies.register(cacheKey, context, dependencies(projection, tenantId), version)) {
+                cache.evict(cacheKey);
+                log.debug("Context for {} changed while resolving, not cached", cacheKey);
+            }
+        }
 
         long resolutionTime = System.currentTimeMillis() - startTime;
         log.info("Context resolved in {}ms for party: {}, tenant: {}",
@@ -95,8 +128,7 @@ public class ContextResolutionServiceImpl implements ContextResolutionService {
 
         // Strategy 2: For demo/testing, use principalId as partyId directly
         // In production, you would have a dedicated PrincipalPartyMapping table
-        Optional<Party> partyById = partyRepository.findByFederatedId(principalId);
-        if (partyById.isPresent()) {
+        if (partyRepository.existsById(principalId)) {
             return principalId;
         }
 
@@ -109,47 +141,42 @@ public class ContextResolutionServiceImpl implements ContextResolutionService {
     public String resolveTenantIdFromParty(String partyId) {
         log.debug("Resolving tenant ID from party: {}", partyId);
 
-        Party party = partyRepository.findByFederatedId(partyId)
+        ContextProjection projection = loadContextProjection(partyId)
                 .orElseThrow(() -> new PartyNotFoundException("Party not found: " + partyId));
+        return resolveTenantId(projection);
+    }
+
+    /**
+     * Resolve tenant from the projected party
+     */
+    private String resolveTenantId(ContextProjection projection) {
+        Party party = projection.party();
 
         // Tenant resolution logic based on party type
-        if (party instanceof Organization org) {
+        if (party instanceof Organization) {
             // For organizations, use a tenant mapping strategy:
-            // 1. If the organization has a parent, tenant = parent's federatedId
+            // 1. If the organization has a parent, tenant = top-level organization of the hierarchy
             // 2. If the organization is top-level, tenant = organization's federatedId
             // 3. Use domain/jurisdiction for multi-org tenants (future enhancement)
-
-            String tenantId = resolveTenantFromOrganization(org);
-            if (tenantId != null) {
-                return tenantId;
-            }
+            List<String> ancestry = projection.ancestry();
+            return ancestry.isEmpty() ? party.getFederatedId() : ancestry.get(ancestry.size() - 1);
         } else if (party instanceof LegalEntity legalEntity) {
-            // For legal entities, tenant = parent organization
-            // Find the organization that owns this legal entity
-            Optional<Party> parentOrg = partyRepository.findParentOrganization(legalEntity.getFederatedId());
-            if (parentOrg.isPresent() && parentOrg.get() instanceof Organization org) {
-                String tenantId = resolveTenantFromOrganization(org);
-                if (tenantId != null) {
-                    log.debug("Resolved tenant {} for legal entity {} via parent organization",
-                            tenantId, legalEntity.getFederatedId());
-                    return tenantId;
-                }
+            // For legal entities, tenant = organization that owns this legal entity
+            if (projection.ownerTenantId() != null) {
+                log.debug("Resolved tenant {} for legal entity {} via parent organization",
+                        projection.ownerTenantId(), legalEntity.getFederatedId());
+                return projection.ownerTenantId();
             }
             // Fallback: use legal entity's federatedId
             log.info("No parent organization found for legal entity {}, using its federatedId as tenant",
                     legalEntity.getFederatedId());
             return legalEntity.getFederatedId();
         } else if (party instanceof Individual individual) {
-            // For individuals, tenant = organization they're employed by
-            // Find the organization via EMPLOYED_BY relationship
-            Optional<Party> employerOrg = partyRepository.findEmployerOrganization(individual.getFederatedId());
-            if (employerOrg.isPresent() && employerOrg.get() instanceof Organization org) {
-                String tenantId = resolveTenantFromOrganization(org);
-                if (tenantId != null) {
-                    log.debug("Resolved tenant {} for individual {} via employer organization",
-                            tenantId, individual.getFederatedId());
-                    return tenantId;
-                }
+            // For individuals, tenant = organization they're employed by (EMPLOYED_BY relationship)
+            if (projection.employerTenantId() != null) {
+                log.debug("Resolved tenant {} for individual {} via employer organization",
+                        projection.employerTenantId(), individual.getFederatedId());
+                return projection.employerTenantId();
             }
             // Fallback: use individual's federatedId (for individual tenants)
             log.info("No employer organization found for individual {}, using individual as tenant",
@@ -158,14 +185,94 @@ public class ContextResolutionServiceImpl implements ContextResolutionService {
         }
 
         // Fallback: use party ID as tenant ID
-        log.warn("Using party ID as tenant ID (fallback): {}", partyId);
-        return partyId;
+        log.warn("Using party ID as tenant ID (fallback): {}", party.getFederatedId());
+        return party.getFederatedId();
+    }
+
+    /**
+     * Load the party and the related IDs context resolution needs in one query
+     *
+     * - ancestry: federated IDs up the SUBSIDIARY_OF chain of organizations,
+     *   from the party itself to the top-level organization, read from the
+     *   materialized hierarchy path, or walked up the relationships for an
+     *   organization not materialized yet
+     * - parentId: target of the party's SUBSIDIARY_OF relationship
+     * - managedPartyIds: principals the party manages on behalf of
+     * - employerTenantId / ownerTenantId: top-level organization above the
+     *   active organization employing the individual or owning the legal entity,
+     *   read from its materialized ultimateParentId
+     *
+     * The party is mapped without its relationships.
+     */
+    private Optional<ContextProjection> loadContextProjection(String partyId) {
+        BiFunction<TypeSystem, MapAccessor, Party> partyMapping = mappingContext.getRequiredMappingFunctionFor(Party.class);
+
+        return neo4jClient.query("""
+                        MATCH (p:Party {federatedId: $partyId})
+                        OPTIONAL MATCH (p)-[:MANAGES_ON_BEHALF_OF]->(managed:Party)
+                        WITH p, collect(DISTINCT managed.federatedId) AS managedPartyIds
+                        OPTIONAL MATCH (p)-[:SUBSIDIARY_OF]->(parent:Party)
+                        WITH p, managedPartyIds, head(collect(parent.federatedId)) AS parentId
+                        OPTIONAL MATCH (p)-[:EMPLOYED_BY]->(employer:Organization {status: 'ACTIVE'})
+                        WITH p, managedPartyIds, parentId, head(collect(employer)) AS employer
+                        OPTIONAL MATCH (p)<-[:HAS_LEGAL_ENTITY]-(owner:Organization {status: 'ACTIVE'})
+                        WITH p, managedPartyIds, parentId, employer, head(collect(owner)) AS owner
+                        OPTIONAL MATCH chain = (p)-[:SUBSIDIARY_OF*1..20]->(top:Organization)
+                        WHERE p:Organization AND p.hierarchyPath IS NULL
+                          AND NOT (top)-[:SUBSIDIARY_OF]->(:Organization)
+                        WITH p, managedPartyIds, parentId, employer, owner,
+                             head(collect([n IN nodes(chain) | n.federatedId])) AS walkedAncestry
+                        WITH p, managedPartyIds, parentId,
+                             CASE
+                               WHEN NOT p:Organization THEN []
+                               WHEN p.hierarchyPath IS NULL THEN coalesce(walkedAncestry, [p.federatedId])
+                               ELSE reverse([id IN split(p.hierarchyPath, '/') WHERE id <> ''])
+                             END AS ancestry,
+                             coalesce(employer.ultimateParentId, employer.federatedId) AS employerTenantId,
+                             coalesce(owner.ultimateParentId, owner.federatedId) AS ownerTenantId
+                        RETURN p AS party, ancestry, parentId, managedPartyIds, employerTenantId, ownerTenantId
+                        """)
+                .bind(partyId).to("partyId")
+                .fetchAs(ContextProjection.class)
+                .mappedBy((typeSystem, record) -> new ContextProjection(
+                        partyMapping.apply(typeSystem, record.get("party")),
+                        record.get("ancestry").asList(Value::asString),
+                        nullableString(record.get("parentId")),
+                        new HashSet<>(record.get("managedPartyIds").asList(Value::asString)),
+                        nullableString(record.get("employerTenantId")),
+                        nullableString(record.get("ownerTenantId"))))
+                .one();
+    }
+
+    /**
+     * Cache key of a request: principalId:partyId
+     */
+    private static String cacheKey(ContextResolutionRequest request) {
+        return request.getPrincipalId() + ":" + request.getPartyId();
+    }
+
+    /**
+     * Parties whose changes invalidate a context built from the projection
+     */
+    private static Set<String> dependencies(ContextProjection projection, String tenantId) {
+        Set<String> partyIds = new HashSet<>(projection.ancestry());
+        partyIds.addAll(projection.managedPartyIds());
+        partyIds.add(projection.party().getFederatedId());
+        partyIds.add(projection.parentId());
+        partyIds.add(projection.employerTenantId());
+        partyIds.add(projection.ownerTenantId());
+        partyIds.add(tenantId);
+        return partyIds;
+    }
+
+    private static String nullableString(Value value) {
+        return value.isNull() ? null : value.asString();
     }
 
     @Override
-    @CacheEvict(value = "context", allEntries = true)
-    public void invalidateCache(String partyId) {
-        log.info("Invalidating context cache for party: {}", partyId);
+    public int invalidateCache(String partyId) {
+        // Evicts dependent entries locally and pushes the invalidation to API Gateway context caches
+        return contextCacheInvalidator.invalidate(partyId, ContextCacheInvalidator.REASON_PARTY_UPDATED);
     }
 
     /**
@@ -173,9 +280,11 @@ public class ContextResolutionServiceImpl implements ContextResolutionService {
      */
     private ProcessingContext buildProcessingContext(
             ContextResolutionRequest request,
-            Party party,
+            ContextProjection projection,
             String tenantId) {
 
+        Party party = projection.party();
+
         // Generate request ID if not provided
         String requestId = request.getRequestId() != null ?
                 request.getRequestId() : UUID.randomUUID().toString();
@@ -214,7 +323,7 @@ public class ContextResolutionServiceImpl implements ContextResolutionService {
             }
 
             // Relationships
-            builder.relationshipContext(buildRelationshipContext(org));
+            builder.relationshipContext(buildRelationshipContext(projection));
 
             // Permissions
             PermissionContext permissionContext = buildPermissionContext(org, request.getRoles());
@@ -244,53 +353,28 @@ public class ContextResolutionServiceImpl implements ContextResolutionService {
     }
 
     /**
-     * Resolve tenant from organization hierarchy
+     * Build relationship context from the projected organization
      */
-    private String resolveTenantFromOrganization(Organization org) {
-        // If organization has a parent, walk up to find the top-level organization
-        if (org.getParent() != null && org.getParent().getTarget() != null) {
-            Party parent = org.getParent().getTarget();
-            if (parent instanceof Organization parentOrg) {
-                // Recursively find top-level organization
-                return resolveTenantFromOrganization(parentOrg);
-            }
-        }
-
-        // This is a top-level organization - use its federatedId as tenant
-        return org.getFederatedId();
-    }
-
-    /**
-     * Build relationship context from organization
-     */
-    private RelationshipContext buildRelationshipContext(Organization org) {
+    private RelationshipContext buildRelationshipContext(ContextProjection projection) {
         RelationshipContext.RelationshipContextBuilder builder = RelationshipContext.builder();
 
         // Check if managing on behalf of others
-        if (org.getManagesFor() != null && !org.getManagesFor().isEmpty()) {
+        if (!projection.managedPartyIds().isEmpty()) {
             builder.managingOnBehalfOf(true);
-
-            Set<String> managedPartyIds = org.getManagesFor().stream()
-                    .map(ManagesOnBehalfOfRelationship::getPrincipal)
-                    .filter(Objects::nonNull)
-                    .map(Party::getFederatedId)
-                    .collect(Collectors.toSet());
-
-            builder.managedPartyIds(managedPartyIds);
+            builder.managedPartyIds(projection.managedPartyIds());
         } else {
             builder.managingOnBehalfOf(false);
         }
 
-        // Build hierarchy path
-        List<String> hierarchyPath = buildHierarchyPath(org);
+        // Hierarchy path from root to current organization
+        List<String> hierarchyPath = new ArrayList<>(projection.ancestry());
+        Collections.reverse(hierarchyPath);
         builder.hierarchyPath(hierarchyPath);
 
         // Determine relationship type
-        if (org.getParent() != null) {
+        if (projection.parentId() != null) {
             builder.relationshipType("SUBSIDIARY");
-            if (org.getParent().getTarget() != null) {
-                builder.parentEntityId(org.getParent().getTarget().getFederatedId());
-            }
+            builder.parentEntityId(projection.parentId());
         } else {
             builder.relationshipType("TOP_LEVEL");
         }
@@ -298,32 +382,6 @@ public class ContextResolutionServiceImpl implements ContextResolutionService {
         return builder.build();
     }
 
-    /**
-     * Build hierarchy path from root to current organization
-     */
-    private List<String> buildHierarchyPath(Organization org) {
-        List<String> path = new ArrayList<>();
-        Organization current = org;
-
-        // Walk up the parent chain
-        while (current != null) {
-            path.add(0, current.getFederatedId()); // Add to front
-
-            if (current.getParent() != null && current.getParent().getTarget() != null) {
-                Party parent = current.getParent().getTarget();
-                if (parent instanceof Organization parentOrg) {
-                    current = parentOrg;
-                } else {
-                    break;
-                }
-            } else {
-                break;
-            }
-        }
-
-        return path;
-    }
-
     /**
      * Build permission context based on party and roles
      */
@@ -484,4 +542,16 @@ public class ContextResolutionServiceImpl implements ContextResolutionService {
                     partyId, e.getMessage(), e);
         }
     }
+
+    /**
+     * Graph data for context resolution, loaded by {@link #loadContextProjection}
+     */
+    private record ContextProjection(
+            Party party,
+            List<String> ancestry,
+            String parentId,
+            Set<String> managedPartyIds,
+            String employerTenantId,
+            String ownerTenantId) {
+    }
 }
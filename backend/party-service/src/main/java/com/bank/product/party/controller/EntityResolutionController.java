@@ -10,7 +10,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * REST API for entity resolution operations.
@@ -55,18 +54,51 @@ public class EntityResolutionController {
      *
      * POST /api/v1/entity-resolution/batch
      *
-     * Returns immediately with 202 Accepted. Poll /batch/status for progress.
+     * Returns immediately with 202 Accepted. Poll /batch/{runId} for progress.
      */
     @PostMapping("/batch")
     public ResponseEntity<BatchStartResponse> startBatchResolution() {
         log.info("Starting batch resolution");
 
-        CompletableFuture<BatchResolutionService.BatchResolutionResult> future =
-                batchResolutionService.resolveAllParties();
+        String runId = batchResolutionService.startRun();
 
         BatchStartResponse response = BatchStartResponse.builder()
+                .runId(runId)
                 .message("Batch resolution started")
-                .status("RUNNING")
+                .status(BatchResolutionService.STATUS_RUNNING)
+                .build();
+
+        return ResponseEntity.accepted().body(response);
+    }
+
+    /**
+     * Get batch resolution progress, as of the last checkpoint
+     *
+     * GET /api/v1/entity-resolution/batch/{runId}
+     */
+    @GetMapping("/batch/{runId}")
+    public ResponseEntity<BatchResolutionService.BatchResolutionResult> getBatchResolution(
+            @PathVariable String runId) {
+        return batchResolutionService.getRun(runId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Resume a failed or interrupted batch resolution after its last checkpoint
+     *
+     * POST /api/v1/entity-resolution/batch/{runId}/resume
+     */
+    @PostMapping("/batch/{runId}/resume")
+    public ResponseEntity<BatchStartResponse> resumeBatchResolution(@PathVariable String runId) {
+        log.info("Resuming batch resolution run: {}", runId);
+
+        batchResolutionService.resumeRun(runId);
+
+        BatchStartResponse response = BatchStartResponse.builder()
+                .runId(runId)
+                .message("Batch resolution resumed")
+                .status(BatchResolutionService.STATUS_RUNNING)
                 .build();
 
         return ResponseEntity.accepted().body(response);
@@ -136,6 +168,7 @@ public class EntityResolutionController {
     @lombok.Builder
     @lombok.Data
     public static class BatchStartResponse {
+        private String runId;
         private String message;
         private String status;
     }
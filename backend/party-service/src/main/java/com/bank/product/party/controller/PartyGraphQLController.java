@@ -4,31 +4,104 @@ import com.bank.product.party.domain.Individual;
 import com.bank.product.party.domain.LegalEntity;
 import com.bank.product.party.domain.Organization;
 import com.bank.product.party.domain.Party;
+import com.bank.product.party.domain.SourceRecord;
 import com.bank.product.party.repository.IndividualRepository;
 import com.bank.product.party.repository.LegalEntityRepository;
 import com.bank.product.party.repository.OrganizationRepository;
 import com.bank.product.party.repository.PartyRepository;
-import lombok.RequiredArgsConstructor;
+import com.bank.product.party.service.BeneficialOwnership;
+import com.bank.product.party.service.BeneficialOwnershipService;
+import com.bank.product.party.service.OrganizationSearchResult;
+import com.bank.product.party.service.OrganizationSearchService;
+import com.bank.product.party.service.OwnershipInfo;
+import com.bank.product.party.service.PartyRelationshipLoader;
+import com.bank.product.party.service.PartyRelationshipLoader.HierarchySummary;
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
 
-import java.util.List;
-import java.util.Optional;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * GraphQL controller for party queries.
  * Provides relationship traversal and graph queries.
+ *
+ * Relationship fields are resolved through DataLoaders registered in the
+ * constructor: graphql-java collects the parties of a query level and each
+ * loader fetches its relationship for all of them with one query
+ * ({@link PartyRelationshipLoader}). Loaders are keyed by federated ID and
+ * cached for the request, so fields sharing a load (sourcedFrom,
+ * masterSource and lastSyncedAt) query once.
  */
 @Controller
-@RequiredArgsConstructor
 public class PartyGraphQLController {
 
+    // DataLoader names
+    private static final String SOURCE_RECORDS = "sourceRecords";
+    private static final String SUBSIDIARIES = "subsidiaries";
+    private static final String PARENT = "parent";
+    private static final String ULTIMATE_PARENT = "ultimateParent";
+    private static final String OPERATES_ON_BEHALF_OF = "operatesOnBehalfOf";
+    private static final String LEGAL_ENTITIES = "legalEntities";
+    private static final String HIERARCHY_SUMMARY = "hierarchySummary";
+    private static final String BENEFICIAL_OWNERS = "beneficialOwners";
+    private static final String PARENT_ORGANIZATION = "parentOrganization";
+    private static final String OWNERS = "owners";
+    private static final String AUTHORIZED_SIGNERS = "authorizedSigners";
+    private static final String OFFICERS = "officers";
+    private static final String BOARD_MEMBERS = "boardMembers";
+    private static final String BENEFICIAL_OWNERSHIPS = "beneficialOwnerships";
+    private static final String CONTROLLED_ENTITIES = "controlledEntities";
+
     private final PartyRepository partyRepository;
     private final OrganizationRepository organizationRepository;
     private final LegalEntityRepository legalEntityRepository;
     private final IndividualRepository individualRepository;
+    private final OrganizationSearchService organizationSearchService;
+    private final PartyRelationshipLoader relationshipLoader;
+    private final BeneficialOwnershipService beneficialOwnershipService;
+
+    public PartyGraphQLController(PartyRepository partyRepository,
+                                  OrganizationRepository organizationRepository,
+                                  LegalEntityRepository legalEntityRepository,
+                                  IndividualRepository individualRepository,
+                                  OrganizationSearchService organizationSearchService,
+                                  PartyRelationshipLoader relationshipLoader,
+                                  BeneficialOwnershipService beneficialOwnershipService,
+                                  BatchLoaderRegistry batchLoaderRegistry) {
+        this.partyRepository = partyRepository;
+        this.organizationRepository = organizationRepository;
+        this.legalEntityRepository = legalEntityRepository;
+        this.individualRepository = individualRepository;
+        this.organizationSearchService = organizationSearchService;
+        this.relationshipLoader = relationshipLoader;
+        this.beneficialOwnershipService = beneficialOwnershipService;
+
+        register(batchLoaderRegistry, SOURCE_RECORDS, relationshipLoader::sourceRecords);
+        register(batchLoaderRegistry, PARENT, relationshipLoader::parents);
+        register(batchLoaderRegistry, ULTIMATE_PARENT, relationshipLoader::ultimateParents);
+        register(batchLoaderRegistry, OPERATES_ON_BEHALF_OF, relationshipLoader::operatesOnBehalfOf);
+        register(batchLoaderRegistry, LEGAL_ENTITIES, relationshipLoader::legalEntities);
+        register(batchLoaderRegistry, HIERARCHY_SUMMARY, relationshipLoader::hierarchySummaries);
+        register(batchLoaderRegistry, BENEFICIAL_OWNERS, relationshipLoader::beneficialOwners);
+        register(batchLoaderRegistry, PARENT_ORGANIZATION, relationshipLoader::parentOrganizations);
+        register(batchLoaderRegistry, OWNERS, relationshipLoader::owners);
+        register(batchLoaderRegistry, AUTHORIZED_SIGNERS, relationshipLoader::authorizedSigners);
+        register(batchLoaderRegistry, OFFICERS, relationshipLoader::officers);
+        register(batchLoaderRegistry, BOARD_MEMBERS, relationshipLoader::boardMembers);
+        register(batchLoaderRegistry, BENEFICIAL_OWNERSHIPS, relationshipLoader::beneficialOwnerships);
+        register(batchLoaderRegistry, CONTROLLED_ENTITIES, relationshipLoader::controlledEntities);
+        batchLoaderRegistry.<SubsidiaryLevel, List<Organization>>forName(SUBSIDIARIES)
+                .registerMappedBatchLoader((levels, env) -> Mono.fromCallable(() -> loadSubsidiaries(levels)));
+    }
 
     /**
      * Find party by federated ID
@@ -50,11 +123,24 @@ public class PartyGraphQLController {
     }
 
     /**
-     * Search parties by name
+     * Search parties by name - the best matches of the full-text name search
      */
     @QueryMapping
     public List<Organization> searchParties(@Argument String name) {
-        return organizationRepository.searchByName(name);
+        return organizationSearchService.search(name, 0, OrganizationSearchService.MAX_PAGE_SIZE).getHits().stream()
+                .map(OrganizationSearchResult.Hit::getOrganization)
+                .toList();
+    }
+
+    /**
+     * Search organizations by name with relevance scores and pagination
+     */
+    @QueryMapping
+    public OrganizationSearchResult searchOrganizations(@Argument String query, @Argument Integer page,
+                                                        @Argument Integer size) {
+        return organizationSearchService.search(query,
+                page != null ? page : 0,
+                size != null ? size : OrganizationSearchService.DEFAULT_PAGE_SIZE);
     }
 
     /**
@@ -85,16 +171,16 @@ public class PartyGraphQLController {
      * Find ultimate beneficial owners
      */
     @QueryMapping
-    public List<Object[]> ultimateBeneficialOwners(@Argument String entityId) {
-        return legalEntityRepository.findUltimateBeneficialOwners(entityId);
+    public List<BeneficialOwnership> ultimateBeneficialOwners(@Argument String entityId) {
+        return beneficialOwnershipService.ultimateBeneficialOwners(entityId);
     }
 
     /**
      * Find ownership chain
      */
     @QueryMapping
-    public List<Object[]> ownershipChain(@Argument String entityId) {
-        return legalEntityRepository.findOwnershipChain(entityId);
+    public List<OwnershipInfo> ownershipChain(@Argument String entityId) {
+        return beneficialOwnershipService.ownershipChain(entityId);
     }
 
     /**
@@ -121,19 +207,250 @@ public class PartyGraphQLController {
         return organizationRepository.findRelationshipPath(org1Id, org2Id);
     }
 
+    // ===== Party =====
+
+    /**
+     * Field resolver for source records
+     */
+    @SchemaMapping(typeName = "Party", field = "sourcedFrom")
+    public CompletableFuture<List<SourceRecord>> sourcedFrom(Party party, DataFetchingEnvironment env) {
+        return loadList(env, SOURCE_RECORDS, party);
+    }
+
+    /**
+     * Field resolver for the master source record
+     */
+    @SchemaMapping(typeName = "Party", field = "masterSource")
+    public CompletableFuture<SourceRecord> masterSource(Party party, DataFetchingEnvironment env) {
+        return this.<SourceRecord>loadList(env, SOURCE_RECORDS, party).thenApply(records -> records.stream()
+                .filter(SourceRecord::isMasterSource)
+                .findFirst()
+                .orElse(null));
+    }
+
+    // ===== Organization =====
+
+    /**
+     * Field resolver for subsidiaries, direct ones unless a depth is given
+     */
+    @SchemaMapping(typeName = "Organization", field = "subsidiaries")
+    public CompletableFuture<List<Organization>> organizationSubsidiaries(Organization organization,
+                                                                          @Argument Integer depth,
+                                                                          DataFetchingEnvironment env) {
+        DataLoader<SubsidiaryLevel, List<Organization>> loader = env.getDataLoader(SUBSIDIARIES);
+        return loader.load(new SubsidiaryLevel(organization.getFederatedId(), depth != null ? depth : 1))
+                .thenApply(PartyGraphQLController::orEmpty);
+    }
+
+    /**
+     * Field resolver for the direct parent
+     */
+    @SchemaMapping(typeName = "Organization", field = "parent")
+    public CompletableFuture<Organization> parent(Organization organization, DataFetchingEnvironment env) {
+        return load(env, PARENT, organization);
+    }
+
+    /**
+     * Field resolver for the top of the hierarchy
+     */
+    @SchemaMapping(typeName = "Organization", field = "ultimateParent")
+    public CompletableFuture<Organization> organizationUltimateParent(Organization organization,
+                                                                      DataFetchingEnvironment env) {
+        return load(env, ULTIMATE_PARENT, organization);
+    }
+
+    /**
+     * Field resolver for organizations this one operates on behalf of
+     */
+    @SchemaMapping(typeName = "Organization", field = "operatesOnBehalfOf")
+    public CompletableFuture<List<Organization>> operatesOnBehalfOf(Organization organization,
+                                                                    DataFetchingEnvironment env) {
+        return loadList(env, OPERATES_ON_BEHALF_OF, organization);
+    }
+
+    /**
+     * Field resolver for beneficial owners with at least the threshold percentage
+     */
+    @SchemaMapping(typeName = "Organization", field = "beneficialOwners")
+    public CompletableFuture<List<Individual>> organizationBeneficialOwners(Organization organization,
+                                                                           @Argument Double threshold,
+                                                                           DataFetchingEnvironment env) {
+        return beneficialOwners(organization, threshold, env)
+                .thenApply(owners -> owners.stream().map(BeneficialOwnership::owner).toList());
+    }
+
+    /**
+     * Field resolver for legal entities
+     */
+    @SchemaMapping(typeName = "Organization", field = "legalEntities")
+    public CompletableFuture<List<LegalEntity>> legalEntities(Organization organization,
+                                                              DataFetchingEnvironment env) {
+        return loadList(env, LEGAL_ENTITIES, organization);
+    }
+
+    /**
+     * Field resolver for the last sync from any source system
+     */
+    @SchemaMapping(typeName = "Organization", field = "lastSyncedAt")
+    public CompletableFuture<Instant> lastSyncedAt(Organization organization, DataFetchingEnvironment env) {
+        return this.<SourceRecord>loadList(env, SOURCE_RECORDS, organization).thenApply(records -> records.stream()
+                .map(SourceRecord::getSyncedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null));
+    }
+
     /**
      * Field resolver for subsidiaries count
      */
     @SchemaMapping(typeName = "Organization", field = "totalSubsidiaries")
-    public int totalSubsidiaries(Organization organization) {
-        return organization.getTotalSubsidiariesCount();
+    public CompletableFuture<Integer> totalSubsidiaries(Organization organization, DataFetchingEnvironment env) {
+        return this.<HierarchySummary>load(env, HIERARCHY_SUMMARY, organization)
+                .thenApply(summary -> summary != null ? summary.totalSubsidiaries() : 0);
     }
 
     /**
      * Field resolver for jurisdictions
      */
     @SchemaMapping(typeName = "Organization", field = "jurisdictions")
-    public List<String> jurisdictions(Organization organization) {
-        return organization.getAllJurisdictions().stream().toList();
+    public CompletableFuture<List<String>> jurisdictions(Organization organization, DataFetchingEnvironment env) {
+        return this.<HierarchySummary>load(env, HIERARCHY_SUMMARY, organization)
+                .thenApply(summary -> summary != null ? summary.jurisdictions() : List.of());
+    }
+
+    /**
+     * Field resolver for the highest risk rating across the hierarchy
+     */
+    @SchemaMapping(typeName = "Organization", field = "consolidatedRiskRating")
+    public CompletableFuture<String> consolidatedRiskRating(Organization organization, DataFetchingEnvironment env) {
+        return this.<HierarchySummary>load(env, HIERARCHY_SUMMARY, organization)
+                .thenApply(summary -> summary != null ? summary.consolidatedRiskRating() : null);
+    }
+
+    // ===== Legal Entity =====
+
+    /**
+     * Field resolver for the parent organization
+     */
+    @SchemaMapping(typeName = "LegalEntity", field = "parentOrganization")
+    public CompletableFuture<Organization> parentOrganization(LegalEntity legalEntity, DataFetchingEnvironment env) {
+        return load(env, PARENT_ORGANIZATION, legalEntity);
+    }
+
+    /**
+     * Field resolver for direct owners
+     */
+    @SchemaMapping(typeName = "LegalEntity", field = "owners")
+    public CompletableFuture<List<OwnershipInfo>> owners(LegalEntity legalEntity, DataFetchingEnvironment env) {
+        return loadList(env, OWNERS, legalEntity);
+    }
+
+    /**
+     * Field resolver for beneficial owners with at least the threshold percentage
+     */
+    @SchemaMapping(typeName = "LegalEntity", field = "beneficialOwners")
+    public CompletableFuture<List<BeneficialOwnership>> legalEntityBeneficialOwners(LegalEntity legalEntity,
+                                                                                    @Argument Double threshold,
+                                                                                    DataFetchingEnvironment env) {
+        return beneficialOwners(legalEntity, threshold, env);
+    }
+
+    /**
+     * Field resolver for authorized signers
+     */
+    @SchemaMapping(typeName = "LegalEntity", field = "authorizedSigners")
+    public CompletableFuture<List<Individual>> authorizedSigners(LegalEntity legalEntity,
+                                                                 DataFetchingEnvironment env) {
+        return loadList(env, AUTHORIZED_SIGNERS, legalEntity);
+    }
+
+    /**
+     * Field resolver for officers
+     */
+    @SchemaMapping(typeName = "LegalEntity", field = "officers")
+    public CompletableFuture<List<Individual>> officers(LegalEntity legalEntity, DataFetchingEnvironment env) {
+        return loadList(env, OFFICERS, legalEntity);
+    }
+
+    /**
+     * Field resolver for board members
+     */
+    @SchemaMapping(typeName = "LegalEntity", field = "boardMembers")
+    public CompletableFuture<List<Individual>> boardMembers(LegalEntity legalEntity, DataFetchingEnvironment env) {
+        return loadList(env, BOARD_MEMBERS, legalEntity);
+    }
+
+    // ===== Individual =====
+
+    /**
+     * Field resolver for beneficial ownerships held
+     */
+    @SchemaMapping(typeName = "Individual", field = "beneficialOwnerships")
+    public CompletableFuture<List<BeneficialOwnership>> beneficialOwnerships(Individual individual,
+                                                                            DataFetchingEnvironment env) {
+        return loadList(env, BENEFICIAL_OWNERSHIPS, individual);
+    }
+
+    /**
+     * Field resolver for controlled entities
+     */
+    @SchemaMapping(typeName = "Individual", field = "controlledEntities")
+    public CompletableFuture<List<Party>> controlledEntities(Individual individual, DataFetchingEnvironment env) {
+        return loadList(env, CONTROLLED_ENTITIES, individual);
+    }
+
+    // ===== Loading =====
+
+    private <V> CompletableFuture<V> load(DataFetchingEnvironment env, String loaderName, Party party) {
+        DataLoader<String, V> loader = env.getDataLoader(loaderName);
+        return loader.load(party.getFederatedId());
+    }
+
+    private <T> CompletableFuture<List<T>> loadList(DataFetchingEnvironment env, String loaderName, Party party) {
+        return this.<List<T>>load(env, loaderName, party).thenApply(PartyGraphQLController::orEmpty);
+    }
+
+    private CompletableFuture<List<BeneficialOwnership>> beneficialOwners(Party party, Double threshold,
+                                                                          DataFetchingEnvironment env) {
+        return this.<BeneficialOwnership>loadList(env, BENEFICIAL_OWNERS, party).thenApply(owners -> owners.stream()
+                .filter(owner -> threshold == null || (owner.ownershipPercentage() != null
+                        && owner.ownershipPercentage() >= threshold))
+                .toList());
+    }
+
+    /**
+     * Subsidiaries for a batch of (organization, depth) keys, one query per requested depth
+     */
+    private Map<SubsidiaryLevel, List<Organization>> loadSubsidiaries(Set<SubsidiaryLevel> levels) {
+        Map<Integer, Set<String>> organizationIdsByDepth = new HashMap<>();
+        levels.forEach(level -> organizationIdsByDepth
+                .computeIfAbsent(level.depth(), depth -> new HashSet<>())
+                .add(level.organizationId()));
+
+        Map<SubsidiaryLevel, List<Organization>> subsidiaries = new HashMap<>();
+        organizationIdsByDepth.forEach((depth, organizationIds) -> relationshipLoader
+                .subsidiaries(organizationIds, depth)
+                .forEach((organizationId, organizations) ->
+                        subsidiaries.put(new SubsidiaryLevel(organizationId, depth), organizations)));
+        return subsidiaries;
+    }
+
+    /**
+     * Register a loader keyed by federated ID; parties missing from its result resolve to null
+     */
+    private static <V> void register(BatchLoaderRegistry registry, String name,
+                                     Function<Set<String>, Map<String, V>> loader) {
+        registry.<String, V>forName(name)
+                .registerMappedBatchLoader((partyIds, env) -> Mono.fromCallable(() -> loader.apply(partyIds)));
+    }
+
+    private static <T> List<T> orEmpty(List<T> values) {
+        return values != null ? values : List.of();
+    }
+
+    /**
+     * Subsidiaries of one organization down to a depth
+     */
+    private record SubsidiaryLevel(String organizationId, int depth) {
     }
 }
@@ -5,6 +5,7 @@ import com.bank.product.party.repository.PartyRepository;
 import com.bank.product.party.resolution.EntityResolutionService;
 import com.bank.product.party.resolution.ResolutionResult;
 import com.bank.product.party.service.PartyFederationService;
+import com.bank.product.party.service.PartySyncEngine;
 import com.bank.product.party.service.SyncResult;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +24,7 @@ public class PartyRestController {
 
     private final PartyRepository partyRepository;
     private final PartyFederationService federationService;
+    private final PartySyncEngine syncEngine;
     private final EntityResolutionService resolutionService;
 
     /**
@@ -48,11 +50,16 @@ public class PartyRestController {
     }
 
     /**
-     * Trigger full sync from source system
+     * Trigger sync of all parties changed in a source system since the last sync
+     *
+     * @param reset Ignore the recorded high-water mark and sync every party
      */
     @PostMapping("/sync/full")
-    public ResponseEntity<SyncResult> fullSync(@RequestParam String sourceSystem) {
-        SyncResult result = federationService.syncAllFromSource(sourceSystem);
+    public ResponseEntity<SyncResult> fullSync(
+            @RequestParam String sourceSystem,
+            @RequestParam(defaultValue = "false") boolean reset
+    ) {
+        SyncResult result = syncEngine.sync(sourceSystem, reset);
         return ResponseEntity.ok(result);
     }
 
@@ -4,6 +4,8 @@ import com.bank.product.party.domain.CollateralDocument;
 import com.bank.product.party.domain.ManagesOnBehalfOfRelationship;
 import com.bank.product.party.domain.Organization;
 import com.bank.product.party.domain.Party;
+import com.bank.product.party.service.OrganizationHierarchyService;
+import com.bank.product.party.service.OrganizationHierarchyService.RebuildResult;
 import com.bank.product.party.service.RelationshipManagementService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +27,7 @@ import java.util.List;
 public class RelationshipController {
 
     private final RelationshipManagementService relationshipService;
+    private final OrganizationHierarchyService hierarchyService;
 
     /**
      * Create a "manages on behalf of" relationship
@@ -137,6 +140,45 @@ public class RelationshipController {
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Make an organization a subsidiary of another, replacing its current parent
+     *
+     * PUT /api/v1/relationships/hierarchy/{childId}/parent
+     */
+    @PutMapping("/hierarchy/{childId}/parent")
+    public ResponseEntity<HierarchyUpdateResponse> setParent(
+            @PathVariable String childId,
+            @RequestBody SetParentRequest request) {
+
+        log.info("Setting parent of {} to {}", childId, request.getParentId());
+
+        int repositioned = hierarchyService.setParent(childId, request.getParentId(), request.getOwnershipPercentage());
+        return ResponseEntity.ok(new HierarchyUpdateResponse(childId, repositioned));
+    }
+
+    /**
+     * Detach an organization from its parent
+     *
+     * DELETE /api/v1/relationships/hierarchy/{childId}/parent
+     */
+    @DeleteMapping("/hierarchy/{childId}/parent")
+    public ResponseEntity<HierarchyUpdateResponse> removeParent(@PathVariable String childId) {
+        log.info("Removing parent of {}", childId);
+
+        int repositioned = hierarchyService.removeParent(childId);
+        return ResponseEntity.ok(new HierarchyUpdateResponse(childId, repositioned));
+    }
+
+    /**
+     * Recompute the materialized organization hierarchy from the graph
+     *
+     * POST /api/v1/relationships/hierarchy/rebuild
+     */
+    @PostMapping("/hierarchy/rebuild")
+    public ResponseEntity<RebuildResult> rebuildHierarchy() {
+        return ResponseEntity.ok(hierarchyService.rebuild());
+    }
+
     @Data
     public static class CreateManagementRelationshipRequest {
         // Party IDs
@@ -185,4 +227,16 @@ public class RelationshipController {
     public static class UpdateDocumentStatusRequest {
         private CollateralDocument.DocumentStatus status;
     }
+
+    @Data
+    public static class SetParentRequest {
+        private String parentId;
+        private Double ownershipPercentage;
+    }
+
+    @Data
+    public static class HierarchyUpdateResponse {
+        private final String organizationId;
+        private final int repositioned;
+    }
 }
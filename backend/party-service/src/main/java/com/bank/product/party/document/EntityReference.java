@@ -0,0 +1,17 @@
+package com.bank.product.party.document;
+
+import com.bank.product.party.domain.PartyType;
+
+/**
+ * An entity mentioned in a document, to be resolved to a Party
+ *
+ * @param entityName   name of the entity as mentioned in the document
+ * @param jurisdiction jurisdiction if known
+ * @param entityType   type of entity (ORGANIZATION, INDIVIDUAL) if known
+ */
+public record EntityReference(String entityName, String jurisdiction, PartyType entityType) {
+
+    public EntityReference(String entityName) {
+        this(entityName, null, null);
+    }
+}
@@ -4,26 +4,46 @@ import com.bank.product.party.domain.Organization;
 import com.bank.product.party.domain.Party;
 import com.bank.product.party.domain.PartyStatus;
 import com.bank.product.party.domain.PartyType;
+import com.bank.product.party.matching.MatchFeatureExtractor;
+import com.bank.product.party.matching.MatchFeatures;
 import com.bank.product.party.matching.PhoneticMatcher;
+import com.bank.product.party.matching.StringSimilarity;
 import com.bank.product.party.repository.PartyRepository;
+import com.bank.product.party.resolution.CandidateIndex;
+import com.bank.product.party.service.OrganizationHierarchyService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Service for resolving entity references in documents to actual Party records.
  *
  * When a document mentions an entity (e.g., parent company, officer, beneficial owner),
  * this service:
- * 1. Searches for existing parties with matching names
- * 2. If found: Returns the existing party
- * 3. If not found: Creates a PLACEHOLDER party for future verification
+ * 1. Searches for existing parties with the same name (any status, including PLACEHOLDER)
+ * 2. Searches for a phonetically similar ACTIVE party among the top candidates
+ *    of the candidate index
+ * 3. If found: Returns the existing party
+ * 4. If not found: Creates a PLACEHOLDER party for future verification
+ *
+ * All references of a document should be resolved with one
+ * {@link #resolveEntityReferences(List, String)} call: exact matches are
+ * looked up with a single query, fuzzy candidates are loaded together and
+ * new placeholders are saved together.
  *
  * PLACEHOLDER parties:
  * - Have limited information (name, potentially jurisdiction)
@@ -41,6 +61,9 @@ public class EntityReferenceResolver {
 
     private final PartyRepository partyRepository;
     private final PhoneticMatcher phoneticMatcher;
+    private final CandidateIndex candidateIndex;
+    private final OrganizationHierarchyService organizationHierarchyService;
+    private final MatchFeatureExtractor matchFeatureExtractor;
 
     /**
      * Fuzzy match threshold for entity name matching
@@ -48,6 +71,11 @@ public class EntityReferenceResolver {
      */
     private static final double FUZZY_MATCH_THRESHOLD = 0.85;
 
+    /**
+     * Number of index candidates scored per name
+     */
+    private static final int MAX_FUZZY_CANDIDATES = 20;
+
     /**
      * Resolve an entity reference from a document to a Party
      *
@@ -72,53 +100,88 @@ public class EntityReferenceResolver {
     @Transactional
     public Party resolveEntityReference(String entityName, String jurisdiction,
                                         PartyType entityType, String context) {
+        return resolveEntityReferences(
+                List.of(new EntityReference(entityName, jurisdiction, entityType)), context).get(0);
+    }
 
-        log.info("Resolving entity reference: name={}, jurisdiction={}, type={}, context={}",
-                entityName, jurisdiction, entityType, context);
-
-        if (entityName == null || entityName.trim().isEmpty()) {
-            throw new IllegalArgumentException("Entity name cannot be null or empty");
+    /**
+     * Resolve all entity references from a document in one call
+     *
+     * References with the same name resolve to the same party.
+     *
+     * @param references Entities mentioned in the document
+     * @param context Additional context (document type, extraction source)
+     * @return Existing or newly created PLACEHOLDER parties, in the order of the references
+     */
+    @Transactional
+    public List<Party> resolveEntityReferences(List<EntityReference> references, String context) {
+        for (EntityReference reference : references) {
+            if (reference.entityName() == null || reference.entityName().trim().isEmpty()) {
+                throw new IllegalArgumentException("Entity name cannot be null or empty");
+            }
         }
 
-        // Step 1: Search for exact name match
-        List<Party> exactMatches = partyRepository.findByLegalNameIgnoreCase(entityName);
-
-        if (!exactMatches.isEmpty()) {
-            Party match = filterBestMatch(exactMatches, jurisdiction);
-            log.info("Found exact match for '{}': party={}, status={}",
-                    entityName, match.getFederatedId(), match.getStatus());
-            return match;
+        log.info("Resolving {} entity references: context={}", references.size(), context);
+
+        Map<EntityReference, Party> resolved = new HashMap<>();
+
+        // Step 1: Search for exact name matches
+        Set<String> names = new LinkedHashSet<>();
+        references.forEach(reference -> names.add(reference.entityName()));
+        Map<String, List<Party>> exactMatches = partyRepository.findByLegalNameIgnoreCaseIn(names).stream()
+                .filter(party -> getLegalName(party) != null)
+                .collect(Collectors.groupingBy(party -> getLegalName(party).toLowerCase()));
+
+        Map<String, EntityReference> unresolved = new LinkedHashMap<>();
+        for (EntityReference reference : references) {
+            List<Party> matches = exactMatches.get(reference.entityName().toLowerCase());
+            if (matches != null) {
+                Party match = filterBestMatch(matches, reference.jurisdiction());
+                log.info("Found exact match for '{}': party={}, status={}",
+                        reference.entityName(), match.getFederatedId(), match.getStatus());
+                resolved.put(reference, match);
+            } else {
+                unresolved.putIfAbsent(reference.entityName().toLowerCase(), reference);
+            }
         }
 
-        // Step 2: Search for fuzzy name match (phonetic similarity)
-        List<Party> allParties = partyRepository.findByStatus(PartyStatus.ACTIVE);
-        Party fuzzyMatch = findFuzzyMatch(entityName, allParties);
-
-        if (fuzzyMatch != null) {
-            log.info("Found fuzzy match for '{}': party={}, legalName={}",
-                    entityName, fuzzyMatch.getFederatedId(), getLegalName(fuzzyMatch));
-            return fuzzyMatch;
+        // Step 2: Search for fuzzy name matches (phonetic similarity)
+        Map<String, Party> fuzzyMatches = findFuzzyMatches(unresolved.values());
+
+        // Step 3: No match found - create PLACEHOLDER parties
+        List<Party> placeholders = new ArrayList<>();
+        for (EntityReference reference : unresolved.values()) {
+            if (!fuzzyMatches.containsKey(reference.entityName())) {
+                Party placeholder = createPlaceholderParty(reference.entityName(), reference.jurisdiction(),
+                        reference.entityType(), context);
+                placeholders.add(placeholder);
+                fuzzyMatches.put(reference.entityName(), placeholder);
+            }
+        }
+        if (!placeholders.isEmpty()) {
+            Map<String, Party> saved = new HashMap<>();
+            partyRepository.saveAll(placeholders).forEach(party -> {
+                saved.put(party.getFederatedId(), party);
+                candidateIndex.index(party);
+                organizationHierarchyService.saved(party);
+            });
+            fuzzyMatches.replaceAll((name, party) -> saved.getOrDefault(party.getFederatedId(), party));
+            placeholders.forEach(placeholder -> log.info(
+                    "Created PLACEHOLDER party for '{}': party={}, requiresVerification=true",
+                    getLegalName(placeholder), placeholder.getFederatedId()));
         }
 
-        // Step 3: Check for existing PLACEHOLDER with same name
-        List<Party> placeholders = partyRepository.findByStatus(PartyStatus.PLACEHOLDER);
-        for (Party placeholder : placeholders) {
-            String placeholderName = getLegalName(placeholder);
-            if (placeholderName != null && placeholderName.equalsIgnoreCase(entityName)) {
-                log.info("Found existing PLACEHOLDER for '{}': party={}",
-                        entityName, placeholder.getFederatedId());
-                return placeholder;
+        List<Party> parties = new ArrayList<>(references.size());
+        for (EntityReference reference : references) {
+            Party party = resolved.get(reference);
+            if (party == null) {
+                // Same name as a reference resolved above, possibly in another spelling case
+                EntityReference representative = unresolved.get(reference.entityName().toLowerCase());
+                party = fuzzyMatches.get(representative.entityName());
             }
+            parties.add(party);
         }
-
-        // Step 4: No match found - create PLACEHOLDER party
-        Party placeholder = createPlaceholderParty(entityName, jurisdiction, entityType, context);
-        Party saved = partyRepository.save(placeholder);
-
-        log.info("Created PLACEHOLDER party for '{}': party={}, requiresVerification=true",
-                entityName, saved.getFederatedId());
-
-        return saved;
+        return parties;
     }
 
     /**
@@ -145,6 +208,8 @@ public class EntityReferenceResolver {
 
         placeholderParty.markUpdated();
         Party upgraded = partyRepository.save(placeholderParty);
+        candidateIndex.index(upgraded);
+        organizationHierarchyService.saved(upgraded);
 
         log.info("Successfully upgraded PLACEHOLDER party to ACTIVE: party={}",
                 upgraded.getFederatedId());
@@ -219,27 +284,101 @@ public class EntityReferenceResolver {
     }
 
     /**
-     * Find fuzzy match using phonetic similarity
+     * Find fuzzy matches for a set of names
+     *
+     * Candidates are the top name-block matches from the candidate index,
+     * loaded with one query for all names. Until the index is built, the
+     * active parties are loaded once and scanned for every name.
+     *
+     * @return name -> matching ACTIVE party, for the names that have one
+     */
+    private Map<String, Party> findFuzzyMatches(Collection<EntityReference> references) {
+        Map<String, Party> matches = new HashMap<>();
+        if (references.isEmpty()) {
+            return matches;
+        }
+
+        if (!candidateIndex.isReady()) {
+            List<Party> activeParties = partyRepository.findByStatus(PartyStatus.ACTIVE);
+            for (EntityReference reference : references) {
+                putFuzzyMatch(matches, reference.entityName(), activeParties);
+            }
+            return matches;
+        }
+
+        Map<String, List<String>> candidateIdsByName = new HashMap<>();
+        Set<String> candidateIds = new HashSet<>();
+        for (EntityReference reference : references) {
+            List<String> ids = candidateIndex.findNameCandidateIds(reference.entityName(), MAX_FUZZY_CANDIDATES);
+            candidateIdsByName.put(reference.entityName(), ids);
+            candidateIds.addAll(ids);
+        }
+
+        Map<String, Party> candidates = new HashMap<>();
+        if (!candidateIds.isEmpty()) {
+            partyRepository.findAllById(candidateIds).stream()
+                    .filter(party -> party.getStatus() == PartyStatus.ACTIVE)
+                    .forEach(party -> candidates.put(party.getFederatedId(), party));
+        }
+
+        for (EntityReference reference : references) {
+            List<Party> parties = candidateIdsByName.get(reference.entityName()).stream()
+                    .map(candidates::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            putFuzzyMatch(matches, reference.entityName(), parties);
+        }
+        return matches;
+    }
+
+    private void putFuzzyMatch(Map<String, Party> matches, String entityName, List<Party> parties) {
+        Party fuzzyMatch = findFuzzyMatch(entityName, parties);
+        if (fuzzyMatch != null) {
+            log.info("Found fuzzy match for '{}': party={}, legalName={}",
+                    entityName, fuzzyMatch.getFederatedId(), getLegalName(fuzzyMatch));
+            matches.put(entityName, fuzzyMatch);
+        }
+    }
+
+    /**
+     * Find the best fuzzy match using phonetic similarity
+     *
+     * Parties whose phonetic similarity reaches the threshold are ranked by
+     * phonetic similarity, then by trigram similarity of the normalized names.
      */
     private Party findFuzzyMatch(String entityName, List<Party> parties) {
+        MatchFeatures nameFeatures = matchFeatureExtractor.extract(entityName);
+
+        Party bestMatch = null;
+        double bestPhonetic = 0.0;
+        double bestTrigram = 0.0;
+
         for (Party party : parties) {
-            String legalName = getLegalName(party);
-            if (legalName == null) {
+            if (!(party instanceof Organization organization) || organization.getLegalName() == null) {
                 continue;
             }
+            MatchFeatures features = matchFeatureExtractor.featuresOf(organization);
 
-            double similarity = phoneticMatcher.calculatePhoneticSimilarity(
-                    entityName, legalName
-            );
+            double phonetic = phoneticMatcher.phoneticCodeSimilarity(
+                    nameFeatures.phoneticCode(), features.phoneticCode(), FUZZY_MATCH_THRESHOLD);
+            if (phonetic < FUZZY_MATCH_THRESHOLD || phonetic < bestPhonetic) {
+                continue;
+            }
 
-            if (similarity >= FUZZY_MATCH_THRESHOLD) {
-                log.debug("Fuzzy match found: '{}' ~= '{}' (similarity={})",
-                        entityName, legalName, similarity);
-                return party;
+            double trigram = StringSimilarity.trigramSimilarity(
+                    nameFeatures.normalizedName(), features.normalizedName());
+            if (bestMatch == null || phonetic > bestPhonetic || trigram > bestTrigram) {
+                bestMatch = party;
+                bestPhonetic = phonetic;
+                bestTrigram = trigram;
             }
         }
 
-        return null;
+        if (bestMatch != null) {
+            log.debug("Fuzzy match found: '{}' ~= '{}' (similarity={}, trigram={})",
+                    entityName, getLegalName(bestMatch), bestPhonetic, bestTrigram);
+        }
+        return bestMatch;
     }
 
     /**
@@ -100,6 +100,23 @@ public class Organization extends Party {
      */
     private Double annualRevenue;
 
+    // ===== Match features (derived from legalName on every write, see MatchFeatureCallback) =====
+
+    /**
+     * Normalized legal name used for string similarity
+     */
+    private String normalizedLegalName;
+
+    /**
+     * Phonetic code of the legal name
+     */
+    private String phoneticName;
+
+    /**
+     * Significant legal name tokens used for candidate blocking
+     */
+    private List<String> nameTokens;
+
     // ===== Relationships =====
 
     /**
@@ -53,7 +53,8 @@ public class SourceRecord {
     private Integer version;
 
     /**
-     * Checksum of source data (for change detection)
+     * Checksum of source data (for change detection), computed by
+     * {@link com.bank.product.party.sync.SourceChecksum}
      */
     private String checksum;
 
@@ -83,6 +84,13 @@ public class SourceRecord {
         return Boolean.TRUE.equals(masterSource);
     }
 
+    /**
+     * Was this record synced from a payload with the given checksum?
+     */
+    public boolean hasChecksum(String checksum) {
+        return checksum != null && checksum.equals(this.checksum);
+    }
+
     public void incrementVersion() {
         this.version = (this.version == null ? 0 : this.version) + 1;
         this.syncedAt = Instant.now();
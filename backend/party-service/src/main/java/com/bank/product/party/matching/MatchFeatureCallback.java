@@ -0,0 +1,23 @@
+package com.bank.product.party.matching;
+
+import com.bank.product.party.domain.Organization;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.neo4j.core.mapping.callback.BeforeBindCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores the match features of an organization whenever it is written,
+ * whichever service or repository saves it.
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchFeatureCallback implements BeforeBindCallback<Organization> {
+
+    private final MatchFeatureExtractor matchFeatureExtractor;
+
+    @Override
+    public Organization onBeforeBind(Organization organization) {
+        matchFeatureExtractor.apply(organization);
+        return organization;
+    }
+}
@@ -0,0 +1,97 @@
+package com.bank.product.party.matching;
+
+import com.bank.product.party.domain.Organization;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Derives the match features of an organization from its legal name.
+ *
+ * Features are stored on the Organization node by {@link MatchFeatureCallback}
+ * on every write; {@link #featuresOf(Organization)} returns the stored features
+ * and only computes them for parties that were never saved (incoming parties)
+ * or were written before the features existed.
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchFeatureExtractor {
+
+    /**
+     * Words that do not identify an organization on their own (articles and legal forms)
+     */
+    public static final Set<String> NAME_STOPWORDS = Set.of(
+            "the", "and", "of", "inc", "llc", "ltd", "corp", "corporation", "limited", "plc",
+            "co", "company", "group", "holdings", "sa", "ag", "gmbh", "nv", "bv");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern LEGAL_FORM_SUFFIX =
+            Pattern.compile(",\\s*(inc|llc|ltd|corp|corporation|limited|plc)\\.?$");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final PhoneticMatcher phoneticMatcher;
+
+    /**
+     * Compute the features of a legal name
+     */
+    public MatchFeatures extract(String legalName) {
+        if (legalName == null) {
+            return null;
+        }
+        return new MatchFeatures(
+                normalizeLegalName(legalName),
+                phoneticMatcher.encode(legalName),
+                nameTokens(legalName));
+    }
+
+    /**
+     * Features of an organization - the stored ones if present, computed otherwise
+     */
+    public MatchFeatures featuresOf(Organization organization) {
+        if (organization.getLegalName() == null) {
+            return null;
+        }
+        if (organization.getNormalizedLegalName() != null && organization.getPhoneticName() != null
+                && organization.getNameTokens() != null) {
+            return new MatchFeatures(organization.getNormalizedLegalName(), organization.getPhoneticName(),
+                    organization.getNameTokens());
+        }
+        return extract(organization.getLegalName());
+    }
+
+    /**
+     * Recompute and store the features of an organization from its current legal name
+     */
+    public void apply(Organization organization) {
+        MatchFeatures features = extract(organization.getLegalName());
+        organization.setNormalizedLegalName(features != null ? features.normalizedName() : null);
+        organization.setPhoneticName(features != null ? features.phoneticCode() : null);
+        organization.setNameTokens(features != null ? features.nameTokens() : null);
+    }
+
+    /**
+     * Normalize legal name for comparison
+     */
+    private String normalizeLegalName(String legalName) {
+        String normalized = WHITESPACE.matcher(legalName.toLowerCase()).replaceAll(" ");
+        return LEGAL_FORM_SUFFIX.matcher(normalized).replaceAll("").trim();
+    }
+
+    private List<String> nameTokens(String legalName) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(legalName.toLowerCase())) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        // Legal form suffixes do not identify the organization
+        while (!tokens.isEmpty() && NAME_STOPWORDS.contains(tokens.get(tokens.size() - 1))) {
+            tokens.remove(tokens.size() - 1);
+        }
+        return tokens;
+    }
+}
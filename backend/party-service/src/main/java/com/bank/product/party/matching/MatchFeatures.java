@@ -0,0 +1,17 @@
+package com.bank.product.party.matching;
+
+import java.util.List;
+
+/**
+ * Name features of an organization used for matching and candidate blocking.
+ *
+ * Derived from the legal name when the party is written (see
+ * {@link MatchFeatureExtractor}), so comparing against an existing party
+ * does no normalization or phonetic encoding.
+ *
+ * @param normalizedName lower-cased legal name with collapsed whitespace and legal form suffix removed
+ * @param phoneticCode   phonetic code of the legal name
+ * @param nameTokens     alphanumeric name tokens without trailing legal form words
+ */
+public record MatchFeatures(String normalizedName, String phoneticCode, List<String> nameTokens) {
+}
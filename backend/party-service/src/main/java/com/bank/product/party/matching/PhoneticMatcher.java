@@ -20,22 +20,35 @@ public class PhoneticMatcher {
             return 0.0;
         }
 
-        String phonetic1 = metaphone3(normalize(s1));
-        String phonetic2 = metaphone3(normalize(s2));
+        return phoneticCodeSimilarity(encode(s1), encode(s2));
+    }
 
-        if (phonetic1.equals(phonetic2)) {
-            return 1.0;
-        }
+    /**
+     * Similarity of two precomputed phonetic codes (see {@link #encode(String)})
+     * @return score 0.0-1.0 (1.0 = phonetically identical)
+     */
+    public double phoneticCodeSimilarity(String phonetic1, String phonetic2) {
+        return phoneticCodeSimilarity(phonetic1, phonetic2, 0.0);
+    }
 
-        // Calculate Levenshtein distance on phonetic codes
-        int distance = levenshteinDistance(phonetic1, phonetic2);
-        int maxLen = Math.max(phonetic1.length(), phonetic2.length());
+    /**
+     * Similarity of two precomputed phonetic codes, exact if it is at least minScore
+     * @return score 0.0-1.0, or 0.0 if it is below minScore
+     */
+    public double phoneticCodeSimilarity(String phonetic1, String phonetic2, double minScore) {
+        // Levenshtein similarity on phonetic codes
+        return StringSimilarity.levenshteinSimilarity(phonetic1, phonetic2, minScore);
+    }
 
-        if (maxLen == 0) {
-            return 1.0;
+    /**
+     * Phonetic code of a string - equal codes mean phonetically identical
+     * (used as a blocking key for candidate lookup)
+     */
+    public String encode(String s) {
+        if (s == null) {
+            return "";
         }
-
-        return 1.0 - ((double) distance / maxLen);
+        return metaphone3(normalize(s));
     }
 
     /**
@@ -203,109 +216,17 @@ public class PhoneticMatcher {
     }
 
     /**
-     * Calculate Levenshtein distance between two strings
+     * Calculate Jaro-Winkler similarity (better for names with common prefixes)
      */
-    private int levenshteinDistance(String s1, String s2) {
-        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
-
-        for (int i = 0; i <= s1.length(); i++) {
-            dp[i][0] = i;
-        }
-        for (int j = 0; j <= s2.length(); j++) {
-            dp[0][j] = j;
-        }
-
-        for (int i = 1; i <= s1.length(); i++) {
-            for (int j = 1; j <= s2.length(); j++) {
-                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
-                dp[i][j] = Math.min(
-                        Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1),
-                        dp[i - 1][j - 1] + cost
-                );
-            }
-        }
-
-        return dp[s1.length()][s2.length()];
+    public double jaroWinklerSimilarity(String s1, String s2) {
+        return StringSimilarity.jaroWinklerSimilarity(s1, s2);
     }
 
     /**
-     * Calculate Jaro-Winkler similarity (better for names with common prefixes)
+     * Jaro-Winkler similarity, exact if it is at least minScore
+     * @return score 0.0-1.0, or 0.0 if it is below minScore
      */
-    public double jaroWinklerSimilarity(String s1, String s2) {
-        if (s1 == null || s2 == null) {
-            return 0.0;
-        }
-
-        if (s1.equals(s2)) {
-            return 1.0;
-        }
-
-        int len1 = s1.length();
-        int len2 = s2.length();
-
-        if (len1 == 0 || len2 == 0) {
-            return 0.0;
-        }
-
-        // Calculate Jaro similarity
-        int matchDistance = Math.max(len1, len2) / 2 - 1;
-        boolean[] s1Matches = new boolean[len1];
-        boolean[] s2Matches = new boolean[len2];
-
-        int matches = 0;
-        int transpositions = 0;
-
-        // Find matches
-        for (int i = 0; i < len1; i++) {
-            int start = Math.max(0, i - matchDistance);
-            int end = Math.min(i + matchDistance + 1, len2);
-
-            for (int j = start; j < end; j++) {
-                if (s2Matches[j] || s1.charAt(i) != s2.charAt(j)) {
-                    continue;
-                }
-                s1Matches[i] = true;
-                s2Matches[j] = true;
-                matches++;
-                break;
-            }
-        }
-
-        if (matches == 0) {
-            return 0.0;
-        }
-
-        // Count transpositions
-        int k = 0;
-        for (int i = 0; i < len1; i++) {
-            if (!s1Matches[i]) {
-                continue;
-            }
-            while (!s2Matches[k]) {
-                k++;
-            }
-            if (s1.charAt(i) != s2.charAt(k)) {
-                transpositions++;
-            }
-            k++;
-        }
-
-        double jaro = (matches / (double) len1 +
-                       matches / (double) len2 +
-                       (matches - transpositions / 2.0) / matches) / 3.0;
-
-        // Calculate common prefix length (up to 4 chars)
-        int prefixLength = 0;
-        for (int i = 0; i < Math.min(4, Math.min(len1, len2)); i++) {
-            if (s1.charAt(i) == s2.charAt(i)) {
-                prefixLength++;
-            } else {
-                break;
-            }
-        }
-
-        // Jaro-Winkler = Jaro + (prefix length × prefix scaling × (1 - Jaro))
-        double prefixScaling = 0.1;
-        return jaro + (prefixLength * prefixScaling * (1.0 - jaro));
+    public double jaroWinklerSimilarity(String s1, String s2, double minScore) {
+        return StringSimilarity.jaroWinklerSimilarity(s1, s2, minScore);
     }
 }
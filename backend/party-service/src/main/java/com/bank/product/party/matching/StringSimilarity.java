@@ -0,0 +1,374 @@
+package com.bank.product.party.matching;
+
+import java.util.Arrays;
+
+/**
+ * String similarity kernels used by name matching
+ *
+ * Kernels work on per-thread scratch buffers that grow to the longest input
+ * seen, so a comparison does not allocate. The threshold-aware variants take
+ * the lowest score the caller still cares about and stop as soon as the
+ * score cannot reach it:
+ * - Levenshtein only evaluates the diagonal band of cells that can stay
+ *   within the allowed distance (Ukkonen) and exits once a whole row of the
+ *   band exceeds it
+ * - Jaro-Winkler is skipped when even a perfect match of the shorter string
+ *   cannot reach the threshold
+ *
+ * Trigram similarity sorts the packed trigrams of both strings in scratch
+ * buffers and counts the common ones in a single merge.
+ *
+ * A score at or above the threshold is always exact; any other result is
+ * only guaranteed to be below the threshold.
+ */
+public final class StringSimilarity {
+
+    private static final double JARO_WINKLER_PREFIX_SCALING = 0.1;
+    private static final int JARO_WINKLER_MAX_PREFIX = 4;
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    private StringSimilarity() {
+    }
+
+    /**
+     * Levenshtein similarity: 1 - distance / length of the longer string
+     */
+    public static double levenshteinSimilarity(String s1, String s2) {
+        return levenshteinSimilarity(s1, s2, 0.0);
+    }
+
+    /**
+     * Levenshtein similarity, exact if it is at least minScore
+     *
+     * @return the similarity, or 0.0 if it is below minScore
+     */
+    public static double levenshteinSimilarity(String s1, String s2, double minScore) {
+        if (s1 == null || s2 == null) {
+            return 0.0;
+        }
+        if (s1.equals(s2)) {
+            return 1.0;
+        }
+
+        int maxLen = Math.max(s1.length(), s2.length());
+        int maxDistance = maxDistance(maxLen, minScore);
+        if (maxDistance < 0) {
+            return 0.0;
+        }
+
+        int distance = levenshteinDistance(s1, s2, maxDistance);
+        if (distance > maxDistance) {
+            return 0.0;
+        }
+        double score = 1.0 - ((double) distance / maxLen);
+        return score >= minScore ? score : 0.0;
+    }
+
+    /**
+     * Levenshtein distance between two strings
+     */
+    public static int levenshteinDistance(String s1, String s2) {
+        return levenshteinDistance(s1, s2, Math.max(s1.length(), s2.length()));
+    }
+
+    /**
+     * Levenshtein distance, computed only as far as maxDistance
+     *
+     * @return the distance if it is at most maxDistance, maxDistance + 1 otherwise
+     */
+    public static int levenshteinDistance(String s1, String s2, int maxDistance) {
+        int len1 = s1.length();
+        int len2 = s2.length();
+        int limit = maxDistance + 1;
+
+        if (Math.abs(len1 - len2) > maxDistance) {
+            return limit;
+        }
+
+        Workspace workspace = WORKSPACE.get();
+        int[] previous = workspace.previousRow(len2 + 1);
+        int[] current = workspace.currentRow(len2 + 1);
+
+        for (int j = 0; j <= len2; j++) {
+            previous[j] = Math.min(j, limit);
+        }
+
+        for (int i = 1; i <= len1; i++) {
+            // Cells further than maxDistance from the diagonal always exceed it
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(len2, i + maxDistance);
+
+            current[0] = Math.min(i, limit);
+            if (from > 1) {
+                current[from - 1] = limit;
+            }
+            int rowMin = from == 1 ? current[0] : limit;
+
+            char c1 = s1.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = c1 == s2.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(
+                        Math.min(previous[j] + 1, current[j - 1] + 1),
+                        previous[j - 1] + cost);
+                value = Math.min(value, limit);
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (to < len2) {
+                current[to + 1] = limit;
+            }
+
+            if (rowMin >= limit) {
+                return limit; // Distances never decrease along a path
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[len2];
+    }
+
+    /**
+     * Jaro-Winkler similarity (better for names with common prefixes)
+     */
+    public static double jaroWinklerSimilarity(String s1, String s2) {
+        return jaroWinklerSimilarity(s1, s2, 0.0);
+    }
+
+    /**
+     * Jaro-Winkler similarity, exact if it is at least minScore
+     *
+     * @return the similarity, or 0.0 if it is below minScore
+     */
+    public static double jaroWinklerSimilarity(String s1, String s2, double minScore) {
+        if (s1 == null || s2 == null) {
+            return 0.0;
+        }
+
+        if (s1.equals(s2)) {
+            return 1.0;
+        }
+
+        int len1 = s1.length();
+        int len2 = s2.length();
+
+        if (len1 == 0 || len2 == 0) {
+            return 0.0;
+        }
+
+        int prefixLength = commonPrefixLength(s1, s2);
+
+        // Upper bound: every character of the shorter string matches, no transpositions
+        if (minScore > 0.0) {
+            int maxMatches = Math.min(len1, len2);
+            double maxJaro = (maxMatches / (double) len1 + maxMatches / (double) len2 + 1.0) / 3.0;
+            if (maxJaro + (prefixLength * JARO_WINKLER_PREFIX_SCALING * (1.0 - maxJaro)) < minScore) {
+                return 0.0;
+            }
+        }
+
+        // Calculate Jaro similarity
+        int matchDistance = Math.max(len1, len2) / 2 - 1;
+        Workspace workspace = WORKSPACE.get();
+        boolean[] s1Matches = workspace.firstMatches(len1);
+        boolean[] s2Matches = workspace.secondMatches(len2);
+
+        int matches = 0;
+        int transpositions = 0;
+
+        // Find matches
+        for (int i = 0; i < len1; i++) {
+            int start = Math.max(0, i - matchDistance);
+            int end = Math.min(i + matchDistance + 1, len2);
+
+            char c1 = s1.charAt(i);
+            for (int j = start; j < end; j++) {
+                if (s2Matches[j] || c1 != s2.charAt(j)) {
+                    continue;
+                }
+                s1Matches[i] = true;
+                s2Matches[j] = true;
+                matches++;
+                break;
+            }
+        }
+
+        if (matches == 0) {
+            return 0.0;
+        }
+
+        // Count transpositions
+        int k = 0;
+        for (int i = 0; i < len1; i++) {
+            if (!s1Matches[i]) {
+                continue;
+            }
+            while (!s2Matches[k]) {
+                k++;
+            }
+            if (s1.charAt(i) != s2.charAt(k)) {
+                transpositions++;
+            }
+            k++;
+        }
+
+        double jaro = (matches / (double) len1 +
+                       matches / (double) len2 +
+                       (matches - transpositions / 2.0) / matches) / 3.0;
+
+        // Jaro-Winkler = Jaro + (prefix length × prefix scaling × (1 - Jaro))
+        double score = jaro + (prefixLength * JARO_WINKLER_PREFIX_SCALING * (1.0 - jaro));
+        return score >= minScore ? score : 0.0;
+    }
+
+    /**
+     * Trigram similarity: Dice coefficient of the character trigram multisets
+     * (strings shorter than three characters are a single gram)
+     */
+    public static double trigramSimilarity(String s1, String s2) {
+        if (s1 == null || s2 == null) {
+            return 0.0;
+        }
+        if (s1.equals(s2)) {
+            return 1.0;
+        }
+        if (s1.isEmpty() || s2.isEmpty()) {
+            return 0.0;
+        }
+
+        Workspace workspace = WORKSPACE.get();
+        long[] grams1 = workspace.firstGrams(gramCount(s1));
+        long[] grams2 = workspace.secondGrams(gramCount(s2));
+        int count1 = trigrams(s1, grams1);
+        int count2 = trigrams(s2, grams2);
+        Arrays.sort(grams1, 0, count1);
+        Arrays.sort(grams2, 0, count2);
+
+        // Count common grams by merging the sorted lists
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < count1 && j < count2) {
+            if (grams1[i] == grams2[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (grams1[i] < grams2[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+
+        return 2.0 * shared / (count1 + count2);
+    }
+
+    private static int gramCount(String s) {
+        return Math.max(1, s.length() - 2);
+    }
+
+    /**
+     * Pack the trigrams of a string into longs (three 16-bit chars each)
+     */
+    private static int trigrams(String s, long[] grams) {
+        if (s.length() < 3) {
+            long gram = 0;
+            for (int i = 0; i < s.length(); i++) {
+                gram = (gram << 16) | s.charAt(i);
+            }
+            grams[0] = gram | ((long) s.length() << 48); // Keep "a" apart from "\0a"
+            return 1;
+        }
+        int count = s.length() - 2;
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+        }
+        return count;
+    }
+
+    /**
+     * Common prefix length (up to 4 chars)
+     */
+    private static int commonPrefixLength(String s1, String s2) {
+        int max = Math.min(JARO_WINKLER_MAX_PREFIX, Math.min(s1.length(), s2.length()));
+        int prefixLength = 0;
+        while (prefixLength < max && s1.charAt(prefixLength) == s2.charAt(prefixLength)) {
+            prefixLength++;
+        }
+        return prefixLength;
+    }
+
+    /**
+     * Largest edit distance whose similarity can still reach minScore,
+     * or -1 if none can. Rounded up: the band may be one wider than
+     * needed, never narrower.
+     */
+    private static int maxDistance(int maxLen, double minScore) {
+        if (minScore <= 0.0) {
+            return maxLen;
+        }
+        if (minScore > 1.0) {
+            return -1;
+        }
+        return Math.min(maxLen, (int) Math.ceil((1.0 - minScore) * maxLen));
+    }
+
+    /**
+     * Per-thread scratch buffers, grown on demand and never shrunk
+     */
+    private static final class Workspace {
+        private int[] previousRow = new int[64];
+        private int[] currentRow = new int[64];
+        private boolean[] firstMatches = new boolean[64];
+        private boolean[] secondMatches = new boolean[64];
+        private long[] firstGrams = new long[64];
+        private long[] secondGrams = new long[64];
+
+        int[] previousRow(int size) {
+            if (previousRow.length < size) {
+                previousRow = new int[Math.max(size, previousRow.length * 2)];
+            }
+            return previousRow;
+        }
+
+        int[] currentRow(int size) {
+            if (currentRow.length < size) {
+                currentRow = new int[Math.max(size, currentRow.length * 2)];
+            }
+            return currentRow;
+        }
+
+        boolean[] firstMatches(int size) {
+            if (firstMatches.length < size) {
+                firstMatches = new boolean[Math.max(size, firstMatches.length * 2)];
+            }
+            Arrays.fill(firstMatches, 0, size, false);
+            return firstMatches;
+        }
+
+        boolean[] secondMatches(int size) {
+            if (secondMatches.length < size) {
+                secondMatches = new boolean[Math.max(size, secondMatches.length * 2)];
+            }
+            Arrays.fill(secondMatches, 0, size, false);
+            return secondMatches;
+        }
+
+        long[] firstGrams(int size) {
+            if (firstGrams.length < size) {
+                firstGrams = new long[Math.max(size, firstGrams.length * 2)];
+            }
+            return firstGrams;
+        }
+
+        long[] secondGrams(int size) {
+            if (secondGrams.length < size) {
+                secondGrams = new long[Math.max(size, secondGrams.length * 2)];
+            }
+            return secondGrams;
+        }
+    }
+}
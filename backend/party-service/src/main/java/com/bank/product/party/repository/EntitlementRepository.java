@@ -7,6 +7,7 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -26,6 +27,15 @@ public interface EntitlementRepository extends MongoRepository<Entitlement, Stri
      */
     List<Entitlement> findByTenantIdAndPartyIdAndActiveTrue(String tenantId, String partyId);
 
+    /**
+     * Find all active entitlements for several parties in a tenant
+     *
+     * @param tenantId Tenant ID
+     * @param partyIds Party IDs
+     * @return List of active entitlements of those parties
+     */
+    List<Entitlement> findByTenantIdAndPartyIdInAndActiveTrue(String tenantId, Collection<String> partyIds);
+
     /**
      * Find all entitlements for a party in a tenant (including inactive)
      *
@@ -35,29 +35,4 @@ public interface LegalEntityRepository extends Neo4jRepository<LegalEntity, Stri
      */
     @Query("MATCH (le:LegalEntity)-[:BELONGS_TO]->(org:Organization {federatedId: $orgId}) RETURN le")
     List<LegalEntity> findByParentOrganization(@Param("orgId") String orgId);
-
-    /**
-     * Find ultimate beneficial owners (>25% threshold)
-     */
-    @Query("""
-            MATCH path = (owner:Individual)-[:BENEFICIAL_OWNER_OF*]->(entity:LegalEntity {federatedId: $entityId})
-            WHERE ALL(r IN relationships(path) WHERE r.ownershipPercentage >= 25.0)
-            WITH owner,
-                 reduce(ownership = 1.0, r IN relationships(path) | ownership * r.ownershipPercentage) AS effectiveOwnership
-            WHERE effectiveOwnership >= 25.0
-            RETURN owner, effectiveOwnership
-            ORDER BY effectiveOwnership DESC
-            """)
-    List<Object[]> findUltimateBeneficialOwners(@Param("entityId") String entityId);
-
-    /**
-     * Find ownership chain
-     */
-    @Query("""
-            MATCH path = (le:LegalEntity {federatedId: $entityId})<-[:OWNS*]-(owner)
-            RETURN path,
-                   [r IN relationships(path) | r.ownershipPercentage] AS percentages
-            ORDER BY length(path)
-            """)
-    List<Object[]> findOwnershipChain(@Param("entityId") String entityId);
 }
@@ -33,32 +33,77 @@ public interface OrganizationRepository extends Neo4jRepository<Organization, St
 
     /**
      * Find organization hierarchy (all subsidiaries)
+     *
+     * Members come from the materialized hierarchy path, or from walking
+     * PARENT_OF down from an organization not materialized yet; each member's
+     * direct PARENT_OF relationships are returned to map the tree. A leaf
+     * organization is returned without subsidiaries.
      */
     @Query("""
-            MATCH path = (parent:Organization {federatedId: $parentId})-[:PARENT_OF*]->(subsidiary)
-            RETURN parent, collect(relationships(path)), collect(subsidiary)
+            MATCH (parent:Organization {federatedId: $parentId})
+            CALL {
+                WITH parent
+                MATCH (member:Organization)
+                WHERE member.hierarchyPath STARTS WITH parent.hierarchyPath
+                RETURN member
+                UNION
+                WITH parent
+                MATCH (parent)-[:PARENT_OF*0..20]->(member:Organization)
+                WHERE parent.hierarchyPath IS NULL
+                RETURN member
+            }
+            OPTIONAL MATCH (member)-[r:PARENT_OF]->(subsidiary)
+            RETURN parent, collect(r), collect(subsidiary)
             """)
     Organization findHierarchy(@Param("parentId") String parentId);
 
     /**
-     * Find ultimate parent organization
+     * Find ultimate parent organization, empty for a top-level organization
+     *
+     * Walks SUBSIDIARY_OF up for an organization not materialized yet.
      */
     @Query("""
-            MATCH path = (child:Organization {federatedId: $childId})-[:SUBSIDIARY_OF*]->(parent:Organization)
-            WHERE NOT (parent)-[:SUBSIDIARY_OF]->()
+            MATCH (child:Organization {federatedId: $childId})
+            CALL {
+                WITH child
+                MATCH (parent:Organization {federatedId: child.ultimateParentId})
+                RETURN parent
+                UNION
+                WITH child
+                MATCH (child)-[:SUBSIDIARY_OF*1..20]->(parent:Organization)
+                WHERE child.ultimateParentId IS NULL
+                  AND NOT (parent)-[:SUBSIDIARY_OF]->(:Organization)
+                RETURN parent
+            }
+            WITH child, parent
+            WHERE parent <> child
             RETURN parent
-            ORDER BY length(path) DESC
             LIMIT 1
             """)
     Optional<Organization> findUltimateParent(@Param("childId") String childId);
 
     /**
-     * Find all subsidiaries at any depth
+     * Find all subsidiary organizations at any depth, nearest first
+     *
+     * Walks PARENT_OF down from an organization not materialized yet.
      */
     @Query("""
-            MATCH (parent:Organization {federatedId: $parentId})-[:PARENT_OF*]->(subsidiary)
-            RETURN subsidiary,
-                   size((parent)-[:PARENT_OF*]->(subsidiary)) AS depth
+            MATCH (parent:Organization {federatedId: $parentId})
+            CALL {
+                WITH parent
+                MATCH (subsidiary:Organization)
+                WHERE subsidiary.hierarchyPath STARTS WITH parent.hierarchyPath
+                  AND subsidiary <> parent
+                RETURN subsidiary, subsidiary.hierarchyDepth - parent.hierarchyDepth AS depth
+                UNION
+                WITH parent
+                MATCH path = (parent)-[:PARENT_OF*1..20]->(subsidiary:Organization)
+                WHERE parent.hierarchyPath IS NULL
+                  AND subsidiary <> parent
+                RETURN subsidiary, length(path) AS depth
+            }
+            WITH subsidiary, min(depth) AS depth
+            RETURN subsidiary
             ORDER BY depth
             """)
     List<Organization> findAllSubsidiaries(@Param("parentId") String parentId);
@@ -91,7 +136,20 @@ public interface OrganizationRepository extends Neo4jRepository<Organization, St
      * Get consolidated risk rating across hierarchy
      */
     @Query("""
-            MATCH (parent:Organization {federatedId: $parentId})-[:PARENT_OF*]->(subsidiary)
+            MATCH (parent:Organization {federatedId: $parentId})
+            CALL {
+                WITH parent
+                MATCH (subsidiary:Organization)
+                WHERE subsidiary.hierarchyPath STARTS WITH parent.hierarchyPath
+                  AND subsidiary <> parent
+                RETURN subsidiary
+                UNION
+                WITH parent
+                MATCH (parent)-[:PARENT_OF*1..20]->(subsidiary:Organization)
+                WHERE parent.hierarchyPath IS NULL
+                  AND subsidiary <> parent
+                RETURN subsidiary
+            }
             WITH parent,
                  collect(subsidiary.riskRating) AS riskRatings,
                  count(subsidiary) AS totalSubsidiaries
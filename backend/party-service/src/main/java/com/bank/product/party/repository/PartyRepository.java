@@ -7,6 +7,7 @@ import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,6 +34,13 @@ public interface PartyRepository extends Neo4jRepository<Party, String> {
     @Query("MATCH (o:Organization) WHERE toLower(o.legalName) = toLower($legalName) RETURN o")
     List<Party> findByLegalNameIgnoreCase(@Param("legalName") String legalName);
 
+    /**
+     * Find organizations by any of the legal names (case-insensitive)
+     * Used for batch entity reference resolution
+     */
+    @Query("MATCH (o:Organization) WHERE toLower(o.legalName) IN [name IN $legalNames | toLower(name)] RETURN o")
+    List<Party> findByLegalNameIgnoreCaseIn(@Param("legalNames") Collection<String> legalNames);
+
     /**
      * Find parties sourced from a specific source system
      */
@@ -1,202 +1,517 @@
 package com.bank.product.party.resolution;
 
+import com.bank.product.party.domain.Organization;
 import com.bank.product.party.domain.Party;
-import com.bank.product.party.domain.PartyStatus;
-import com.bank.product.party.repository.PartyRepository;
-import lombok.RequiredArgsConstructor;
+import com.bank.product.party.domain.PartyType;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.neo4j.core.Neo4jClient;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Batch entity resolution service for processing large volumes of parties.
+ * Batch entity resolution service for deduplicating the whole party set.
  *
- * Implements chunk-based parallel processing for optimal performance:
- * - Chunks of 1000 parties
- * - 10 parallel threads
- * - Progress tracking in MongoDB
- * - Target: 10K parties in <10 minutes
+ * A run works in four steps:
+ * 1. Load all active organizations once, as a paged projection of the
+ *    properties used for matching, including their stored match features
+ * 2. Group them by blocking key (see CandidateIndex) - only parties sharing
+ *    a block are compared
+ * 3. Score the pairs of each chunk of parties in parallel on a dedicated
+ *    ForkJoin pool; every pair is scored once, by its lower federated ID
+ * 4. Write the chunk's merges and DUPLICATES relationships with batched
+ *    UNWIND statements, then checkpoint the run
  *
- * Based on ENTITY_RESOLUTION_DESIGN.md Phase 4A implementation.
+ * The checkpoint (a ResolutionRun node) records the last processed party,
+ * so a failed or interrupted run resumes after it. Merged parties are no
+ * longer active and drop out of the reloaded party set. A resume claims the
+ * run by moving it to RUNNING in one conditional statement, so a run is
+ * never executed twice at the same time.
+ *
+ * Runs execute one at a time on a background thread.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class BatchResolutionService {
 
-    private final PartyRepository partyRepository;
-    private final EntityResolutionService entityResolutionService;
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
 
     // Configuration
     private static final int CHUNK_SIZE = 1000;
     private static final int MAX_PARALLEL_THREADS = 10;
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final Duration STALE_RUN_AFTER = Duration.ofHours(1);
+
+    private final Neo4jClient neo4jClient;
+    private final EntityMatcher entityMatcher;
+    private final CandidateIndex candidateIndex;
+
+    private final ExecutorService runExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "batch-resolution");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ForkJoinPool scoringPool = new ForkJoinPool(MAX_PARALLEL_THREADS);
+
+    public BatchResolutionService(Neo4jClient neo4jClient, EntityMatcher entityMatcher,
+                                  CandidateIndex candidateIndex) {
+        this.neo4jClient = neo4jClient;
+        this.entityMatcher = entityMatcher;
+        this.candidateIndex = candidateIndex;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runExecutor.shutdownNow();
+        scoringPool.shutdownNow();
+    }
 
     /**
-     * Process all unresolved parties in batch mode
+     * Start a batch resolution run of all active parties
      *
-     * @return BatchResolutionResult with statistics
+     * @return Run ID, used to poll or resume the run
      */
-    @Async
-    @Transactional
-    public CompletableFuture<BatchResolutionResult> resolveAllParties() {
-        log.info("Starting batch resolution of all parties");
-        Instant startTime = Instant.now();
+    public String startRun() {
+        String runId = UUID.randomUUID().toString();
+        BatchResolutionResult run = BatchResolutionResult.builder()
+                .runId(runId)
+                .status(STATUS_RUNNING)
+                .build();
+        checkpoint(run, null);
+
+        runExecutor.submit(() -> execute(run, null));
+        return runId;
+    }
+
+    /**
+     * Resume a failed or interrupted run after its last checkpoint
+     *
+     * A RUNNING run is only resumed once it has not checkpointed for
+     * STALE_RUN_AFTER - the instance executing it is then presumed gone.
+     */
+    public void resumeRun(String runId) {
+        Map<String, Object> state = loadRunState(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Batch resolution run not found: " + runId));
+        if (STATUS_COMPLETED.equals(state.get("status"))) {
+            throw new IllegalStateException("Batch resolution run already completed: " + runId);
+        }
 
-        // Find all parties that need resolution
-        List<Party> unresolvedParties = partyRepository.findByStatus(PartyStatus.ACTIVE);
-        log.info("Found {} parties to process", unresolvedParties.size());
+        Map<String, Object> claimed = claimRun(runId)
+                .orElseThrow(() -> new IllegalStateException("Batch resolution run is already running: " + runId));
+        BatchResolutionResult run = toResult(claimed);
+        runExecutor.submit(() -> execute(run, (String) claimed.get("lastPartyId")));
+    }
 
-        // Split into chunks
-        List<List<Party>> chunks = chunkList(unresolvedParties, CHUNK_SIZE);
-        log.info("Split into {} chunks of size {}", chunks.size(), CHUNK_SIZE);
+    /**
+     * Progress of a run, as of its last checkpoint
+     */
+    public Optional<BatchResolutionResult> getRun(String runId) {
+        return loadRunState(runId).map(this::toResult);
+    }
 
-        // Statistics tracking
-        AtomicInteger totalProcessed = new AtomicInteger(0);
-        AtomicInteger autoMerged = new AtomicInteger(0);
-        AtomicInteger needsReview = new AtomicInteger(0);
-        AtomicInteger noMatchFound = new AtomicInteger(0);
-        AtomicInteger errors = new AtomicInteger(0);
+    /**
+     * Execute a run - on the run executor only
+     *
+     * @param resumeAfter Last party processed by a previous attempt, or null
+     */
+    private void execute(BatchResolutionResult run, String resumeAfter) {
+        log.info("Starting batch resolution run {}{}", run.getRunId(),
+                resumeAfter != null ? " after party " + resumeAfter : "");
+        Instant startTime = Instant.now();
+        String lastPartyId = resumeAfter;
 
-        // Process chunks in parallel
-        List<CompletableFuture<ChunkResult>> futures = new ArrayList<>();
+        try {
+            // 1. Load the party set once
+            List<Candidate> candidates = loadCandidates();
+            if (resumeAfter == null) {
+                run.setTotalParties(candidates.size());
+            }
+            log.info("Loaded {} parties to process", candidates.size());
+
+            // 2. Build blocking groups
+            Map<String, List<Candidate>> groups = buildGroups(candidates);
+            log.info("Built {} blocking groups", groups.size());
+
+            // 3. + 4. Score and write chunk by chunk, in federated ID order
+            Set<String> mergedParties = new HashSet<>();
+            List<Candidate> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (Candidate candidate : candidates) {
+                if (resumeAfter != null && candidate.id().compareTo(resumeAfter) <= 0) {
+                    continue;
+                }
+                chunk.add(candidate);
+                if (chunk.size() == CHUNK_SIZE) {
+                    lastPartyId = processChunk(run, chunk, groups, mergedParties);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                lastPartyId = processChunk(run, chunk, groups, mergedParties);
+            }
 
-        for (int i = 0; i < chunks.size(); i++) {
-            final int chunkIndex = i;
-            final List<Party> chunk = chunks.get(i);
+            run.setStatus(STATUS_COMPLETED);
+        } catch (Exception e) {
+            log.error("Batch resolution run {} failed after party {}: {}",
+                    run.getRunId(), lastPartyId, e.getMessage(), e);
+            run.setStatus(STATUS_FAILED);
+        }
 
-            CompletableFuture<ChunkResult> future = CompletableFuture.supplyAsync(() ->
-                processChunk(chunkIndex, chunk)
-            );
+        Duration duration = Duration.between(startTime, Instant.now());
+        run.setDurationSeconds(run.getDurationSeconds() + duration.getSeconds());
+        run.setPartiesPerSecond(run.getProcessed() / Math.max(1.0, run.getDurationSeconds()));
+        checkpoint(run, lastPartyId);
 
-            futures.add(future);
+        log.info("Batch resolution completed: {}", run);
+    }
 
-            // Limit parallelism to MAX_PARALLEL_THREADS
-            if (futures.size() >= MAX_PARALLEL_THREADS) {
-                // Wait for one to complete before submitting more
-                CompletableFuture.anyOf(futures.toArray(new CompletableFuture[0])).join();
-                futures.removeIf(CompletableFuture::isDone);
+    /**
+     * Score, decide and write one chunk of parties
+     *
+     * @return Federated ID of the last party in the chunk (the new checkpoint)
+     */
+    private String processChunk(BatchResolutionResult run, List<Candidate> chunk,
+                                Map<String, List<Candidate>> groups, Set<String> mergedParties)
+            throws InterruptedException, ExecutionException {
+        Instant startTime = Instant.now();
+        AtomicInteger errors = new AtomicInteger();
+
+        // Score pairs in parallel
+        List<List<ScoredPair>> scored = scoringPool.submit(() -> chunk.parallelStream()
+                .map(candidate -> {
+                    try {
+                        return scorePairs(candidate, groups);
+                    } catch (Exception e) {
+                        log.error("Error scoring party {}: {}", candidate.id(), e.getMessage(), e);
+                        errors.incrementAndGet();
+                        return List.<ScoredPair>of();
+                    }
+                })
+                .toList()).get();
+
+        // Decide: strongest pairs first, a party is merged at most once
+        List<ScoredPair> pairs = new ArrayList<>();
+        int noMatchFound = 0;
+        for (List<ScoredPair> partyPairs : scored) {
+            if (partyPairs.isEmpty()) {
+                noMatchFound++;
             }
+            pairs.addAll(partyPairs);
         }
+        pairs.sort(Comparator.comparingDouble(ScoredPair::score).reversed());
 
-        // Wait for all chunks to complete
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-
-        // Aggregate results
-        for (CompletableFuture<ChunkResult> future : futures) {
-            try {
-                ChunkResult result = future.get();
-                totalProcessed.addAndGet(result.processed);
-                autoMerged.addAndGet(result.autoMerged);
-                needsReview.addAndGet(result.needsReview);
-                noMatchFound.addAndGet(result.noMatchFound);
-                errors.addAndGet(result.errors);
-            } catch (Exception e) {
-                log.error("Failed to get chunk result", e);
-                errors.incrementAndGet();
+        List<Map<String, Object>> merges = new ArrayList<>();
+        List<Map<String, Object>> duplicates = new ArrayList<>();
+        for (ScoredPair pair : pairs) {
+            if (mergedParties.contains(pair.party().id()) || mergedParties.contains(pair.candidate().id())) {
+                continue;
+            }
+            if (pair.action() == MatchAction.AUTO_MERGE) {
+                Candidate target = survivor(pair.party(), pair.candidate());
+                Candidate source = target == pair.party() ? pair.candidate() : pair.party();
+                mergedParties.add(source.id());
+                merges.add(Map.of("sourceId", source.id(), "targetId", target.id(), "score", pair.score()));
+            } else {
+                duplicates.add(Map.of("partyId", pair.party().id(), "candidateId", pair.candidate().id(),
+                        "score", pair.score(), "matchingFields", pair.matchingFields()));
             }
         }
 
-        Instant endTime = Instant.now();
-        Duration duration = Duration.between(startTime, endTime);
+        // Write in batches
+        writeMerges(merges);
+        writeDuplicates(duplicates);
+        for (Map<String, Object> merge : merges) {
+            candidateIndex.remove((String) merge.get("sourceId"));
+        }
 
-        BatchResolutionResult result = BatchResolutionResult.builder()
-            .totalParties(unresolvedParties.size())
-            .processed(totalProcessed.get())
-            .autoMerged(autoMerged.get())
-            .needsReview(needsReview.get())
-            .noMatchFound(noMatchFound.get())
-            .errors(errors.get())
-            .durationSeconds(duration.getSeconds())
-            .partiesPerSecond(totalProcessed.get() / Math.max(1.0, duration.getSeconds()))
-            .build();
+        String lastPartyId = chunk.get(chunk.size() - 1).id();
+        run.setProcessed(run.getProcessed() + chunk.size());
+        run.setAutoMerged(run.getAutoMerged() + merges.size());
+        run.setNeedsReview(run.getNeedsReview() + duplicates.size());
+        run.setNoMatchFound(run.getNoMatchFound() + noMatchFound);
+        run.setErrors(run.getErrors() + errors.get());
+        checkpoint(run, lastPartyId);
 
-        log.info("Batch resolution completed: {}", result);
-        return CompletableFuture.completedFuture(result);
+        log.info("Chunk up to party {} completed: {} processed, {} auto-merged, {} needs review, {} no match, {} errors in {}ms",
+                lastPartyId, chunk.size(), merges.size(), duplicates.size(), noMatchFound, errors.get(),
+                Duration.between(startTime, Instant.now()).toMillis());
+
+        return lastPartyId;
     }
 
     /**
-     * Process a single chunk of parties
+     * Score a party against the parties sharing a block with it
+     *
+     * Only parties with a higher federated ID are scored, so each pair is scored once.
      */
-    private ChunkResult processChunk(int chunkIndex, List<Party> chunk) {
-        log.info("Processing chunk {} with {} parties", chunkIndex, chunk.size());
-        Instant startTime = Instant.now();
-
-        ChunkResult result = new ChunkResult();
-        result.chunkIndex = chunkIndex;
-        result.chunkSize = chunk.size();
-
-        for (Party party : chunk) {
-            try {
-                // Get existing parties to compare against (excluding current chunk)
-                List<Party> existingParties = partyRepository.findByStatus(PartyStatus.ACTIVE);
-                existingParties.removeIf(p -> p.getFederatedId().equals(party.getFederatedId()));
-
-                // Resolve party
-                ResolutionResult resolutionResult = entityResolutionService.resolve(party);
-
-                result.processed++;
-
-                switch (resolutionResult.getAction()) {
-                    case MERGED:
-                        result.autoMerged++;
-                        break;
-                    case NEEDS_REVIEW:
-                        result.needsReview++;
-                        break;
-                    case CREATED:
-                        result.noMatchFound++;
-                        break;
+    private List<ScoredPair> scorePairs(Candidate candidate, Map<String, List<Candidate>> groups) {
+        List<Party> blocked = new ArrayList<>();
+        Map<String, Candidate> blockedById = new HashMap<>();
+        for (String key : candidate.keys()) {
+            List<Candidate> group = groups.get(key);
+            if (group == null) {
+                continue;
+            }
+            for (Candidate other : group) {
+                if (other.id().compareTo(candidate.id()) > 0 && blockedById.putIfAbsent(other.id(), other) == null) {
+                    blocked.add(other.organization());
                 }
+            }
+        }
+        if (blocked.isEmpty()) {
+            return List.of();
+        }
+
+        List<ScoredPair> pairs = new ArrayList<>();
+        for (MatchCandidate match : entityMatcher.findCandidates(candidate.organization(), blocked)) {
+            pairs.add(new ScoredPair(candidate, blockedById.get(match.getExistingParty().getFederatedId()),
+                    match.getScore(), match.getRecommendedAction(), match.getMatchingFields()));
+        }
+        return pairs;
+    }
+
+    /**
+     * Party that survives an automatic merge: highest confidence, then oldest ID order
+     */
+    private Candidate survivor(Candidate a, Candidate b) {
+        double confidenceA = a.organization().getConfidence() != null ? a.organization().getConfidence() : 0.0;
+        double confidenceB = b.organization().getConfidence() != null ? b.organization().getConfidence() : 0.0;
+        if (confidenceA != confidenceB) {
+            return confidenceA > confidenceB ? a : b;
+        }
+        return a.id().compareTo(b.id()) <= 0 ? a : b;
+    }
+
+    /**
+     * Load active organizations with the properties used for matching, in federated ID order
+     */
+    private List<Candidate> loadCandidates() {
+        List<Candidate> candidates = new ArrayList<>();
+        String after = "";
+
+        while (true) {
+            Collection<Map<String, Object>> page = neo4jClient.query("""
+                            MATCH (o:Organization)
+                            WHERE o.status = 'ACTIVE' AND o.federatedId > $after
+                            RETURN o.federatedId AS federatedId, o.partyType AS partyType,
+                                   o.legalName AS legalName, o.lei AS lei,
+                                   o.registrationNumber AS registrationNumber, o.jurisdiction AS jurisdiction,
+                                   o.industryCode AS industryCode, o.confidence AS confidence,
+                                   o.normalizedLegalName AS normalizedLegalName, o.phoneticName AS phoneticName,
+                                   o.nameTokens AS nameTokens
+                            ORDER BY o.federatedId
+                            LIMIT $limit
+                            """)
+                    .bindAll(Map.of("after", after, "limit", LOAD_PAGE_SIZE))
+                    .fetch()
+                    .all();
+
+            for (Map<String, Object> row : page) {
+                Organization organization = new Organization();
+                organization.setFederatedId((String) row.get("federatedId"));
+                organization.setPartyType(row.get("partyType") != null
+                        ? PartyType.valueOf((String) row.get("partyType")) : PartyType.ORGANIZATION);
+                organization.setLegalName((String) row.get("legalName"));
+                organization.setLei((String) row.get("lei"));
+                organization.setRegistrationNumber((String) row.get("registrationNumber"));
+                organization.setJurisdiction((String) row.get("jurisdiction"));
+                organization.setIndustryCode((String) row.get("industryCode"));
+                organization.setConfidence(row.get("confidence") != null
+                        ? ((Number) row.get("confidence")).doubleValue() : null);
+                organization.setNormalizedLegalName((String) row.get("normalizedLegalName"));
+                organization.setPhoneticName((String) row.get("phoneticName"));
+                organization.setNameTokens(stringList(row.get("nameTokens")));
+
+                candidates.add(new Candidate(organization, candidateIndex.blockingKeys(organization)));
+                after = organization.getFederatedId();
+            }
 
-            } catch (Exception e) {
-                log.error("Error processing party {}: {}", party.getFederatedId(), e.getMessage(), e);
-                result.errors++;
+            if (page.size() < LOAD_PAGE_SIZE) {
+                return candidates;
             }
         }
+    }
 
-        Instant endTime = Instant.now();
-        Duration duration = Duration.between(startTime, endTime);
-        result.durationMs = duration.toMillis();
+    @SuppressWarnings("unchecked")
+    private List<String> stringList(Object value) {
+        return value != null ? new ArrayList<>((Collection<String>) value) : null;
+    }
 
-        log.info("Chunk {} completed: {} processed, {} auto-merged, {} needs review, {} no match, {} errors in {}ms",
-                chunkIndex, result.processed, result.autoMerged, result.needsReview,
-                result.noMatchFound, result.errors, result.durationMs);
+    /**
+     * Group parties by blocking key, dropping groups that cannot produce pairs
+     * and name groups too large to be selective
+     */
+    private Map<String, List<Candidate>> buildGroups(List<Candidate> candidates) {
+        Map<String, List<Candidate>> groups = new HashMap<>();
+        for (Candidate candidate : candidates) {
+            for (String key : candidate.keys()) {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(candidate);
+            }
+        }
+        groups.entrySet().removeIf(entry -> entry.getValue().size() < 2
+                || (candidateIndex.isNameKey(entry.getKey())
+                        && entry.getValue().size() > CandidateIndex.MAX_NAME_BLOCK_SIZE));
+        return groups;
+    }
+
+    private void writeMerges(List<Map<String, Object>> merges) {
+        if (merges.isEmpty()) {
+            return;
+        }
+        neo4jClient.query("""
+                        UNWIND $merges AS m
+                        MATCH (source:Party {federatedId: m.sourceId}), (target:Party {federatedId: m.targetId})
+                        WHERE source.status = 'ACTIVE' AND target.status = 'ACTIVE'
+                        SET source.status = 'MERGED',
+                            target.confidence = CASE WHEN coalesce(target.confidence, 0.0) > m.score
+                                                     THEN target.confidence ELSE m.score END,
+                            target.updatedAt = datetime()
+                        CREATE (target)-[:MERGED_FROM {mergeDate: datetime(), mergeReason: 'Entity resolution',
+                                                       confidenceScore: m.score, automatic: true}]->(source)
+                        WITH source, target
+                        OPTIONAL MATCH (source)-[:SOURCED_FROM]->(record:SourceRecord)
+                        FOREACH (r IN CASE WHEN record IS NULL THEN [] ELSE [record] END |
+                            MERGE (target)-[:SOURCED_FROM]->(r))
+                        """)
+                .bind(merges).to("merges")
+                .run();
+    }
+
+    private void writeDuplicates(List<Map<String, Object>> duplicates) {
+        if (duplicates.isEmpty()) {
+            return;
+        }
+        neo4jClient.query("""
+                        UNWIND $duplicates AS d
+                        MATCH (party:Party {federatedId: d.partyId}), (candidate:Party {federatedId: d.candidateId})
+                        WHERE NOT (candidate)-[:DUPLICATES]->(party)
+                        MERGE (party)-[dup:DUPLICATES]->(candidate)
+                        ON CREATE SET dup.similarityScore = d.score,
+                                      dup.matchingFields = d.matchingFields,
+                                      dup.resolutionStatus = 'NEEDS_REVIEW',
+                                      dup.identifiedAt = datetime()
+                        """)
+                .bind(duplicates).to("duplicates")
+                .run();
+    }
+
+    private void checkpoint(BatchResolutionResult run, String lastPartyId) {
+        Map<String, Object> state = new HashMap<>();
+        state.put("status", run.getStatus());
+        state.put("totalParties", run.getTotalParties());
+        state.put("processed", run.getProcessed());
+        state.put("autoMerged", run.getAutoMerged());
+        state.put("needsReview", run.getNeedsReview());
+        state.put("noMatchFound", run.getNoMatchFound());
+        state.put("errors", run.getErrors());
+        state.put("durationSeconds", run.getDurationSeconds());
+        state.put("partiesPerSecond", run.getPartiesPerSecond());
+        if (lastPartyId != null) {
+            state.put("lastPartyId", lastPartyId);
+        }
+
+        neo4jClient.query("""
+                        MERGE (r:ResolutionRun {runId: $runId})
+                        ON CREATE SET r.startedAt = datetime()
+                        SET r += $state, r.updatedAt = datetime()
+                        """)
+                .bindAll(Map.of("runId", run.getRunId(), "state", state))
+                .run();
+    }
+
+    /**
+     * Move a failed or stale run to RUNNING
+     *
+     * @return State of the claimed run, empty if it is not resumable or another request claimed it first
+     */
+    private Optional<Map<String, Object>> claimRun(String runId) {
+        return neo4jClient.query("""
+                        MATCH (r:ResolutionRun {runId: $runId})
+                        // Take the write lock before reading the status, so concurrent claims serialize
+                        SET r._lock = true
+                        REMOVE r._lock
+                        WITH r
+                        WHERE r.status = $failed
+                           OR (r.status = $running AND r.updatedAt < datetime() - duration({seconds: $staleAfter}))
+                        SET r.status = $running, r.updatedAt = datetime()
+                        RETURN r {.*} AS run
+                        """)
+                .bindAll(Map.of("runId", runId, "failed", STATUS_FAILED, "running", STATUS_RUNNING,
+                        "staleAfter", STALE_RUN_AFTER.toSeconds()))
+                .fetch()
+                .one()
+                .map(row -> {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> run = (Map<String, Object>) row.get("run");
+                    return run;
+                });
+    }
+
+    private Optional<Map<String, Object>> loadRunState(String runId) {
+        return neo4jClient.query("MATCH (r:ResolutionRun {runId: $runId}) RETURN r {.*} AS run")
+                .bind(runId).to("runId")
+                .fetch()
+                .one()
+                .map(row -> {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> run = (Map<String, Object>) row.get("run");
+                    return run;
+                });
+    }
+
+    private BatchResolutionResult toResult(Map<String, Object> state) {
+        return BatchResolutionResult.builder()
+                .runId((String) state.get("runId"))
+                .status((String) state.get("status"))
+                .totalParties(intValue(state.get("totalParties")))
+                .processed(intValue(state.get("processed")))
+                .autoMerged(intValue(state.get("autoMerged")))
+                .needsReview(intValue(state.get("needsReview")))
+                .noMatchFound(intValue(state.get("noMatchFound")))
+                .errors(intValue(state.get("errors")))
+                .durationSeconds(state.get("durationSeconds") != null
+                        ? ((Number) state.get("durationSeconds")).longValue() : 0)
+                .partiesPerSecond(state.get("partiesPerSecond") != null
+                        ? ((Number) state.get("partiesPerSecond")).doubleValue() : 0.0)
+                .build();
+    }
 
-        return result;
+    private int intValue(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
     }
 
     /**
-     * Split list into chunks
+     * Party loaded for a run, with its blocking keys
      */
-    private <T> List<List<T>> chunkList(List<T> list, int chunkSize) {
-        List<List<T>> chunks = new ArrayList<>();
-        for (int i = 0; i < list.size(); i += chunkSize) {
-            int end = Math.min(i + chunkSize, list.size());
-            chunks.add(new ArrayList<>(list.subList(i, end)));
+    private record Candidate(Organization organization, List<String> keys) {
+        String id() {
+            return organization.getFederatedId();
         }
-        return chunks;
     }
 
     /**
-     * Result for a single chunk
+     * Pair scored above the review threshold
      */
-    private static class ChunkResult {
-        int chunkIndex;
-        int chunkSize;
-        int processed;
-        int autoMerged;
-        int needsReview;
-        int noMatchFound;
-        int errors;
-        long durationMs;
+    private record ScoredPair(Candidate party, Candidate candidate, double score,
+                              MatchAction action, List<String> matchingFields) {
     }
 
     /**
@@ -205,6 +520,8 @@ public class BatchResolutionService {
     @lombok.Builder
     @lombok.Data
     public static class BatchResolutionResult {
+        private String runId;
+        private String status;
         private int totalParties;
         private int processed;
         private int autoMerged;
@@ -238,10 +555,10 @@ public class BatchResolutionService {
         @Override
         public String toString() {
             return String.format(
-                "BatchResolutionResult{total=%d, processed=%d, autoMerged=%d (%.1f%%), needsReview=%d (%.1f%%), " +
-                "noMatch=%d, errors=%d (%.1f%%), duration=%ds, throughput=%.1f parties/sec}",
-                totalParties, processed, autoMerged, getAutoMergeRate(), needsReview, getManualReviewRate(),
-                noMatchFound, errors, getErrorRate(), durationSeconds, partiesPerSecond
+                "BatchResolutionResult{run=%s, status=%s, total=%d, processed=%d, autoMerged=%d (%.1f%%), " +
+                "needsReview=%d (%.1f%%), noMatch=%d, errors=%d (%.1f%%), duration=%ds, throughput=%.1f parties/sec}",
+                runId, status, totalParties, processed, autoMerged, getAutoMergeRate(), needsReview,
+                getManualReviewRate(), noMatchFound, errors, getErrorRate(), durationSeconds, partiesPerSecond
             );
         }
     }
@@ -0,0 +1,497 @@
+package com.bank.product.party.resolution;
+
+import com.bank.product.party.domain.Organization;
+import com.bank.product.party.domain.Party;
+import com.bank.product.party.domain.PartyStatus;
+import com.bank.product.party.matching.MatchFeatureExtractor;
+import com.bank.product.party.matching.MatchFeatures;
+import com.bank.product.party.matching.PhoneticMatcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Candidate blocking index for entity resolution.
+ *
+ * Maps blocking keys to the active organizations that share them, so a new
+ * party is only scored against the parties in its blocks instead of every
+ * active party. Blocking keys of an organization:
+ * - exact LEI
+ * - registration number + jurisdiction
+ * - phonetic code of the significant name tokens
+ * - prefix of the compacted legal name and of each significant name token
+ *
+ * Name blocks (phonetic and prefix) larger than {@link #MAX_NAME_BLOCK_SIZE}
+ * are skipped on lookup: such common names do not narrow the candidates,
+ * and the other keys of a near-duplicate still find it.
+ *
+ * Names mentioned in documents are looked up through the name blocks alone
+ * (see {@link #findNameCandidateIds(String, int)}).
+ *
+ * The index is built from Neo4j in the background once the application is
+ * ready; until then callers fall back to scanning all active parties. It is
+ * kept up to date by every service saving a party, once the saving
+ * transaction commits, so rolled back changes never reach it. Until
+ * then the changes are held in an overlay bound to the transaction, which
+ * lookups in that same transaction see: duplicates saved earlier in one
+ * batch are candidates for the later ones. Other
+ * instances' changes are picked up by the scheduled rebuild
+ * (party.candidate-index.rebuild-cron, hourly by default), which also drops
+ * parties no longer active; a stale entry only adds a candidate, which is
+ * then reloaded and checked.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CandidateIndex {
+
+    static final int MAX_NAME_BLOCK_SIZE = 500;
+
+    private static final int NAME_PREFIX_LENGTH = 4;
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+
+    private final Neo4jClient neo4jClient;
+    private final PhoneticMatcher phoneticMatcher;
+    private final MatchFeatureExtractor matchFeatureExtractor;
+
+    /**
+     * Blocking key -> federated IDs of the parties in the block
+     */
+    private final Map<String, Set<String>> blocks = new ConcurrentHashMap<>();
+
+    /**
+     * Federated ID -> blocking keys the party is indexed under
+     */
+    private final Map<String, List<String>> keysByParty = new ConcurrentHashMap<>();
+
+    /**
+     * Parties indexed or removed while a rebuild runs, which the rebuild leaves as they are
+     */
+    private final Set<String> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready = false;
+    private volatile boolean rebuilding = false;
+
+    /**
+     * Build the index once the application is ready, without delaying startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        CompletableFuture.runAsync(this::rebuild)
+                .exceptionally(e -> {
+                    log.error("Failed to build candidate index, resolution keeps scanning all parties: {}",
+                            e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Periodic rebuild, picking up changes made by other instances
+     */
+    @Scheduled(cron = "${party.candidate-index.rebuild-cron:0 0 * * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Candidate index rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Index every active organization, reading Neo4j page by page, and drop
+     * the parties no longer active
+     *
+     * Parties indexed or removed by this instance while the rebuild runs
+     * keep that change, it is at least as recent as the page read.
+     */
+    public void rebuild() {
+        Instant start = Instant.now();
+        String after = "";
+        int indexed = 0;
+        Set<String> active = new HashSet<>();
+        changedDuringRebuild.clear();
+        rebuilding = true;
+
+        try {
+            while (true) {
+                Collection<Map<String, Object>> page = neo4jClient.query("""
+                                MATCH (o:Organization)
+                                WHERE o.status = 'ACTIVE' AND o.federatedId > $after
+                                RETURN o.federatedId AS federatedId, o.legalName AS legalName, o.lei AS lei,
+                                       o.registrationNumber AS registrationNumber, o.jurisdiction AS jurisdiction,
+                                       o.nameTokens AS nameTokens
+                                ORDER BY o.federatedId
+                                LIMIT $limit
+                                """)
+                        .bindAll(Map.of("after", after, "limit", REBUILD_PAGE_SIZE))
+                        .fetch()
+                        .all();
+
+                for (Map<String, Object> row : page) {
+                    String federatedId = (String) row.get("federatedId");
+                    active.add(federatedId);
+                    if (!changedDuringRebuild.contains(federatedId)) {
+                        put(federatedId, blockingKeys(
+                                nameTokens(row),
+                                (String) row.get("lei"),
+                                (String) row.get("registrationNumber"),
+                                (String) row.get("jurisdiction")));
+                    }
+                    after = federatedId;
+                    indexed++;
+                }
+
+                if (page.size() < REBUILD_PAGE_SIZE) {
+                    break;
+                }
+            }
+
+            for (String federatedId : keysByParty.keySet()) {
+                if (!active.contains(federatedId) && !changedDuringRebuild.contains(federatedId)) {
+                    evict(federatedId);
+                }
+            }
+        } finally {
+            rebuilding = false;
+        }
+
+        ready = true;
+        log.info("Candidate index built: {} organizations, {} blocks in {}ms",
+                indexed, blocks.size(), Duration.between(start, Instant.now()).toMillis());
+    }
+
+    /**
+     * Index is built and can be used for candidate lookup
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Federated IDs of the parties sharing at least one block with the party
+     */
+    public Set<String> findCandidateIds(Party party) {
+        Set<String> candidateIds = new LinkedHashSet<>();
+        if (!(party instanceof Organization organization)) {
+            return candidateIds; // Only organizations are matched
+        }
+
+        Pending pending = pending();
+        for (String key : blockingKeys(organization)) {
+            Set<String> block = block(key, pending);
+            if (block == null) {
+                continue;
+            }
+            if (isNameKey(key) && block.size() > MAX_NAME_BLOCK_SIZE) {
+                log.debug("Skipping unselective blocking key {} ({} parties)", key, block.size());
+                continue;
+            }
+            candidateIds.addAll(block);
+        }
+
+        if (party.getFederatedId() != null) {
+            candidateIds.remove(party.getFederatedId());
+        }
+        return candidateIds;
+    }
+
+    /**
+     * Federated IDs of the parties sharing name blocks with a name, most
+     * shared blocks first
+     *
+     * Used to resolve names mentioned in documents, where no identifiers are known.
+     *
+     * @param limit maximum number of IDs to return
+     */
+    public List<String> findNameCandidateIds(String name, int limit) {
+        MatchFeatures features = matchFeatureExtractor.extract(name);
+        if (features == null) {
+            return List.of();
+        }
+
+        Pending pending = pending();
+        Map<String, Integer> sharedBlocks = new HashMap<>();
+        for (String key : blockingKeys(features.nameTokens(), null, null, null)) {
+            Set<String> block = block(key, pending);
+            if (block == null || block.size() > MAX_NAME_BLOCK_SIZE) {
+                continue;
+            }
+            for (String federatedId : block) {
+                sharedBlocks.merge(federatedId, 1, Integer::sum);
+            }
+        }
+
+        return sharedBlocks.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Add, update or remove a party after it was saved
+     *
+     * Only active organizations are indexed; any other party is removed.
+     * Inside a transaction, the index changes when it commits.
+     */
+    public void index(Party party) {
+        if (party == null || party.getFederatedId() == null) {
+            return;
+        }
+        String federatedId = party.getFederatedId();
+        if (party instanceof Organization organization && party.getStatus() == PartyStatus.ACTIVE) {
+            List<String> keys = blockingKeys(organization);
+            Pending pending = bindPending();
+            if (pending != null) {
+                pending.put(federatedId, keys);
+            } else {
+                apply(federatedId, keys);
+            }
+        } else {
+            remove(federatedId);
+        }
+    }
+
+    /**
+     * Remove a party from the index
+     *
+     * Inside a transaction, the index changes when it commits.
+     */
+    public void remove(String federatedId) {
+        Pending pending = bindPending();
+        if (pending != null) {
+            pending.put(federatedId, List.of());
+        } else {
+            apply(federatedId, List.of());
+        }
+    }
+
+    /**
+     * Members of a block, including the changes of the current transaction
+     */
+    private Set<String> block(String key, Pending pending) {
+        Set<String> committed = blocks.get(key);
+        if (pending == null) {
+            return committed;
+        }
+
+        Set<String> added = pending.blocks.getOrDefault(key, Set.of());
+        boolean changed = !added.isEmpty();
+        if (!changed && committed != null) {
+            for (String federatedId : pending.keysByParty.keySet()) {
+                if (committed.contains(federatedId)) {
+                    changed = true;
+                    break;
+                }
+            }
+        }
+        if (!changed) {
+            return committed;
+        }
+
+        Set<String> block = committed != null ? new HashSet<>(committed) : new HashSet<>();
+        block.removeAll(pending.keysByParty.keySet());
+        block.addAll(added);
+        return block;
+    }
+
+    /**
+     * Changes of the current transaction, null outside one
+     */
+    private Pending pending() {
+        return (Pending) TransactionSynchronizationManager.getResource(this);
+    }
+
+    /**
+     * Changes of the current transaction, bound on first use and applied
+     * when it commits; null outside a transaction
+     */
+    private Pending bindPending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+
+        Pending pending = pending();
+        if (pending != null) {
+            return pending;
+        }
+
+        Pending bound = new Pending();
+        TransactionSynchronizationManager.bindResource(this, bound);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(CandidateIndex.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(CandidateIndex.this, bound);
+            }
+
+            @Override
+            public void afterCommit() {
+                bound.keysByParty.forEach(CandidateIndex.this::apply);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CandidateIndex.this);
+            }
+        });
+        return bound;
+    }
+
+    /**
+     * Index a saved party under its keys, or remove it if it has none
+     */
+    private void apply(String federatedId, List<String> keys) {
+        if (rebuilding) {
+            changedDuringRebuild.add(federatedId);
+        }
+        if (keys.isEmpty()) {
+            evict(federatedId);
+        } else {
+            put(federatedId, keys);
+        }
+    }
+
+    private void evict(String federatedId) {
+        keysByParty.computeIfPresent(federatedId, (id, keys) -> {
+            removeFromBlocks(id, keys);
+            return null;
+        });
+    }
+
+    private void put(String federatedId, List<String> keys) {
+        keysByParty.compute(federatedId, (id, previousKeys) -> {
+            if (previousKeys != null) {
+                removeFromBlocks(id, previousKeys);
+            }
+            for (String key : keys) {
+                blocks.compute(key, (k, block) -> {
+                    Set<String> updated = block != null ? block : ConcurrentHashMap.newKeySet();
+                    updated.add(id);
+                    return updated;
+                });
+            }
+            return keys;
+        });
+    }
+
+    private void removeFromBlocks(String federatedId, List<String> keys) {
+        for (String key : keys) {
+            blocks.computeIfPresent(key, (k, block) -> {
+                block.remove(federatedId);
+                return block.isEmpty() ? null : block;
+            });
+        }
+    }
+
+    List<String> blockingKeys(Organization organization) {
+        MatchFeatures features = matchFeatureExtractor.featuresOf(organization);
+        return blockingKeys(features != null ? features.nameTokens() : null, organization.getLei(),
+                organization.getRegistrationNumber(), organization.getJurisdiction());
+    }
+
+    private List<String> blockingKeys(List<String> tokens, String lei, String registrationNumber,
+                                      String jurisdiction) {
+        Set<String> keys = new HashSet<>();
+
+        if (lei != null && !lei.isBlank()) {
+            keys.add("lei:" + lei);
+        }
+        if (registrationNumber != null && !registrationNumber.isBlank() && jurisdiction != null) {
+            keys.add("reg:" + registrationNumber + "|" + jurisdiction.toUpperCase());
+        }
+
+        if (tokens != null && !tokens.isEmpty()) {
+            String phonetic = phoneticMatcher.encode(String.join(" ", tokens));
+            if (!phonetic.isEmpty()) {
+                keys.add("ph:" + phonetic);
+            }
+
+            keys.add("pre:" + prefix(String.join("", tokens)));
+            for (String token : tokens) {
+                if (token.length() >= 3 && !MatchFeatureExtractor.NAME_STOPWORDS.contains(token)) {
+                    keys.add("tok:" + prefix(token));
+                }
+            }
+        }
+
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * Name tokens of a rebuild row - stored on the node, or derived from the
+     * legal name for nodes written before match features were stored
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> nameTokens(Map<String, Object> row) {
+        Object stored = row.get("nameTokens");
+        if (stored != null) {
+            return new ArrayList<>((Collection<String>) stored);
+        }
+        MatchFeatures features = matchFeatureExtractor.extract((String) row.get("legalName"));
+        return features != null ? features.nameTokens() : null;
+    }
+
+    private String prefix(String s) {
+        return s.length() <= NAME_PREFIX_LENGTH ? s : s.substring(0, NAME_PREFIX_LENGTH);
+    }
+
+    boolean isNameKey(String key) {
+        return !key.startsWith("lei:") && !key.startsWith("reg:");
+    }
+
+    /**
+     * Index changes of one transaction, not yet committed
+     */
+    private static final class Pending {
+
+        /**
+         * Federated ID -> blocking keys, empty for a removed party
+         */
+        private final Map<String, List<String>> keysByParty = new HashMap<>();
+
+        /**
+         * Blocking key -> federated IDs added to the block
+         */
+        private final Map<String, Set<String>> blocks = new HashMap<>();
+
+        void put(String federatedId, List<String> keys) {
+            List<String> previousKeys = keysByParty.put(federatedId, keys);
+            if (previousKeys != null) {
+                for (String key : previousKeys) {
+                    blocks.computeIfPresent(key, (k, block) -> {
+                        block.remove(federatedId);
+                        return block.isEmpty() ? null : block;
+                    });
+                }
+            }
+            for (String key : keys) {
+                blocks.computeIfAbsent(key, k -> new HashSet<>()).add(federatedId);
+            }
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.bank.product.party.resolution;
 
 import com.bank.product.party.domain.Organization;
 import com.bank.product.party.domain.Party;
+import com.bank.product.party.matching.MatchFeatureExtractor;
+import com.bank.product.party.matching.MatchFeatures;
 import com.bank.product.party.matching.PhoneticMatcher;
 import com.bank.product.party.matching.AddressNormalizer;
+import com.bank.product.party.matching.StringSimilarity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -16,6 +19,10 @@ import java.util.List;
  * Implements various matching strategies to identify duplicate entities.
  *
  * Enhanced with phonetic matching and address normalization for improved accuracy.
+ *
+ * Names are compared through precomputed {@link MatchFeatures}: the features of
+ * the incoming party are derived once per call, and those of existing parties
+ * are read from the stored node properties.
  */
 @Component
 @RequiredArgsConstructor
@@ -24,6 +31,7 @@ public class EntityMatcher {
 
     private final PhoneticMatcher phoneticMatcher;
     private final AddressNormalizer addressNormalizer;
+    private final MatchFeatureExtractor matchFeatureExtractor;
 
     // Matching thresholds
     private static final double AUTO_MERGE_THRESHOLD = 0.95;
@@ -32,11 +40,22 @@ public class EntityMatcher {
     private static final double PHONETIC_NAME_THRESHOLD = 0.90;
     private static final double ADDRESS_SIMILARITY_THRESHOLD = 0.85;
 
+    // Signal weights
+    private static final double LEI_WEIGHT = 1.0;
+    private static final double REGISTRATION_WEIGHT = 0.95;
+    private static final double NAME_WEIGHT = 0.85;
+    private static final double JURISDICTION_WEIGHT = 0.5;
+    private static final double INDUSTRY_WEIGHT = 0.3;
+
+    // Slack on the name score bound, so rounding never drops a pair at the threshold
+    private static final double SCORE_EPSILON = 1e-9;
+
     /**
      * Find candidate matches for a party
      */
     public List<MatchCandidate> findCandidates(Party party, List<Party> existingParties) {
         List<MatchCandidate> candidates = new ArrayList<>();
+        MatchFeatures partyFeatures = featuresOf(party);
 
         for (Party existing : existingParties) {
             // Skip if same party
@@ -50,13 +69,14 @@ public class EntityMatcher {
                 continue;
             }
 
-            double score = calculateSimilarity(party, existing);
+            MatchFeatures existingFeatures = featuresOf(existing);
+            double score = calculateSimilarity(party, partyFeatures, existing, existingFeatures);
 
             if (score >= MANUAL_REVIEW_THRESHOLD) {
                 MatchCandidate candidate = new MatchCandidate();
                 candidate.setExistingParty(existing);
                 candidate.setScore(score);
-                candidate.setMatchingFields(getMatchingFields(party, existing));
+                candidate.setMatchingFields(getMatchingFields(party, partyFeatures, existing, existingFeatures));
                 candidate.setRecommendedAction(
                         score >= AUTO_MERGE_THRESHOLD ? MatchAction.AUTO_MERGE : MatchAction.MANUAL_REVIEW
                 );
@@ -68,12 +88,17 @@ public class EntityMatcher {
         return candidates;
     }
 
+    private MatchFeatures featuresOf(Party party) {
+        return party instanceof Organization organization
+                ? matchFeatureExtractor.featuresOf(organization) : null;
+    }
+
     /**
      * Calculate overall similarity between two parties
      */
-    private double calculateSimilarity(Party p1, Party p2) {
+    private double calculateSimilarity(Party p1, MatchFeatures f1, Party p2, MatchFeatures f2) {
         if (p1 instanceof Organization && p2 instanceof Organization) {
-            return calculateOrganizationSimilarity((Organization) p1, (Organization) p2);
+            return calculateOrganizationSimilarity((Organization) p1, f1, (Organization) p2, f2);
         }
         // Add other party types as needed
         return 0.0;
@@ -82,146 +107,100 @@ public class EntityMatcher {
     /**
      * Calculate similarity for organizations
      * Enhanced with phonetic matching and address normalization
+     *
+     * The exact signals are evaluated first. They bound the name score the
+     * pair needs to reach MANUAL_REVIEW_THRESHOLD, and the name strategies
+     * stop early once they cannot reach it. Scores of pairs that can reach
+     * the threshold are exact; the others are only guaranteed to stay below it.
      */
-    private double calculateOrganizationSimilarity(Organization org1, Organization org2) {
-        List<Double> scores = new ArrayList<>();
-        List<Double> weights = new ArrayList<>();
-
+    private double calculateOrganizationSimilarity(Organization org1, MatchFeatures f1,
+                                                   Organization org2, MatchFeatures f2) {
         // LEI match (highest confidence - exact identifier)
-        if (org1.getLei() != null && org2.getLei() != null) {
-            scores.add(org1.getLei().equals(org2.getLei()) ? 1.0 : 0.0);
-            weights.add(1.0); // Highest weight
-        }
+        boolean hasLei = org1.getLei() != null && org2.getLei() != null;
+        double leiScore = hasLei && org1.getLei().equals(org2.getLei()) ? 1.0 : 0.0;
 
         // Registration number + Jurisdiction (near-exact identifier)
-        if (org1.getRegistrationNumber() != null && org2.getRegistrationNumber() != null &&
-                org1.getJurisdiction() != null && org2.getJurisdiction() != null) {
-            boolean regMatch = org1.getRegistrationNumber().equals(org2.getRegistrationNumber());
-            boolean jurMatch = org1.getJurisdiction().equalsIgnoreCase(org2.getJurisdiction());
-            scores.add(regMatch && jurMatch ? 1.0 : 0.0);
-            weights.add(0.95);
-        }
+        boolean hasRegistration = org1.getRegistrationNumber() != null && org2.getRegistrationNumber() != null &&
+                org1.getJurisdiction() != null && org2.getJurisdiction() != null;
+        double registrationScore = hasRegistration &&
+                org1.getRegistrationNumber().equals(org2.getRegistrationNumber()) &&
+                org1.getJurisdiction().equalsIgnoreCase(org2.getJurisdiction()) ? 1.0 : 0.0;
 
         // Legal name - Multi-strategy fuzzy matching
-        if (org1.getLegalName() != null && org2.getLegalName() != null) {
-            // Strategy 1: Phonetic similarity (handles "JPMorgan" vs "J.P. Morgan")
-            double phoneticScore = phoneticMatcher.calculatePhoneticSimilarity(
-                    org1.getLegalName(),
-                    org2.getLegalName()
-            );
-
-            // Strategy 2: Jaro-Winkler (better for common prefixes)
-            double jaroScore = phoneticMatcher.jaroWinklerSimilarity(
-                    normalizeLegalName(org1.getLegalName()),
-                    normalizeLegalName(org2.getLegalName())
-            );
-
-            // Strategy 3: Levenshtein (character-level similarity)
-            double levenScore = calculateStringSimilarity(
-                    normalizeLegalName(org1.getLegalName()),
-                    normalizeLegalName(org2.getLegalName())
-            );
-
-            // Take maximum score from all strategies
-            double bestNameScore = Math.max(phoneticScore, Math.max(jaroScore, levenScore));
-            scores.add(bestNameScore);
-            weights.add(0.85);
-
-            log.debug("Name matching scores - Phonetic: {}, Jaro-Winkler: {}, Levenshtein: {}, Best: {}",
-                    phoneticScore, jaroScore, levenScore, bestNameScore);
-        }
+        boolean hasName = f1 != null && f2 != null;
 
         // TODO: Address similarity with normalization (when Address relationship is added to Organization)
         // Neo4j graph model currently doesn't have address fields on Organization node
 
         // Jurisdiction match (lower weight, supplementary)
-        if (org1.getJurisdiction() != null && org2.getJurisdiction() != null) {
-            scores.add(org1.getJurisdiction().equalsIgnoreCase(org2.getJurisdiction()) ? 1.0 : 0.0);
-            weights.add(0.5);
-        }
+        boolean hasJurisdiction = org1.getJurisdiction() != null && org2.getJurisdiction() != null;
+        double jurisdictionScore = hasJurisdiction &&
+                org1.getJurisdiction().equalsIgnoreCase(org2.getJurisdiction()) ? 1.0 : 0.0;
 
         // Industry code (weak signal, but useful tie-breaker)
-        if (org1.getIndustryCode() != null && org2.getIndustryCode() != null) {
-            scores.add(org1.getIndustryCode().equals(org2.getIndustryCode()) ? 1.0 : 0.0);
-            weights.add(0.3);
-        }
-
-        double finalScore = calculateWeightedAverage(scores, weights);
-        log.debug("Organization similarity: {} (from {} signals)", finalScore, scores.size());
+        boolean hasIndustry = org1.getIndustryCode() != null && org2.getIndustryCode() != null;
+        double industryScore = hasIndustry && org1.getIndustryCode().equals(org2.getIndustryCode()) ? 1.0 : 0.0;
 
-        return finalScore;
-    }
+        // Weights and scores are summed in signal order so results match the reference scorer bit for bit
+        double totalWeight = 0.0;
+        if (hasLei) totalWeight += LEI_WEIGHT;
+        if (hasRegistration) totalWeight += REGISTRATION_WEIGHT;
+        if (hasName) totalWeight += NAME_WEIGHT;
+        if (hasJurisdiction) totalWeight += JURISDICTION_WEIGHT;
+        if (hasIndustry) totalWeight += INDUSTRY_WEIGHT;
+
+        double nameScore = 0.0;
+        if (hasName) {
+            double otherScore = leiScore * LEI_WEIGHT + registrationScore * REGISTRATION_WEIGHT +
+                    jurisdictionScore * JURISDICTION_WEIGHT + industryScore * INDUSTRY_WEIGHT;
+            double minNameScore = (MANUAL_REVIEW_THRESHOLD * totalWeight - otherScore) / NAME_WEIGHT
+                    - SCORE_EPSILON;
+            nameScore = calculateNameSimilarity(f1, f2, minNameScore);
+        }
 
-    /**
-     * Normalize legal name for comparison
-     */
-    private String normalizeLegalName(String legalName) {
-        return legalName
-                .toLowerCase()
-                .replaceAll("\\s+", " ")
-                .replaceAll(",\\s*(inc|llc|ltd|corp|corporation|limited|plc)\\.?$", "")
-                .trim();
-    }
+        double totalScore = 0.0;
+        if (hasLei) totalScore += leiScore * LEI_WEIGHT;
+        if (hasRegistration) totalScore += registrationScore * REGISTRATION_WEIGHT;
+        if (hasName) totalScore += nameScore * NAME_WEIGHT;
+        if (hasJurisdiction) totalScore += jurisdictionScore * JURISDICTION_WEIGHT;
+        if (hasIndustry) totalScore += industryScore * INDUSTRY_WEIGHT;
 
-    /**
-     * Calculate string similarity using Levenshtein distance
-     */
-    private double calculateStringSimilarity(String s1, String s2) {
-        if (s1 == null || s2 == null) return 0.0;
-        if (s1.equals(s2)) return 1.0;
+        double finalScore = totalWeight > 0 ? totalScore / totalWeight : 0.0;
+        log.debug("Organization similarity: {}", finalScore);
 
-        int distance = levenshteinDistance(s1, s2);
-        int maxLen = Math.max(s1.length(), s2.length());
-        return 1.0 - ((double) distance / maxLen);
+        return finalScore;
     }
 
     /**
-     * Calculate Levenshtein distance
+     * Best name score across strategies, exact if it is at least minScore
+     *
+     * Strategies run cheapest first; each later one only needs to beat the
+     * best score so far, so it is bounded by that as well.
      */
-    private int levenshteinDistance(String s1, String s2) {
-        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
-
-        for (int i = 0; i <= s1.length(); i++) {
-            dp[i][0] = i;
-        }
-        for (int j = 0; j <= s2.length(); j++) {
-            dp[0][j] = j;
-        }
-
-        for (int i = 1; i <= s1.length(); i++) {
-            for (int j = 1; j <= s2.length(); j++) {
-                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
-                dp[i][j] = Math.min(
-                        Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1),
-                        dp[i - 1][j - 1] + cost
-                );
-            }
+    private double calculateNameSimilarity(MatchFeatures f1, MatchFeatures f2, double minScore) {
+        // Strategy 1: Phonetic similarity (handles "JPMorgan" vs "J.P. Morgan")
+        double bestNameScore = phoneticMatcher.phoneticCodeSimilarity(f1.phoneticCode(), f2.phoneticCode(), minScore);
+
+        // Strategy 2: Jaro-Winkler (better for common prefixes)
+        if (bestNameScore < 1.0) {
+            bestNameScore = Math.max(bestNameScore, phoneticMatcher.jaroWinklerSimilarity(
+                    f1.normalizedName(), f2.normalizedName(), Math.max(minScore, bestNameScore)));
         }
 
-        return dp[s1.length()][s2.length()];
-    }
-
-    /**
-     * Calculate weighted average
-     */
-    private double calculateWeightedAverage(List<Double> scores, List<Double> weights) {
-        if (scores.isEmpty()) return 0.0;
-
-        double totalScore = 0.0;
-        double totalWeight = 0.0;
-
-        for (int i = 0; i < scores.size(); i++) {
-            totalScore += scores.get(i) * weights.get(i);
-            totalWeight += weights.get(i);
+        // Strategy 3: Levenshtein (character-level similarity)
+        if (bestNameScore < 1.0) {
+            bestNameScore = Math.max(bestNameScore, StringSimilarity.levenshteinSimilarity(
+                    f1.normalizedName(), f2.normalizedName(), Math.max(minScore, bestNameScore)));
         }
 
-        return totalWeight > 0 ? totalScore / totalWeight : 0.0;
+        log.debug("Name matching score: {} (minimum {})", bestNameScore, minScore);
+        return bestNameScore;
     }
 
     /**
      * Get list of fields that matched
      */
-    private List<String> getMatchingFields(Party p1, Party p2) {
+    private List<String> getMatchingFields(Party p1, MatchFeatures f1, Party p2, MatchFeatures f2) {
         List<String> matches = new ArrayList<>();
 
         if (p1 instanceof Organization && p2 instanceof Organization) {
@@ -235,11 +214,9 @@ public class EntityMatcher {
                     org1.getRegistrationNumber().equals(org2.getRegistrationNumber())) {
                 matches.add("registrationNumber");
             }
-            if (org1.getLegalName() != null &&
-                    calculateStringSimilarity(
-                            normalizeLegalName(org1.getLegalName()),
-                            normalizeLegalName(org2.getLegalName())
-                    ) >= FUZZY_NAME_THRESHOLD) {
+            if (f1 != null && f2 != null &&
+                    StringSimilarity.levenshteinSimilarity(f1.normalizedName(), f2.normalizedName(),
+                            FUZZY_NAME_THRESHOLD) >= FUZZY_NAME_THRESHOLD) {
                 matches.add("legalName");
             }
             if (org1.getJurisdiction() != null &&
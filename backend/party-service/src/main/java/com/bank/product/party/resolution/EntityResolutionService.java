@@ -2,6 +2,8 @@ package com.bank.product.party.resolution;
 
 import com.bank.product.party.domain.*;
 import com.bank.product.party.repository.PartyRepository;
+import com.bank.product.party.service.BeneficialOwnershipService;
+import com.bank.product.party.service.OrganizationHierarchyService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -9,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service for entity resolution - identifying and merging duplicate parties.
@@ -20,6 +23,9 @@ public class EntityResolutionService {
 
     private final PartyRepository partyRepository;
     private final EntityMatcher entityMatcher;
+    private final CandidateIndex candidateIndex;
+    private final BeneficialOwnershipService beneficialOwnershipService;
+    private final OrganizationHierarchyService organizationHierarchyService;
 
     /**
      * Resolve a new party against existing parties
@@ -28,8 +34,8 @@ public class EntityResolutionService {
     public ResolutionResult resolve(Party newParty) {
         log.info("Starting entity resolution for party: {}", newParty);
 
-        // Find all existing parties of the same type
-        List<Party> existingParties = partyRepository.findByStatus(PartyStatus.ACTIVE);
+        // Find existing parties sharing a block with the new party
+        List<Party> existingParties = findBlockedParties(newParty);
 
         // Find candidate matches
         List<MatchCandidate> candidates = entityMatcher.findCandidates(newParty, existingParties);
@@ -38,6 +44,9 @@ public class EntityResolutionService {
             log.info("No matches found, creating new party");
             newParty.setConfidence(1.0);
             Party saved = partyRepository.save(newParty);
+            candidateIndex.index(saved);
+            organizationHierarchyService.saved(saved);
+            beneficialOwnershipService.refresh(saved.getFederatedId());
             return ResolutionResult.created(saved);
         }
 
@@ -54,6 +63,9 @@ public class EntityResolutionService {
             createDuplicateCandidate(newParty, bestMatch);
             newParty.setStatus(PartyStatus.UNDER_REVIEW);
             Party saved = partyRepository.save(newParty);
+            candidateIndex.index(saved);
+            organizationHierarchyService.saved(saved);
+            beneficialOwnershipService.refresh(saved.getFederatedId());
             return ResolutionResult.needsReview(saved, bestMatch.getExistingParty(), bestMatch.getScore());
         }
     }
@@ -89,8 +101,36 @@ public class EntityResolutionService {
         // Mark source as merged
         source.setStatus(PartyStatus.MERGED);
 
-        partyRepository.save(source);
-        return partyRepository.save(target);
+        Party savedSource = partyRepository.save(source);
+        candidateIndex.index(savedSource);
+        organizationHierarchyService.saved(savedSource);
+        Party saved = partyRepository.save(target);
+        candidateIndex.index(saved);
+        organizationHierarchyService.saved(saved);
+        beneficialOwnershipService.refresh(source.getFederatedId());
+        beneficialOwnershipService.refresh(saved.getFederatedId());
+        return saved;
+    }
+
+    /**
+     * Load the active parties in the new party's candidate blocks
+     *
+     * Falls back to all active parties while the candidate index is being built.
+     */
+    private List<Party> findBlockedParties(Party newParty) {
+        if (!candidateIndex.isReady()) {
+            return partyRepository.findByStatus(PartyStatus.ACTIVE);
+        }
+
+        Set<String> candidateIds = candidateIndex.findCandidateIds(newParty);
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Party> parties = partyRepository.findAllById(candidateIds);
+        parties.removeIf(party -> party.getStatus() != PartyStatus.ACTIVE);
+        log.debug("Scoring {} blocked candidates for party: {}", parties.size(), newParty.getFederatedId());
+        return parties;
     }
 
     /**
@@ -149,6 +189,8 @@ public class EntityResolutionService {
             party.setStatus(PartyStatus.ACTIVE);
         }
 
-        partyRepository.save(party);
+        Party saved = partyRepository.save(party);
+        candidateIndex.index(saved);
+        organizationHierarchyService.saved(saved);
     }
 }
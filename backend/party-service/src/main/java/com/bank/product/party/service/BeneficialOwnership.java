@@ -0,0 +1,15 @@
+package com.bank.product.party.service;
+
+import com.bank.product.party.domain.Individual;
+
+import java.time.LocalDate;
+
+/**
+ * Beneficial owner of a party, with the properties of its BENEFICIAL_OWNER_OF relationship
+ *
+ * For an ultimate beneficial owner the percentage is the effective ownership
+ * through all chains and the path describes the strongest chain.
+ */
+public record BeneficialOwnership(Individual owner, Double ownershipPercentage, String controlLevel, boolean ubo,
+                                  LocalDate verificationDate, String ownershipPath) {
+}
@@ -0,0 +1,411 @@
+package com.bank.product.party.service;
+
+import com.bank.product.party.domain.Individual;
+import com.bank.product.party.context.ContextCacheInvalidator;
+import com.bank.product.party.domain.Party;
+import com.bank.product.party.service.OwnershipGraph.Edge;
+import com.bank.product.party.service.OwnershipGraph.Owner;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ultimate beneficial owners and ownership chains, computed in memory.
+ *
+ * The OWNS, PARENT_OF and BENEFICIAL_OWNER_OF relationships are loaded once
+ * into an {@link OwnershipGraph}, in the background when the application is
+ * ready and again nightly. The owners of an entity - with effective indirect
+ * ownership multiplied along the chains, circular ownership counted once -
+ * are computed on first request and cached per entity. Only relationships in
+ * force today count: the graph keeps future and ended ones, and the cached
+ * owners are dropped on the first request of a day on which one starts or
+ * ends.
+ *
+ * After ownership relationships of a party are written, {@link #refresh}
+ * reloads that party's edges and evicts the cached owners of the party and of
+ * everything it owns directly or indirectly; other entities keep theirs.
+ * The reload happens once the writing transaction commits, so a rollback
+ * leaves the graph as it was, and is announced on the context invalidation
+ * topic so every other instance reloads the party too (see
+ * {@link PartyChangeListener}). Until the graph is loaded, owners are
+ * computed from the entity's ownership subgraph read on every call.
+ */
+@Slf4j
+@Service
+public class BeneficialOwnershipService {
+
+    /**
+     * Effective ownership (percent) that makes an individual an ultimate beneficial owner
+     */
+    public static final double UBO_THRESHOLD = 25.0;
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private static final String ACTIVE = """
+            (r.effectiveDate IS NULL OR r.effectiveDate <= date())
+              AND (r.endDate IS NULL OR r.endDate >= date())""";
+
+    private static final String EDGE = """
+            {ownerId: startNode(r).federatedId, ownerIndividual: 'Individual' IN labels(startNode(r)),
+             ownedId: endNode(r).federatedId, ownershipPercentage: r.ownershipPercentage,
+             beneficial: type(r) = 'BENEFICIAL_OWNER_OF', votingRights: r.votingRights,
+             effectiveDate: r.effectiveDate, endDate: r.endDate, controlLevel: r.controlLevel,
+             verificationDate: r.verificationDate}""";
+
+    private final Neo4jClient neo4jClient;
+    private final PartyRelationshipLoader relationshipLoader;
+    private final ContextCacheInvalidator contextCacheInvalidator;
+
+    /**
+     * Guards the graph: computing owners reads it, refreshes write it
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Cache<String, List<Owner>> owners = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .recordStats()
+            .build();
+
+    /**
+     * Parties refreshed while a rebuild loads, refreshed again on the new graph
+     */
+    private final Set<String> refreshedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private volatile OwnershipGraph graph;
+    private volatile boolean rebuilding;
+
+    /**
+     * Date the graph counts relationships in force on
+     */
+    private volatile LocalDate graphDate;
+
+    public BeneficialOwnershipService(Neo4jClient neo4jClient, PartyRelationshipLoader relationshipLoader,
+                                      ContextCacheInvalidator contextCacheInvalidator, MeterRegistry meterRegistry) {
+        this.neo4jClient = neo4jClient;
+        this.relationshipLoader = relationshipLoader;
+        this.contextCacheInvalidator = contextCacheInvalidator;
+        CaffeineCacheMetrics.monitor(meterRegistry, owners, "beneficialOwnership");
+    }
+
+    /**
+     * Load the ownership graph once the application is ready, without delaying startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        CompletableFuture.runAsync(this::rebuild)
+                .exceptionally(e -> {
+                    log.error("Failed to load ownership graph, owners are read from Neo4j per request: {}",
+                            e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Nightly reload, picking up changes whose announcement was lost
+     */
+    @Scheduled(cron = "${party.ownership.rebuild-cron:0 45 2 * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Ownership graph rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Load every ownership relationship, reading Neo4j page by page
+     * of owned parties, and replace the graph
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        refreshedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            OwnershipGraph loaded = new OwnershipGraph();
+            String after = "";
+            while (true) {
+                Collection<Map<String, Object>> page = neo4jClient.query("""
+                                MATCH (owned:Party)
+                                WHERE owned.federatedId > $after
+                                WITH owned
+                                ORDER BY owned.federatedId
+                                LIMIT $limit
+                                CALL {
+                                    WITH owned
+                                    OPTIONAL MATCH (:Party)-[r:OWNS|PARENT_OF|BENEFICIAL_OWNER_OF]->(owned)
+                                    RETURN collect(CASE WHEN r IS NOT NULL THEN %s END) AS edges
+                                }
+                                RETURN owned.federatedId AS ownedId, edges
+                                """.formatted(EDGE))
+                        .bindAll(Map.of("after", after, "limit", LOAD_PAGE_SIZE))
+                        .fetch()
+                        .all();
+
+                for (Map<String, Object> row : page) {
+                    for (Object edge : (List<?>) row.get("edges")) {
+                        loaded.add(edge((Map<?, ?>) edge));
+                    }
+                    after = (String) row.get("ownedId");
+                }
+
+                if (page.size() < LOAD_PAGE_SIZE) {
+                    break;
+                }
+            }
+
+            lock.writeLock().lock();
+            try {
+                graph = loaded;
+                graphDate = loaded.asOf();
+                rebuilding = false;
+                owners.invalidateAll();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            log.info("Ownership graph loaded: {} parties, {} edges in {}ms",
+                    loaded.size(), loaded.edgeCount(), System.currentTimeMillis() - start);
+        } finally {
+            rebuilding = false;
+        }
+
+        Set<String> missed = new HashSet<>(refreshedDuringRebuild);
+        refreshedDuringRebuild.clear();
+        missed.forEach(this::reload);
+    }
+
+    /**
+     * Reload the ownership relationships from and to a party after they
+     * changed, on this and every other instance
+     *
+     * Inside a transaction, nothing happens until it commits.
+     */
+    public void refresh(String partyId) {
+        if (partyId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reloadAndAnnounce(partyId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reloadAndAnnounce(partyId);
+            }
+        });
+    }
+
+    private void reloadAndAnnounce(String partyId) {
+        try {
+            reload(partyId);
+        } catch (Exception e) {
+            log.error("Failed to reload ownership of party {}: {}", partyId, e.getMessage());
+        }
+        contextCacheInvalidator.ownershipChanged(partyId);
+    }
+
+    /**
+     * Reload the ownership relationships from and to a party in this
+     * instance's graph
+     *
+     * Evicts the cached owners of the party and of every entity it owns
+     * directly or indirectly, before and after the change.
+     */
+    public void reload(String partyId) {
+        if (partyId == null) {
+            return;
+        }
+        if (rebuilding) {
+            refreshedDuringRebuild.add(partyId);
+        }
+        if (graph == null) {
+            return;
+        }
+
+        List<Edge> edges = new ArrayList<>();
+        neo4jClient.query("""
+                        MATCH (p:Party {federatedId: $partyId})
+                        CALL {
+                            WITH p
+                            MATCH (:Party)-[r:OWNS|PARENT_OF|BENEFICIAL_OWNER_OF]->(p)
+                            RETURN r
+                            UNION
+                            WITH p
+                            MATCH (p)-[r:OWNS|PARENT_OF|BENEFICIAL_OWNER_OF]->(:Party)
+                            RETURN r
+                        }
+                        RETURN %s AS edge
+                        """.formatted(EDGE))
+                .bind(partyId).to("partyId")
+                .fetch()
+                .all()
+                .forEach(row -> edges.add(edge((Map<?, ?>) row.get("edge"))));
+
+        lock.writeLock().lock();
+        try {
+            Set<String> affected = new HashSet<>(graph.downstream(partyId));
+            graph.replace(partyId, edges);
+            affected.addAll(graph.downstream(partyId));
+            owners.invalidateAll(affected);
+            log.debug("Ownership of party {} refreshed, {} entities affected", partyId, affected.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Individuals owning at least {@link #UBO_THRESHOLD}% of the entity,
+     * directly or through other parties, largest stake first
+     */
+    public List<BeneficialOwnership> ultimateBeneficialOwners(String entityId) {
+        List<Owner> ubos = owners(entityId).stream()
+                .filter(owner -> owner.individual() && owner.percentage() >= UBO_THRESHOLD)
+                .toList();
+        Map<String, Individual> individuals = relationshipLoader.parties(ids(ubos), Individual.class);
+
+        List<BeneficialOwnership> result = new ArrayList<>();
+        for (Owner owner : ubos) {
+            Individual individual = individuals.get(owner.ownerId());
+            if (individual == null) {
+                continue;
+            }
+            Edge direct = owner.directEdge();
+            result.add(new BeneficialOwnership(
+                    individual,
+                    owner.percentage(),
+                    controlLevel(owner),
+                    true,
+                    direct != null ? direct.verificationDate() : null,
+                    owner.ownershipPath()));
+        }
+        return result;
+    }
+
+    /**
+     * Direct and indirect owners of the entity with their effective
+     * ownership, largest stake first
+     */
+    public List<OwnershipInfo> ownershipChain(String entityId) {
+        List<Owner> chain = owners(entityId);
+        Map<String, Party> parties = relationshipLoader.parties(ids(chain), Party.class);
+
+        List<OwnershipInfo> result = new ArrayList<>();
+        for (Owner owner : chain) {
+            Party party = parties.get(owner.ownerId());
+            if (party == null) {
+                continue;
+            }
+            Edge direct = owner.directEdge();
+            result.add(new OwnershipInfo(
+                    party,
+                    owner.percentage(),
+                    direct != null,
+                    direct != null ? direct.votingRights() : null,
+                    direct != null ? direct.effectiveDate() : null));
+        }
+        return result;
+    }
+
+    private List<Owner> owners(String entityId) {
+        if (graph == null) {
+            return subgraph(entityId).owners(entityId);
+        }
+
+        advanceGraph();
+        lock.readLock().lock();
+        try {
+            OwnershipGraph current = graph;
+            return owners.get(entityId, current::owners);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count the relationships in force today, once per day
+     */
+    private void advanceGraph() {
+        LocalDate today = LocalDate.now();
+        if (today.equals(graphDate)) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (graph.advanceTo(today)) {
+                owners.invalidateAll();
+                log.info("Ownership relationships started or ended on {}, cached owners dropped", today);
+            }
+            graphDate = today;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ownership graph of one entity read from Neo4j, used until the full graph is loaded
+     */
+    private OwnershipGraph subgraph(String entityId) {
+        OwnershipGraph subgraph = new OwnershipGraph();
+        neo4jClient.query("""
+                        MATCH path = (:Party)-[:OWNS|PARENT_OF|BENEFICIAL_OWNER_OF*1..%d]->(:Party {federatedId: $entityId})
+                        UNWIND relationships(path) AS r
+                        WITH DISTINCT r
+                        WHERE %s
+                        RETURN %s AS edge
+                        """.formatted(OwnershipGraph.MAX_CHAIN_LENGTH, ACTIVE, EDGE))
+                .bind(entityId).to("entityId")
+                .fetch()
+                .all()
+                .forEach(row -> subgraph.add(edge((Map<?, ?>) row.get("edge"))));
+        return subgraph;
+    }
+
+    /**
+     * Control level recorded on a direct beneficial ownership, otherwise
+     * DIRECT or INDIRECT by how the stake is held
+     */
+    private static String controlLevel(Owner owner) {
+        Edge direct = owner.directEdge();
+        if (direct != null && direct.controlLevel() != null) {
+            return direct.controlLevel();
+        }
+        return direct != null ? "DIRECT" : "INDIRECT";
+    }
+
+    private static List<String> ids(List<Owner> owners) {
+        return owners.stream().map(Owner::ownerId).toList();
+    }
+
+    private static Edge edge(Map<?, ?> row) {
+        return new Edge(
+                (String) row.get("ownerId"),
+                Boolean.TRUE.equals(row.get("ownerIndividual")),
+                (String) row.get("ownedId"),
+                row.get("ownershipPercentage") instanceof Number percentage ? percentage.doubleValue() : null,
+                Boolean.TRUE.equals(row.get("beneficial")),
+                row.get("votingRights") instanceof Number votingRights ? votingRights.doubleValue() : null,
+                (LocalDate) row.get("effectiveDate"),
+                (LocalDate) row.get("endDate"),
+                (String) row.get("controlLevel"),
+                (LocalDate) row.get("verificationDate"));
+    }
+}
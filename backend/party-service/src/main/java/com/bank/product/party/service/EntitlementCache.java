@@ -0,0 +1,306 @@
+package com.bank.product.party.service;
+
+import com.bank.product.entitlement.Entitlement;
+import com.bank.product.entitlement.EntitlementConstraints;
+import com.bank.product.entitlement.ResourceOperation;
+import com.bank.product.entitlement.ResourcePermission;
+import com.bank.product.entitlement.ResourceType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-party cache of active entitlements and their merged permissions
+ *
+ * Each entry holds a party's active entitlements in a tenant, grouped by
+ * resource, with the merged {@link ResourcePermission} of every group.
+ * Grants and revocations update the cached entry in place, re-merging only
+ * the resource they touch; nothing is reloaded.
+ *
+ * Groups containing time-bound entitlements (expiry, validity dates, days of
+ * week) are merged again on every read, as their validity changes with time.
+ * Changes made by other instances evict the party's entry (see
+ * PartyChangeListener); the TTL only guards against entitlements written
+ * outside the service.
+ *
+ * @author Product Catalog Team
+ * @since 2.0 - Fine-Grained Entitlements
+ */
+@Component
+public class EntitlementCache {
+
+    private final Cache<String, PartyEntitlements> cache = Caffeine.newBuilder()
+            .maximumSize(10000)
+            .expireAfterWrite(5, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+
+    public EntitlementCache(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "entitlements");
+    }
+
+    /**
+     * Cached entitlements of a party, loaded on a miss
+     *
+     * @param loader Loads the party's active entitlements
+     */
+    public PartyEntitlements get(String tenantId, String partyId, Supplier<List<Entitlement>> loader) {
+        return cache.get(key(tenantId, partyId), k -> PartyEntitlements.of(loader.get()));
+    }
+
+    /**
+     * Cached entitlements of many parties, loading all misses with one call
+     *
+     * @param loader Loads the active entitlements of the given parties
+     * @return Entitlements by party ID, for every requested party
+     */
+    public Map<String, PartyEntitlements> getAll(String tenantId, Collection<String> partyIds,
+                                                 Function<Set<String>, List<Entitlement>> loader) {
+        Map<String, String> partyIdsByKey = new LinkedHashMap<>();
+        for (String partyId : partyIds) {
+            partyIdsByKey.put(key(tenantId, partyId), partyId);
+        }
+
+        Map<String, PartyEntitlements> cached = cache.getAll(partyIdsByKey.keySet(), missingKeys -> {
+            Set<String> missingPartyIds = new HashSet<>();
+            missingKeys.forEach(key -> missingPartyIds.add(partyIdsByKey.get(key)));
+
+            Map<String, List<Entitlement>> loaded = new HashMap<>();
+            for (Entitlement entitlement : loader.apply(missingPartyIds)) {
+                loaded.computeIfAbsent(entitlement.getPartyId(), id -> new ArrayList<>()).add(entitlement);
+            }
+
+            Map<String, PartyEntitlements> entries = new HashMap<>();
+            for (String key : missingKeys) {
+                entries.put(key, PartyEntitlements.of(
+                        loaded.getOrDefault(partyIdsByKey.get(key), List.of())));
+            }
+            return entries;
+        });
+
+        Map<String, PartyEntitlements> byPartyId = new LinkedHashMap<>();
+        cached.forEach((key, entitlements) -> byPartyId.put(partyIdsByKey.get(key), entitlements));
+        return byPartyId;
+    }
+
+    /**
+     * Apply a saved entitlement to its party's cached entry, if any
+     *
+     * Active entitlements are added or replaced, inactive ones removed.
+     */
+    public void apply(Entitlement entitlement) {
+        cache.asMap().computeIfPresent(key(entitlement.getTenantId(), entitlement.getPartyId()),
+                (key, entitlements) -> entitlement.isActive()
+                        ? entitlements.with(entitlement)
+                        : entitlements.without(entitlement));
+    }
+
+    /**
+     * Drop a party's cached entry, so the next read loads it again
+     *
+     * @param tenantId Tenant of the entry, or null for every tenant
+     */
+    public void evict(String tenantId, String partyId) {
+        if (tenantId != null) {
+            cache.invalidate(key(tenantId, partyId));
+            return;
+        }
+
+        String suffix = ":" + partyId;
+        cache.invalidateAll(cache.asMap().keySet().stream()
+                .filter(key -> key.endsWith(suffix))
+                .toList());
+    }
+
+    private static String key(String tenantId, String partyId) {
+        return tenantId + ":" + partyId;
+    }
+
+    /**
+     * Immutable snapshot of one party's active entitlements
+     */
+    public static final class PartyEntitlements {
+
+        private final Map<String, ResourceGroup> groups;
+
+        private PartyEntitlements(Map<String, ResourceGroup> groups) {
+            this.groups = groups;
+        }
+
+        static PartyEntitlements of(List<Entitlement> entitlements) {
+            Map<String, List<Entitlement>> byResource = new HashMap<>();
+            for (Entitlement entitlement : entitlements) {
+                byResource.computeIfAbsent(resourceKey(entitlement.getResourceType(), entitlement.getResourceId()),
+                        key -> new ArrayList<>()).add(entitlement);
+            }
+
+            Map<String, ResourceGroup> groups = new HashMap<>();
+            byResource.forEach((key, group) -> groups.put(key, ResourceGroup.of(group)));
+            return new PartyEntitlements(groups);
+        }
+
+        /**
+         * Copy with the entitlement added, or replacing the one with the same ID
+         */
+        PartyEntitlements with(Entitlement entitlement) {
+            String key = resourceKey(entitlement.getResourceType(), entitlement.getResourceId());
+            Map<String, ResourceGroup> updated = new HashMap<>(groups);
+            updated.put(key, ResourceGroup.of(replace(updated.get(key), entitlement, true)));
+            return new PartyEntitlements(updated);
+        }
+
+        /**
+         * Copy without the entitlement with the same ID
+         */
+        PartyEntitlements without(Entitlement entitlement) {
+            String key = resourceKey(entitlement.getResourceType(), entitlement.getResourceId());
+            ResourceGroup group = groups.get(key);
+            if (group == null) {
+                return this;
+            }
+
+            Map<String, ResourceGroup> updated = new HashMap<>(groups);
+            List<Entitlement> remaining = replace(group, entitlement, false);
+            if (remaining.isEmpty()) {
+                updated.remove(key);
+            } else {
+                updated.put(key, ResourceGroup.of(remaining));
+            }
+            return new PartyEntitlements(updated);
+        }
+
+        /**
+         * Merged permissions keyed "resourceType:resourceId" ("resourceType:*" for type-level)
+         */
+        public Map<String, ResourcePermission> permissions() {
+            Map<String, ResourcePermission> permissions = new HashMap<>(groups.size() * 2);
+            groups.forEach((key, group) -> permissions.put(key, group.permission()));
+            return permissions;
+        }
+
+        /**
+         * Merged permissions for one resource type
+         */
+        public Map<String, ResourcePermission> permissions(ResourceType resourceType) {
+            Map<String, ResourcePermission> permissions = new HashMap<>();
+            groups.forEach((key, group) -> {
+                if (group.resourceType == resourceType) {
+                    permissions.put(key, group.permission());
+                }
+            });
+            return permissions;
+        }
+
+        /**
+         * Entitlements on the resource and on all resources of its type, merged
+         *
+         * @return merged permission, or null if there are no such entitlements
+         */
+        public ResourcePermission permission(ResourceType resourceType, String resourceId) {
+            ResourceGroup specific = resourceId != null ? groups.get(resourceKey(resourceType, resourceId)) : null;
+            ResourceGroup typeLevel = groups.get(resourceKey(resourceType, null));
+            if (specific == null && typeLevel == null) {
+                return null;
+            }
+
+            List<Entitlement> combined = new ArrayList<>();
+            if (specific != null) {
+                combined.addAll(specific.entitlements);
+            }
+            if (typeLevel != null) {
+                combined.addAll(typeLevel.entitlements);
+            }
+            return ResourcePermission.merge(combined, resourceType, resourceId);
+        }
+
+        /**
+         * Does any valid entitlement on the resource, or on its type, grant the operation?
+         */
+        public boolean allows(ResourceOperation operation, ResourceType resourceType, String resourceId) {
+            ResourceGroup specific = resourceId != null ? groups.get(resourceKey(resourceType, resourceId)) : null;
+            ResourceGroup typeLevel = groups.get(resourceKey(resourceType, null));
+            return (specific != null && specific.allows(operation))
+                    || (typeLevel != null && typeLevel.allows(operation));
+        }
+
+        private static List<Entitlement> replace(ResourceGroup group, Entitlement entitlement, boolean add) {
+            List<Entitlement> entitlements = new ArrayList<>();
+            if (group != null) {
+                for (Entitlement existing : group.entitlements) {
+                    if (!Objects.equals(existing.getId(), entitlement.getId())) {
+                        entitlements.add(existing);
+                    }
+                }
+            }
+            if (add) {
+                entitlements.add(entitlement);
+            }
+            return entitlements;
+        }
+    }
+
+    /**
+     * Active entitlements on one resource, with their merged permission
+     */
+    private static final class ResourceGroup {
+
+        private final ResourceType resourceType;
+        private final String resourceId;
+        private final List<Entitlement> entitlements;
+        private final ResourcePermission merged;
+
+        private ResourceGroup(List<Entitlement> entitlements) {
+            this.resourceType = entitlements.get(0).getResourceType();
+            this.resourceId = entitlements.get(0).getResourceId();
+            this.entitlements = List.copyOf(entitlements);
+            this.merged = entitlements.stream().anyMatch(ResourceGroup::isTimeBound)
+                    ? null
+                    : ResourcePermission.merge(this.entitlements, resourceType, resourceId);
+        }
+
+        static ResourceGroup of(List<Entitlement> entitlements) {
+            return new ResourceGroup(entitlements);
+        }
+
+        ResourcePermission permission() {
+            return merged != null ? merged : ResourcePermission.merge(entitlements, resourceType, resourceId);
+        }
+
+        boolean allows(ResourceOperation operation) {
+            if (merged != null) {
+                return merged.hasOperation(operation);
+            }
+            for (Entitlement entitlement : entitlements) {
+                if (entitlement.isValid() && entitlement.getOperations().contains(operation)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Validity of the entitlement depends on the current date or time
+         */
+        private static boolean isTimeBound(Entitlement entitlement) {
+            EntitlementConstraints constraints = entitlement.getConstraints();
+            return entitlement.getExpiresAt() != null
+                    || (constraints != null && (constraints.getValidFrom() != null
+                    || constraints.getValidUntil() != null
+                    || !constraints.getAllowedDaysOfWeek().isEmpty()));
+        }
+    }
+
+    private static String resourceKey(ResourceType resourceType, String resourceId) {
+        if (resourceId == null) {
+            return resourceType.name() + ":*";
+        }
+        return resourceType.name() + ":" + resourceId;
+    }
+}
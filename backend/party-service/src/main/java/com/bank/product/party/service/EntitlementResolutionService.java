@@ -1,13 +1,15 @@
 package com.bank.product.party.service;
 
 import com.bank.product.entitlement.*;
+import com.bank.product.party.context.ContextCacheInvalidator;
 import com.bank.product.party.repository.EntitlementRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for resolving fine-grained entitlements for parties
@@ -18,15 +20,38 @@ import java.util.stream.Collectors;
  * 3. Handles relationship-based, role-based, and explicit entitlements
  * 4. Provides efficient lookup for authorization decisions
  *
+ * Active entitlements are cached per party ({@link EntitlementCache}) and
+ * kept current by grants and revocations made through this service.
+ *
  * @author Product Catalog Team
  * @since 2.0 - Fine-Grained Entitlements
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EntitlementResolutionService {
 
     private final EntitlementRepository entitlementRepository;
+    private final ContextCacheInvalidator contextCacheInvalidator;
+    private final EntitlementCache entitlementCache;
+    private final Timer allTimer;
+    private final Timer bulkTimer;
+    private final Timer typeTimer;
+    private final Timer resourceTimer;
+    private final Timer checkTimer;
+
+    public EntitlementResolutionService(EntitlementRepository entitlementRepository,
+                                        ContextCacheInvalidator contextCacheInvalidator,
+                                        EntitlementCache entitlementCache,
+                                        MeterRegistry meterRegistry) {
+        this.entitlementRepository = entitlementRepository;
+        this.contextCacheInvalidator = contextCacheInvalidator;
+        this.entitlementCache = entitlementCache;
+        this.allTimer = timer(meterRegistry, "all");
+        this.bulkTimer = timer(meterRegistry, "bulk");
+        this.typeTimer = timer(meterRegistry, "type");
+        this.resourceTimer = timer(meterRegistry, "resource");
+        this.checkTimer = timer(meterRegistry, "check");
+    }
 
     /**
      * Resolve all resource permissions for a party in a tenant
@@ -39,46 +64,40 @@ public class EntitlementResolutionService {
      * @return Map of resource permissions
      */
     public Map<String, ResourcePermission> resolveAllPermissions(String tenantId, String partyId) {
-        long startTime = System.currentTimeMillis();
-
         log.debug("Resolving entitlements for tenant: {}, party: {}", tenantId, partyId);
 
-        // Load all active entitlements for the party
-        List<Entitlement> entitlements = entitlementRepository.findByTenantIdAndPartyIdAndActiveTrue(
-                tenantId, partyId);
-
-        log.debug("Found {} active entitlements for party: {}", entitlements.size(), partyId);
-
-        // Group entitlements by resource (type + id)
-        Map<String, List<Entitlement>> groupedByResource = entitlements.stream()
-                .collect(Collectors.groupingBy(e ->
-                        makeResourceKey(e.getResourceType(), e.getResourceId())));
-
-        // Merge entitlements into ResourcePermissions
-        Map<String, ResourcePermission> permissions = new HashMap<>();
-        for (Map.Entry<String, List<Entitlement>> entry : groupedByResource.entrySet()) {
-            String resourceKey = entry.getKey();
-            List<Entitlement> resourceEntitlements = entry.getValue();
+        Map<String, ResourcePermission> permissions = allTimer.record(() ->
+                partyEntitlements(tenantId, partyId).permissions());
 
-            // Parse resource type and ID from key
-            String[] parts = resourceKey.split(":", 2);
-            ResourceType resourceType = ResourceType.valueOf(parts[0]);
-            String resourceId = parts.length > 1 && !parts[1].equals("*") ? parts[1] : null;
-
-            // Merge entitlements into single permission
-            ResourcePermission permission = ResourcePermission.merge(
-                    resourceEntitlements, resourceType, resourceId);
-
-            permissions.put(resourceKey, permission);
-        }
-
-        long resolutionTime = System.currentTimeMillis() - startTime;
-        log.info("Resolved {} resource permissions in {}ms for party: {}",
-                permissions.size(), resolutionTime, partyId);
+        log.debug("Resolved {} resource permissions for party: {}", permissions.size(), partyId);
 
         return permissions;
     }
 
+    /**
+     * Resolve all resource permissions for many parties in a tenant
+     *
+     * Parties not in the entitlement cache are loaded with a single query.
+     *
+     * @param tenantId Tenant ID
+     * @param partyIds Party IDs
+     * @return Resource permissions keyed by "resourceType:resourceId", by party ID
+     */
+    public Map<String, Map<String, ResourcePermission>> resolveAllPermissions(String tenantId,
+                                                                               Collection<String> partyIds) {
+        log.debug("Resolving entitlements for tenant: {}, {} parties", tenantId, partyIds.size());
+
+        return bulkTimer.record(() -> {
+            Map<String, Map<String, ResourcePermission>> permissions = new LinkedHashMap<>();
+            entitlementCache.getAll(tenantId, partyIds, missing -> {
+                        log.debug("Loading entitlements for {} uncached parties", missing.size());
+                        return entitlementRepository.findByTenantIdAndPartyIdInAndActiveTrue(tenantId, missing);
+                    })
+                    .forEach((partyId, entitlements) -> permissions.put(partyId, entitlements.permissions()));
+            return permissions;
+        });
+    }
+
     /**
      * Resolve permissions for a specific resource type
      *
@@ -92,25 +111,8 @@ public class EntitlementResolutionService {
 
         log.debug("Resolving {} entitlements for party: {}", resourceType, partyId);
 
-        List<Entitlement> entitlements = entitlementRepository
-                .findByTenantIdAndPartyIdAndResourceTypeAndActiveTrue(tenantId, partyId, resourceType);
-
-        // Group by resource ID
-        Map<String, List<Entitlement>> groupedByResourceId = entitlements.stream()
-                .collect(Collectors.groupingBy(e ->
-                        e.getResourceId() != null ? e.getResourceId() : "*"));
-
-        Map<String, ResourcePermission> permissions = new HashMap<>();
-        for (Map.Entry<String, List<Entitlement>> entry : groupedByResourceId.entrySet()) {
-            String resourceId = entry.getKey().equals("*") ? null : entry.getKey();
-            List<Entitlement> resourceEntitlements = entry.getValue();
-
-            ResourcePermission permission = ResourcePermission.merge(
-                    resourceEntitlements, resourceType, resourceId);
-
-            String key = makeResourceKey(resourceType, resourceId);
-            permissions.put(key, permission);
-        }
+        Map<String, ResourcePermission> permissions = typeTimer.record(() ->
+                partyEntitlements(tenantId, partyId).permissions(resourceType));
 
         log.debug("Resolved {} {} permissions for party: {}",
                 permissions.size(), resourceType, partyId);
@@ -121,6 +123,9 @@ public class EntitlementResolutionService {
     /**
      * Resolve permissions for a specific resource
      *
+     * Entitlements on the resource and type-level entitlements (resourceId = null)
+     * are merged into a single permission.
+     *
      * @param tenantId Tenant ID
      * @param partyId Party ID
      * @param resourceType Resource type
@@ -133,28 +138,14 @@ public class EntitlementResolutionService {
         log.debug("Resolving permission for {}:{} for party: {}",
                 resourceType, resourceId, partyId);
 
-        // Load entitlements for specific resource
-        List<Entitlement> entitlements = entitlementRepository
-                .findByTenantIdAndPartyIdAndResourceTypeAndResourceIdAndActiveTrue(
-                        tenantId, partyId, resourceType, resourceId);
-
-        // Also load type-level entitlements (resourceId = null)
-        List<Entitlement> typeLevelEntitlements = entitlementRepository
-                .findTypeLevelEntitlements(tenantId, partyId, resourceType);
+        ResourcePermission permission = resourceTimer.record(() ->
+                partyEntitlements(tenantId, partyId).permission(resourceType, resourceId));
 
-        // Combine both
-        List<Entitlement> allEntitlements = new ArrayList<>();
-        allEntitlements.addAll(entitlements);
-        allEntitlements.addAll(typeLevelEntitlements);
-
-        if (allEntitlements.isEmpty()) {
+        if (permission == null) {
             log.debug("No entitlements found for {}:{} for party: {}",
                     resourceType, resourceId, partyId);
-            return null;
         }
-
-        // Merge into single permission
-        return ResourcePermission.merge(allEntitlements, resourceType, resourceId);
+        return permission;
     }
 
     /**
@@ -172,14 +163,10 @@ public class EntitlementResolutionService {
                                   ResourceType resourceType,
                                   String resourceId) {
 
-        ResourcePermission permission = resolvePermissionForResource(
-                tenantId, partyId, resourceType, resourceId);
-
-        if (permission == null) {
-            return false;
-        }
-
-        return permission.hasOperation(operation);
+        long start = System.nanoTime();
+        boolean permitted = partyEntitlements(tenantId, partyId).allows(operation, resourceType, resourceId);
+        checkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return permitted;
     }
 
     /**
@@ -218,9 +205,12 @@ public class EntitlementResolutionService {
                 .build();
 
         Entitlement saved = entitlementRepository.save(entitlement);
+        entitlementCache.apply(saved);
 
         log.info("Entitlement granted: {} for party: {}", saved.getId(), partyId);
 
+        contextCacheInvalidator.entitlementsChanged(tenantId, partyId);
+
         return saved;
     }
 
@@ -240,8 +230,11 @@ public class EntitlementResolutionService {
 
         entitlement.revoke(revokedBy, reason);
         entitlementRepository.save(entitlement);
+        entitlementCache.apply(entitlement);
 
         log.info("Entitlement revoked: {}", entitlementId);
+
+        contextCacheInvalidator.entitlementsChanged(entitlement.getTenantId(), entitlement.getPartyId());
     }
 
     /**
@@ -271,9 +264,12 @@ public class EntitlementResolutionService {
         }
 
         entitlementRepository.saveAll(entitlements);
+        entitlements.forEach(entitlementCache::apply);
 
         log.info("Revoked {} entitlements for {}:{}",
                 entitlements.size(), resourceType, resourceId);
+
+        invalidateContexts(entitlements);
     }
 
     /**
@@ -317,20 +313,45 @@ public class EntitlementResolutionService {
         }
 
         entitlementRepository.saveAll(expired);
+        expired.forEach(entitlementCache::apply);
 
         log.info("Deactivated {} expired entitlements", expired.size());
 
+        invalidateContexts(expired);
+
         return expired.size();
     }
 
     /**
-     * Make resource key for map lookup
-     * Format: "RESOURCE_TYPE:resourceId" or "RESOURCE_TYPE:*" for type-level
+     * Cached entitlements of a party, loaded on a miss
      */
-    private String makeResourceKey(ResourceType resourceType, String resourceId) {
-        if (resourceId == null) {
-            return resourceType.name() + ":*";
-        }
-        return resourceType.name() + ":" + resourceId;
+    private EntitlementCache.PartyEntitlements partyEntitlements(String tenantId, String partyId) {
+        return entitlementCache.get(tenantId, partyId, () -> {
+            List<Entitlement> entitlements = entitlementRepository.findByTenantIdAndPartyIdAndActiveTrue(
+                    tenantId, partyId);
+            log.debug("Loaded {} active entitlements for party: {}", entitlements.size(), partyId);
+            return entitlements;
+        });
+    }
+
+    /**
+     * Resolution timer, tagged by kind of lookup
+     */
+    private static Timer timer(MeterRegistry meterRegistry, String scope) {
+        return Timer.builder("entitlements.resolution")
+                .description("Entitlement resolution time")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Invalidate cached contexts and entitlements of every party affected by changed entitlements
+     */
+    private void invalidateContexts(List<Entitlement> changed) {
+        changed.stream()
+                .filter(entitlement -> entitlement.getPartyId() != null)
+                .map(entitlement -> Arrays.asList(entitlement.getTenantId(), entitlement.getPartyId()))
+                .distinct()
+                .forEach(party -> contextCacheInvalidator.entitlementsChanged(party.get(0), party.get(1)));
     }
 }
@@ -0,0 +1,444 @@
+package com.bank.product.party.service;
+
+import com.bank.product.party.context.ContextCacheInvalidator;
+import com.bank.product.party.domain.Organization;
+import com.bank.product.party.domain.Party;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Maintains the materialized organization hierarchy.
+ *
+ * Every Organization node carries its position in the hierarchy as properties:
+ * - hierarchyPath: federated IDs from the top-level organization down to the
+ *   organization itself, "/top/.../parent/self/"
+ * - hierarchyDepth: number of parents above the organization, 0 at the top
+ * - ultimateParentId: the top-level organization, itself at the top
+ *
+ * With hierarchyPath indexed, hierarchy queries become index lookups instead
+ * of variable-length traversals:
+ * - ultimate parent: the organization's ultimateParentId
+ * - subtree: organizations whose hierarchyPath STARTS WITH the root's path
+ * - depth: hierarchyDepth, relative depth is the difference of two depths
+ *
+ * The parent of an organization is the target of its SUBSIDIARY_OF
+ * relationship or the source of an incoming PARENT_OF relationship; an
+ * organization with several parents is placed under the one with the lowest
+ * federated ID. Changes made through {@link #setParent} and
+ * {@link #removeParent} update the paths of the moved subtree in the same
+ * transaction, and every service saving an Organization through its
+ * repository - which writes its SUBSIDIARY_OF and PARENT_OF relationships -
+ * places it with {@link #saved(Party)}. Hierarchy relationships written any
+ * other way are picked up by {@link #rebuild()}, which recomputes every path
+ * from the relationships, repairs the ones that differ, and runs at startup
+ * and nightly; until then queries walk the relationships of organizations
+ * without a path.
+ */
+@Service
+@Slf4j
+public class OrganizationHierarchyService {
+
+    public static final String HIERARCHY_PATH_INDEX = "organization_hierarchy_path";
+    public static final String ULTIMATE_PARENT_INDEX = "organization_ultimate_parent";
+
+    private static final String SEPARATOR = "/";
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    private final Neo4jClient neo4jClient;
+    private final ContextCacheInvalidator contextCacheInvalidator;
+    private final BeneficialOwnershipService beneficialOwnershipService;
+
+    public OrganizationHierarchyService(Neo4jClient neo4jClient, ContextCacheInvalidator contextCacheInvalidator,
+                                        BeneficialOwnershipService beneficialOwnershipService) {
+        this.neo4jClient = neo4jClient;
+        this.contextCacheInvalidator = contextCacheInvalidator;
+        this.beneficialOwnershipService = beneficialOwnershipService;
+    }
+
+    /**
+     * Make an organization a subsidiary of another, replacing its current parent
+     *
+     * @param ownershipPercentage Ownership of the parent in the child, if known
+     * @return Number of organizations whose hierarchy position changed
+     */
+    @Transactional
+    public int setParent(String childId, String parentId, Double ownershipPercentage) {
+        if (childId.equals(parentId)) {
+            throw new IllegalArgumentException("Organization cannot be its own parent: " + childId);
+        }
+
+        // Without a materialized path, walk the parent's relationships up instead
+        boolean parentBelowChild = neo4jClient.query("""
+                        MATCH (child:Organization {federatedId: $childId}), (parent:Organization {federatedId: $parentId})
+                        RETURN CASE
+                                 WHEN parent.hierarchyPath IS NOT NULL
+                                   THEN parent.hierarchyPath CONTAINS $childSegment
+                                 ELSE EXISTS { (parent)-[:SUBSIDIARY_OF*1..]->(child) }
+                                   OR EXISTS { (child)-[:PARENT_OF*1..]->(parent) }
+                               END AS parentBelowChild
+                        """)
+                .bindAll(Map.of("childId", childId, "parentId", parentId,
+                        "childSegment", SEPARATOR + childId + SEPARATOR))
+                .fetchAs(Boolean.class)
+                .one()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Organization not found: " + childId + " or " + parentId));
+        if (parentBelowChild) {
+            throw new IllegalArgumentException(
+                    "Organization " + parentId + " is a subsidiary of " + childId + ", cannot become its parent");
+        }
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("childId", childId);
+        parameters.put("parentId", parentId);
+        parameters.put("ownershipPercentage", ownershipPercentage);
+        neo4jClient.query("""
+                        MATCH (child:Organization {federatedId: $childId}), (parent:Organization {federatedId: $parentId})
+                        OPTIONAL MATCH (child)-[up:SUBSIDIARY_OF]->(:Organization)
+                        OPTIONAL MATCH (:Organization)-[down:PARENT_OF]->(child)
+                        DELETE up, down
+                        WITH DISTINCT child, parent
+                        CREATE (child)-[:SUBSIDIARY_OF {ownershipPercentage: $ownershipPercentage, direct: true,
+                                                        effectiveDate: date()}]->(parent)
+                        CREATE (parent)-[:PARENT_OF {ownershipPercentage: $ownershipPercentage, direct: true,
+                                                     effectiveDate: date()}]->(child)
+                        """)
+                .bindAll(parameters)
+                .run();
+
+        log.info("Organization {} is now a subsidiary of {}", childId, parentId);
+        return moved(childId);
+    }
+
+    /**
+     * Detach an organization from its parent, making it a top-level organization
+     *
+     * @return Number of organizations whose hierarchy position changed
+     */
+    @Transactional
+    public int removeParent(String childId) {
+        neo4jClient.query("""
+                        MATCH (child:Organization {federatedId: $childId})
+                        OPTIONAL MATCH (child)-[up:SUBSIDIARY_OF]->(:Organization)
+                        OPTIONAL MATCH (:Organization)-[down:PARENT_OF]->(child)
+                        DELETE up, down
+                        """)
+                .bind(childId).to("childId")
+                .run();
+
+        log.info("Organization {} is now a top-level organization", childId);
+        return moved(childId);
+    }
+
+    /**
+     * Place an organization in the hierarchy after it was saved, together
+     * with the subsidiaries the save attached to it
+     *
+     * Saving an Organization writes its SUBSIDIARY_OF and PARENT_OF
+     * relationships but not its materialized position; every service saving
+     * one calls this in the saving transaction. Other parties are ignored.
+     *
+     * @return Number of organizations whose hierarchy position changed
+     */
+    @Transactional
+    public int saved(Party party) {
+        if (!(party instanceof Organization) || party.getFederatedId() == null) {
+            return 0;
+        }
+        String organizationId = party.getFederatedId();
+        int changed = refresh(organizationId);
+
+        List<String> misplaced = List.copyOf(neo4jClient.query("""
+                        MATCH (o:Organization {federatedId: $id})
+                        CALL {
+                            WITH o
+                            MATCH (child:Organization)-[:SUBSIDIARY_OF]->(o)
+                            RETURN child
+                            UNION
+                            WITH o
+                            MATCH (o)-[:PARENT_OF]->(child:Organization)
+                            RETURN child
+                        }
+                        WITH o, child
+                        WHERE child <> o
+                          AND (child.hierarchyPath IS NULL OR NOT child.hierarchyPath STARTS WITH o.hierarchyPath)
+                        RETURN child.federatedId AS childId
+                        """)
+                .bind(organizationId).to("id")
+                .fetchAs(String.class)
+                .all());
+        for (String childId : misplaced) {
+            // No-op for a child placed under another of its parents
+            changed += refresh(childId);
+        }
+
+        if (changed > 0) {
+            contextCacheInvalidator.invalidate(organizationId, ContextCacheInvalidator.REASON_RELATIONSHIP_CHANGED);
+        }
+        return changed;
+    }
+
+    /**
+     * Recompute the hierarchy position of an organization from its parent
+     * relationships and move its subtree with it
+     *
+     * The parent's stored position is trusted; use {@link #rebuild()} after
+     * bulk changes.
+     *
+     * @return Number of organizations whose hierarchy position changed
+     */
+    @Transactional
+    public int refresh(String organizationId) {
+        return refresh(organizationId, new HashSet<>());
+    }
+
+    /**
+     * @param refreshing Organizations being refreshed further down the call stack
+     */
+    private int refresh(String organizationId, Set<String> refreshing) {
+        refreshing.add(organizationId);
+        Map<String, Object> current = neo4jClient.query("""
+                        MATCH (o:Organization {federatedId: $id})
+                        OPTIONAL MATCH (o)-[:SUBSIDIARY_OF]->(up:Organization)
+                        OPTIONAL MATCH (down:Organization)-[:PARENT_OF]->(o)
+                        WITH o, [p IN collect(DISTINCT up) + collect(DISTINCT down) WHERE p <> o] AS parents
+                        UNWIND (CASE WHEN parents = [] THEN [null] ELSE parents END) AS parent
+                        WITH o, parent
+                        ORDER BY parent.federatedId
+                        LIMIT 1
+                        RETURN o.hierarchyPath AS oldPath, coalesce(o.hierarchyDepth, 0) AS oldDepth,
+                               parent.federatedId AS parentId, parent.hierarchyPath AS parentPath
+                        """)
+                .bind(organizationId).to("id")
+                .fetch()
+                .one()
+                .orElseThrow(() -> new IllegalArgumentException("Organization not found: " + organizationId));
+
+        String oldPath = (String) current.get("oldPath");
+        String parentId = (String) current.get("parentId");
+        String parentPath = (String) current.get("parentPath");
+        if (parentId != null && parentPath == null && !refreshing.contains(parentId)) {
+            // Parent not materialized yet: place it first
+            refresh(parentId, refreshing);
+            return refresh(organizationId, refreshing);
+        }
+        if (parentId != null && (parentPath == null || parentPath.contains(SEPARATOR + organizationId + SEPARATOR))) {
+            log.warn("Organization {} is its own ancestor, placing it at the top of the hierarchy", organizationId);
+            parentPath = null;
+        }
+
+        String newPath = (parentPath != null ? parentPath : SEPARATOR) + organizationId + SEPARATOR;
+        if (newPath.equals(oldPath)) {
+            return 0;
+        }
+        int newDepth = depth(newPath);
+        String ultimateParentId = ultimateParentId(newPath);
+
+        neo4jClient.query("""
+                        MATCH (o:Organization {federatedId: $id})
+                        SET o.hierarchyPath = $newPath, o.hierarchyDepth = $newDepth,
+                            o.ultimateParentId = $ultimateParentId
+                        """)
+                .bindAll(Map.of("id", organizationId, "newPath", newPath, "newDepth", newDepth,
+                        "ultimateParentId", ultimateParentId))
+                .run();
+        if (oldPath == null) {
+            return 1;
+        }
+
+        // Rewrite the path prefix of the subtree - an index range seek, no traversal
+        Long descendants = neo4jClient.query("""
+                        MATCH (d:Organization)
+                        WHERE d.hierarchyPath STARTS WITH $oldPath
+                        SET d.hierarchyPath = $newPath + substring(d.hierarchyPath, size($oldPath)),
+                            d.hierarchyDepth = d.hierarchyDepth + $depthDelta,
+                            d.ultimateParentId = $ultimateParentId
+                        RETURN count(d) AS descendants
+                        """)
+                .bindAll(Map.of("oldPath", oldPath, "newPath", newPath,
+                        "depthDelta", newDepth - ((Number) current.get("oldDepth")).intValue(),
+                        "ultimateParentId", ultimateParentId))
+                .fetchAs(Long.class)
+                .one()
+                .orElse(0L);
+        return 1 + descendants.intValue();
+    }
+
+    /**
+     * Recompute the hierarchy position of every organization from the
+     * relationships and repair the ones that differ
+     */
+    public RebuildResult rebuild() {
+        long start = System.currentTimeMillis();
+
+        Map<String, Position> stored = new HashMap<>();
+        neo4jClient.query("""
+                        MATCH (o:Organization)
+                        RETURN o.federatedId AS id, o.hierarchyPath AS path, o.hierarchyDepth AS depth,
+                               o.ultimateParentId AS ultimateParentId
+                        """)
+                .fetch()
+                .all()
+                .forEach(row -> stored.put((String) row.get("id"), row.get("path") != null
+                        ? new Position((String) row.get("path"),
+                                row.get("depth") != null ? ((Number) row.get("depth")).intValue() : -1,
+                                (String) row.get("ultimateParentId"))
+                        : null));
+
+        Map<String, String> parentByChild = new HashMap<>();
+        neo4jClient.query("""
+                        MATCH (child:Organization)-[:SUBSIDIARY_OF]->(parent:Organization)
+                        RETURN child.federatedId AS childId, parent.federatedId AS parentId
+                        UNION
+                        MATCH (parent:Organization)-[:PARENT_OF]->(child:Organization)
+                        RETURN child.federatedId AS childId, parent.federatedId AS parentId
+                        """)
+                .fetch()
+                .all()
+                .forEach(row -> parentByChild.merge((String) row.get("childId"), (String) row.get("parentId"),
+                        (a, b) -> a.compareTo(b) <= 0 ? a : b));
+
+        Materialized materialized = materialize(stored.keySet(), parentByChild);
+
+        List<Map<String, Object>> repairs = new ArrayList<>();
+        materialized.positions().forEach((id, position) -> {
+            if (!position.equals(stored.get(id))) {
+                repairs.add(Map.of("id", id, "path", position.path(), "depth", position.depth(),
+                        "ultimateParentId", position.ultimateParentId()));
+            }
+        });
+        for (int from = 0; from < repairs.size(); from += WRITE_BATCH_SIZE) {
+            neo4jClient.query("""
+                            UNWIND $rows AS row
+                            MATCH (o:Organization {federatedId: row.id})
+                            SET o.hierarchyPath = row.path, o.hierarchyDepth = row.depth,
+                                o.ultimateParentId = row.ultimateParentId
+                            """)
+                    .bind(repairs.subList(from, Math.min(from + WRITE_BATCH_SIZE, repairs.size()))).to("rows")
+                    .run();
+        }
+
+        RebuildResult result = new RebuildResult(stored.size(), repairs.size(), materialized.cycles(),
+                System.currentTimeMillis() - start);
+        if (result.repaired() > 0 || result.cycles() > 0) {
+            log.warn("Organization hierarchy rebuilt: {}", result);
+        } else {
+            log.info("Organization hierarchy consistent: {}", result);
+        }
+        return result;
+    }
+
+    /**
+     * Nightly consistency check, repairing positions that drifted from the relationships
+     */
+    @Scheduled(cron = "${party.hierarchy.rebuild-cron:0 30 2 * * *}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Organization hierarchy rebuild failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Materialize the hierarchy at startup, so paths exist before the first hierarchy query
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void materializeOnStartup() {
+        scheduledRebuild();
+    }
+
+    /**
+     * Positions of all organizations given each organization's parent
+     *
+     * A parent cycle is cut at the organization where the walk up meets
+     * itself again; that organization is placed at the top.
+     */
+    static Materialized materialize(Collection<String> organizationIds, Map<String, String> parentByChild) {
+        Map<String, Position> positions = new HashMap<>();
+        Set<String> cycleRoots = new HashSet<>();
+
+        for (String organizationId : organizationIds) {
+            // Walk up to the first positioned ancestor, the top, or back onto the walk itself
+            List<String> chain = new ArrayList<>();
+            Set<String> onChain = new HashSet<>();
+            String current = organizationId;
+            while (current != null && !positions.containsKey(current) && onChain.add(current)) {
+                chain.add(current);
+                current = parentByChild.get(current);
+            }
+
+            String prefix = current != null && positions.containsKey(current)
+                    ? positions.get(current).path()
+                    : SEPARATOR;
+            if (current != null && !positions.containsKey(current)) {
+                // Walked into a cycle: place the organization where it closed at the top
+                cycleRoots.add(current);
+                chain = chain.subList(0, chain.indexOf(current) + 1);
+                prefix = SEPARATOR;
+            }
+
+            for (int i = chain.size() - 1; i >= 0; i--) {
+                String path = prefix + chain.get(i) + SEPARATOR;
+                positions.put(chain.get(i), Position.of(path));
+                prefix = path;
+            }
+        }
+        return new Materialized(positions, cycleRoots.size());
+    }
+
+    /**
+     * Update the positions below an organization after its parent changed,
+     * its PARENT_OF ownership, and evict contexts resolved from the old hierarchy
+     */
+    private int moved(String organizationId) {
+        int changed = refresh(organizationId);
+        beneficialOwnershipService.refresh(organizationId);
+        contextCacheInvalidator.invalidate(organizationId, ContextCacheInvalidator.REASON_RELATIONSHIP_CHANGED);
+        return changed;
+    }
+
+    private static int depth(String path) {
+        int separators = 0;
+        for (int i = 0; i < path.length(); i++) {
+            if (path.charAt(i) == '/') {
+                separators++;
+            }
+        }
+        return separators - 2;
+    }
+
+    private static String ultimateParentId(String path) {
+        return path.substring(1, path.indexOf(SEPARATOR, 1));
+    }
+
+    /**
+     * Position of an organization in the hierarchy
+     */
+    record Position(String path, int depth, String ultimateParentId) {
+
+        static Position of(String path) {
+            return new Position(path, depth(path), ultimateParentId(path));
+        }
+    }
+
+    record Materialized(Map<String, Position> positions, int cycles) {
+    }
+
+    /**
+     * Outcome of a hierarchy rebuild
+     *
+     * @param organizations Organizations checked
+     * @param repaired Organizations whose stored position was missing or wrong
+     * @param cycles Parent cycles found and cut
+     */
+    public record RebuildResult(int organizations, int repaired, int cycles, long durationMs) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.bank.product.party.service;
+
+import com.bank.product.party.domain.Organization;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of organization name search results, best match first
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationSearchResult {
+
+    private List<Hit> hits;
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    /**
+     * A matching organization with its relevance score
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Hit {
+        private Organization organization;
+        private double score;
+    }
+}
@@ -0,0 +1,158 @@
+package com.bank.product.party.service;
+
+import com.bank.product.party.config.Neo4jConfig;
+import com.bank.product.party.domain.Organization;
+import com.bank.product.party.matching.StringSimilarity;
+import com.bank.product.party.repository.OrganizationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.types.MapAccessor;
+import org.neo4j.driver.types.TypeSystem;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.data.neo4j.core.mapping.Neo4jMappingContext;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Organization name search backed by the Neo4j full-text index
+ * (see {@link Neo4jConfig#ORGANIZATION_NAME_INDEX}).
+ *
+ * Each word of the search text must match name or legalName of the
+ * organization exactly, as a prefix or within a small edit distance:
+ * - exact words rank highest
+ * - prefixes support search-as-you-type ("gold" finds "Goldman")
+ * - fuzzy terms tolerate typos, one edit for words of 4+ characters and
+ *   two for words of 8+ characters
+ *
+ * Results are ordered by the index relevance score and paginated. While the
+ * index is unavailable, search falls back to scanning organization names.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrganizationSearchService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final int FUZZY_TWO_EDITS_MIN_LENGTH = 8;
+
+    private final Neo4jClient neo4jClient;
+    private final Neo4jMappingContext mappingContext;
+    private final OrganizationRepository organizationRepository;
+
+    /**
+     * Search organizations by name
+     *
+     * @param text search text
+     * @param page zero-based page number
+     * @param size page size, capped at {@link #MAX_PAGE_SIZE}
+     */
+    public OrganizationSearchResult search(String text, int page, int size) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        String query = fullTextQuery(text);
+        if (query.isEmpty()) {
+            return toResult(List.of(), pageNumber, pageSize);
+        }
+
+        List<OrganizationSearchResult.Hit> hits;
+        try {
+            hits = searchIndex(query, pageNumber * pageSize, pageSize + 1);
+        } catch (Exception e) {
+            log.warn("Full-text search failed, scanning organization names instead: {}", e.getMessage());
+            hits = scanNames(text, pageNumber * pageSize, pageSize + 1);
+        }
+        return toResult(hits, pageNumber, pageSize);
+    }
+
+    private List<OrganizationSearchResult.Hit> searchIndex(String query, int skip, int limit) {
+        BiFunction<TypeSystem, MapAccessor, Organization> mappingFunction =
+                mappingContext.getRequiredMappingFunctionFor(Organization.class);
+
+        return new ArrayList<>(neo4jClient.query("""
+                        CALL db.index.fulltext.queryNodes($index, $query) YIELD node, score
+                        RETURN node, score
+                        SKIP $skip
+                        LIMIT $limit
+                        """)
+                .bindAll(Map.of("index", Neo4jConfig.ORGANIZATION_NAME_INDEX, "query", query,
+                        "skip", skip, "limit", limit))
+                .fetchAs(OrganizationSearchResult.Hit.class)
+                .mappedBy((typeSystem, record) -> {
+                    Value node = record.get("node");
+                    return new OrganizationSearchResult.Hit(
+                            mappingFunction.apply(typeSystem, node), record.get("score").asDouble());
+                })
+                .all());
+    }
+
+    /**
+     * Fallback while the index is unavailable: substring scan, scored by
+     * trigram similarity of the names
+     */
+    private List<OrganizationSearchResult.Hit> scanNames(String text, int skip, int limit) {
+        String normalized = text.trim().toLowerCase();
+        return organizationRepository.searchByName(text.trim()).stream()
+                .map(organization -> new OrganizationSearchResult.Hit(organization, Math.max(
+                        nameScore(normalized, organization.getName()),
+                        nameScore(normalized, organization.getLegalName()))))
+                .sorted(Comparator.comparingDouble(OrganizationSearchResult.Hit::getScore).reversed())
+                .skip(skip)
+                .limit(limit)
+                .toList();
+    }
+
+    private double nameScore(String normalizedText, String name) {
+        return name != null ? StringSimilarity.trigramSimilarity(normalizedText, name.toLowerCase()) : 0.0;
+    }
+
+    private OrganizationSearchResult toResult(List<OrganizationSearchResult.Hit> hits, int page, int size) {
+        // One extra hit is fetched to tell whether another page exists
+        boolean hasMore = hits.size() > size;
+        return OrganizationSearchResult.builder()
+                .hits(hasMore ? hits.subList(0, size) : hits)
+                .page(page)
+                .size(size)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Build the Lucene query for search text: every word is required, and
+     * may match exactly, as a prefix or fuzzily
+     *
+     * Words are split on anything but letters and digits, so no Lucene
+     * syntax from the input reaches the query.
+     */
+    static String fullTextQuery(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        StringBuilder query = new StringBuilder();
+        for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (!query.isEmpty()) {
+                query.append(' ');
+            }
+            query.append("+(").append(word).append("^3 ").append(word).append('*');
+            if (word.length() >= FUZZY_MIN_LENGTH) {
+                int edits = word.length() >= FUZZY_TWO_EDITS_MIN_LENGTH ? 2 : 1;
+                query.append(' ').append(word).append('~').append(edits);
+            }
+            query.append(')');
+        }
+        return query.toString();
+    }
+}
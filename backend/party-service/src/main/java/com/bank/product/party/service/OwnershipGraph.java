@@ -0,0 +1,502 @@
+package com.bank.product.party.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Ownership graph of parties held in memory as primitive adjacency arrays.
+ *
+ * Parties are numbered densely; for each party the graph keeps the indexes
+ * of its owners with their stakes (fractions 0..1) and the indexes of the
+ * parties it owns. Parallel OWNS, PARENT_OF and BENEFICIAL_OWNER_OF edges
+ * between the same two parties count once, with the largest stake.
+ *
+ * The graph holds relationships of every date but only counts those in
+ * force on its current date (effectiveDate to endDate, inclusive); stakes
+ * are materialized for that date. {@link #advanceTo(LocalDate)} moves the
+ * date forward and materializes them again once a relationship starts or
+ * ends.
+ *
+ * Effective ownership of an owner in an entity is the sum, over all simple
+ * ownership paths from the owner to the entity, of the product of the stakes
+ * along the path. A path never visits a party twice, so cross-holdings and
+ * circular ownership are counted once instead of looping. Paths are cut at
+ * {@link #MAX_CHAIN_LENGTH} edges and when their product falls below
+ * {@link #MIN_CONTRIBUTION}; at most {@link #MAX_PATHS} paths are followed per
+ * entity.
+ *
+ * Not thread-safe: callers guard reads against updates.
+ */
+@Slf4j
+final class OwnershipGraph {
+
+    /**
+     * Longest ownership chain followed, in edges
+     */
+    static final int MAX_CHAIN_LENGTH = 10;
+
+    /**
+     * Smallest indirect stake (fraction) still followed up the chain
+     */
+    static final double MIN_CONTRIBUTION = 0.0001;
+
+    /**
+     * Most ownership paths followed for one entity
+     */
+    static final int MAX_PATHS = 100_000;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int[] NO_PARTIES = new int[0];
+    private static final double[] NO_STAKES = new double[0];
+
+    /**
+     * Stake of two parties with no relationship in force on the graph's date
+     */
+    private static final double NOT_IN_FORCE = -1.0;
+
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private boolean[] individual = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    private int[][] owners = new int[INITIAL_CAPACITY][];
+    private double[][] stakes = new double[INITIAL_CAPACITY][];
+    private int[] ownerCount = new int[INITIAL_CAPACITY];
+
+    private int[][] owned = new int[INITIAL_CAPACITY][];
+    private int[] ownedCount = new int[INITIAL_CAPACITY];
+
+    /**
+     * Every relationship between two parties, whatever its dates, keyed by {@link #edgeKey(int, int)}
+     */
+    private final Map<Long, List<Edge>> relationships = new HashMap<>();
+
+    /**
+     * Relationships in force on {@link #asOf} between two parties, merged
+     */
+    private final Map<Long, Edge> edges = new HashMap<>();
+
+    private LocalDate asOf;
+
+    /**
+     * First date after {@link #asOf} on which a relationship starts or ends, null if none
+     */
+    private LocalDate nextChange;
+
+    OwnershipGraph() {
+        this(LocalDate.now());
+    }
+
+    OwnershipGraph(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+
+    /**
+     * Add an ownership edge, merging it with the edges between the same parties
+     */
+    void add(Edge edge) {
+        if (edge.ownerId() == null || edge.ownedId() == null || edge.ownerId().equals(edge.ownedId())) {
+            return;
+        }
+
+        int owner = indexOf(edge.ownerId());
+        int target = indexOf(edge.ownedId());
+        individual[owner] |= edge.ownerIndividual();
+
+        long key = edgeKey(owner, target);
+        List<Edge> existing = relationships.get(key);
+        if (existing != null) {
+            existing.add(edge);
+        } else {
+            relationships.put(key, new ArrayList<>(List.of(edge)));
+            appendOwner(target, owner, NOT_IN_FORCE);
+            appendOwned(owner, target);
+        }
+
+        noteChanges(edge);
+        materialize(key, owner, target);
+    }
+
+    /**
+     * Move the graph's date forward, counting the relationships in force on it
+     *
+     * @return true if a relationship started or ended, so owners computed before are stale
+     */
+    boolean advanceTo(LocalDate date) {
+        if (!date.isAfter(asOf)) {
+            return false;
+        }
+
+        asOf = date;
+        if (nextChange == null || date.isBefore(nextChange)) {
+            return false;
+        }
+
+        nextChange = null;
+        relationships.forEach((key, parallel) -> {
+            parallel.forEach(this::noteChanges);
+            materialize(key, (int) (key >>> 32), (int) (long) key);
+        });
+        return true;
+    }
+
+    LocalDate asOf() {
+        return asOf;
+    }
+
+    /**
+     * Replace all edges from and to a party with the given edges
+     *
+     * @param edges Current ownership edges of the party, each with the party as owner or owned
+     */
+    void replace(String partyId, Collection<Edge> edges) {
+        Integer party = indexById.get(partyId);
+        if (party != null) {
+            removeEdges(party);
+        }
+        edges.forEach(this::add);
+    }
+
+    /**
+     * The party and every party it owns directly or indirectly - the entities
+     * whose owners change when one of the party's edges changes
+     */
+    Set<String> downstream(String partyId) {
+        Integer start = indexById.get(partyId);
+        if (start == null) {
+            return Set.of(partyId);
+        }
+
+        Set<String> reached = new HashSet<>();
+        BitSet visited = new BitSet(size);
+        int[] queue = new int[16];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        visited.set(start);
+
+        while (head < tail) {
+            int party = queue[head++];
+            reached.add(ids[party]);
+            for (int i = 0; i < ownedCount[party]; i++) {
+                int next = owned[party][i];
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, queue.length * 2);
+                    }
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Direct and indirect owners of an entity, largest effective ownership first
+     */
+    List<Owner> owners(String entityId) {
+        Integer entity = indexById.get(entityId);
+        if (entity == null) {
+            return List.of();
+        }
+
+        Map<Integer, Reach> reached = new HashMap<>();
+        int[] path = new int[MAX_CHAIN_LENGTH + 1];
+        path[0] = entity;
+        int[] pathsLeft = {MAX_PATHS};
+        walk(path, 0, 1.0, reached, pathsLeft);
+        if (pathsLeft[0] <= 0) {
+            log.warn("Ownership of {} truncated after {} paths", entityId, MAX_PATHS);
+        }
+
+        List<Owner> result = new ArrayList<>(reached.size());
+        reached.forEach((owner, reach) -> result.add(new Owner(
+                ids[owner],
+                individual[owner],
+                Math.min(reach.effective, 1.0) * 100.0,
+                reach.direct ? edges.get(edgeKey(owner, entity)) : null,
+                describe(reach.strongestPath))));
+        result.sort(Comparator.comparingDouble(Owner::percentage).reversed().thenComparing(Owner::ownerId));
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Pairs of parties with a relationship in force
+     */
+    int edgeCount() {
+        return edges.size();
+    }
+
+    /**
+     * Follow every owner of the last party on the path, depth first
+     *
+     * @param path Parties from the entity (0) up to the current party (depth)
+     * @param product Stake of the current party in the entity, along the path
+     */
+    private void walk(int[] path, int depth, double product, Map<Integer, Reach> reached, int[] pathsLeft) {
+        int party = path[depth];
+        for (int i = 0; i < ownerCount[party] && pathsLeft[0] > 0; i++) {
+            double stake = stakes[party][i];
+            if (stake == NOT_IN_FORCE) {
+                continue;
+            }
+            int owner = owners[party][i];
+            if (onPath(path, depth, owner)) {
+                continue; // Circular ownership: the owner already holds its stake further down
+            }
+
+            double contribution = product * stake;
+            if (depth > 0 && contribution < MIN_CONTRIBUTION) {
+                continue;
+            }
+            pathsLeft[0]--;
+
+            path[depth + 1] = owner;
+            Reach reach = reached.computeIfAbsent(owner, o -> new Reach());
+            reach.effective += contribution;
+            reach.direct |= depth == 0;
+            if (reach.strongestPath == null || contribution > reach.strongest) {
+                reach.strongest = contribution;
+                reach.strongestPath = Arrays.copyOf(path, depth + 2);
+            }
+
+            if (depth + 1 < MAX_CHAIN_LENGTH && contribution >= MIN_CONTRIBUTION) {
+                walk(path, depth + 1, contribution, reached, pathsLeft);
+            }
+        }
+    }
+
+    private static boolean onPath(int[] path, int depth, int party) {
+        for (int i = 0; i <= depth; i++) {
+            if (path[i] == party) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * "owns 60% of A, which owns 50% of B" for the path [B, A, owner]
+     */
+    private String describe(int[] path) {
+        StringBuilder description = new StringBuilder();
+        for (int i = path.length - 1; i > 0; i--) {
+            description.append(i == path.length - 1 ? "owns " : ", which owns ")
+                    .append(percent(edges.get(edgeKey(path[i], path[i - 1])).stake()))
+                    .append(" of ")
+                    .append(ids[path[i - 1]]);
+        }
+        return description.toString();
+    }
+
+    private static String percent(double stake) {
+        return BigDecimal.valueOf(stake * 100.0).setScale(2, RoundingMode.HALF_UP)
+                .stripTrailingZeros().toPlainString() + "%";
+    }
+
+    /**
+     * Merge the relationships between two parties in force on the graph's date into their edge
+     */
+    private void materialize(long key, int owner, int target) {
+        Edge merged = null;
+        for (Edge relationship : relationships.get(key)) {
+            if (relationship.inForce(asOf)) {
+                merged = merged == null ? relationship : merged.merge(relationship);
+            }
+        }
+
+        if (merged == null) {
+            edges.remove(key);
+            setStake(target, owner, NOT_IN_FORCE);
+        } else {
+            edges.put(key, merged);
+            setStake(target, owner, merged.stake());
+        }
+    }
+
+    private void noteChanges(Edge relationship) {
+        noteChange(relationship.effectiveDate());
+        if (relationship.endDate() != null) {
+            noteChange(relationship.endDate().plusDays(1));
+        }
+    }
+
+    private void noteChange(LocalDate date) {
+        if (date != null && date.isAfter(asOf) && (nextChange == null || date.isBefore(nextChange))) {
+            nextChange = date;
+        }
+    }
+
+    private void removeEdges(int party) {
+        for (int i = 0; i < ownerCount[party]; i++) {
+            int owner = owners[party][i];
+            removeOwned(owner, party);
+            edges.remove(edgeKey(owner, party));
+            relationships.remove(edgeKey(owner, party));
+        }
+        ownerCount[party] = 0;
+
+        for (int i = 0; i < ownedCount[party]; i++) {
+            int target = owned[party][i];
+            removeOwner(target, party);
+            edges.remove(edgeKey(party, target));
+            relationships.remove(edgeKey(party, target));
+        }
+        ownedCount[party] = 0;
+    }
+
+    private int indexOf(String partyId) {
+        Integer existing = indexById.get(partyId);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            individual = Arrays.copyOf(individual, capacity);
+            owners = Arrays.copyOf(owners, capacity);
+            stakes = Arrays.copyOf(stakes, capacity);
+            ownerCount = Arrays.copyOf(ownerCount, capacity);
+            owned = Arrays.copyOf(owned, capacity);
+            ownedCount = Arrays.copyOf(ownedCount, capacity);
+        }
+
+        int index = size++;
+        ids[index] = partyId;
+        owners[index] = NO_PARTIES;
+        stakes[index] = NO_STAKES;
+        owned[index] = NO_PARTIES;
+        indexById.put(partyId, index);
+        return index;
+    }
+
+    private void appendOwner(int party, int owner, double stake) {
+        int count = ownerCount[party];
+        if (count == owners[party].length) {
+            int capacity = Math.max(4, count * 2);
+            owners[party] = Arrays.copyOf(owners[party], capacity);
+            stakes[party] = Arrays.copyOf(stakes[party], capacity);
+        }
+        owners[party][count] = owner;
+        stakes[party][count] = stake;
+        ownerCount[party] = count + 1;
+    }
+
+    private void appendOwned(int party, int target) {
+        int count = ownedCount[party];
+        if (count == owned[party].length) {
+            owned[party] = Arrays.copyOf(owned[party], Math.max(4, count * 2));
+        }
+        owned[party][count] = target;
+        ownedCount[party] = count + 1;
+    }
+
+    private void setStake(int party, int owner, double stake) {
+        for (int i = 0; i < ownerCount[party]; i++) {
+            if (owners[party][i] == owner) {
+                stakes[party][i] = stake;
+                return;
+            }
+        }
+    }
+
+    private void removeOwner(int party, int owner) {
+        int count = ownerCount[party];
+        for (int i = 0; i < count; i++) {
+            if (owners[party][i] == owner) {
+                owners[party][i] = owners[party][count - 1];
+                stakes[party][i] = stakes[party][count - 1];
+                ownerCount[party] = count - 1;
+                return;
+            }
+        }
+    }
+
+    private void removeOwned(int party, int target) {
+        int count = ownedCount[party];
+        for (int i = 0; i < count; i++) {
+            if (owned[party][i] == target) {
+                owned[party][i] = owned[party][count - 1];
+                ownedCount[party] = count - 1;
+                return;
+            }
+        }
+    }
+
+    private static long edgeKey(int owner, int owned) {
+        return ((long) owner << 32) | (owned & 0xffffffffL);
+    }
+
+    /**
+     * Accumulated ownership of one owner in the entity being computed
+     */
+    private static final class Reach {
+        double effective;
+        boolean direct;
+        double strongest;
+        int[] strongestPath;
+    }
+
+    /**
+     * Ownership relationship between two parties
+     *
+     * @param ownershipPercentage 0 - 100, null if unknown (counted as no stake)
+     * @param beneficial BENEFICIAL_OWNER_OF rather than OWNS or PARENT_OF
+     * @param effectiveDate First day in force, null if always was
+     * @param endDate Last day in force, null if open-ended
+     */
+    record Edge(String ownerId, boolean ownerIndividual, String ownedId, Double ownershipPercentage,
+                boolean beneficial, Double votingRights, LocalDate effectiveDate, LocalDate endDate,
+                String controlLevel, LocalDate verificationDate) {
+
+        boolean inForce(LocalDate date) {
+            return (effectiveDate == null || !effectiveDate.isAfter(date))
+                    && (endDate == null || !endDate.isBefore(date));
+        }
+
+        double stake() {
+            return ownershipPercentage == null ? 0.0 : Math.max(0.0, Math.min(ownershipPercentage / 100.0, 1.0));
+        }
+
+        /**
+         * Combine two relationships between the same parties: the larger stake,
+         * ownership details from either, KYC details from the beneficial one
+         */
+        Edge merge(Edge other) {
+            Edge larger = other.stake() > stake() ? other : this;
+            Edge beneficialEdge = beneficial ? this : other.beneficial ? other : null;
+            return new Edge(ownerId, ownerIndividual || other.ownerIndividual, ownedId,
+                    larger.ownershipPercentage,
+                    beneficial || other.beneficial,
+                    votingRights != null ? votingRights : other.votingRights,
+                    effectiveDate != null ? effectiveDate : other.effectiveDate,
+                    endDate != null ? endDate : other.endDate,
+                    beneficialEdge != null ? beneficialEdge.controlLevel : null,
+                    beneficialEdge != null ? beneficialEdge.verificationDate : null);
+        }
+    }
+
+    /**
+     * Owner of an entity with its effective ownership
+     *
+     * @param percentage Effective ownership, direct and indirect, 0 - 100
+     * @param directEdge Relationship to the entity for a direct owner, null for an indirect one
+     * @param ownershipPath Strongest chain from the owner to the entity
+     */
+    record Owner(String ownerId, boolean individual, double percentage, Edge directEdge, String ownershipPath) {
+
+        boolean direct() {
+            return directEdge != null;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.bank.product.party.service;
+
+import com.bank.product.party.domain.Party;
+
+import java.time.LocalDate;
+
+/**
+ * Owner of a party, with the properties of its ownership relationship
+ *
+ * For an ownership chain the percentage is the effective ownership, direct
+ * and indirect; votingRights and effectiveDate are only known for a direct owner.
+ */
+public record OwnershipInfo(Party owner, Double ownershipPercentage, boolean direct, Double votingRights,
+                            LocalDate effectiveDate) {
+}
@@ -0,0 +1,72 @@
+package com.bank.product.party.service;
+
+import com.bank.product.context.ContextInvalidationEvent;
+import com.bank.product.party.context.ContextCacheInvalidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies party changes announced by any Party Service instance to this
+ * instance's caches
+ *
+ * Evicts the cached contexts depending on the party, its cached entitlements
+ * when they changed, and reloads it in the ownership graph when its
+ * ownership changed.
+ *
+ * Every instance keeps its own caches, so each instance joins the topic with
+ * its own consumer group, named after its stable instance ID so restarts
+ * reuse the group instead of leaving one behind. The instance that made the
+ * change has already applied it; applying it again is harmless.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartyChangeListener {
+
+    private final ContextCacheInvalidator contextCacheInvalidator;
+    private final EntitlementCache entitlementCache;
+    private final BeneficialOwnershipService beneficialOwnershipService;
+    private final ObjectMapper objectMapper;
+
+    @KafkaListener(
+            topics = "${context.invalidation.topic:" + ContextInvalidationEvent.DEFAULT_TOPIC + "}",
+            groupId = "party-service-changes-${context.invalidation.instance-id:${HOSTNAME:local}}",
+            autoStartup = "${context.invalidation.consume-enabled:true}"
+    )
+    public void onInvalidation(String payload) {
+        ContextInvalidationEvent event;
+        try {
+            event = objectMapper.readValue(payload, ContextInvalidationEvent.class);
+        } catch (Exception e) {
+            // Cannot tell what changed - drop every context rather than serve stale ones
+            log.error("Failed to read party change event, clearing context cache: {}", e.getMessage());
+            contextCacheInvalidator.evictAllLocal();
+            return;
+        }
+
+        log.debug("Received party change: party={}, reason={}", event.getPartyId(), event.getReason());
+
+        if (event.isAllEntries() || event.getPartyId() == null) {
+            contextCacheInvalidator.evictAllLocal();
+            return;
+        }
+
+        if (ContextCacheInvalidator.REASON_ENTITLEMENT_CHANGED.equals(event.getReason())) {
+            // Before the contexts, so a context resolved in between reads the new entitlements
+            entitlementCache.evict(event.getTenantId(), event.getPartyId());
+        }
+        contextCacheInvalidator.evictLocal(event.getPartyId());
+
+        if (ContextCacheInvalidator.REASON_OWNERSHIP_CHANGED.equals(event.getReason())) {
+            try {
+                beneficialOwnershipService.reload(event.getPartyId());
+            } catch (Exception e) {
+                // The nightly rebuild picks up whatever was missed
+                log.error("Failed to apply ownership change of party {}: {}", event.getPartyId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -3,19 +3,17 @@ package com.bank.product.party.service;
 import com.bank.product.party.domain.*;
 import com.bank.product.party.repository.PartyRepository;
 import com.bank.product.party.repository.SourceRecordRepository;
+import com.bank.product.party.resolution.CandidateIndex;
 import com.bank.product.party.resolution.EntityResolutionService;
 import com.bank.product.party.resolution.ResolutionResult;
+import com.bank.product.party.sync.SourceChecksum;
 import com.bank.product.party.sync.SourceSystemAdapter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
-import java.util.HexFormat;
 import java.util.Map;
 import java.util.Optional;
 
@@ -32,6 +30,9 @@ public class PartyFederationService {
     private final SourceRecordRepository sourceRecordRepository;
     private final EntityResolutionService entityResolutionService;
     private final ConflictResolutionService conflictResolutionService;
+    private final CandidateIndex candidateIndex;
+    private final BeneficialOwnershipService beneficialOwnershipService;
+    private final OrganizationHierarchyService organizationHierarchyService;
     private final Map<String, SourceSystemAdapter> sourceSystemAdapters;
 
     /**
@@ -49,7 +50,23 @@ public class PartyFederationService {
 
         // Fetch data from source
         Map<String, Object> sourceData = adapter.fetchParty(sourceId);
-        String checksum = calculateChecksum(sourceData);
+        return applySourceData(sourceSystem, sourceId, sourceData, calculateChecksum(sourceData));
+    }
+
+    /**
+     * Apply fetched source data to the graph: create or update the source
+     * record and its party, unless the checksum shows no change
+     *
+     * Runs in the caller's transaction; {@link PartySyncEngine} calls it
+     * for a batch of records at a time.
+     */
+    @Transactional
+    public ResolutionResult applySourceData(String sourceSystem, String sourceId,
+                                            Map<String, Object> sourceData, String checksum) {
+        SourceSystemAdapter adapter = sourceSystemAdapters.get(sourceSystem);
+        if (adapter == null) {
+            throw new IllegalArgumentException("No adapter found for source system: " + sourceSystem);
+        }
 
         // Check if we already have this source record
         Optional<SourceRecord> existingSourceRecord = sourceRecordRepository
@@ -59,7 +76,7 @@ public class PartyFederationService {
             SourceRecord existing = existingSourceRecord.get();
 
             // Check if data has changed
-            if (checksum.equals(existing.getChecksum())) {
+            if (existing.hasChecksum(checksum)) {
                 log.info("No changes detected for {} - {}", sourceSystem, sourceId);
                 // Find and return existing party
                 Optional<Party> existingParty = partyRepository.findBySourceSystemAndSourceId(sourceSystem, sourceId);
@@ -147,52 +164,13 @@ public class PartyFederationService {
 
         merged.markUpdated();
         Party saved = partyRepository.save(merged);
+        candidateIndex.index(saved);
+        organizationHierarchyService.saved(saved);
+        beneficialOwnershipService.refresh(saved.getFederatedId());
 
         return ResolutionResult.created(saved);
     }
 
-    /**
-     * Sync all parties from a source system (batch)
-     */
-    @Transactional
-    public SyncResult syncAllFromSource(String sourceSystem) {
-        log.info("Starting full sync from source: {}", sourceSystem);
-
-        SourceSystemAdapter adapter = sourceSystemAdapters.get(sourceSystem);
-        if (adapter == null) {
-            throw new IllegalArgumentException("No adapter found for source system: " + sourceSystem);
-        }
-
-        SyncResult result = new SyncResult();
-        result.setSourceSystem(sourceSystem);
-        result.setStartTime(Instant.now());
-
-        // Fetch all party IDs from source
-        java.util.List<String> partyIds = adapter.fetchAllPartyIds();
-        result.setTotalRecords(partyIds.size());
-
-        for (String partyId : partyIds) {
-            try {
-                ResolutionResult resolutionResult = syncFromSource(sourceSystem, partyId);
-                result.incrementProcessed();
-
-                switch (resolutionResult.getAction()) {
-                    case CREATED -> result.incrementCreated();
-                    case MERGED -> result.incrementMerged();
-                    case NEEDS_REVIEW -> result.incrementNeedsReview();
-                }
-            } catch (Exception e) {
-                log.error("Error syncing party {} from {}: {}", partyId, sourceSystem, e.getMessage(), e);
-                result.incrementFailed();
-            }
-        }
-
-        result.setEndTime(Instant.now());
-        log.info("Sync completed: {}", result);
-
-        return result;
-    }
-
     /**
      * Create cross-domain relationship (e.g., operates on behalf of)
      * This synthesizes relationships from multiple source systems
@@ -221,22 +199,20 @@ public class PartyFederationService {
             rel.setSourceSystems(sourceSystems);
 
             ((Organization) agent).getOperatesOnBehalfOf().add(rel);
-            partyRepository.save(agent);
+            Party saved = partyRepository.save(agent);
+            candidateIndex.index(saved);
+            organizationHierarchyService.saved(saved);
         }
     }
 
     /**
      * Calculate checksum for source data
+     *
+     * Canonical: independent of map iteration order, so an unchanged payload
+     * always matches the checksum stored on its source record.
      */
-    private String calculateChecksum(Map<String, Object> data) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            String jsonString = data.toString(); // In production, use proper JSON serialization
-            byte[] hash = md.digest(jsonString.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 not available", e);
-        }
+    public String calculateChecksum(Map<String, Object> data) {
+        return SourceChecksum.of(data);
     }
 
     /**
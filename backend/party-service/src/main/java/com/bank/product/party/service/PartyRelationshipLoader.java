@@ -0,0 +1,422 @@
+package com.bank.product.party.service;
+
+import com.bank.product.party.domain.Individual;
+import com.bank.product.party.domain.LegalEntity;
+import com.bank.product.party.domain.Organization;
+import com.bank.product.party.domain.Party;
+import com.bank.product.party.domain.SourceRecord;
+import lombok.RequiredArgsConstructor;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.types.MapAccessor;
+import org.neo4j.driver.types.TypeSystem;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.data.neo4j.core.mapping.Neo4jMappingContext;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.BiFunction;
+
+/**
+ * Batched loads of party relationships, one query per relationship for any
+ * number of parties.
+ *
+ * Backs the GraphQL field resolvers: every method takes the federated IDs of
+ * all parties a query needs the relationship of, UNWINDs them in a single
+ * Cypher query and returns the related parties (nodes only, without their own
+ * relationships) keyed by federated ID. Parties without the relationship are
+ * absent from the result.
+ */
+@Service
+@RequiredArgsConstructor
+public class PartyRelationshipLoader {
+
+    /**
+     * Deepest subsidiary level that can be requested
+     */
+    public static final int MAX_SUBSIDIARY_DEPTH = 10;
+
+    private final Neo4jClient neo4jClient;
+    private final Neo4jMappingContext mappingContext;
+
+    /**
+     * Parties by federated ID, of the given type
+     */
+    public <T extends Party> Map<String, T> parties(Collection<String> partyIds, Class<T> type) {
+        return first(related("""
+                UNWIND $ids AS id
+                MATCH (p:%s {federatedId: id})
+                RETURN id, [p] AS related
+                """.formatted(type.getSimpleName()), partyIds, Map.of(), mapping(type)));
+    }
+
+    /**
+     * Source records each party was composed from
+     */
+    public Map<String, List<SourceRecord>> sourceRecords(Collection<String> partyIds) {
+        return related("""
+                UNWIND $ids AS id
+                MATCH (:Party {federatedId: id})-[:SOURCED_FROM]->(s:SourceRecord)
+                RETURN id, collect(s) AS related
+                """, partyIds, Map.of(), mapping(SourceRecord.class));
+    }
+
+    /**
+     * Direct parent organization of each organization
+     */
+    public Map<String, Organization> parents(Collection<String> organizationIds) {
+        return first(related("""
+                UNWIND $ids AS id
+                MATCH (:Organization {federatedId: id})-[:SUBSIDIARY_OF]->(parent:Organization)
+                RETURN id, collect(parent)[0..1] AS related
+                """, organizationIds, Map.of(), mapping(Organization.class)));
+    }
+
+    /**
+     * Top of the hierarchy above each organization, read from the
+     * materialized hierarchy maintained by {@link OrganizationHierarchyService},
+     * or walked up for an organization not materialized yet
+     */
+    public Map<String, Organization> ultimateParents(Collection<String> organizationIds) {
+        return first(related("""
+                UNWIND $ids AS id
+                MATCH (o:Organization {federatedId: id})
+                CALL {
+                    WITH o
+                    MATCH (top:Organization {federatedId: o.ultimateParentId})
+                    RETURN top
+                    UNION
+                    WITH o
+                    MATCH (o)-[:SUBSIDIARY_OF*1..20]->(top:Organization)
+                    WHERE o.ultimateParentId IS NULL
+                      AND NOT (top)-[:SUBSIDIARY_OF]->(:Organization)
+                    RETURN top
+                }
+                WITH id, o, top
+                WHERE top <> o
+                RETURN id, collect(top)[0..1] AS related
+                """, organizationIds, Map.of(), mapping(Organization.class)));
+    }
+
+    /**
+     * Subsidiary organizations of each organization down to the given depth,
+     * nearest levels first, read from the materialized hierarchy, or walked
+     * down for an organization not materialized yet
+     *
+     * @param depth 1 for direct subsidiaries, capped at {@link #MAX_SUBSIDIARY_DEPTH}
+     */
+    public Map<String, List<Organization>> subsidiaries(Collection<String> organizationIds, int depth) {
+        return related("""
+                UNWIND $ids AS id
+                MATCH (o:Organization {federatedId: id})
+                CALL {
+                    WITH o
+                    MATCH (subsidiary:Organization)
+                    WHERE subsidiary.hierarchyPath STARTS WITH o.hierarchyPath
+                      AND subsidiary <> o
+                      AND subsidiary.hierarchyDepth <= o.hierarchyDepth + $depth
+                    RETURN subsidiary, subsidiary.hierarchyDepth - o.hierarchyDepth AS level
+                    UNION
+                    WITH o
+                    MATCH path = (o)-[:PARENT_OF*1..%d]->(subsidiary:Organization)
+                    WHERE o.hierarchyPath IS NULL
+                      AND subsidiary <> o
+                      AND length(path) <= $depth
+                    RETURN subsidiary, length(path) AS level
+                }
+                WITH id, subsidiary, min(level) AS level
+                ORDER BY level, subsidiary.name
+                RETURN id, collect(subsidiary) AS related
+                """.formatted(MAX_SUBSIDIARY_DEPTH), organizationIds,
+                Map.of("depth", Math.min(Math.max(depth, 1), MAX_SUBSIDIARY_DEPTH)), mapping(Organization.class));
+    }
+
+    /**
+     * Organizations each organization operates on behalf of
+     */
+    public Map<String, List<Organization>> operatesOnBehalfOf(Collection<String> organizationIds) {
+        return related("""
+                UNWIND $ids AS id
+                MATCH (:Organization {federatedId: id})-[:OPERATES_ON_BEHALF_OF]->(principal:Organization)
+                RETURN id, collect(DISTINCT principal) AS related
+                """, organizationIds, Map.of(), mapping(Organization.class));
+    }
+
+    /**
+     * Legal entities of each organization
+     */
+    public Map<String, List<LegalEntity>> legalEntities(Collection<String> organizationIds) {
+        return related("""
+                UNWIND $ids AS id
+                MATCH (:Organization {federatedId: id})-[:HAS_LEGAL_ENTITY]->(le:LegalEntity)
+                RETURN id, collect(le) AS related
+                """, organizationIds, Map.of(), mapping(LegalEntity.class));
+    }
+
+    /**
+     * Subsidiary count, jurisdictions and consolidated risk rating of each
+     * organization's hierarchy
+     *
+     * Subsidiaries are the organizations below it in the materialized
+     * hierarchy (walked down the PARENT_OF relationships for an organization
+     * not materialized yet) plus the non-organization parties (legal
+     * entities) those organizations are direct parents of.
+     */
+    public Map<String, HierarchySummary> hierarchySummaries(Collection<String> organizationIds) {
+        Map<String, HierarchySummary> summaries = new HashMap<>();
+        neo4jClient.query("""
+                        UNWIND $ids AS id
+                        MATCH (o:Organization {federatedId: id})
+                        CALL {
+                            WITH o
+                            MATCH (member:Organization)
+                            WHERE member.hierarchyPath STARTS WITH o.hierarchyPath
+                            RETURN member
+                            UNION
+                            WITH o
+                            MATCH (o)-[:PARENT_OF*0..20]->(member:Organization)
+                            WHERE o.hierarchyPath IS NULL
+                            RETURN member
+                        }
+                        WITH id, o, collect(member) AS members
+                        UNWIND members AS member
+                        OPTIONAL MATCH (member)-[:PARENT_OF]->(entity)
+                        WHERE NOT entity:Organization
+                        WITH id, o, members, collect(DISTINCT entity) AS entities
+                        WITH id, o, [m IN members WHERE m <> o] + entities AS subsidiaries
+                        RETURN id,
+                               size(subsidiaries) AS totalSubsidiaries,
+                               [o.jurisdiction] + [s IN subsidiaries WHERE s:Organization | s.jurisdiction] AS jurisdictions,
+                               [o.riskRating] + [s IN subsidiaries | s.riskRating] AS riskRatings
+                        """)
+                .bind(List.copyOf(organizationIds)).to("ids")
+                .fetch()
+                .all()
+                .forEach(row -> summaries.put((String) row.get("id"), HierarchySummary.of(
+                        ((Number) row.get("totalSubsidiaries")).intValue(),
+                        strings(row.get("jurisdictions")),
+                        strings(row.get("riskRatings")))));
+        return summaries;
+    }
+
+    /**
+     * Beneficial owners of each party, largest stake first
+     */
+    public Map<String, List<BeneficialOwnership>> beneficialOwners(Collection<String> partyIds) {
+        BiFunction<TypeSystem, MapAccessor, Individual> individual = mapping(Individual.class);
+        return related("""
+                UNWIND $ids AS id
+                MATCH (owner:Individual)-[r:BENEFICIAL_OWNER_OF]->(:Party {federatedId: id})
+                WITH id, owner, r
+                ORDER BY r.ownershipPercentage DESC
+                RETURN id, collect({owner: owner, ownershipPercentage: r.ownershipPercentage,
+                                    controlLevel: r.controlLevel, ubo: r.ubo,
+                                    verificationDate: r.verificationDate, ownershipPath: r.ownershipPath}) AS related
+                """, partyIds, Map.of(), (typeSystem, value) -> beneficialOwnership(
+                        individual.apply(typeSystem, value.get("owner")), value));
+    }
+
+    /**
+     * Beneficial ownerships held by each individual
+     */
+    public Map<String, List<BeneficialOwnership>> beneficialOwnerships(Collection<String> individualIds) {
+        BiFunction<TypeSystem, MapAccessor, Individual> individual = mapping(Individual.class);
+        return related("""
+                UNWIND $ids AS id
+                MATCH (owner:Individual {federatedId: id})-[r:BENEFICIAL_OWNER_OF]->()
+                WITH id, owner, r
+                ORDER BY r.ownershipPercentage DESC
+                RETURN id, collect({owner: owner, ownershipPercentage: r.ownershipPercentage,
+                                    controlLevel: r.controlLevel, ubo: r.ubo,
+                                    verificationDate: r.verificationDate, ownershipPath: r.ownershipPath}) AS related
+                """, individualIds, Map.of(), (typeSystem, value) -> beneficialOwnership(
+                        individual.apply(typeSystem, value.get("owner")), value));
+    }
+
+    /**
+     * Direct owners of each legal entity, largest stake first
+     */
+    public Map<String, List<OwnershipInfo>> owners(Collection<String> legalEntityIds) {
+        BiFunction<TypeSystem, MapAccessor, Party> party = mapping(Party.class);
+        return related("""
+                UNWIND $ids AS id
+                MATCH (owner:Party)-[r:OWNS]->(:LegalEntity {federatedId: id})
+                WITH id, owner, r
+                ORDER BY r.ownershipPercentage DESC
+                RETURN id, collect({owner: owner, ownershipPercentage: r.ownershipPercentage, direct: r.direct,
+                                    votingRights: r.votingRights, effectiveDate: r.effectiveDate}) AS related
+                """, legalEntityIds, Map.of(), (typeSystem, value) -> new OwnershipInfo(
+                        party.apply(typeSystem, value.get("owner")),
+                        nullableDouble(value.get("ownershipPercentage")),
+                        // Ownership is direct unless recorded otherwise
+                        value.get("direct").isNull() || value.get("direct").asBoolean(),
+                        nullableDouble(value.get("votingRights")),
+                        nullableDate(value.get("effectiveDate"))));
+    }
+
+    /**
+     * Parent organization of each legal entity
+     */
+    public Map<String, Organization> parentOrganizations(Collection<String> legalEntityIds) {
+        return first(related("""
+                UNWIND $ids AS id
+                MATCH (:LegalEntity {federatedId: id})-[:BELONGS_TO]->(org:Organization)
+                RETURN id, collect(org)[0..1] AS related
+                """, legalEntityIds, Map.of(), mapping(Organization.class)));
+    }
+
+    /**
+     * Authorized signers of each legal entity
+     */
+    public Map<String, List<Individual>> authorizedSigners(Collection<String> legalEntityIds) {
+        return individualsRelatedBy("AUTHORIZED_SIGNER", legalEntityIds);
+    }
+
+    /**
+     * Officers of each legal entity
+     */
+    public Map<String, List<Individual>> officers(Collection<String> legalEntityIds) {
+        return individualsRelatedBy("OFFICER_OF", legalEntityIds);
+    }
+
+    /**
+     * Board members of each legal entity
+     */
+    public Map<String, List<Individual>> boardMembers(Collection<String> legalEntityIds) {
+        return individualsRelatedBy("BOARD_MEMBER_OF", legalEntityIds);
+    }
+
+    /**
+     * Entities each individual controls: a stake of 50% or more, a CEO or
+     * President role, or the board chair
+     */
+    public Map<String, List<Party>> controlledEntities(Collection<String> individualIds) {
+        return related("""
+                UNWIND $ids AS id
+                MATCH (i:Individual {federatedId: id})
+                CALL {
+                    WITH i
+                    MATCH (i)-[r:BENEFICIAL_OWNER_OF]->(entity:Party)
+                    WHERE r.ownershipPercentage >= 50.0
+                    RETURN entity
+                    UNION
+                    WITH i
+                    MATCH (i)-[r:OFFICER_OF]->(entity:Party)
+                    WHERE r.title IN ['CEO', 'President']
+                    RETURN entity
+                    UNION
+                    WITH i
+                    MATCH (i)-[r:BOARD_MEMBER_OF]->(entity:Party)
+                    WHERE r.role IN ['Chair', 'Chairman']
+                    RETURN entity
+                }
+                RETURN id, collect(entity) AS related
+                """, individualIds, Map.of(), mapping(Party.class));
+    }
+
+    /**
+     * @param relationshipType Incoming relationship from the individuals, a constant
+     */
+    private Map<String, List<Individual>> individualsRelatedBy(String relationshipType,
+                                                                Collection<String> legalEntityIds) {
+        return related("""
+                UNWIND $ids AS id
+                MATCH (i:Individual)-[:%s]->(:LegalEntity {federatedId: id})
+                RETURN id, collect(DISTINCT i) AS related
+                """.formatted(relationshipType), legalEntityIds, Map.of(), mapping(Individual.class));
+    }
+
+    /**
+     * Run a query returning one row per party: its ID and a list of related values
+     */
+    private <T> Map<String, List<T>> related(String cypher, Collection<String> ids, Map<String, Object> parameters,
+                                             BiFunction<TypeSystem, Value, T> mapper) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Object> bound = new HashMap<>(parameters);
+        bound.put("ids", List.copyOf(ids));
+
+        Map<String, List<T>> related = new HashMap<>();
+        for (Related<T> row : neo4jClient.query(cypher)
+                .bindAll(bound)
+                .fetchAs(Related.<T>type())
+                .mappedBy((typeSystem, record) -> new Related<>(record.get("id").asString(),
+                        record.get("related").asList(value -> mapper.apply(typeSystem, value))))
+                .all()) {
+            related.put(row.id(), row.values());
+        }
+        return related;
+    }
+
+    private <T> BiFunction<TypeSystem, Value, T> mapping(Class<T> type) {
+        BiFunction<TypeSystem, MapAccessor, T> mappingFunction = mappingContext.getRequiredMappingFunctionFor(type);
+        return mappingFunction::apply;
+    }
+
+    private static <T> Map<String, T> first(Map<String, List<T>> related) {
+        Map<String, T> first = new HashMap<>();
+        related.forEach((id, values) -> {
+            if (!values.isEmpty()) {
+                first.put(id, values.get(0));
+            }
+        });
+        return first;
+    }
+
+    private static BeneficialOwnership beneficialOwnership(Individual owner, Value value) {
+        return new BeneficialOwnership(
+                owner,
+                nullableDouble(value.get("ownershipPercentage")),
+                nullableString(value.get("controlLevel")),
+                !value.get("ubo").isNull() && value.get("ubo").asBoolean(),
+                nullableDate(value.get("verificationDate")),
+                nullableString(value.get("ownershipPath")));
+    }
+
+    private static List<String> strings(Object values) {
+        List<String> strings = new ArrayList<>();
+        for (Object value : (List<?>) values) {
+            if (value != null) {
+                strings.add(value.toString());
+            }
+        }
+        return strings;
+    }
+
+    private static String nullableString(Value value) {
+        return value.isNull() ? null : value.asString();
+    }
+
+    private static Double nullableDouble(Value value) {
+        return value.isNull() ? null : value.asDouble();
+    }
+
+    private static LocalDate nullableDate(Value value) {
+        return value.isNull() ? null : value.asLocalDate();
+    }
+
+    private record Related<T>(String id, List<T> values) {
+
+        @SuppressWarnings("unchecked")
+        static <T> Class<Related<T>> type() {
+            return (Class<Related<T>>) (Class<?>) Related.class;
+        }
+    }
+
+    /**
+     * Computed figures over an organization and all its subsidiaries
+     */
+    public record HierarchySummary(int totalSubsidiaries, List<String> jurisdictions, String consolidatedRiskRating) {
+
+        static HierarchySummary of(int totalSubsidiaries, List<String> jurisdictions, List<String> riskRatings) {
+            String consolidatedRiskRating = riskRatings.isEmpty() ? null
+                    : riskRatings.contains("HIGH") ? "HIGH"
+                    : riskRatings.contains("MEDIUM") ? "MEDIUM"
+                    : "LOW";
+            return new HierarchySummary(totalSubsidiaries, List.copyOf(new LinkedHashSet<>(jurisdictions)),
+                    consolidatedRiskRating);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.bank.product.party.service;
+
+import com.bank.product.party.resolution.ResolutionResult;
+import com.bank.product.party.sync.SourceChange;
+import com.bank.product.party.sync.SourceSystemAdapter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sync engine pulling all changed parties of a source system into the graph.
+ *
+ * A sync first retries the records that failed in earlier syncs, then
+ * pages through the source's change feed, starting from the high-water mark
+ * recorded by the previous sync. For each page:
+ * 1. Load the stored checksums of the page's source records with one query
+ * 2. Fetch the records from the source, at most FETCH_CONCURRENCY at a time
+ * 3. Skip records whose checksum is unchanged - no graph work at all
+ * 4. Apply the changed records in transactions of COMMIT_BATCH_SIZE; a failed
+ *    batch is retried record by record so one bad record fails alone
+ * 5. Record the page's failed records and the last change of the page as the
+ *    new high-water mark, in one transaction
+ *
+ * The high-water mark is a SyncState node per source system, so an
+ * interrupted sync resumes after its last completed page. Failed records do
+ * not hold the mark back: each is recorded as a SyncFailure node and retried
+ * by every sync until it succeeds. At most MAX_REPORTED_FAILURES of their IDs
+ * are listed in the result.
+ */
+@Service
+@Slf4j
+public class PartySyncEngine {
+
+    // Configuration
+    private static final int PAGE_SIZE = 500;
+    private static final int FETCH_CONCURRENCY = 8;
+    private static final int COMMIT_BATCH_SIZE = 50;
+    private static final int MAX_REPORTED_FAILURES = 100;
+
+    private final PartyFederationService federationService;
+    private final Neo4jClient neo4jClient;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, SourceSystemAdapter> sourceSystemAdapters;
+
+    private final AtomicInteger fetchThreads = new AtomicInteger();
+    private final ExecutorService fetchExecutor = Executors.newFixedThreadPool(FETCH_CONCURRENCY, runnable -> {
+        Thread thread = new Thread(runnable, "party-sync-fetch-" + fetchThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PartySyncEngine(PartyFederationService federationService, Neo4jClient neo4jClient,
+                           PlatformTransactionManager transactionManager,
+                           Map<String, SourceSystemAdapter> sourceSystemAdapters) {
+        this.federationService = federationService;
+        this.neo4jClient = neo4jClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sourceSystemAdapters = sourceSystemAdapters;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    /**
+     * Sync the parties of a source system changed since the last sync
+     *
+     * @param fromBeginning Ignore the high-water mark and sync every party
+     */
+    public SyncResult sync(String sourceSystem, boolean fromBeginning) {
+        SourceSystemAdapter adapter = sourceSystemAdapters.get(sourceSystem);
+        if (adapter == null) {
+            throw new IllegalArgumentException("No adapter found for source system: " + sourceSystem);
+        }
+
+        SyncCursor cursor = fromBeginning ? SyncCursor.START : loadCursor(sourceSystem);
+        log.info("Starting sync from source: {}{}", sourceSystem,
+                cursor.since() != null ? " since " + cursor.since() : " from the beginning");
+
+        SyncResult result = new SyncResult();
+        result.setSourceSystem(sourceSystem);
+        result.setStartTime(Instant.now());
+        result.setIncremental(cursor.since() != null);
+        result.setTotalRecords(0);
+
+        try {
+            List<String> failedBefore = loadFailures(sourceSystem);
+            for (int from = 0; from < failedBefore.size(); from += PAGE_SIZE) {
+                List<String> retry = failedBefore.subList(from, Math.min(from + PAGE_SIZE, failedBefore.size()));
+                result.setTotalRecords(result.getTotalRecords() + retry.size());
+                result.setRetriedRecords(result.getRetriedRecords() + retry.size());
+                PageOutcome outcome = processPage(sourceSystem, adapter, retry, result);
+                transactionTemplate.executeWithoutResult(status -> saveFailures(sourceSystem, outcome));
+            }
+
+            while (true) {
+                List<SourceChange> page = adapter.fetchChanges(cursor.since(), cursor.after(), PAGE_SIZE);
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                result.setTotalRecords(result.getTotalRecords() + page.size());
+                PageOutcome outcome = processPage(sourceSystem, adapter,
+                        page.stream().map(SourceChange::sourceId).toList(), result);
+
+                SourceChange last = page.get(page.size() - 1);
+                SyncCursor next = new SyncCursor(last.updatedAt(), last.sourceId());
+                transactionTemplate.executeWithoutResult(status -> {
+                    saveFailures(sourceSystem, outcome);
+                    saveCursor(sourceSystem, next);
+                });
+                cursor = next;
+
+                if (page.size() < PAGE_SIZE) {
+                    break;
+                }
+            }
+            result.setComplete(true);
+        } catch (Exception e) {
+            log.error("Sync from {} stopped at high-water mark {}: {}",
+                    sourceSystem, cursor.since(), e.getMessage(), e);
+        }
+
+        result.setHighWaterMark(cursor.since());
+        result.setEndTime(Instant.now());
+        log.info("Sync completed: {}", result);
+
+        return result;
+    }
+
+    /**
+     * Fetch, filter and apply one page of source records
+     */
+    private PageOutcome processPage(String sourceSystem, SourceSystemAdapter adapter,
+                                    List<String> sourceIds, SyncResult result) {
+        PageOutcome outcome = new PageOutcome(new LinkedHashSet<>(sourceIds), new ArrayList<>());
+        Map<String, String> storedChecksums = loadChecksums(sourceSystem, sourceIds);
+
+        // Fetch with bounded concurrency - the executor runs FETCH_CONCURRENCY requests at a time
+        List<CompletableFuture<Map<String, Object>>> fetches = sourceIds.stream()
+                .map(sourceId -> CompletableFuture.supplyAsync(() -> adapter.fetchParty(sourceId), fetchExecutor))
+                .toList();
+
+        List<FetchedRecord> changed = new ArrayList<>();
+        for (int i = 0; i < sourceIds.size(); i++) {
+            String sourceId = sourceIds.get(i);
+            Map<String, Object> sourceData;
+            try {
+                sourceData = fetches.get(i).join();
+            } catch (Exception e) {
+                log.error("Error fetching party {} from {}: {}", sourceId, sourceSystem, e.getMessage());
+                fail(result, outcome, sourceId);
+                continue;
+            }
+            if (sourceData == null || sourceData.isEmpty()) {
+                // Adapters return an empty payload when the fetch failed
+                fail(result, outcome, sourceId);
+                continue;
+            }
+
+            String checksum = federationService.calculateChecksum(sourceData);
+            if (checksum.equals(storedChecksums.get(sourceId))) {
+                result.incrementProcessed();
+                result.incrementUnchanged();
+            } else {
+                changed.add(new FetchedRecord(sourceId, sourceData, checksum));
+            }
+        }
+
+        for (int from = 0; from < changed.size(); from += COMMIT_BATCH_SIZE) {
+            commit(sourceSystem, changed.subList(from, Math.min(from + COMMIT_BATCH_SIZE, changed.size())),
+                    result, outcome);
+        }
+
+        log.info("Synced page of {} records from {}: {} changed, {} failed",
+                sourceIds.size(), sourceSystem, changed.size(), outcome.failed().size());
+        return outcome;
+    }
+
+    /**
+     * Apply a batch of changed records in one transaction, falling back to one transaction per record
+     */
+    private void commit(String sourceSystem, List<FetchedRecord> batch, SyncResult result, PageOutcome outcome) {
+        List<ResolutionResult> applied;
+        try {
+            applied = transactionTemplate.execute(status -> batch.stream()
+                    .map(record -> apply(sourceSystem, record))
+                    .toList());
+        } catch (Exception e) {
+            log.warn("Batch of {} records from {} failed, retrying one by one: {}",
+                    batch.size(), sourceSystem, e.getMessage());
+            for (FetchedRecord record : batch) {
+                try {
+                    count(result, transactionTemplate.execute(status -> apply(sourceSystem, record)));
+                } catch (Exception recordError) {
+                    log.error("Error syncing party {} from {}: {}",
+                            record.sourceId(), sourceSystem, recordError.getMessage(), recordError);
+                    fail(result, outcome, record.sourceId());
+                }
+            }
+            return;
+        }
+
+        applied.forEach(resolutionResult -> count(result, resolutionResult));
+    }
+
+    private ResolutionResult apply(String sourceSystem, FetchedRecord record) {
+        return federationService.applySourceData(sourceSystem, record.sourceId(), record.sourceData(),
+                record.checksum());
+    }
+
+    private void count(SyncResult result, ResolutionResult resolutionResult) {
+        result.incrementProcessed();
+        switch (resolutionResult.getAction()) {
+            case CREATED -> result.incrementCreated();
+            case MERGED -> result.incrementMerged();
+            case NEEDS_REVIEW -> result.incrementNeedsReview();
+        }
+    }
+
+    private void fail(SyncResult result, PageOutcome outcome, String sourceId) {
+        result.incrementFailed();
+        if (result.getFailedSourceIds().size() < MAX_REPORTED_FAILURES) {
+            result.getFailedSourceIds().add(sourceId);
+        }
+        outcome.succeeded().remove(sourceId);
+        outcome.failed().add(sourceId);
+    }
+
+    private List<String> loadFailures(String sourceSystem) {
+        return neo4jClient.query("""
+                        MATCH (f:SyncFailure {sourceSystem: $sourceSystem})
+                        RETURN f.sourceId AS sourceId
+                        ORDER BY f.sourceId
+                        """)
+                .bind(sourceSystem).to("sourceSystem")
+                .fetch()
+                .all()
+                .stream()
+                .map(row -> (String) row.get("sourceId"))
+                .toList();
+    }
+
+    /**
+     * Record the page's failed records and clear the earlier failures that now succeeded
+     */
+    private void saveFailures(String sourceSystem, PageOutcome outcome) {
+        neo4jClient.query("""
+                        MATCH (f:SyncFailure {sourceSystem: $sourceSystem})
+                        WHERE f.sourceId IN $succeeded
+                        DELETE f
+                        """)
+                .bindAll(Map.of("sourceSystem", sourceSystem, "succeeded", List.copyOf(outcome.succeeded())))
+                .run();
+
+        if (outcome.failed().isEmpty()) {
+            return;
+        }
+        neo4jClient.query("""
+                        UNWIND $failed AS sourceId
+                        MERGE (f:SyncFailure {sourceSystem: $sourceSystem, sourceId: sourceId})
+                        ON CREATE SET f.firstFailedAt = datetime()
+                        SET f.lastFailedAt = datetime()
+                        """)
+                .bindAll(Map.of("sourceSystem", sourceSystem, "failed", outcome.failed()))
+                .run();
+    }
+
+    private Map<String, String> loadChecksums(String sourceSystem, List<String> sourceIds) {
+        Map<String, String> checksums = new HashMap<>();
+        neo4jClient.query("""
+                        MATCH (s:SourceRecord {sourceSystem: $sourceSystem})
+                        WHERE s.sourceId IN $sourceIds
+                        RETURN s.sourceId AS sourceId, s.checksum AS checksum
+                        """)
+                .bindAll(Map.of("sourceSystem", sourceSystem, "sourceIds", sourceIds))
+                .fetch()
+                .all()
+                .forEach(row -> checksums.put((String) row.get("sourceId"), (String) row.get("checksum")));
+        return checksums;
+    }
+
+    private SyncCursor loadCursor(String sourceSystem) {
+        return neo4jClient.query("""
+                        MATCH (s:SyncState {sourceSystem: $sourceSystem})
+                        RETURN s.highWaterMark AS since, s.lastSourceId AS after
+                        """)
+                .bind(sourceSystem).to("sourceSystem")
+                .fetch()
+                .one()
+                .map(row -> new SyncCursor((String) row.get("since"), (String) row.get("after")))
+                .orElse(SyncCursor.START);
+    }
+
+    private void saveCursor(String sourceSystem, SyncCursor cursor) {
+        Map<String, Object> state = new HashMap<>();
+        state.put("highWaterMark", cursor.since());
+        state.put("lastSourceId", cursor.after());
+
+        neo4jClient.query("""
+                        MERGE (s:SyncState {sourceSystem: $sourceSystem})
+                        SET s += $state, s.updatedAt = datetime()
+                        """)
+                .bindAll(Map.of("sourceSystem", sourceSystem, "state", state))
+                .run();
+    }
+
+    /**
+     * Position in a source's change feed: updatedAt and sourceId of the last change seen
+     */
+    private record SyncCursor(String since, String after) {
+        static final SyncCursor START = new SyncCursor(null, null);
+    }
+
+    private record FetchedRecord(String sourceId, Map<String, Object> sourceData, String checksum) {
+    }
+
+    /**
+     * Source records of a page that were applied or unchanged, and those that failed
+     */
+    private record PageOutcome(Set<String> succeeded, List<String> failed) {
+    }
+}
@@ -1,11 +1,13 @@
 package com.bank.product.party.service;
 
+import com.bank.product.party.context.ContextCacheInvalidator;
 import com.bank.product.party.domain.CollateralDocument;
 import com.bank.product.party.domain.ManagesOnBehalfOfRelationship;
 import com.bank.product.party.domain.Organization;
 import com.bank.product.party.domain.Party;
 import com.bank.product.party.repository.CollateralDocumentRepository;
 import com.bank.product.party.repository.OrganizationRepository;
+import com.bank.product.party.resolution.CandidateIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,9 @@ public class RelationshipManagementService {
 
     private final OrganizationRepository organizationRepository;
     private final CollateralDocumentRepository collateralDocumentRepository;
+    private final ContextCacheInvalidator contextCacheInvalidator;
+    private final CandidateIndex candidateIndex;
+    private final OrganizationHierarchyService organizationHierarchyService;
 
     /**
      * Create a "manages on behalf of" relationship between two parties
@@ -69,8 +74,14 @@ public class RelationshipManagementService {
 
         // Save and return
         Organization updated = organizationRepository.save(manager);
+        candidateIndex.index(updated);
+        organizationHierarchyService.saved(updated);
         log.info("Created management relationship with ID: {}", relationship.getId());
 
+        // Manager's context now lists an additional managed party
+        contextCacheInvalidator.invalidate(updated.getFederatedId(),
+                ContextCacheInvalidator.REASON_RELATIONSHIP_CHANGED);
+
         return updated;
     }
 
@@ -4,9 +4,16 @@ import lombok.Data;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Result of a sync operation
+ *
+ * A sync is incremental when it started from a recorded high-water mark;
+ * it is complete when it reached the end of the source's change feed.
+ * Retried records are those that failed in an earlier sync; they are
+ * included in the total.
  */
 @Data
 public class SyncResult {
@@ -19,6 +26,12 @@ public class SyncResult {
     private Integer mergedRecords = 0;
     private Integer needsReviewRecords = 0;
     private Integer failedRecords = 0;
+    private Integer unchangedRecords = 0;
+    private Integer retriedRecords = 0;
+    private boolean incremental;
+    private boolean complete;
+    private String highWaterMark;
+    private List<String> failedSourceIds = new ArrayList<>();
 
     public void incrementProcessed() {
         this.processedRecords++;
@@ -40,6 +53,10 @@ public class SyncResult {
         this.failedRecords++;
     }
 
+    public void incrementUnchanged() {
+        this.unchangedRecords++;
+    }
+
     public Duration getDuration() {
         if (startTime != null && endTime != null) {
             return Duration.between(startTime, endTime);
@@ -50,9 +67,10 @@ public class SyncResult {
     @Override
     public String toString() {
         return String.format(
-                "SyncResult{source=%s, total=%d, processed=%d, created=%d, merged=%d, needsReview=%d, failed=%d, duration=%s}",
-                sourceSystem, totalRecords, processedRecords, createdRecords, mergedRecords,
-                needsReviewRecords, failedRecords, getDuration()
+                "SyncResult{source=%s, incremental=%s, complete=%s, total=%d, retried=%d, processed=%d, unchanged=%d, "
+                        + "created=%d, merged=%d, needsReview=%d, failed=%d, highWaterMark=%s, duration=%s}",
+                sourceSystem, incremental, complete, totalRecords, retriedRecords, processedRecords, unchangedRecords,
+                createdRecords, mergedRecords, needsReviewRecords, failedRecords, highWaterMark, getDuration()
         );
     }
 }
@@ -8,10 +8,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Adapter for Commercial Banking party system
@@ -43,6 +46,29 @@ public class CommercialBankingAdapter implements SourceSystemAdapter {
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SourceChange> fetchChanges(String since, String after, int limit) {
+        log.debug("Fetching party changes from Commercial Banking since {} after {}", since, after);
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/api/commercial-banking/parties/changes")
+                .queryParamIfPresent("since", Optional.ofNullable(since))
+                .queryParamIfPresent("after", Optional.ofNullable(after))
+                .queryParam("limit", limit)
+                .build()
+                .toUriString();
+
+        // Failures propagate: an empty page would end the sync as if it were complete
+        List<Map<String, Object>> entries = restTemplate.getForObject(url, List.class);
+        List<SourceChange> changes = new ArrayList<>();
+        if (entries != null) {
+            for (Map<String, Object> entry : entries) {
+                Object updatedAt = entry.get("updatedAt");
+                changes.add(new SourceChange((String) entry.get("id"), updatedAt != null ? updatedAt.toString() : null));
+            }
+        }
+        return changes;
+    }
+
     @Override
     public Map<String, Object> fetchParty(String partyId) {
         log.info("Fetching party {} from Commercial Banking", partyId);
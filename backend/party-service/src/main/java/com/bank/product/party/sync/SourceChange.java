@@ -0,0 +1,10 @@
+package com.bank.product.party.sync;
+
+/**
+ * Entry of a source system's change feed
+ *
+ * @param sourceId ID of the changed party in the source system
+ * @param updatedAt Source modification timestamp, passed back verbatim as the feed cursor
+ */
+public record SourceChange(String sourceId, String updatedAt) {
+}
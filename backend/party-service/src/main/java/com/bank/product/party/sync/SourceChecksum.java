@@ -0,0 +1,188 @@
+package com.bank.product.party.sync;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Canonical SHA-256 checksum of a source system payload
+ *
+ * The payload tree is fed to the digest value by value, through a small
+ * buffer, so no serialized form of the payload is built. The encoding is
+ * canonical:
+ * - map entries are hashed in key order, whatever the map's iteration order
+ * - every value is tagged with its kind and length-prefixed, so different
+ *   payloads cannot produce the same byte stream
+ * - numbers are hashed by value: 1, 1L, 1.0 and 1.00 hash the same
+ *
+ * Identical source payloads therefore always get the same checksum.
+ */
+public final class SourceChecksum {
+
+    private static final byte NULL = 'n';
+    private static final byte TRUE = 't';
+    private static final byte FALSE = 'f';
+    private static final byte INTEGER = 'i';
+    private static final byte DECIMAL = 'd';
+    private static final byte STRING = 's';
+    private static final byte LIST = 'l';
+    private static final byte MAP = 'm';
+    private static final byte OTHER = 'o';
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private final MessageDigest digest;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    private SourceChecksum() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Checksum of a payload, as lowercase hex
+     */
+    public static String of(Map<String, ?> payload) {
+        SourceChecksum checksum = new SourceChecksum();
+        checksum.value(payload);
+        checksum.flush();
+        return HexFormat.of().formatHex(checksum.digest.digest());
+    }
+
+    private void value(Object value) {
+        if (value == null) {
+            write(NULL);
+        } else if (value instanceof Boolean bool) {
+            write(bool ? TRUE : FALSE);
+        } else if (value instanceof String string) {
+            string(STRING, string);
+        } else if (value instanceof Number number) {
+            number(number);
+        } else if (value instanceof Map<?, ?> map) {
+            map(map);
+        } else if (value instanceof Collection<?> collection) {
+            write(LIST);
+            writeInt(collection.size());
+            for (Object element : collection) {
+                value(element);
+            }
+        } else if (value instanceof Object[] array) {
+            value(Arrays.asList(array));
+        } else {
+            string(OTHER, value.toString());
+        }
+    }
+
+    private void map(Map<?, ?> map) {
+        Object[] keys = map.keySet().toArray();
+        String[] names = new String[keys.length];
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            names[i] = String.valueOf(keys[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> names[a].compareTo(names[b]));
+
+        write(MAP);
+        writeInt(keys.length);
+        for (Integer index : order) {
+            string(STRING, names[index]);
+            value(map.get(keys[index]));
+        }
+    }
+
+    private void number(Number number) {
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            write(INTEGER);
+            writeLong(number.longValue());
+            return;
+        }
+
+        if (number instanceof Double || number instanceof Float) {
+            double value = number.doubleValue();
+            if (value == Math.rint(value) && Math.abs(value) < 0x1p63) {
+                write(INTEGER);
+                writeLong((long) value);
+                return;
+            }
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                string(DECIMAL, Double.toString(value));
+                return;
+            }
+        }
+
+        BigDecimal decimal = number instanceof BigDecimal big ? big
+                : number instanceof BigInteger big ? new BigDecimal(big)
+                : new BigDecimal(number.toString());
+        decimal = decimal.stripTrailingZeros();
+        if (decimal.scale() <= 0 && decimal.precision() - decimal.scale() <= 19
+                && decimal.toBigIntegerExact().bitLength() < 64) {
+            write(INTEGER);
+            writeLong(decimal.longValueExact());
+        } else {
+            string(DECIMAL, decimal.toString());
+        }
+    }
+
+    /**
+     * Tagged string: tag, UTF-16 length, UTF-8 bytes
+     */
+    private void string(byte tag, String string) {
+        write(tag);
+        int length = string.length();
+        writeInt(length);
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                write((byte) c);
+            } else if (c < 0x800) {
+                write((byte) (0xC0 | (c >> 6)));
+                write((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(string.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, string.charAt(++i));
+                write((byte) (0xF0 | (codePoint >> 18)));
+                write((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                write((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                write((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                write((byte) (0xE0 | (c >> 12)));
+                write((byte) (0x80 | ((c >> 6) & 0x3F)));
+                write((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private void writeInt(int value) {
+        write((byte) (value >>> 24));
+        write((byte) (value >>> 16));
+        write((byte) (value >>> 8));
+        write((byte) value);
+    }
+
+    private void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    private void write(byte b) {
+        if (position == BUFFER_SIZE) {
+            flush();
+        }
+        buffer[position++] = b;
+    }
+
+    private void flush() {
+        digest.update(buffer, 0, position);
+        position = 0;
+    }
+}
@@ -21,6 +21,15 @@ public interface SourceSystemAdapter {
      */
     List<String> fetchAllPartyIds();
 
+    /**
+     * Fetch a page of the source's change feed, oldest change first
+     *
+     * @param since updatedAt of the last change already seen (null = from the beginning)
+     * @param after sourceId of the last change already seen
+     * @param limit Maximum number of changes
+     */
+    List<SourceChange> fetchChanges(String since, String after, int limit);
+
     /**
      * Fetch party data by ID
      */
@@ -0,0 +1,42 @@
+package com.bank.product.party.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the operation tag of the GraphQL query timer.
+ */
+class GraphQLTimingInstrumentationTest {
+
+    @Test
+    @DisplayName("Should tag only configured operations by name")
+    void testKnownOperations() {
+        GraphQLTimingInstrumentation instrumentation = new GraphQLTimingInstrumentation(
+                new SimpleMeterRegistry(), Set.of("PartyHierarchy", "BeneficialOwners"));
+
+        assertEquals("PartyHierarchy", instrumentation.operationTag("PartyHierarchy"));
+        assertEquals("other", instrumentation.operationTag("Unknown"));
+        assertEquals("other", instrumentation.operationTag("partyhierarchy"));
+        assertEquals("anonymous", instrumentation.operationTag(null));
+    }
+
+    @Test
+    @DisplayName("Should tag at most the first distinct operation names seen")
+    void testOperationCap() {
+        GraphQLTimingInstrumentation instrumentation = new GraphQLTimingInstrumentation(
+                new SimpleMeterRegistry(), Set.of());
+
+        for (int i = 0; i < GraphQLTimingInstrumentation.MAX_OPERATION_TAGS; i++) {
+            assertEquals("Operation" + i, instrumentation.operationTag("Operation" + i));
+        }
+
+        assertEquals("other", instrumentation.operationTag("OneTooMany"));
+        assertEquals("Operation0", instrumentation.operationTag("Operation0"));
+        assertEquals("anonymous", instrumentation.operationTag(null));
+    }
+}
@@ -0,0 +1,78 @@
+package com.bank.product.party.context;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the context cache reverse dependency index.
+ */
+class ContextCacheDependenciesTest {
+
+    private ContextCacheDependencies dependencies;
+
+    @BeforeEach
+    void setUp() {
+        dependencies = new ContextCacheDependencies();
+    }
+
+    @Test
+    @DisplayName("Should return only keys depending on the changed party")
+    void testRemoveDependents() {
+        dependencies.register("user-1:sub-a", new Object(), List.of("sub-a", "group"));
+        dependencies.register("user-2:sub-b", new Object(), List.of("sub-b", "group"));
+        dependencies.register("user-3:other", new Object(), List.of("other"));
+
+        assertEquals(Set.of("user-1:sub-a"), dependencies.removeDependents("sub-a"));
+        assertEquals(Set.of("user-2:sub-b"), dependencies.removeDependents("group"),
+                "Keys removed through one party should no longer be listed under the others");
+        assertTrue(dependencies.removeDependents("sub-b").isEmpty());
+        assertEquals(1, dependencies.size());
+    }
+
+    @Test
+    @DisplayName("Should replace dependencies when a key is registered again")
+    void testReRegister() {
+        dependencies.register("user-1:org", new Object(), List.of("org", "old-parent"));
+        dependencies.register("user-1:org", new Object(), List.of("org", "new-parent"));
+
+        assertTrue(dependencies.removeDependents("old-parent").isEmpty());
+        assertEquals(Set.of("user-1:org"), dependencies.removeDependents("new-parent"));
+    }
+
+    @Test
+    @DisplayName("Should only drop the registration of the evicted value")
+    void testRemoveEvictedEntry() {
+        Object expired = new Object();
+        Object current = new Object();
+        dependencies.register("user-1:org", expired, List.of("org"));
+        dependencies.register("user-1:org", current, List.of("org"));
+
+        dependencies.remove("user-1:org", expired);
+        assertEquals(1, dependencies.size());
+
+        dependencies.remove("user-1:org", current);
+        assertEquals(0, dependencies.size());
+        assertTrue(dependencies.removeDependents("org").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a context whose party changed while it was resolved")
+    void testRegisterAfterConcurrentInvalidation() {
+        long version = dependencies.version();
+        dependencies.removeDependents("org");
+
+        assertFalse(dependencies.register("user-1:org", new Object(), List.of("org", "parent"), version));
+        assertEquals(0, dependencies.size());
+        assertTrue(dependencies.removeDependents("parent").isEmpty());
+
+        long current = dependencies.version();
+        assertTrue(dependencies.register("user-1:org", new Object(), List.of("org", "parent"), current));
+        assertEquals(Set.of("user-1:org"), dependencies.removeDependents("parent"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.bank.product.party.matching;
+
+import com.bank.product.party.domain.Organization;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for MatchFeatureExtractor.
+ */
+class MatchFeatureExtractorTest {
+
+    private PhoneticMatcher phoneticMatcher;
+    private MatchFeatureExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        phoneticMatcher = new PhoneticMatcher();
+        extractor = new MatchFeatureExtractor(phoneticMatcher);
+    }
+
+    @Test
+    @DisplayName("Should derive normalized name, phonetic code and name tokens")
+    void testExtract() {
+        MatchFeatures features = extractor.extract("Acme   Widgets Holdings, Inc.");
+
+        assertEquals("acme widgets holdings", features.normalizedName());
+        assertEquals(phoneticMatcher.encode("Acme   Widgets Holdings, Inc."), features.phoneticCode());
+        assertEquals(List.of("acme", "widgets"), features.nameTokens(),
+                "Trailing legal form words should be dropped from the tokens");
+    }
+
+    @Test
+    @DisplayName("Should store features on the organization and read them back")
+    void testApplyAndRead() {
+        Organization organization = new Organization();
+        organization.setLegalName("Goldman Sachs Group Inc");
+        extractor.apply(organization);
+
+        assertEquals(extractor.extract("Goldman Sachs Group Inc"), extractor.featuresOf(organization));
+
+        // Stored features are used as-is, without recomputing from the legal name
+        organization.setNormalizedLegalName("stored");
+        assertEquals("stored", extractor.featuresOf(organization).normalizedName());
+    }
+
+    @Test
+    @DisplayName("Should compute features for organizations without stored features")
+    void testFallback() {
+        Organization organization = new Organization();
+        organization.setLegalName("Wells Fargo & Company");
+
+        assertEquals(extractor.extract("Wells Fargo & Company"), extractor.featuresOf(organization));
+    }
+
+    @Test
+    @DisplayName("Should clear features when the legal name is removed")
+    void testApplyWithoutLegalName() {
+        Organization organization = new Organization();
+        organization.setLegalName("Acme Widgets");
+        extractor.apply(organization);
+
+        organization.setLegalName(null);
+        extractor.apply(organization);
+
+        assertNull(organization.getNormalizedLegalName());
+        assertNull(organization.getPhoneticName());
+        assertNull(organization.getNameTokens());
+        assertNull(extractor.featuresOf(organization));
+    }
+}
@@ -0,0 +1,232 @@
+package com.bank.product.party.matching;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Golden tests for StringSimilarity.
+ *
+ * Compares the kernels against the reference full-matrix Levenshtein and
+ * Jaro-Winkler implementations they replaced, on real-world name variations
+ * and seeded random strings. Scores must be identical, and bounded variants
+ * must be exact at or above the threshold and below it otherwise.
+ */
+class StringSimilarityTest {
+
+    private static final double[] THRESHOLDS = {0.0, 0.3, 0.5, 0.75, 0.85, 0.9, 0.95, 1.0};
+
+    private static final List<String> NAMES = List.of(
+            "", "a", "ab", "ba",
+            "goldman sachs", "goldman sacks", "goldman sachs group", "the goldman sachs group",
+            "jpmorgan chase & co.", "j.p. morgan chase", "jp morgan chase", "jpmorgan",
+            "wells fargo & company", "wells fargo", "wels fargo",
+            "bank of america", "bank of america corporation", "bankamerica",
+            "deutsche bank ag", "deutsche bank", "dutch bank",
+            "hsbc holdings", "hsbc", "barclays", "barclay",
+            "société générale", "societe generale", "mizuho financial group",
+            "JPMRKNXS", "JPMRKN", "KLTMNSXS", "KLTMNSKS");
+
+    @Test
+    @DisplayName("Should match reference Levenshtein distance and similarity")
+    void testLevenshteinGolden() {
+        for (String[] pair : pairs()) {
+            String s1 = pair[0];
+            String s2 = pair[1];
+            int expected = referenceLevenshtein(s1, s2);
+
+            assertEquals(expected, StringSimilarity.levenshteinDistance(s1, s2), s1 + " / " + s2);
+            for (int maxDistance = 0; maxDistance <= Math.max(s1.length(), s2.length()); maxDistance++) {
+                int bounded = StringSimilarity.levenshteinDistance(s1, s2, maxDistance);
+                assertEquals(expected <= maxDistance ? expected : maxDistance + 1, bounded,
+                        s1 + " / " + s2 + " within " + maxDistance);
+            }
+
+            double expectedScore = referenceLevenshteinSimilarity(s1, s2);
+            assertEquals(expectedScore, StringSimilarity.levenshteinSimilarity(s1, s2), 0.0, s1 + " / " + s2);
+            for (double threshold : THRESHOLDS) {
+                assertBounded(expectedScore, StringSimilarity.levenshteinSimilarity(s1, s2, threshold),
+                        threshold, s1 + " / " + s2);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should match reference Jaro-Winkler similarity")
+    void testJaroWinklerGolden() {
+        for (String[] pair : pairs()) {
+            String s1 = pair[0];
+            String s2 = pair[1];
+            double expected = referenceJaroWinkler(s1, s2);
+
+            assertEquals(expected, StringSimilarity.jaroWinklerSimilarity(s1, s2), 0.0, s1 + " / " + s2);
+            for (double threshold : THRESHOLDS) {
+                assertBounded(expected, StringSimilarity.jaroWinklerSimilarity(s1, s2, threshold),
+                        threshold, s1 + " / " + s2);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should score trigram similarity as the Dice coefficient of trigrams")
+    void testTrigramSimilarity() {
+        assertEquals(1.0, StringSimilarity.trigramSimilarity("goldman sachs", "goldman sachs"));
+        assertEquals(0.0, StringSimilarity.trigramSimilarity("abc", "xyz"));
+        assertEquals(0.0, StringSimilarity.trigramSimilarity("", "abc"));
+        // "abcd" -> abc, bcd; "abce" -> abc, bce
+        assertEquals(0.5, StringSimilarity.trigramSimilarity("abcd", "abce"), 0.0);
+        // Repeated grams are counted as often as they occur in both strings
+        assertEquals(2.0 * 2 / (4 + 2), StringSimilarity.trigramSimilarity("aaaaaa", "aaaa"), 0.0);
+        assertEquals(0.0, StringSimilarity.trigramSimilarity("a", "\0a"));
+
+        assertTrue(StringSimilarity.trigramSimilarity("jpmorgan chase", "jp morgan chase")
+                > StringSimilarity.trigramSimilarity("jpmorgan chase", "morgan stanley"));
+    }
+
+    @Test
+    @DisplayName("Should handle null inputs")
+    void testNulls() {
+        assertEquals(0.0, StringSimilarity.levenshteinSimilarity(null, "a"));
+        assertEquals(0.0, StringSimilarity.jaroWinklerSimilarity("a", null));
+        assertEquals(0.0, StringSimilarity.trigramSimilarity(null, "a"));
+    }
+
+    private void assertBounded(double expected, double actual, double threshold, String message) {
+        if (expected >= threshold) {
+            assertEquals(expected, actual, 0.0, message + " at " + threshold);
+        } else {
+            assertTrue(actual < threshold, message + " at " + threshold + " should stay below the threshold");
+        }
+    }
+
+    private List<String[]> pairs() {
+        List<String> strings = new ArrayList<>(NAMES);
+        Random random = new Random(42);
+        for (int i = 0; i < 60; i++) {
+            strings.add(randomString(random, random.nextInt(24)));
+        }
+
+        List<String[]> pairs = new ArrayList<>();
+        for (String s1 : strings) {
+            for (String s2 : strings) {
+                pairs.add(new String[]{s1, s2});
+            }
+        }
+        return pairs;
+    }
+
+    private String randomString(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append("abcde fg".charAt(random.nextInt(8)));
+        }
+        return sb.toString();
+    }
+
+    // ===== Reference implementations =====
+
+    private double referenceLevenshteinSimilarity(String s1, String s2) {
+        if (s1.equals(s2)) return 1.0;
+
+        int distance = referenceLevenshtein(s1, s2);
+        int maxLen = Math.max(s1.length(), s2.length());
+        return 1.0 - ((double) distance / maxLen);
+    }
+
+    private int referenceLevenshtein(String s1, String s2) {
+        int[][] dp = new int[s1.length() + 1][s2.length() + 1];
+
+        for (int i = 0; i <= s1.length(); i++) {
+            dp[i][0] = i;
+        }
+        for (int j = 0; j <= s2.length(); j++) {
+            dp[0][j] = j;
+        }
+
+        for (int i = 1; i <= s1.length(); i++) {
+            for (int j = 1; j <= s2.length(); j++) {
+                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+                dp[i][j] = Math.min(
+                        Math.min(dp[i - 1][j] + 1, dp[i][j - 1] + 1),
+                        dp[i - 1][j - 1] + cost
+                );
+            }
+        }
+
+        return dp[s1.length()][s2.length()];
+    }
+
+    private double referenceJaroWinkler(String s1, String s2) {
+        if (s1.equals(s2)) {
+            return 1.0;
+        }
+
+        int len1 = s1.length();
+        int len2 = s2.length();
+
+        if (len1 == 0 || len2 == 0) {
+            return 0.0;
+        }
+
+        int matchDistance = Math.max(len1, len2) / 2 - 1;
+        boolean[] s1Matches = new boolean[len1];
+        boolean[] s2Matches = new boolean[len2];
+
+        int matches = 0;
+        int transpositions = 0;
+
+        for (int i = 0; i < len1; i++) {
+            int start = Math.max(0, i - matchDistance);
+            int end = Math.min(i + matchDistance + 1, len2);
+
+            for (int j = start; j < end; j++) {
+                if (s2Matches[j] || s1.charAt(i) != s2.charAt(j)) {
+                    continue;
+                }
+                s1Matches[i] = true;
+                s2Matches[j] = true;
+                matches++;
+                break;
+            }
+        }
+
+        if (matches == 0) {
+            return 0.0;
+        }
+
+        int k = 0;
+        for (int i = 0; i < len1; i++) {
+            if (!s1Matches[i]) {
+                continue;
+            }
+            while (!s2Matches[k]) {
+                k++;
+            }
+            if (s1.charAt(i) != s2.charAt(k)) {
+                transpositions++;
+            }
+            k++;
+        }
+
+        double jaro = (matches / (double) len1 +
+                       matches / (double) len2 +
+                       (matches - transpositions / 2.0) / matches) / 3.0;
+
+        int prefixLength = 0;
+        for (int i = 0; i < Math.min(4, Math.min(len1, len2)); i++) {
+            if (s1.charAt(i) == s2.charAt(i)) {
+                prefixLength++;
+            } else {
+                break;
+            }
+        }
+
+        double prefixScaling = 0.1;
+        return jaro + (prefixLength * prefixScaling * (1.0 - jaro));
+    }
+}
@@ -0,0 +1,165 @@
+package com.bank.product.party.resolution;
+
+import com.bank.product.party.domain.Organization;
+import com.bank.product.party.domain.PartyStatus;
+import com.bank.product.party.domain.PartyType;
+import com.bank.product.party.matching.MatchFeatureExtractor;
+import com.bank.product.party.matching.PhoneticMatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for CandidateIndex blocking keys and index maintenance.
+ */
+class CandidateIndexTest {
+
+    private CandidateIndex candidateIndex;
+
+    @BeforeEach
+    void setUp() {
+        PhoneticMatcher phoneticMatcher = new PhoneticMatcher();
+        candidateIndex = new CandidateIndex(null, phoneticMatcher, new MatchFeatureExtractor(phoneticMatcher));
+    }
+
+    @Test
+    @DisplayName("Should block on exact LEI")
+    void testLeiBlock() {
+        Organization existing = createOrganization("org-1", "Goldman Sachs Group Inc", "5493000F4ZO33MV32P92", null, "US");
+        candidateIndex.index(existing);
+
+        Organization incoming = createOrganization("org-2", "GS Holdings", "5493000F4ZO33MV32P92", null, "GB");
+
+        assertEquals(Set.of("org-1"), candidateIndex.findCandidateIds(incoming));
+    }
+
+    @Test
+    @DisplayName("Should block on registration number and jurisdiction")
+    void testRegistrationBlock() {
+        candidateIndex.index(createOrganization("org-1", "Acme Widgets", null, "12345", "US-DE"));
+
+        assertEquals(Set.of("org-1"),
+                candidateIndex.findCandidateIds(createOrganization("org-2", "Zenith", null, "12345", "us-de")));
+        assertTrue(candidateIndex.findCandidateIds(createOrganization("org-3", "Zenith", null, "12345", "GB"))
+                .isEmpty(), "Same registration number in another jurisdiction should not share a block");
+    }
+
+    @Test
+    @DisplayName("Should block name variations together")
+    void testNameBlocks() {
+        candidateIndex.index(createOrganization("org-1", "JPMorgan Chase & Co.", null, null, "US"));
+        candidateIndex.index(createOrganization("org-2", "Wells Fargo & Company", null, null, "US"));
+
+        Set<String> candidates = candidateIndex.findCandidateIds(
+                createOrganization("org-3", "J.P. Morgan Chase", null, null, "US"));
+
+        assertTrue(candidates.contains("org-1"), "Should find JPMorgan variation");
+        assertFalse(candidates.contains("org-2"), "Should not block unrelated names together");
+    }
+
+    @Test
+    @DisplayName("Should not return the party itself")
+    void testExcludesSelf() {
+        Organization existing = createOrganization("org-1", "Acme Widgets", "LEI-1", null, "US");
+        candidateIndex.index(existing);
+
+        assertTrue(candidateIndex.findCandidateIds(existing).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should re-index updated parties and drop merged parties")
+    void testIndexMaintenance() {
+        Organization existing = createOrganization("org-1", "Acme Widgets", "LEI-1", null, "US");
+        candidateIndex.index(existing);
+
+        existing.setLei("LEI-2");
+        candidateIndex.index(existing);
+        assertTrue(candidateIndex.findCandidateIds(createOrganization("org-2", "Zenith", "LEI-1", null, "US"))
+                .isEmpty(), "Old LEI block should be removed on update");
+        assertEquals(Set.of("org-1"),
+                candidateIndex.findCandidateIds(createOrganization("org-2", "Zenith", "LEI-2", null, "US")));
+
+        existing.setStatus(PartyStatus.MERGED);
+        candidateIndex.index(existing);
+        assertTrue(candidateIndex.findCandidateIds(createOrganization("org-2", "Acme Widgets", "LEI-2", null, "US"))
+                .isEmpty(), "Merged party should be removed from the index");
+    }
+
+    @Test
+    @DisplayName("Should skip unselective name blocks")
+    void testSkipsLargeNameBlocks() {
+        for (int i = 0; i <= CandidateIndex.MAX_NAME_BLOCK_SIZE; i++) {
+            candidateIndex.index(createOrganization("org-" + i, "Bank " + i, null, null, "US"));
+        }
+        candidateIndex.index(createOrganization("lei-match", "Other Name", "LEI-1", null, "US"));
+
+        Set<String> candidates = candidateIndex.findCandidateIds(
+                createOrganization("incoming", "Bank", "LEI-1", null, "US"));
+
+        assertEquals(Set.of("lei-match"), candidates);
+    }
+
+    @Test
+    @DisplayName("Should rank name candidates by shared name blocks")
+    void testNameCandidates() {
+        candidateIndex.index(createOrganization("org-1", "JPMorgan Chase & Co.", "LEI-1", null, "US"));
+        candidateIndex.index(createOrganization("org-2", "Chase Manhattan Bank", null, null, "US"));
+        candidateIndex.index(createOrganization("org-3", "Wells Fargo & Company", null, null, "US"));
+
+        List<String> candidates = candidateIndex.findNameCandidateIds("J.P. Morgan Chase", 10);
+
+        assertEquals("org-1", candidates.get(0), "Name sharing the most blocks should rank first");
+        assertTrue(candidates.contains("org-2"));
+        assertFalse(candidates.contains("org-3"));
+        assertEquals(List.of("org-1"), candidateIndex.findNameCandidateIds("J.P. Morgan Chase", 1));
+    }
+
+    @Test
+    @DisplayName("Should see parties indexed earlier in the same transaction, and only commit them")
+    void testTransactionOverlay() {
+        candidateIndex.index(createOrganization("org-1", "Acme Widgets", "LEI-1", null, "US"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            candidateIndex.index(createOrganization("org-2", "Zenith Partners", "LEI-2", null, "US"));
+            candidateIndex.remove("org-1");
+
+            assertEquals(Set.of("org-2"), candidateIndex.findCandidateIds(
+                    createOrganization("org-3", "Zenith Capital", "LEI-2", null, "US")));
+            assertTrue(candidateIndex.findCandidateIds(
+                    createOrganization("org-4", "Acme", "LEI-1", null, "US")).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(Set.of("org-2"), candidateIndex.findCandidateIds(
+                createOrganization("org-3", "Zenith Capital", "LEI-2", null, "US")));
+        assertTrue(candidateIndex.findCandidateIds(
+                createOrganization("org-4", "Acme", "LEI-1", null, "US")).isEmpty());
+    }
+
+    private Organization createOrganization(String federatedId, String legalName, String lei,
+                                            String registrationNumber, String jurisdiction) {
+        Organization org = new Organization();
+        org.setFederatedId(federatedId);
+        org.setLegalName(legalName);
+        org.setLei(lei);
+        org.setRegistrationNumber(registrationNumber);
+        org.setJurisdiction(jurisdiction);
+        org.setPartyType(PartyType.ORGANIZATION);
+        org.setStatus(PartyStatus.ACTIVE);
+        return org;
+    }
+}
@@ -5,13 +5,18 @@ import com.bank.product.party.domain.Party;
 import com.bank.product.party.domain.PartyStatus;
 import com.bank.product.party.domain.PartyType;
 import com.bank.product.party.matching.AddressNormalizer;
+import com.bank.product.party.matching.MatchFeatureExtractor;
 import com.bank.product.party.matching.PhoneticMatcher;
+import com.bank.product.party.matching.StringSimilarity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,7 +40,7 @@ class EntityMatcherTest {
     void setUp() {
         phoneticMatcher = new PhoneticMatcher();
         addressNormalizer = new AddressNormalizer();
-        entityMatcher = new EntityMatcher(phoneticMatcher, addressNormalizer);
+        entityMatcher = new EntityMatcher(phoneticMatcher, addressNormalizer, new MatchFeatureExtractor(phoneticMatcher));
     }
 
     // ===== LEI Matching Tests =====
@@ -296,6 +301,113 @@ class EntityMatcherTest {
         assertEquals(MatchAction.AUTO_MERGE, best.getRecommendedAction());
     }
 
+    // ===== Golden Scorer Test =====
+
+    @Test
+    @DisplayName("Threshold-aware scoring should match the full reference scorer")
+    void testGoldenScores() {
+        String[] names = {
+                "Goldman Sachs Group Inc", "Goldman Sachs Group, Inc.", "Goldman Sacks Group", "GS Group",
+                "JPMorgan Chase & Co.", "J.P. Morgan Chase & Co.", "JP Morgan Chase", "Morgan Stanley",
+                "Wells Fargo & Company", "Wells Fargo", "Wels Fargo & Co", "Bank of America Corporation",
+                "Bank of America", "BankAmerica Corp", "Citigroup Inc", "Citi Group", "Acme Widgets LLC"};
+        String[] leis = {null, "LEI-1", "LEI-2"};
+        String[] registrations = {null, "12345"};
+        String[] jurisdictions = {null, "US", "GB"};
+        String[] industries = {null, "6021", "6211"};
+
+        List<Party> parties = new ArrayList<>();
+        int i = 0;
+        for (String name : names) {
+            for (String jurisdiction : jurisdictions) {
+                Organization org = createOrganization(name, leis[i % leis.length],
+                        registrations[i % registrations.length], jurisdiction);
+                org.setFederatedId("golden-" + i);
+                org.setIndustryCode(industries[i % industries.length]);
+                parties.add(org);
+                i++;
+            }
+        }
+
+        int compared = 0;
+        for (Party party : parties) {
+            Map<String, Double> scores = new HashMap<>();
+            for (MatchCandidate candidate : entityMatcher.findCandidates(party, parties)) {
+                scores.put(candidate.getExistingParty().getFederatedId(), candidate.getScore());
+            }
+
+            for (Party existing : parties) {
+                if (existing == party) {
+                    continue;
+                }
+                double expected = referenceScore((Organization) party, (Organization) existing);
+                if (expected >= 0.75) {
+                    assertEquals(expected, scores.get(existing.getFederatedId()), 0.0,
+                            party.getFederatedId() + " vs " + existing.getFederatedId());
+                } else {
+                    assertFalse(scores.containsKey(existing.getFederatedId()),
+                            party.getFederatedId() + " vs " + existing.getFederatedId() + " is below the threshold");
+                }
+                compared++;
+            }
+        }
+        assertTrue(compared > 2000);
+    }
+
+    /**
+     * Organization similarity with every signal and name strategy fully evaluated
+     */
+    private double referenceScore(Organization org1, Organization org2) {
+        List<Double> scores = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+
+        if (org1.getLei() != null && org2.getLei() != null) {
+            scores.add(org1.getLei().equals(org2.getLei()) ? 1.0 : 0.0);
+            weights.add(1.0);
+        }
+        if (org1.getRegistrationNumber() != null && org2.getRegistrationNumber() != null &&
+                org1.getJurisdiction() != null && org2.getJurisdiction() != null) {
+            boolean regMatch = org1.getRegistrationNumber().equals(org2.getRegistrationNumber());
+            boolean jurMatch = org1.getJurisdiction().equalsIgnoreCase(org2.getJurisdiction());
+            scores.add(regMatch && jurMatch ? 1.0 : 0.0);
+            weights.add(0.95);
+        }
+        if (org1.getLegalName() != null && org2.getLegalName() != null) {
+            String name1 = referenceNormalize(org1.getLegalName());
+            String name2 = referenceNormalize(org2.getLegalName());
+            double phoneticScore = phoneticMatcher.calculatePhoneticSimilarity(org1.getLegalName(), org2.getLegalName());
+            double jaroScore = phoneticMatcher.jaroWinklerSimilarity(name1, name2);
+            double levenScore = StringSimilarity.levenshteinSimilarity(name1, name2);
+            scores.add(Math.max(phoneticScore, Math.max(jaroScore, levenScore)));
+            weights.add(0.85);
+        }
+        if (org1.getJurisdiction() != null && org2.getJurisdiction() != null) {
+            scores.add(org1.getJurisdiction().equalsIgnoreCase(org2.getJurisdiction()) ? 1.0 : 0.0);
+            weights.add(0.5);
+        }
+        if (org1.getIndustryCode() != null && org2.getIndustryCode() != null) {
+            scores.add(org1.getIndustryCode().equals(org2.getIndustryCode()) ? 1.0 : 0.0);
+            weights.add(0.3);
+        }
+
+        if (scores.isEmpty()) return 0.0;
+        double totalScore = 0.0;
+        double totalWeight = 0.0;
+        for (int i = 0; i < scores.size(); i++) {
+            totalScore += scores.get(i) * weights.get(i);
+            totalWeight += weights.get(i);
+        }
+        return totalScore / totalWeight;
+    }
+
+    private String referenceNormalize(String legalName) {
+        return legalName
+                .toLowerCase()
+                .replaceAll("\\s+", " ")
+                .replaceAll(",\\s*(inc|llc|ltd|corp|corporation|limited|plc)\\.?$", "")
+                .trim();
+    }
+
     // ===== Helper Methods =====
 
     private Organization createOrganization(String legalName, String lei,
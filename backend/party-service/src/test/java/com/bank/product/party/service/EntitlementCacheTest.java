@@ -0,0 +1,136 @@
+package com.bank.product.party.service;
+
+import com.bank.product.entitlement.Entitlement;
+import com.bank.product.entitlement.EntitlementConstraints;
+import com.bank.product.entitlement.ResourceOperation;
+import com.bank.product.entitlement.ResourcePermission;
+import com.bank.product.entitlement.ResourceType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the per-party entitlement cache and its incremental updates.
+ */
+class EntitlementCacheTest {
+
+    private EntitlementCache entitlementCache;
+
+    @BeforeEach
+    void setUp() {
+        entitlementCache = new EntitlementCache(new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should load a party once and serve later reads from the cache")
+    void testLoadOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        List<Entitlement> stored = List.of(
+                entitlement("e1", "party-1", ResourceType.SOLUTION, "sol-1", ResourceOperation.VIEW));
+
+        for (int i = 0; i < 3; i++) {
+            entitlementCache.get("tenant", "party-1", () -> {
+                loads.incrementAndGet();
+                return stored;
+            });
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should match a full merge after grants and revocations")
+    void testIncrementalUpdates() {
+        List<Entitlement> stored = new ArrayList<>(List.of(
+                entitlement("e1", "party-1", ResourceType.SOLUTION, "sol-1", ResourceOperation.VIEW),
+                entitlement("e2", "party-1", ResourceType.SOLUTION, null, ResourceOperation.LIST)));
+        entitlementCache.get("tenant", "party-1", () -> stored);
+
+        Entitlement granted = entitlement("e3", "party-1", ResourceType.SOLUTION, "sol-1", ResourceOperation.UPDATE);
+        stored.add(granted);
+        entitlementCache.apply(granted);
+
+        Entitlement revoked = stored.remove(1);
+        revoked.revoke("admin", "test");
+        entitlementCache.apply(revoked);
+
+        Map<String, ResourcePermission> cached = entitlementCache.get("tenant", "party-1", () -> fail("reloaded"))
+                .permissions();
+        Map<String, ResourcePermission> full = EntitlementCache.PartyEntitlements.of(stored).permissions();
+
+        assertEquals(full, cached);
+        assertEquals(Set.of(ResourceOperation.VIEW, ResourceOperation.UPDATE),
+                cached.get("SOLUTION:sol-1").getAllowedOperations());
+        assertFalse(cached.containsKey("SOLUTION:*"));
+    }
+
+    @Test
+    @DisplayName("Should combine resource and type-level entitlements in checks")
+    void testAllows() {
+        EntitlementCache.PartyEntitlements entitlements = EntitlementCache.PartyEntitlements.of(List.of(
+                entitlement("e1", "party-1", ResourceType.ACCOUNT, "acc-1", ResourceOperation.TRANSACT),
+                entitlement("e2", "party-1", ResourceType.ACCOUNT, null, ResourceOperation.VIEW)));
+
+        assertTrue(entitlements.allows(ResourceOperation.TRANSACT, ResourceType.ACCOUNT, "acc-1"));
+        assertTrue(entitlements.allows(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-1"));
+        assertFalse(entitlements.allows(ResourceOperation.TRANSACT, ResourceType.ACCOUNT, "acc-2"));
+        assertNull(entitlements.permission(ResourceType.SOLUTION, "sol-1"));
+    }
+
+    @Test
+    @DisplayName("Should re-check validity of time-bound entitlements on every read")
+    void testTimeBoundEntitlement() {
+        Entitlement future = entitlement("e1", "party-1", ResourceType.ACCOUNT, "acc-1", ResourceOperation.VIEW);
+        future.setConstraints(EntitlementConstraints.builder()
+                .validFrom(LocalDate.now().plusDays(1))
+                .build());
+
+        EntitlementCache.PartyEntitlements entitlements = EntitlementCache.PartyEntitlements.of(List.of(future));
+
+        assertFalse(entitlements.allows(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-1"));
+    }
+
+    @Test
+    @DisplayName("Should load all uncached parties with one call")
+    void testGetAll() {
+        entitlementCache.get("tenant", "party-1", () ->
+                List.of(entitlement("e1", "party-1", ResourceType.SOLUTION, null, ResourceOperation.VIEW)));
+
+        AtomicInteger loads = new AtomicInteger();
+        Map<String, EntitlementCache.PartyEntitlements> result = entitlementCache.getAll(
+                "tenant", List.of("party-1", "party-2", "party-3"), missing -> {
+                    loads.incrementAndGet();
+                    assertEquals(Set.of("party-2", "party-3"), missing);
+                    return List.of(entitlement("e2", "party-2", ResourceType.ACCOUNT, "acc-1",
+                            ResourceOperation.VIEW));
+                });
+
+        assertEquals(1, loads.get());
+        assertEquals(Set.of("party-1", "party-2", "party-3"), result.keySet());
+        assertTrue(result.get("party-2").allows(ResourceOperation.VIEW, ResourceType.ACCOUNT, "acc-1"));
+        assertTrue(result.get("party-3").permissions().isEmpty());
+    }
+
+    private Entitlement entitlement(String id, String partyId, ResourceType resourceType, String resourceId,
+                                    ResourceOperation operation) {
+        return Entitlement.builder()
+                .id(id)
+                .tenantId("tenant")
+                .partyId(partyId)
+                .resourceType(resourceType)
+                .resourceId(resourceId)
+                .operations(Set.of(operation))
+                .active(true)
+                .build();
+    }
+}
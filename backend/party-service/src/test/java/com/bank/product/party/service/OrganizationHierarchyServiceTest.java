@@ -0,0 +1,80 @@
+package com.bank.product.party.service;
+
+import com.bank.product.party.service.OrganizationHierarchyService.Materialized;
+import com.bank.product.party.service.OrganizationHierarchyService.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for materializing the organization hierarchy.
+ */
+class OrganizationHierarchyServiceTest {
+
+    @Test
+    @DisplayName("Should place a top-level organization at depth 0 as its own ultimate parent")
+    void testTopLevelOrganization() {
+        Materialized materialized = OrganizationHierarchyService.materialize(List.of("HOLD"), Map.of());
+
+        assertEquals(new Position("/HOLD/", 0, "HOLD"), materialized.positions().get("HOLD"));
+        assertEquals(0, materialized.cycles());
+    }
+
+    @Test
+    @DisplayName("Should materialize paths, depths and ultimate parents down the hierarchy")
+    void testHierarchy() {
+        Map<String, String> parentByChild = Map.of(
+                "BANK", "HOLD",
+                "FUND", "BANK",
+                "BROKER", "HOLD");
+
+        // Children listed before their parents
+        Materialized materialized = OrganizationHierarchyService.materialize(
+                List.of("FUND", "BROKER", "BANK", "HOLD"), parentByChild);
+
+        Map<String, Position> positions = materialized.positions();
+        assertEquals(new Position("/HOLD/", 0, "HOLD"), positions.get("HOLD"));
+        assertEquals(new Position("/HOLD/BANK/", 1, "HOLD"), positions.get("BANK"));
+        assertEquals(new Position("/HOLD/BANK/FUND/", 2, "HOLD"), positions.get("FUND"));
+        assertEquals(new Position("/HOLD/BROKER/", 1, "HOLD"), positions.get("BROKER"));
+        assertEquals(0, materialized.cycles());
+    }
+
+    @Test
+    @DisplayName("Should keep separate hierarchies apart")
+    void testSeparateHierarchies() {
+        Materialized materialized = OrganizationHierarchyService.materialize(
+                List.of("A1", "A", "B1", "B"), Map.of("A1", "A", "B1", "B"));
+
+        assertEquals("A", materialized.positions().get("A1").ultimateParentId());
+        assertEquals("B", materialized.positions().get("B1").ultimateParentId());
+        assertFalse(materialized.positions().get("B1").path().startsWith(materialized.positions().get("A").path()));
+    }
+
+    @Test
+    @DisplayName("Should cut a parent cycle and still position every organization")
+    void testCycle() {
+        Map<String, String> parentByChild = Map.of(
+                "SUB", "A",
+                "A", "B",
+                "B", "C",
+                "C", "A");
+
+        Materialized materialized = OrganizationHierarchyService.materialize(
+                List.of("SUB", "A", "B", "C"), parentByChild);
+
+        Map<String, Position> positions = materialized.positions();
+        assertEquals(1, materialized.cycles());
+        assertEquals(4, positions.size());
+
+        // The cycle closes at A, which becomes the top
+        assertEquals(new Position("/A/", 0, "A"), positions.get("A"));
+        assertEquals(new Position("/A/SUB/", 1, "A"), positions.get("SUB"));
+        assertEquals(new Position("/A/C/B/", 2, "A"), positions.get("B"));
+        assertEquals(new Position("/A/C/", 1, "A"), positions.get("C"));
+    }
+}
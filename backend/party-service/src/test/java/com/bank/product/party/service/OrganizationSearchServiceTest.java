@@ -0,0 +1,29 @@
+package com.bank.product.party.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the full-text query built by OrganizationSearchService.
+ */
+class OrganizationSearchServiceTest {
+
+    @Test
+    @DisplayName("Should require every word as exact, prefix or fuzzy term")
+    void testFullTextQuery() {
+        assertEquals("+(jp^3 jp*) +(morgan^3 morgan* morgan~1)",
+                OrganizationSearchService.fullTextQuery("JP Morgan"));
+        assertEquals("+(goldmann^3 goldmann* goldmann~2)",
+                OrganizationSearchService.fullTextQuery("Goldmann"));
+    }
+
+    @Test
+    @DisplayName("Should not pass Lucene syntax from the search text")
+    void testFullTextQueryStripsSyntax() {
+        assertEquals("+(a^3 a*) +(b^3 b*)", OrganizationSearchService.fullTextQuery("a:\"b\"~*"));
+        assertEquals("", OrganizationSearchService.fullTextQuery(" && || "));
+        assertEquals("", OrganizationSearchService.fullTextQuery(null));
+    }
+}
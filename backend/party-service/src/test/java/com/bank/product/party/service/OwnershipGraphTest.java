@@ -0,0 +1,173 @@
+package com.bank.product.party.service;
+
+import com.bank.product.party.service.OwnershipGraph.Edge;
+import com.bank.product.party.service.OwnershipGraph.Owner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for effective ownership in the in-memory ownership graph.
+ */
+class OwnershipGraphTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    @DisplayName("Should multiply stakes along an ownership chain")
+    void testIndirectOwnership() {
+        OwnershipGraph graph = new OwnershipGraph();
+        graph.add(owns("HOLD", "OPCO", 60.0));
+        graph.add(beneficial("ALICE", "HOLD", 50.0));
+
+        Owner alice = owner(graph.owners("OPCO"), "ALICE");
+        assertEquals(30.0, alice.percentage(), DELTA);
+        assertTrue(alice.individual());
+        assertFalse(alice.direct());
+        assertEquals("owns 50% of HOLD, which owns 60% of OPCO", alice.ownershipPath());
+
+        Owner hold = owner(graph.owners("OPCO"), "HOLD");
+        assertEquals(60.0, hold.percentage(), DELTA);
+        assertTrue(hold.direct());
+    }
+
+    @Test
+    @DisplayName("Should add up stakes held through several chains")
+    void testSeveralChains() {
+        OwnershipGraph graph = new OwnershipGraph();
+        graph.add(owns("A", "TARGET", 40.0));
+        graph.add(owns("B", "TARGET", 40.0));
+        graph.add(beneficial("ALICE", "A", 50.0));
+        graph.add(beneficial("ALICE", "B", 25.0));
+        graph.add(beneficial("ALICE", "TARGET", 5.0));
+
+        Owner alice = owner(graph.owners("TARGET"), "ALICE");
+        assertEquals(35.0, alice.percentage(), DELTA);
+        assertTrue(alice.direct());
+        assertEquals("owns 50% of A, which owns 40% of TARGET", alice.ownershipPath());
+    }
+
+    @Test
+    @DisplayName("Should count circular ownership once")
+    void testCircularOwnership() {
+        OwnershipGraph graph = new OwnershipGraph();
+        graph.add(owns("A", "B", 50.0));
+        graph.add(owns("B", "A", 50.0));
+        graph.add(owns("B", "TARGET", 100.0));
+        graph.add(beneficial("ALICE", "A", 100.0));
+
+        List<Owner> owners = graph.owners("TARGET");
+        assertEquals(50.0, owner(owners, "ALICE").percentage(), DELTA);
+        assertEquals(50.0, owner(owners, "A").percentage(), DELTA);
+        assertEquals(100.0, owner(owners, "B").percentage(), DELTA);
+    }
+
+    @Test
+    @DisplayName("Should merge parallel relationships, keeping the largest stake")
+    void testParallelRelationships() {
+        OwnershipGraph graph = new OwnershipGraph();
+        LocalDate verified = LocalDate.of(2026, 1, 15);
+        graph.add(new Edge("PARENT", false, "SUB", 80.0, false, 75.0, LocalDate.of(2020, 1, 1), null, null, null));
+        graph.add(new Edge("PARENT", false, "SUB", 60.0, true, null, null, null, "DIRECT", verified));
+
+        Owner parent = owner(graph.owners("SUB"), "PARENT");
+        assertEquals(80.0, parent.percentage(), DELTA);
+        assertEquals(75.0, parent.directEdge().votingRights());
+        assertEquals("DIRECT", parent.directEdge().controlLevel());
+        assertEquals(verified, parent.directEdge().verificationDate());
+        assertEquals(1, graph.edgeCount());
+    }
+
+    @Test
+    @DisplayName("Should list owners by effective ownership, largest first")
+    void testOrdering() {
+        OwnershipGraph graph = new OwnershipGraph();
+        graph.add(owns("SMALL", "TARGET", 10.0));
+        graph.add(owns("LARGE", "TARGET", 70.0));
+        graph.add(owns("UNKNOWN", "TARGET", null));
+
+        List<String> ids = graph.owners("TARGET").stream().map(Owner::ownerId).toList();
+        assertEquals(List.of("LARGE", "SMALL", "UNKNOWN"), ids);
+    }
+
+    @Test
+    @DisplayName("Should ignore chains below the minimum contribution")
+    void testMinimumContribution() {
+        OwnershipGraph graph = new OwnershipGraph();
+        graph.add(owns("A", "TARGET", 1.0));
+        graph.add(owns("B", "A", 0.5));
+
+        List<String> ids = graph.owners("TARGET").stream().map(Owner::ownerId).toList();
+        assertEquals(List.of("A"), ids);
+    }
+
+    @Test
+    @DisplayName("Should replace the edges of a party and report the entities below it")
+    void testReplace() {
+        OwnershipGraph graph = new OwnershipGraph();
+        graph.add(owns("HOLD", "OPCO", 100.0));
+        graph.add(owns("OPCO", "FUND", 100.0));
+        graph.add(beneficial("ALICE", "HOLD", 30.0));
+
+        assertEquals(Set.of("HOLD", "OPCO", "FUND"), graph.downstream("HOLD"));
+        assertEquals(30.0, owner(graph.owners("FUND"), "ALICE").percentage(), DELTA);
+
+        // HOLD sells OPCO to OTHER
+        graph.replace("OPCO", List.of(owns("OTHER", "OPCO", 100.0), owns("OPCO", "FUND", 100.0)));
+
+        assertEquals(Set.of("HOLD"), graph.downstream("HOLD"));
+        assertNull(find(graph.owners("FUND"), "ALICE"));
+        assertNotNull(find(graph.owners("FUND"), "OTHER"));
+        assertEquals(List.of("ALICE"), graph.owners("HOLD").stream().map(Owner::ownerId).toList());
+    }
+
+    @Test
+    @DisplayName("Should only count relationships in force on the graph's date")
+    void testEffectiveDates() {
+        LocalDate today = LocalDate.of(2026, 3, 1);
+        OwnershipGraph graph = new OwnershipGraph(today);
+        graph.add(new Edge("SELLER", false, "TARGET", 60.0, false, null, null, today.plusDays(9), null, null));
+        graph.add(new Edge("BUYER", false, "TARGET", 60.0, false, null, today.plusDays(10), null, null, null));
+        graph.add(beneficial("ALICE", "BUYER", 50.0));
+
+        assertEquals(List.of("SELLER"), graph.owners("TARGET").stream().map(Owner::ownerId).toList());
+        assertFalse(graph.advanceTo(today.plusDays(9)), "Nothing starts or ends before day 10");
+
+        assertTrue(graph.advanceTo(today.plusDays(10)));
+        List<Owner> owners = graph.owners("TARGET");
+        assertNull(find(owners, "SELLER"));
+        assertEquals(60.0, owner(owners, "BUYER").percentage(), DELTA);
+        assertEquals(30.0, owner(owners, "ALICE").percentage(), DELTA);
+        assertEquals(2, graph.edgeCount());
+    }
+
+    @Test
+    @DisplayName("Should have no owners for an unknown entity")
+    void testUnknownEntity() {
+        assertTrue(new OwnershipGraph().owners("NOBODY").isEmpty());
+        assertEquals(Set.of("NOBODY"), new OwnershipGraph().downstream("NOBODY"));
+    }
+
+    private static Edge owns(String ownerId, String ownedId, Double percentage) {
+        return new Edge(ownerId, false, ownedId, percentage, false, null, null, null, null, null);
+    }
+
+    private static Edge beneficial(String ownerId, String ownedId, Double percentage) {
+        return new Edge(ownerId, true, ownedId, percentage, true, null, null, null, null, null);
+    }
+
+    private static Owner owner(List<Owner> owners, String ownerId) {
+        Owner owner = find(owners, ownerId);
+        assertNotNull(owner, ownerId + " should be an owner");
+        return owner;
+    }
+
+    private static Owner find(List<Owner> owners, String ownerId) {
+        return owners.stream().filter(owner -> owner.ownerId().equals(ownerId)).findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,87 @@
+package com.bank.product.party.sync;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test cases for the canonical source payload checksum.
+ */
+class SourceChecksumTest {
+
+    @Test
+    @DisplayName("Should not depend on map iteration order")
+    void testKeyOrderIndependence() {
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("city", "New York");
+        address.put("country", "US");
+
+        Map<String, Object> forward = new LinkedHashMap<>();
+        forward.put("id", "CB-1001");
+        forward.put("legalName", "Acme Holdings");
+        forward.put("address", address);
+
+        Map<String, Object> reversedAddress = new LinkedHashMap<>();
+        reversedAddress.put("country", "US");
+        reversedAddress.put("city", "New York");
+
+        Map<String, Object> reversed = new LinkedHashMap<>();
+        reversed.put("address", reversedAddress);
+        reversed.put("legalName", "Acme Holdings");
+        reversed.put("id", "CB-1001");
+
+        assertEquals(SourceChecksum.of(forward), SourceChecksum.of(reversed));
+        assertEquals(SourceChecksum.of(forward), SourceChecksum.of(new TreeMap<>(forward)));
+    }
+
+    @Test
+    @DisplayName("Should detect changed values and list order")
+    void testChanges() {
+        Map<String, Object> original = Map.of("name", "Acme", "tags", List.of("a", "b"));
+
+        assertNotEquals(SourceChecksum.of(original), SourceChecksum.of(Map.of("name", "Acme Corp", "tags", List.of("a", "b"))));
+        assertNotEquals(SourceChecksum.of(original), SourceChecksum.of(Map.of("name", "Acme", "tags", List.of("b", "a"))));
+    }
+
+    @Test
+    @DisplayName("Should not confuse values with the same text")
+    void testTypeTags() {
+        assertNotEquals(SourceChecksum.of(Map.of("value", "1")), SourceChecksum.of(Map.of("value", 1)));
+        assertNotEquals(SourceChecksum.of(Map.of("value", "true")), SourceChecksum.of(Map.of("value", true)));
+        assertNotEquals(SourceChecksum.of(Map.of("a", "bc")), SourceChecksum.of(Map.of("ab", "c")));
+
+        Map<String, Object> nullValue = new HashMap<>();
+        nullValue.put("value", null);
+        assertNotEquals(SourceChecksum.of(nullValue), SourceChecksum.of(Map.of("value", "null")));
+    }
+
+    @Test
+    @DisplayName("Should hash numbers by value")
+    void testNumbers() {
+        String integer = SourceChecksum.of(Map.of("amount", 100));
+
+        assertEquals(integer, SourceChecksum.of(Map.of("amount", 100L)));
+        assertEquals(integer, SourceChecksum.of(Map.of("amount", 100.0)));
+        assertEquals(integer, SourceChecksum.of(Map.of("amount", new BigDecimal("100.00"))));
+        assertEquals(SourceChecksum.of(Map.of("rate", 0.25)), SourceChecksum.of(Map.of("rate", new BigDecimal("0.250"))));
+        assertNotEquals(integer, SourceChecksum.of(Map.of("amount", 100.5)));
+    }
+
+    @Test
+    @DisplayName("Should hash strings beyond the buffer size")
+    void testLongStrings() {
+        String text = "Zürich 株式会社 😀 ".repeat(500);
+
+        assertEquals(SourceChecksum.of(Map.of("notes", text)), SourceChecksum.of(Map.of("notes", new String(text))));
+        assertNotEquals(SourceChecksum.of(Map.of("notes", text)), SourceChecksum.of(Map.of("notes", text + ".")));
+        assertEquals(64, SourceChecksum.of(Map.of("notes", text)).length());
+    }
+}
@@ -1,5 +1,6 @@
 package com.bank.product.config;
 
+import com.bank.product.domain.solution.dto.ConfigureSolutionBatchResponse;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.context.annotation.Bean;
@@ -21,4 +22,16 @@ public class CacheConfig {
                 .recordStats()
                 .build();
     }
+
+    /**
+     * Results of configure:batch records by tenant and record idempotency key
+     */
+    @Bean
+    public Cache<String, ConfigureSolutionBatchResponse.RecordResult> batchRecordResultCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(24, TimeUnit.HOURS)
+                .recordStats()
+                .build();
+    }
 }
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +16,8 @@ public interface CatalogRepository extends MongoRepository<ProductCatalog, Strin
 
     Optional<ProductCatalog> findByCatalogProductId(String catalogProductId);
 
+    List<ProductCatalog> findByCatalogProductIdIn(Collection<String> catalogProductIds);
+
     List<ProductCatalog> findByStatus(CatalogStatus status);
 
     Page<ProductCatalog> findByStatus(CatalogStatus status, Pageable pageable);
@@ -3,11 +3,14 @@ package com.bank.product.domain.solution.controller;
 import com.bank.product.client.dto.WorkflowSubmitRequest;
 import com.bank.product.context.PermissionContext;
 import com.bank.product.context.ProcessingContext;
+import com.bank.product.domain.solution.dto.ConfigureSolutionBatchRequest;
+import com.bank.product.domain.solution.dto.ConfigureSolutionBatchResponse;
 import com.bank.product.domain.solution.dto.ConfigureSolutionRequest;
 import com.bank.product.domain.solution.dto.ConfigureSolutionResponse;
 import com.bank.product.domain.solution.dto.SolutionWorkflowStatusResponse;
 import com.bank.product.domain.solution.service.AsyncWorkflowService;
 import com.bank.product.domain.solution.service.SolutionService;
+import com.bank.product.domain.solution.service.impl.SolutionServiceWithOutbox;
 import com.bank.product.domain.solution.model.Solution;
 import com.bank.product.domain.solution.model.SolutionStatus;
 import com.bank.product.entitlement.ResourceOperation;
@@ -25,7 +28,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -38,9 +43,16 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class SolutionController {
 
+    /**
+     * Maximum number of records per configure:batch request
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final SolutionService solutionService;
+    private final SolutionServiceWithOutbox solutionServiceWithOutbox;
     private final AsyncWorkflowService asyncWorkflowService;
     private final Cache<String, Boolean> idempotencyCache;
+    private final Cache<String, ConfigureSolutionBatchResponse.RecordResult> batchRecordResultCache;
 
     /**
      * Configure a new solution from catalog product with workflow approval
@@ -114,6 +126,108 @@ public class SolutionController {
                 .body(response);
     }
 
+    /**
+     * Configure multiple solutions from catalog products in one request
+     *
+     * Used by bulk onboarding (file uploads). Solutions are created in DRAFT
+     * status with bulk writes; workflow submission happens through the
+     * solution.created outbox events. Each record succeeds or fails on its
+     * own - see the per-record results in the response.
+     *
+     * Idempotent per record - a record whose idempotency key already created
+     * a solution gets that earlier result back. Records without a key are
+     * keyed by X-Idempotency-Key and their position in the batch.
+     */
+    @PostMapping("/configure:batch")
+    public ResponseEntity<ConfigureSolutionBatchResponse> configureSolutions(
+            @RequestHeader("X-Tenant-ID") String tenantId,
+            @RequestHeader("X-User-ID") String userId,
+            @RequestHeader(value = "X-Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody ConfigureSolutionBatchRequest request) {
+
+        if (request.getRecords() == null || request.getRecords().isEmpty()
+                || request.getRecords().size() > MAX_BATCH_SIZE) {
+            log.warn("Rejected solution batch for tenant {}: between 1 and {} records required",
+                    tenantId, MAX_BATCH_SIZE);
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<ConfigureSolutionRequest> records = request.getRecords();
+        ConfigureSolutionBatchResponse.RecordResult[] results =
+                new ConfigureSolutionBatchResponse.RecordResult[records.size()];
+        String[] keys = new String[records.size()];
+
+        // Check idempotency - replay records that already created a solution
+        List<ConfigureSolutionRequest> pending = new ArrayList<>(records.size());
+        List<Integer> pendingIndexes = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            keys[i] = recordKey(tenantId, idempotencyKey, records.get(i), i);
+            ConfigureSolutionBatchResponse.RecordResult previous =
+                    keys[i] != null ? batchRecordResultCache.getIfPresent(keys[i]) : null;
+            if (previous != null) {
+                results[i] = withIndex(previous, i);
+            } else {
+                pending.add(records.get(i));
+                pendingIndexes.add(i);
+            }
+        }
+
+        if (pending.size() < records.size()) {
+            log.info("Duplicate records in solution batch for tenant {}: {} of {} already processed",
+                    tenantId, records.size() - pending.size(), records.size());
+        }
+        log.info("Configuring {} solutions for tenant {}", pending.size(), tenantId);
+
+        if (!pending.isEmpty()) {
+            ConfigureSolutionBatchResponse created = solutionServiceWithOutbox.createSolutionsWithEvents(
+                    tenantId, userId, pending);
+            for (int i = 0; i < pending.size(); i++) {
+                int index = pendingIndexes.get(i);
+                ConfigureSolutionBatchResponse.RecordResult result = withIndex(created.getResults().get(i), index);
+                results[index] = result;
+                // Store idempotency key - failed records created nothing and may be retried
+                if (result.isSuccess() && keys[index] != null) {
+                    batchRecordResultCache.put(keys[index], result);
+                }
+            }
+        }
+
+        int succeeded = 0;
+        for (ConfigureSolutionBatchResponse.RecordResult result : results) {
+            if (result.isSuccess()) {
+                succeeded++;
+            }
+        }
+        ConfigureSolutionBatchResponse response = ConfigureSolutionBatchResponse.builder()
+                .total(records.size())
+                .succeeded(succeeded)
+                .failed(records.size() - succeeded)
+                .results(List.of(results))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    private String recordKey(String tenantId, String batchKey, ConfigureSolutionRequest record, int index) {
+        if (record != null && record.getIdempotencyKey() != null && !record.getIdempotencyKey().isBlank()) {
+            return tenantId + ":" + record.getIdempotencyKey();
+        }
+        return batchKey != null ? tenantId + ":" + batchKey + ":" + index : null;
+    }
+
+    private ConfigureSolutionBatchResponse.RecordResult withIndex(ConfigureSolutionBatchResponse.RecordResult result,
+                                                                  int index) {
+        return ConfigureSolutionBatchResponse.RecordResult.builder()
+                .index(index)
+                .success(result.isSuccess())
+                .solutionId(result.getSolutionId())
+                .solutionName(result.getSolutionName())
+                .status(result.getStatus())
+                .errorCode(result.getErrorCode())
+                .errorMessage(result.getErrorMessage())
+                .build();
+    }
+
     /**
      * Activate solution (called by workflow callback)
      * Idempotent - safe to call multiple times
@@ -0,0 +1,20 @@
+package com.bank.product.domain.solution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request to configure multiple solutions in one call (file-driven onboarding)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigureSolutionBatchRequest {
+
+    private List<ConfigureSolutionRequest> records;
+}
@@ -0,0 +1,42 @@
+package com.bank.product.domain.solution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Per-record results of a batch solution configuration
+ * Results are in request order; {@code index} is the position in the request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfigureSolutionBatchResponse {
+
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<RecordResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordResult {
+        private int index;
+        private boolean success;
+
+        // Success
+        private String solutionId;
+        private String solutionName;
+        private String status;
+
+        // Failure
+        private String errorCode;
+        private String errorMessage;
+    }
+}
@@ -35,4 +35,7 @@ public class ConfigureSolutionRequest {
     // Business justification
     private String businessJustification;
     private String priority;  // LOW, MEDIUM, HIGH
+
+    // Bulk onboarding: a resent record with the same key returns its earlier result
+    private String idempotencyKey;
 }
@@ -1,5 +1,9 @@
 package com.bank.product.domain.solution.service.impl;
 
+import com.bank.product.domain.catalog.model.CatalogStatus;
+import com.bank.product.domain.catalog.model.ProductCatalog;
+import com.bank.product.domain.catalog.repository.CatalogRepository;
+import com.bank.product.domain.solution.dto.ConfigureSolutionBatchResponse;
 import com.bank.product.domain.solution.dto.ConfigureSolutionRequest;
 import com.bank.product.domain.solution.model.Solution;
 import com.bank.product.domain.solution.model.SolutionStatus;
@@ -13,8 +17,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -26,7 +34,10 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class SolutionServiceWithOutbox {
 
+    private static final String SOLUTION_CREATED_TOPIC = "solution.created";
+
     private final SolutionRepository solutionRepository;
+    private final CatalogRepository catalogRepository;
     private final OutboxService outboxService;
 
     /**
@@ -39,6 +50,132 @@ public class SolutionServiceWithOutbox {
                 request.getCatalogProductId(), tenantId);
 
         // 1. Create solution
+        Solution savedSolution = solutionRepository.save(
+                buildSolution(tenantId, userId, request, "CHECKING")); // TODO: Get from catalog
+
+        // 2. Create event (same transaction)
+        SolutionCreatedEvent event = buildCreatedEvent(savedSolution, request, userId);
+
+        // 3. Save to outbox (same transaction - ATOMIC!)
+        outboxService.saveEvent(
+                event,
+                SOLUTION_CREATED_TOPIC,
+                savedSolution.getId(),
+                tenantId
+        );
+
+        log.info("Solution created with outbox event: solutionId={}, eventId={}",
+                savedSolution.getId(), event.getEventId());
+
+        return savedSolution;
+    }
+
+    /**
+     * Create multiple solutions with outbox events (file-driven onboarding)
+     *
+     * Records are validated up front (required fields, catalog product
+     * available) with a single catalog lookup for the whole batch. Valid
+     * solutions are inserted with one bulk write and their events with
+     * another. Invalid records are reported and do not affect the others.
+     *
+     * @return Per-record results in request order
+     */
+    @Transactional
+    public ConfigureSolutionBatchResponse createSolutionsWithEvents(String tenantId, String userId,
+                                                                   List<ConfigureSolutionRequest> requests) {
+        log.info("Creating {} solutions with outbox events: tenant={}", requests.size(), tenantId);
+
+        // 1. Load all referenced catalog products at once
+        Set<String> catalogProductIds = new HashSet<>();
+        for (ConfigureSolutionRequest request : requests) {
+            if (request != null && request.getCatalogProductId() != null) {
+                catalogProductIds.add(request.getCatalogProductId());
+            }
+        }
+        Map<String, ProductCatalog> catalogProducts = new HashMap<>();
+        for (ProductCatalog catalogProduct : catalogRepository.findByCatalogProductIdIn(catalogProductIds)) {
+            catalogProducts.put(catalogProduct.getCatalogProductId(), catalogProduct);
+        }
+
+        // 2. Validate and build solutions
+        List<ConfigureSolutionBatchResponse.RecordResult> results = new ArrayList<>(requests.size());
+        List<Solution> solutions = new ArrayList<>();
+        List<Integer> solutionIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ConfigureSolutionRequest request = requests.get(i);
+            String error = validate(request, catalogProducts);
+            if (error != null) {
+                results.add(ConfigureSolutionBatchResponse.RecordResult.builder()
+                        .index(i)
+                        .success(false)
+                        .errorCode("VALIDATION_ERROR")
+                        .errorMessage(error)
+                        .build());
+                continue;
+            }
+
+            ProductCatalog catalogProduct = catalogProducts.get(request.getCatalogProductId());
+            String category = catalogProduct.getCategory() != null ? catalogProduct.getCategory() : "CHECKING";
+            solutions.add(buildSolution(tenantId, userId, request, category));
+            solutionIndexes.add(i);
+            results.add(null); // Filled in once inserted
+        }
+
+        // 3. Bulk insert solutions and their events (same transaction)
+        if (!solutions.isEmpty()) {
+            List<Solution> saved = solutionRepository.insert(solutions);
+
+            List<SolutionCreatedEvent> events = new ArrayList<>(saved.size());
+            for (int i = 0; i < saved.size(); i++) {
+                Solution solution = saved.get(i);
+                int index = solutionIndexes.get(i);
+                events.add(buildCreatedEvent(solution, requests.get(index), userId));
+                results.set(index, ConfigureSolutionBatchResponse.RecordResult.builder()
+                        .index(index)
+                        .success(true)
+                        .solutionId(solution.getId())
+                        .solutionName(solution.getName())
+                        .status(solution.getStatus().name())
+                        .build());
+            }
+
+            outboxService.saveEvents(events, SOLUTION_CREATED_TOPIC, SolutionCreatedEvent::getSolutionId, tenantId);
+        }
+
+        int succeeded = solutions.size();
+        log.info("Batch solution creation for tenant {}: {} created, {} rejected",
+                tenantId, succeeded, requests.size() - succeeded);
+
+        return ConfigureSolutionBatchResponse.builder()
+                .total(requests.size())
+                .succeeded(succeeded)
+                .failed(requests.size() - succeeded)
+                .results(results)
+                .build();
+    }
+
+    private String validate(ConfigureSolutionRequest request, Map<String, ProductCatalog> catalogProducts) {
+        if (request == null) {
+            return "Record is empty";
+        }
+        if (request.getCatalogProductId() == null || request.getCatalogProductId().isBlank()) {
+            return "catalogProductId is required";
+        }
+        if (request.getSolutionName() == null || request.getSolutionName().isBlank()) {
+            return "solutionName is required";
+        }
+
+        ProductCatalog catalogProduct = catalogProducts.get(request.getCatalogProductId());
+        if (catalogProduct == null) {
+            return "Catalog product not found: " + request.getCatalogProductId();
+        }
+        if (catalogProduct.getStatus() == CatalogStatus.RETIRED) {
+            return "Catalog product is retired: " + request.getCatalogProductId();
+        }
+        return null;
+    }
+
+    private Solution buildSolution(String tenantId, String userId, ConfigureSolutionRequest request, String category) {
         Solution solution = new Solution();
         solution.setId(UUID.randomUUID().toString());
         solution.setSolutionId("sol-" + UUID.randomUUID().toString().substring(0, 8));
@@ -46,17 +183,17 @@ public class SolutionServiceWithOutbox {
         solution.setCatalogProductId(request.getCatalogProductId());
         solution.setName(request.getSolutionName());
         solution.setDescription(request.getDescription());
-        solution.setCategory("CHECKING"); // TODO: Get from catalog
+        solution.setCategory(category);
         solution.setStatus(SolutionStatus.DRAFT);
         solution.setVersion("1.0");
         solution.setCreatedAt(LocalDateTime.now());
         solution.setCreatedBy(userId);
         solution.setUpdatedAt(LocalDateTime.now());
         solution.setUpdatedBy(userId);
+        return solution;
+    }
 
-        Solution savedSolution = solutionRepository.save(solution);
-
-        // 2. Create event (same transaction)
+    private SolutionCreatedEvent buildCreatedEvent(Solution solution, ConfigureSolutionRequest request, String userId) {
         Map<String, Object> additionalMetadata = new HashMap<>();
         if (request.getCustomFees() != null) {
             additionalMetadata.put("customFees", request.getCustomFees());
@@ -65,13 +202,13 @@ public class SolutionServiceWithOutbox {
             additionalMetadata.put("customInterestRate", request.getCustomInterestRate());
         }
 
-        SolutionCreatedEvent event = SolutionCreatedEvent.builder()
-                .solutionId(savedSolution.getId())
-                .tenantId(tenantId)
+        return SolutionCreatedEvent.builder()
+                .solutionId(solution.getId())
+                .tenantId(solution.getTenantId())
                 .catalogProductId(request.getCatalogProductId())
                 .solutionName(request.getSolutionName())
                 .description(request.getDescription())
-                .category(savedSolution.getCategory())
+                .category(solution.getCategory())
                 .createdBy(userId)
                 .pricingVariance(request.getPricingVariance() != null ? request.getPricingVariance() : 0.0)
                 .riskLevel(request.getRiskLevel() != null ? request.getRiskLevel() : "LOW")
@@ -79,19 +216,6 @@ public class SolutionServiceWithOutbox {
                 .priority(request.getPriority() != null ? request.getPriority() : "MEDIUM")
                 .additionalMetadata(additionalMetadata)
                 .build();
-
-        // 3. Save to outbox (same transaction - ATOMIC!)
-        outboxService.saveEvent(
-                event,
-                "solution.created",  // Kafka topic
-                savedSolution.getId(),
-                tenantId
-        );
-
-        log.info("Solution created with outbox event: solutionId={}, eventId={}",
-                savedSolution.getId(), event.getEventId());
-
-        return savedSolution;
     }
 
     /**
@@ -33,6 +33,14 @@ docker exec product-catalog-kafka kafka-topics \
   --partitions 3 \
   --replication-factor 1
 
+docker exec product-catalog-kafka kafka-topics \
+  --create \
+  --if-not-exists \
+  --topic party.context.invalidated \
+  --bootstrap-server localhost:9092 \
+  --partitions 3 \
+  --replication-factor 1
+
 echo ""
 echo "Listing created topics:"
 docker exec product-catalog-kafka kafka-topics \